@@ -0,0 +1,511 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Implémentation squelette d'un arbre : toutes les opérations de calcul et de parcours sont
+ * définies à partir de {@link #getRacine()} et {@link #getForet()}.
+ *
+ * @author Rémi Venant
+ * @param <V> type de valeurs stockées dans l'arbre.
+ */
+public abstract class AbstractArbre<V> implements Arbre<V> {
+
+    private static final int CAPACITE_INITIALE_FILE = 256;
+
+    /**
+     * Capacité au-delà de laquelle une pile ou une file n'est pas conservée dans la réserve de son
+     * fil d'exécution, afin qu'un parcours exceptionnellement profond ou large ne fixe pas son
+     * tampon en mémoire.
+     */
+    private static final int CAPACITE_MAXIMALE_RESERVE = 1 << 16;
+
+    /**
+     * Pile des parcours en profondeur conservée par chaque fil d'exécution entre deux parcours.
+     */
+    private static final ThreadLocal<PileObjets<Object>> PILE_PARCOURS_PROFONDEUR
+            = new ThreadLocal<>();
+
+    /**
+     * Pile des profondeurs, parallèle à {@link #PILE_PARCOURS_PROFONDEUR}, conservée par chaque
+     * fil d'exécution entre deux parcours.
+     */
+    private static final ThreadLocal<PileEntiers> PILE_PROFONDEURS = new ThreadLocal<>();
+
+    /**
+     * File des parcours en largeur conservée par chaque fil d'exécution entre deux parcours.
+     */
+    private static final ThreadLocal<FileObjets<Arbre<?>>> FILE_PARCOURS_LARGEUR
+            = new ThreadLocal<>();
+
+    /**
+     * Constructeur pour les sous-classes.
+     */
+    protected AbstractArbre() {
+    }
+
+    @Override
+    public boolean isFeuille() {
+        return this.getForet().isEmpty();
+    }
+
+    @Override
+    public int getNbNoeuds() {
+        final PileObjets<Object> pile = emprunterPile();
+        try {
+            pile.empiler(this);
+            int nbNoeuds = 0;
+            while (!pile.isEmpty()) {
+                nbNoeuds++;
+                for (Arbre<V> sousArbre : AbstractArbre.<V>depiler(pile).getForet()) {
+                    pile.empiler(sousArbre);
+                }
+            }
+            return nbNoeuds;
+        } finally {
+            rendrePile(pile);
+        }
+    }
+
+    @Override
+    public int getNbFeuilles() {
+        final PileObjets<Object> pile = emprunterPile();
+        try {
+            pile.empiler(this);
+            int nbFeuilles = 0;
+            while (!pile.isEmpty()) {
+                final List<Arbre<V>> foret = AbstractArbre.<V>depiler(pile).getForet();
+                if (foret.isEmpty()) {
+                    nbFeuilles++;
+                }
+                for (Arbre<V> sousArbre : foret) {
+                    pile.empiler(sousArbre);
+                }
+            }
+            return nbFeuilles;
+        } finally {
+            rendrePile(pile);
+        }
+    }
+
+    @Override
+    public int getHauteur() {
+        return (int) this.parcourirProfondeursFeuilles()[2];
+    }
+
+    @Override
+    public float getHauteurMoyenne() {
+        final long[] cumul = this.parcourirProfondeursFeuilles();
+        return (float) cumul[0] / (float) cumul[1];
+    }
+
+    /**
+     * Parcours l'arbre en profondeur préfixe. La pile des sous-arbres restant à visiter est
+     * explicite : la pile d'appels reste constante quelle que soit la profondeur de l'arbre. Les
+     * sous-arbres d'un noeud sont empilés du dernier au premier afin d'être visités dans l'ordre
+     * de la forêt.
+     *
+     * @param traitementNoeud le traitement à appliquer à chaque noeud
+     */
+    @Override
+    public void traiterNoeudsParcoursPrefixe(Consumer<V> traitementNoeud) {
+        final PileObjets<Object> pile = emprunterPile();
+        try {
+            pile.empiler(this);
+            while (!pile.isEmpty()) {
+                final Arbre<V> arbre = depiler(pile);
+                traitementNoeud.accept(arbre.getRacine());
+                final List<Arbre<V>> foret = arbre.getForet();
+                for (ListIterator<Arbre<V>> it = foret.listIterator(foret.size());
+                        it.hasPrevious();) {
+                    pile.empiler(it.previous());
+                }
+            }
+        } finally {
+            rendrePile(pile);
+        }
+    }
+
+    /**
+     * Parcours l'arbre en profondeur suffixe. Chaque arbre en cours de visite est empilé, suivi de
+     * l'itérateur de sa forêt, et n'est traité qu'une fois sa forêt épuisée : la pile d'appels
+     * reste constante quelle que soit la profondeur de l'arbre.
+     *
+     * @param traitementNoeud le traitement à appliquer à chaque noeud
+     */
+    @Override
+    public void traiterNoeudsParcoursSuffixe(Consumer<V> traitementNoeud) {
+        final PileObjets<Object> pile = emprunterPile();
+        try {
+            pile.empiler(this);
+            pile.empiler(this.getForet().iterator());
+            while (!pile.isEmpty()) {
+                final Iterator<Arbre<V>> foret = sommetForet(pile);
+                if (foret.hasNext()) {
+                    final Arbre<V> sousArbre = foret.next();
+                    pile.empiler(sousArbre);
+                    pile.empiler(sousArbre.getForet().iterator());
+                } else {
+                    pile.depiler();
+                    traitementNoeud.accept(AbstractArbre.<V>depiler(pile).getRacine());
+                }
+            }
+        } finally {
+            rendrePile(pile);
+        }
+    }
+
+    @Override
+    public void traiterNoeudsParcoursLargeur(Consumer<V> traitementNoeud) {
+        final FileObjets<Arbre<?>> file = emprunterFile();
+        try {
+            file.enfiler(this);
+            while (!file.isEmpty()) {
+                final Arbre<V> arbre = defiler(file);
+                traitementNoeud.accept(arbre.getRacine());
+                file.enfilerTous(arbre.getForet());
+            }
+        } finally {
+            rendreFile(file);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * La même liste, non modifiable, est réutilisée pour tous les niveaux.
+     * </p>
+     */
+    @Override
+    public void traiterNiveaux(BiConsumer<Integer, List<V>> traitementNiveau) {
+        final FileObjets<Arbre<?>> file = emprunterFile();
+        final List<V> niveau = new ArrayList<>();
+        final List<V> vueNiveau = Collections.unmodifiableList(niveau);
+        try {
+            file.enfiler(this);
+            for (int profondeur = 0; !file.isEmpty(); profondeur++) {
+                niveau.clear();
+                for (int i = file.getTaille(); i > 0; i--) {
+                    final Arbre<V> arbre = defiler(file);
+                    niveau.add(arbre.getRacine());
+                    file.enfilerTous(arbre.getForet());
+                }
+                traitementNiveau.accept(profondeur, vueNiveau);
+            }
+        } finally {
+            rendreFile(file);
+        }
+    }
+
+    @Override
+    public boolean visiterParcoursPrefixe(VisiteurArbre<V> visiteur) {
+        final PileObjets<Object> pile = emprunterPile();
+        final PileEntiers profondeurs = emprunterPileProfondeurs();
+        try {
+            pile.empiler(this);
+            profondeurs.empiler(0);
+            while (!pile.isEmpty()) {
+                final Arbre<V> arbre = depiler(pile);
+                final int profondeur = profondeurs.depiler();
+                switch (visiteur.visiter(arbre.getRacine(), profondeur)) {
+                    case ARRETER:
+                        return false;
+                    case IGNORER_SOUS_ARBRES:
+                        break;
+                    default:
+                        final List<Arbre<V>> foret = arbre.getForet();
+                        for (ListIterator<Arbre<V>> it = foret.listIterator(foret.size());
+                                it.hasPrevious();) {
+                            pile.empiler(it.previous());
+                            profondeurs.empiler(profondeur + 1);
+                        }
+                        break;
+                }
+            }
+            return true;
+        } finally {
+            rendrePileProfondeurs(profondeurs);
+            rendrePile(pile);
+        }
+    }
+
+    @Override
+    public Iterator<V> iterateurParcoursPrefixe() {
+        return new IterateurPrefixe<>(this);
+    }
+
+    @Override
+    public Iterator<V> iterateurParcoursSuffixe() {
+        return new IterateurSuffixe<>(this);
+    }
+
+    @Override
+    public Iterator<V> iterateurParcoursLargeur() {
+        return new IterateurLargeur<>(this);
+    }
+
+    /**
+     * L'itération par défaut d'un arbre est le parcours préfixe.
+     *
+     * @return l'itérateur préfixe
+     */
+    @Override
+    public Iterator<V> iterator() {
+        return this.iterateurParcoursPrefixe();
+    }
+
+    /**
+     * Fournit un séparateur qui découpe l'arbre selon ses sous-arbres et le parcourt dans l'ordre
+     * préfixe, comme {@link #iterator()}. Les flux parallèles se répartissent ainsi des
+     * sous-arbres de tailles comparables.
+     *
+     * @return le séparateur de l'arbre
+     * @see #isNbNoeudsEnTempsConstant()
+     */
+    @Override
+    public Spliterator<V> spliterator() {
+        return SeparateurArbre.prefixe(this, this.isNbNoeudsEnTempsConstant(), 0);
+    }
+
+    /**
+     * Indique si {@link #getNbNoeuds()} est en temps constant pour l'arbre et tous ses
+     * sous-arbres. Les séparateurs de l'arbre connaissent alors exactement la taille de chacune de
+     * leurs parties. Par défaut, le nombre de noeuds est calculé par un parcours de l'arbre.
+     *
+     * @return vrai si le nombre de noeuds de chaque sous-arbre est conservé par celui-ci
+     */
+    protected boolean isNbNoeudsEnTempsConstant() {
+        return false;
+    }
+
+    /**
+     * Fournit la file des parcours en largeur réservée au fil d'exécution courant, afin que les
+     * parcours successifs réutilisent le même tampon. La file est retirée de la réserve pendant
+     * son utilisation : un parcours imbriqué dans le traitement d'un autre utilise une nouvelle
+     * file. Une file agrandie au-delà de {@link #CAPACITE_MAXIMALE_RESERVE} n'est pas rendue à la
+     * réserve.
+     */
+    private static FileObjets<Arbre<?>> emprunterFile() {
+        final FileObjets<Arbre<?>> file = FILE_PARCOURS_LARGEUR.get();
+        if (file == null) {
+            return new FileObjets<>(CAPACITE_INITIALE_FILE);
+        }
+        FILE_PARCOURS_LARGEUR.set(null);
+        return file;
+    }
+
+    private static void rendreFile(FileObjets<Arbre<?>> file) {
+        if (file.getCapacite() <= CAPACITE_MAXIMALE_RESERVE) {
+            file.vider();
+            FILE_PARCOURS_LARGEUR.set(file);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> Arbre<V> defiler(FileObjets<Arbre<?>> file) {
+        return (Arbre<V>) file.defiler();
+    }
+
+    /**
+     * Fournit la pile des parcours en profondeur réservée au fil d'exécution courant, selon le
+     * même principe que {@link #emprunterFile()}. La pile contient des sous-arbres et, pour le
+     * parcours suffixe, les itérateurs de leurs forêts.
+     */
+    private static PileObjets<Object> emprunterPile() {
+        final PileObjets<Object> pile = PILE_PARCOURS_PROFONDEUR.get();
+        if (pile == null) {
+            return new PileObjets<>();
+        }
+        PILE_PARCOURS_PROFONDEUR.set(null);
+        return pile;
+    }
+
+    private static void rendrePile(PileObjets<Object> pile) {
+        if (pile.getCapacite() <= CAPACITE_MAXIMALE_RESERVE) {
+            pile.vider();
+            PILE_PARCOURS_PROFONDEUR.set(pile);
+        }
+    }
+
+    private static PileEntiers emprunterPileProfondeurs() {
+        final PileEntiers profondeurs = PILE_PROFONDEURS.get();
+        if (profondeurs == null) {
+            return new PileEntiers();
+        }
+        PILE_PROFONDEURS.set(null);
+        return profondeurs;
+    }
+
+    private static void rendrePileProfondeurs(PileEntiers profondeurs) {
+        if (profondeurs.getCapacite() <= CAPACITE_MAXIMALE_RESERVE) {
+            profondeurs.vider();
+            PILE_PROFONDEURS.set(profondeurs);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> Arbre<V> depiler(PileObjets<Object> pile) {
+        return (Arbre<V>) pile.depiler();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> Iterator<Arbre<V>> sommetForet(PileObjets<Object> pile) {
+        return (Iterator<Arbre<V>>) pile.sommet();
+    }
+
+    /**
+     * Parcours itératif des feuilles de l'arbre, avec une pile explicite des sous-arbres et une
+     * pile parallèle de leurs profondeurs.
+     *
+     * @return la somme des profondeurs des feuilles, le nombre de feuilles et la profondeur
+     * maximale
+     */
+    private long[] parcourirProfondeursFeuilles() {
+        final PileObjets<Object> pile = emprunterPile();
+        final PileEntiers profondeurs = emprunterPileProfondeurs();
+        try {
+            pile.empiler(this);
+            profondeurs.empiler(0);
+            final long[] cumul = new long[3];
+            while (!pile.isEmpty()) {
+                final List<Arbre<V>> foret = AbstractArbre.<V>depiler(pile).getForet();
+                final int profondeur = profondeurs.depiler();
+                if (foret.isEmpty()) {
+                    cumul[0] += profondeur;
+                    cumul[1]++;
+                    cumul[2] = Math.max(cumul[2], profondeur);
+                }
+                for (Arbre<V> sousArbre : foret) {
+                    pile.empiler(sousArbre);
+                    profondeurs.empiler(profondeur + 1);
+                }
+            }
+            return cumul;
+        } finally {
+            rendrePileProfondeurs(profondeurs);
+            rendrePile(pile);
+        }
+    }
+
+    /**
+     * Itérateur préfixe : une pile des arbres restant à visiter.
+     */
+    private static final class IterateurPrefixe<V> implements Iterator<V> {
+
+        private final Deque<Arbre<V>> pile = new ArrayDeque<>();
+
+        IterateurPrefixe(Arbre<V> arbre) {
+            this.pile.push(arbre);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !this.pile.isEmpty();
+        }
+
+        @Override
+        public V next() {
+            if (this.pile.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            final Arbre<V> arbre = this.pile.pop();
+            final List<Arbre<V>> foret = arbre.getForet();
+            for (ListIterator<Arbre<V>> it = foret.listIterator(foret.size()); it.hasPrevious();) {
+                this.pile.push(it.previous());
+            }
+            return arbre.getRacine();
+        }
+    }
+
+    /**
+     * Itérateur suffixe : une pile des arbres en cours de visite, chacun associé à l'itérateur
+     * de sa forêt.
+     */
+    private static final class IterateurSuffixe<V> implements Iterator<V> {
+
+        private final Deque<Arbre<V>> pileArbres = new ArrayDeque<>();
+        private final Deque<Iterator<Arbre<V>>> pileForets = new ArrayDeque<>();
+
+        IterateurSuffixe(Arbre<V> arbre) {
+            this.empiler(arbre);
+        }
+
+        private void empiler(Arbre<V> arbre) {
+            this.pileArbres.push(arbre);
+            this.pileForets.push(arbre.getForet().iterator());
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !this.pileArbres.isEmpty();
+        }
+
+        @Override
+        public V next() {
+            if (this.pileArbres.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            while (this.pileForets.peek().hasNext()) {
+                this.empiler(this.pileForets.peek().next());
+            }
+            this.pileForets.pop();
+            return this.pileArbres.pop().getRacine();
+        }
+    }
+
+    /**
+     * Itérateur en largeur : une file des arbres restant à visiter.
+     */
+    private static final class IterateurLargeur<V> implements Iterator<V> {
+
+        private final FileObjets<Arbre<V>> file = new FileObjets<>();
+
+        IterateurLargeur(Arbre<V> arbre) {
+            this.file.enfiler(arbre);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !this.file.isEmpty();
+        }
+
+        @Override
+        public V next() {
+            if (this.file.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            final Arbre<V> arbre = this.file.defiler();
+            this.file.enfilerTous(arbre.getForet());
+            return arbre.getRacine();
+        }
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import despetitsarbres.exceptions.InsertionImpossibleException;
+import despetitsarbres.exceptions.SuppressionImpossibleException;
+import despetitsarbres.exceptions.ValeurNonTrouveeException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+
+/**
+ * Implémentation squelette d'un arbre binaire de recherche : la forêt, les recherches et les
+ * parcours sont définis à partir de {@link #getRacine()}, {@link #getSag()} et {@link #getSad()}.
+ * La racine d'un ABR ne peut être redéfinie et sa forêt n'est pas modifiable.
+ *
+ * @author Rémi Venant
+ * @param <K> Type des valeurs des noeud de l'ABR (les valeurs doivent être comparable entre elles).
+ */
+public abstract class AbstractArbreBinaireRecherche<K extends Comparable<K>> extends AbstractArbre<K>
+        implements ArbreBinaireRecherche<K> {
+
+    /**
+     * Constructeur pour les sous-classes.
+     */
+    protected AbstractArbreBinaireRecherche() {
+    }
+
+    /**
+     * Opération non supportée : la racine d'un ABR ne peut être redéfinie.
+     *
+     * @param valeur la valeur
+     * @throws UnsupportedOperationException toujours
+     */
+    @Override
+    public void setRacine(K valeur) {
+        throw new UnsupportedOperationException("La racine d'un ABR ne peut être redéfinie");
+    }
+
+    /**
+     * Fournit les sous-arbres non nuls, gauche puis droit, dans une liste non modifiable.
+     *
+     * @return la forêt
+     */
+    @Override
+    public List<Arbre<K>> getForet() {
+        final ArbreBinaireRecherche<K> sag = this.getSag();
+        final ArbreBinaireRecherche<K> sad = this.getSad();
+        if (sag == null) {
+            return sad == null ? List.of() : List.of(sad);
+        }
+        return sad == null ? List.of(sag) : List.of(sag, sad);
+    }
+
+    @Override
+    public boolean isFeuille() {
+        return this.getSag() == null && this.getSad() == null;
+    }
+
+    @Override
+    public ArbreBinaireRecherche<K> rechercherSousArbre(K cle) {
+        if (cle == null) {
+            return null;
+        }
+        ArbreBinaireRecherche<K> courant = this;
+        while (courant != null) {
+            final int cmp = cle.compareTo(courant.getRacine());
+            if (cmp == 0) {
+                return courant;
+            }
+            courant = cmp < 0 ? courant.getSag() : courant.getSad();
+        }
+        return null;
+    }
+
+    @Override
+    public boolean contains(K cle) {
+        return this.rechercherSousArbre(cle) != null;
+    }
+
+    @Override
+    public K getMin() {
+        ArbreBinaireRecherche<K> courant = this;
+        while (courant.getSag() != null) {
+            courant = courant.getSag();
+        }
+        return courant.getRacine();
+    }
+
+    @Override
+    public K getMax() {
+        ArbreBinaireRecherche<K> courant = this;
+        while (courant.getSad() != null) {
+            courant = courant.getSad();
+        }
+        return courant.getRacine();
+    }
+
+    @Override
+    public K plancher(K cle) {
+        return naviguer(this, cle, true, true);
+    }
+
+    @Override
+    public K plafond(K cle) {
+        return naviguer(this, cle, false, true);
+    }
+
+    @Override
+    public K predecesseur(K cle) {
+        return naviguer(this, cle, true, false);
+    }
+
+    @Override
+    public K successeur(K cle) {
+        return naviguer(this, cle, false, false);
+    }
+
+    @Override
+    public Iterator<K> iterateurParcoursInfixe() {
+        return new IterateurInfixe<>(this, null, null);
+    }
+
+    @Override
+    public Iterator<K> iterateurPlage(K de, K a) {
+        Objects.requireNonNull(de, "La borne inférieure ne peut être nulle");
+        Objects.requireNonNull(a, "La borne supérieure ne peut être nulle");
+        if (de.compareTo(a) > 0) {
+            throw new IllegalArgumentException("Borne inférieure " + de
+                    + " supérieure à la borne supérieure " + a);
+        }
+        return new IterateurInfixe<>(this, de, a);
+    }
+
+    /**
+     * Fournit un séparateur qui découpe l'arbre selon ses sous-arbres gauche et droit et le
+     * parcourt dans l'ordre infixe, c'est-à-dire croissant (contrairement à {@link #iterator()},
+     * qui suit l'ordre préfixe). Le séparateur est ORDERED, SORTED, DISTINCT et NONNULL.
+     *
+     * @return le séparateur de l'arbre
+     * @see #isNbNoeudsEnTempsConstant()
+     */
+    @Override
+    public Spliterator<K> spliterator() {
+        return SeparateurArbre.infixe(this, this.isNbNoeudsEnTempsConstant(), 0);
+    }
+
+    /**
+     * Recherche la clé la plus proche d'une clé de référence en une seule descente, sans
+     * allocation : chaque noeud du bon côté de la clé de référence remplace le meilleur candidat
+     * rencontré jusque-là.
+     *
+     */
+    private static <K extends Comparable<K>> K naviguer(ArbreBinaireRecherche<K> arbre, K cle,
+            boolean inferieure, boolean inclusive) {
+        if (cle == null) {
+            return null;
+        }
+        K candidate = null;
+        ArbreBinaireRecherche<K> courant = arbre;
+        while (courant != null) {
+            final K racine = courant.getRacine();
+            final int cmp = cle.compareTo(racine);
+            if (cmp == 0 && inclusive) {
+                return racine;
+            }
+            if (inferieure ? cmp > 0 : cmp < 0) {
+                candidate = racine;
+            }
+            courant = (inferieure ? cmp > 0 : cmp >= 0) ? courant.getSad() : courant.getSag();
+        }
+        return candidate;
+    }
+
+    /**
+     * Convertit l'issue d'un ajout en exception, pour les implémentations de
+     * {@link #ajouter(Comparable)} fondées sur {@link #tenterAjouter(Comparable)}. L'exception
+     * levée est l'instance partagée {@link InsertionImpossibleException#CLE_NULLE}, sans trace
+     * d'appel.
+     *
+     * @param statut l'issue de l'ajout
+     * @throws InsertionImpossibleException si la clé est nulle
+     */
+    protected static void verifierAjout(StatutModification statut)
+            throws InsertionImpossibleException {
+        if (statut == StatutModification.CLE_NULLE) {
+            throw InsertionImpossibleException.CLE_NULLE;
+        }
+    }
+
+    /**
+     * Convertit l'issue d'un retrait en exception, pour les implémentations de
+     * {@link #retirer(Comparable)} fondées sur {@link #tenterRetirer(Comparable)}. Aucune exception
+     * levée n'a de trace d'appel : une clé nulle lève l'instance partagée
+     * {@link SuppressionImpossibleException#CLE_NULLE}, les autres échecs une exception dont le
+     * message reprend la clé.
+     *
+     * @param statut l'issue du retrait
+     * @param cle la clé retirée, reprise dans le message de l'exception
+     * @throws ValeurNonTrouveeException si la clé n'existe pas
+     * @throws SuppressionImpossibleException si l'arbre est une feuille de valeur clé ou si la clé
+     * est nulle
+     */
+    protected static void verifierRetrait(StatutModification statut, Object cle)
+            throws ValeurNonTrouveeException, SuppressionImpossibleException {
+        switch (statut) {
+            case ABSENTE:
+                throw new ValeurNonTrouveeException("Clé non trouvée : " + cle, false);
+            case CLE_NULLE:
+                throw SuppressionImpossibleException.CLE_NULLE;
+            case DERNIERE_CLE:
+                throw new SuppressionImpossibleException(
+                        "Impossible de retirer l'unique clé d'un ABR : " + cle, false);
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Itérateur infixe, éventuellement borné : une pile des sous-arbres dont la racine reste à
+     * fournir, leur sous-arbre droit restant à parcourir. Lors d'une descente, les sous-arbres
+     * gauches dont toutes les clés sont inférieures à la borne inférieure sont ignorés ; le
+     * parcours s'arrête à la première clé atteignant la borne supérieure.
+     */
+    private static final class IterateurInfixe<K extends Comparable<K>> implements Iterator<K> {
+
+        private final PileObjets<ArbreBinaireRecherche<K>> pile = new PileObjets<>();
+
+        private final K de;
+
+        private final K a;
+
+        IterateurInfixe(ArbreBinaireRecherche<K> arbre, K de, K a) {
+            this.de = de;
+            this.a = a;
+            this.descendre(arbre);
+            this.verifierBorneSuperieure();
+        }
+
+        private void descendre(ArbreBinaireRecherche<K> arbre) {
+            ArbreBinaireRecherche<K> courant = arbre;
+            while (courant != null) {
+                if (this.de != null && courant.getRacine().compareTo(this.de) < 0) {
+                    courant = courant.getSad();
+                } else {
+                    this.pile.empiler(courant);
+                    courant = courant.getSag();
+                }
+            }
+        }
+
+        private void verifierBorneSuperieure() {
+            if (this.a != null && !this.pile.isEmpty()
+                    && this.pile.sommet().getRacine().compareTo(this.a) >= 0) {
+                this.pile.vider();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !this.pile.isEmpty();
+        }
+
+        @Override
+        public K next() {
+            if (this.pile.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            final ArbreBinaireRecherche<K> arbre = this.pile.depiler();
+            this.descendre(arbre.getSad());
+            this.verifierBorneSuperieure();
+            return arbre.getRacine();
+        }
+    }
+}
@@ -0,0 +1,936 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import despetitsarbres.exceptions.InsertionImpossibleException;
+import despetitsarbres.exceptions.SuppressionImpossibleException;
+import despetitsarbres.exceptions.ValeurNonTrouveeException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Implémentation squelette d'un arbre binaire de recherche AVL (même comportement que
+ * {@link ArbreAVL}) dont les noeuds sont stockés dans des pages de tampons d'octets. Un noeud
+ * occupe 12 octets (indices de ses fils gauche et droit, hauteur de son sous-arbre) plus la taille
+ * de sa clé, codée par un {@link CodecCle} de taille fixe ; le noeud d'indice 0 est la racine. La
+ * hauteur de l'arbre reste logarithmique quel que soit l'ordre des ajouts, y compris pour des clés
+ * triées : une recherche ne touche qu'O(log n) noeuds, donc au plus autant de pages. Comme pour
+ * {@link ArbreAVL}, les rotations échangent les clés entre noeuds afin que la racine reste le
+ * noeud d'indice 0. Les noeuds libérés par un retrait sont chaînés dans une liste libre et
+ * réutilisés par les ajouts suivants. Les sous-classes fournissent les pages
+ * ({@link #creerPage(int)}) et peuvent conserver l'état de l'arbre
+ * ({@link #enregistrerEtat(int, int, int, int)}).
+ *
+ * <p>
+ * Les parcours et itérateurs décodent les clés directement depuis les tampons. Les sous-arbres
+ * sont des vues créées à la demande, valides jusqu'à la modification suivante et non
+ * modifiables. Une fois l'arbre fermé, l'arbre et ses sous-arbres ne sont plus utilisables.
+ * L'arbre ne doit pas être utilisé par plusieurs threads à la fois.
+ * </p>
+ *
+ * @author Rémi Venant
+ * @param <K> Type des valeurs des noeud de l'ABR (les valeurs doivent être comparable entre elles).
+ */
+public abstract class AbstractArbreBinaireRechercheTampons<K extends Comparable<K>>
+        extends AbstractArbreBinaireRecherche<K> implements AutoCloseable {
+
+    private static final int NUL = -1;
+
+    /**
+     * Logarithme en base 2 du nombre de noeuds par page.
+     */
+    static final int DECALAGE_PAGE = 16;
+
+    /**
+     * Nombre de noeuds par page.
+     */
+    static final int NOEUDS_PAR_PAGE = 1 << DECALAGE_PAGE;
+
+    private static final int MASQUE_PAGE = NOEUDS_PAR_PAGE - 1;
+
+    private static final int POSITION_DROIT = Integer.BYTES;
+
+    private static final int POSITION_HAUTEUR = 2 * Integer.BYTES;
+
+    private static final int POSITION_CLE = 3 * Integer.BYTES;
+
+    private static final int RACINE = 0;
+
+    private final CodecCle<K> codec;
+
+    private final int tailleNoeud;
+
+    private ByteBuffer[] pages;
+
+    private int nbPages;
+
+    private int nbNoeuds;
+
+    private int prochainIndice;
+
+    private int premierLibre;
+
+    /**
+     * Chemin de la racine au noeud modifié, réutilisé par les ajouts et retraits.
+     */
+    private final PileEntiers chemin = new PileEntiers();
+
+    /**
+     * Constructeur pour les sous-classes, qui doivent ensuite appeler
+     * {@link #initialiser(Comparable, int)} ou {@link #restaurer(int, int, int, int)}.
+     *
+     * @param codec le codec des clés
+     * @throws NullPointerException si le codec est nul
+     */
+    protected AbstractArbreBinaireRechercheTampons(CodecCle<K> codec) {
+        this.codec = Objects.requireNonNull(codec, "Le codec ne peut être nul");
+        this.tailleNoeud = POSITION_CLE + codec.getTaille();
+        this.pages = new ByteBuffer[1];
+        this.premierLibre = NUL;
+    }
+
+    /**
+     * Initialise un arbre vide avec sa racine, en créant les pages du nombre de noeuds indiqué.
+     *
+     * @param racine la valeur de la racine
+     * @param capaciteInitiale le nombre de noeuds pouvant être stockés sans créer de page
+     * @throws NullPointerException si la racine est nulle
+     * @throws IllegalArgumentException si la capacité n'est pas strictement positive
+     */
+    protected final void initialiser(K racine, int capaciteInitiale) {
+        Objects.requireNonNull(racine, "La racine d'un ABR ne peut être nulle");
+        if (capaciteInitiale < 1) {
+            throw new IllegalArgumentException("La capacité doit être strictement positive");
+        }
+        final int nbPagesInitial = (capaciteInitiale + NOEUDS_PAR_PAGE - 1) >>> DECALAGE_PAGE;
+        while (this.nbPages < nbPagesInitial) {
+            this.ajouterPage();
+        }
+        this.allouer(racine);
+        this.notifierEtat();
+    }
+
+    /**
+     * Restaure l'état d'un arbre dont les pages existent déjà, en les obtenant par
+     * {@link #creerPage(int)}.
+     *
+     * @param nbPages le nombre de pages
+     * @param nbNoeuds le nombre de noeuds
+     * @param prochainIndice l'indice du prochain noeud jamais alloué
+     * @param premierLibre l'indice du premier noeud de la liste libre, ou -1
+     * @throws IllegalArgumentException si l'état est incohérent
+     */
+    protected final void restaurer(int nbPages, int nbNoeuds, int prochainIndice,
+            int premierLibre) {
+        if (nbNoeuds < 1 || prochainIndice < nbNoeuds
+                || ((long) nbPages << DECALAGE_PAGE) < prochainIndice
+                || premierLibre < NUL || premierLibre >= prochainIndice) {
+            throw new IllegalArgumentException("État de l'arbre incohérent");
+        }
+        while (this.nbPages < nbPages) {
+            this.ajouterPage();
+        }
+        this.nbNoeuds = nbNoeuds;
+        this.prochainIndice = prochainIndice;
+        this.premierLibre = premierLibre;
+    }
+
+    /**
+     * Crée ou obtient la page de numéro indiqué, de taille
+     * {@link #NOEUDS_PAR_PAGE} * {@link #getTailleNoeud()} octets.
+     *
+     * @param numero le numéro de la page, à partir de 0
+     * @return la page
+     */
+    protected abstract ByteBuffer creerPage(int numero);
+
+    /**
+     * Libère une page lors de la fermeture de l'arbre. Par défaut, libère la mémoire d'un tampon
+     * direct ou projeté.
+     *
+     * @param page la page
+     */
+    protected void libererPage(ByteBuffer page) {
+        TamponsDirects.liberer(page);
+    }
+
+    /**
+     * Conserve l'état de l'arbre, appelé à l'initialisation et après chaque modification. Par
+     * défaut, ne fait rien.
+     *
+     * @param nbPages le nombre de pages
+     * @param nbNoeuds le nombre de noeuds
+     * @param prochainIndice l'indice du prochain noeud jamais alloué
+     * @param premierLibre l'indice du premier noeud de la liste libre, ou -1
+     */
+    protected void enregistrerEtat(int nbPages, int nbNoeuds, int prochainIndice,
+            int premierLibre) {
+    }
+
+    /**
+     * Fournit la taille d'un noeud en octets.
+     *
+     * @return la taille d'un noeud
+     */
+    protected final int getTailleNoeud() {
+        return this.tailleNoeud;
+    }
+
+    /**
+     * Fournit les pages de l'arbre.
+     *
+     * @return une copie du tableau des pages
+     * @throws IllegalStateException si l'arbre a été fermé
+     */
+    protected final ByteBuffer[] getPages() {
+        this.verifierOuvert();
+        return Arrays.copyOf(this.pages, this.nbPages);
+    }
+
+    /**
+     * Libère les pages de l'arbre. L'arbre et ses sous-arbres ne sont plus utilisables ensuite.
+     * Fermer un arbre déjà fermé est sans effet.
+     */
+    @Override
+    public void close() {
+        if (this.pages != null) {
+            for (int i = 0; i < this.nbPages; i++) {
+                this.libererPage(this.pages[i]);
+            }
+            this.pages = null;
+        }
+    }
+
+    @Override
+    public K getRacine() {
+        return this.cle(RACINE);
+    }
+
+    @Override
+    public ArbreBinaireRecherche<K> getSag() {
+        return this.vue(this.gauche(RACINE));
+    }
+
+    @Override
+    public ArbreBinaireRecherche<K> getSad() {
+        return this.vue(this.droit(RACINE));
+    }
+
+    @Override
+    public boolean isFeuille() {
+        return this.gauche(RACINE) == NUL && this.droit(RACINE) == NUL;
+    }
+
+    /**
+     * Fournit la hauteur de l'arbre, conservée dans sa racine.
+     *
+     * @return la hauteur de l'arbre
+     */
+    @Override
+    public int getHauteur() {
+        return this.hauteur(RACINE) - 1;
+    }
+
+    /**
+     * Fournit le nombre de noeuds de l'arbre, en temps constant.
+     *
+     * @return le nombre de noeuds
+     */
+    @Override
+    public int getNbNoeuds() {
+        this.verifierOuvert();
+        return this.nbNoeuds;
+    }
+
+    @Override
+    public ArbreBinaireRecherche<K> rechercherSousArbre(K cle) {
+        return cle == null ? null : this.vue(this.rechercher(RACINE, cle));
+    }
+
+    @Override
+    public boolean contains(K cle) {
+        return cle != null && this.rechercher(RACINE, cle) != NUL;
+    }
+
+    @Override
+    public K getMin() {
+        return this.cle(this.min(RACINE));
+    }
+
+    @Override
+    public K getMax() {
+        return this.cle(this.max(RACINE));
+    }
+
+    @Override
+    public K plancher(K cle) {
+        return this.naviguer(RACINE, cle, true, true);
+    }
+
+    @Override
+    public K plafond(K cle) {
+        return this.naviguer(RACINE, cle, false, true);
+    }
+
+    @Override
+    public K predecesseur(K cle) {
+        return this.naviguer(RACINE, cle, true, false);
+    }
+
+    @Override
+    public K successeur(K cle) {
+        return this.naviguer(RACINE, cle, false, false);
+    }
+
+    @Override
+    public void traiterNoeudsParcoursPrefixe(Consumer<K> traitementNoeud) {
+        this.parcourir(new IterateurPrefixe(RACINE), traitementNoeud);
+    }
+
+    @Override
+    public void traiterNoeudsParcoursSuffixe(Consumer<K> traitementNoeud) {
+        this.parcourir(new IterateurSuffixe(RACINE), traitementNoeud);
+    }
+
+    @Override
+    public void traiterNoeudsParcoursLargeur(Consumer<K> traitementNoeud) {
+        this.parcourir(new IterateurLargeur(RACINE), traitementNoeud);
+    }
+
+    @Override
+    public Iterator<K> iterateurParcoursPrefixe() {
+        return new IterateurPrefixe(RACINE);
+    }
+
+    @Override
+    public Iterator<K> iterateurParcoursSuffixe() {
+        return new IterateurSuffixe(RACINE);
+    }
+
+    @Override
+    public Iterator<K> iterateurParcoursLargeur() {
+        return new IterateurLargeur(RACINE);
+    }
+
+    @Override
+    public AbstractArbreBinaireRechercheTampons<K> ajouter(K cle)
+            throws InsertionImpossibleException {
+        verifierAjout(this.tenterAjouter(cle));
+        return this;
+    }
+
+    @Override
+    public StatutModification tenterAjouter(K cle) {
+        if (cle == null) {
+            return StatutModification.CLE_NULLE;
+        }
+        this.chemin.vider();
+        int noeud = RACINE;
+        while (true) {
+            final int cmp = this.comparer(cle, noeud);
+            if (cmp == 0) {
+                return StatutModification.DEJA_PRESENTE;
+            }
+            this.chemin.empiler(noeud);
+            final int fils = cmp < 0 ? this.gauche(noeud) : this.droit(noeud);
+            if (fils == NUL) {
+                final int nouveau = this.allouer(cle);
+                if (cmp < 0) {
+                    this.definirGauche(noeud, nouveau);
+                } else {
+                    this.definirDroit(noeud, nouveau);
+                }
+                break;
+            }
+            noeud = fils;
+        }
+        this.reequilibrerChemin();
+        this.notifierEtat();
+        return StatutModification.EFFECTUEE;
+    }
+
+    /**
+     * Retire une clé de l'arbre. Un noeud à deux sous-arbres prend la clé maximale de son
+     * sous-arbre gauche ; un noeud à un seul sous-arbre prend la place de celui-ci. L'arbre est
+     * ensuite rééquilibré en remontant le chemin du noeud retiré.
+     *
+     * @param cle la clé à retirer
+     * @return l'arbre mis à jour
+     * @throws ValeurNonTrouveeException si la clé n'existe pas
+     * @throws SuppressionImpossibleException si l'arbre est une feuille de valeur clé ou si la clé
+     * est nulle
+     */
+    @Override
+    public AbstractArbreBinaireRechercheTampons<K> retirer(K cle) throws ValeurNonTrouveeException,
+            SuppressionImpossibleException {
+        verifierRetrait(this.tenterRetirer(cle), cle);
+        return this;
+    }
+
+    @Override
+    public StatutModification tenterRetirer(K cle) {
+        if (cle == null) {
+            return StatutModification.CLE_NULLE;
+        }
+        this.chemin.vider();
+        int parent = NUL;
+        int noeud = RACINE;
+        int cmp;
+        while ((cmp = this.comparer(cle, noeud)) != 0) {
+            this.chemin.empiler(noeud);
+            parent = noeud;
+            noeud = cmp < 0 ? this.gauche(noeud) : this.droit(noeud);
+            if (noeud == NUL) {
+                return StatutModification.ABSENTE;
+            }
+        }
+        final int gauche = this.gauche(noeud);
+        final int droit = this.droit(noeud);
+        if (gauche != NUL && droit != NUL) {
+            this.chemin.empiler(noeud);
+            int parentMax = noeud;
+            int max = gauche;
+            while (this.droit(max) != NUL) {
+                parentMax = max;
+                this.chemin.empiler(max);
+                max = this.droit(max);
+            }
+            this.copierCle(max, noeud);
+            if (parentMax == noeud) {
+                this.definirGauche(parentMax, this.gauche(max));
+            } else {
+                this.definirDroit(parentMax, this.gauche(max));
+            }
+            this.liberer(max);
+        } else if (gauche != NUL || droit != NUL) {
+            final int fils = gauche != NUL ? gauche : droit;
+            this.copierCle(fils, noeud);
+            this.definirGauche(noeud, this.gauche(fils));
+            this.definirDroit(noeud, this.droit(fils));
+            this.liberer(fils);
+            this.chemin.empiler(noeud);
+        } else if (parent == NUL) {
+            return StatutModification.DERNIERE_CLE;
+        } else {
+            if (this.gauche(parent) == noeud) {
+                this.definirGauche(parent, NUL);
+            } else {
+                this.definirDroit(parent, NUL);
+            }
+            this.liberer(noeud);
+        }
+        this.reequilibrerChemin();
+        this.notifierEtat();
+        return StatutModification.EFFECTUEE;
+    }
+
+    /**
+     * Rééquilibre les noeuds du chemin, du plus profond à la racine. La remontée s'arrête au
+     * premier noeud dont la hauteur n'a pas changé : les équilibres de ses ancêtres sont
+     * inchangés.
+     */
+    private void reequilibrerChemin() {
+        while (!this.chemin.isEmpty()) {
+            final int noeud = this.chemin.depiler();
+            final int ancienneHauteur = this.hauteur(noeud);
+            this.reequilibrer(noeud);
+            if (this.hauteur(noeud) == ancienneHauteur) {
+                return;
+            }
+        }
+    }
+
+    private void reequilibrer(int noeud) {
+        final int gauche = this.gauche(noeud);
+        final int droit = this.droit(noeud);
+        final int equilibre = this.hauteur(gauche) - this.hauteur(droit);
+        if (equilibre > 1) {
+            if (this.hauteur(this.gauche(gauche)) < this.hauteur(this.droit(gauche))) {
+                this.rotationGauche(gauche);
+            }
+            this.rotationDroite(noeud);
+        } else if (equilibre < -1) {
+            if (this.hauteur(this.droit(droit)) < this.hauteur(this.gauche(droit))) {
+                this.rotationDroite(droit);
+            }
+            this.rotationGauche(noeud);
+        } else {
+            this.mettreAJourHauteur(noeud);
+        }
+    }
+
+    /**
+     * Rotation droite conservant l'indice du noeud en tête : son fils gauche lui cède sa clé et
+     * devient son fils droit.
+     */
+    private void rotationDroite(int noeud) {
+        final int fils = this.gauche(noeud);
+        final int droit = this.droit(noeud);
+        this.echangerCles(noeud, fils);
+        this.definirGauche(noeud, this.gauche(fils));
+        this.definirGauche(fils, this.droit(fils));
+        this.definirDroit(fils, droit);
+        this.definirDroit(noeud, fils);
+        this.mettreAJourHauteur(fils);
+        this.mettreAJourHauteur(noeud);
+    }
+
+    /**
+     * Rotation gauche conservant l'indice du noeud en tête : son fils droit lui cède sa clé et
+     * devient son fils gauche.
+     */
+    private void rotationGauche(int noeud) {
+        final int fils = this.droit(noeud);
+        final int gauche = this.gauche(noeud);
+        this.echangerCles(noeud, fils);
+        this.definirDroit(noeud, this.droit(fils));
+        this.definirDroit(fils, this.gauche(fils));
+        this.definirGauche(fils, gauche);
+        this.definirGauche(noeud, fils);
+        this.mettreAJourHauteur(fils);
+        this.mettreAJourHauteur(noeud);
+    }
+
+    private void mettreAJourHauteur(int noeud) {
+        final int hauteur = 1 + Math.max(this.hauteur(this.gauche(noeud)),
+                this.hauteur(this.droit(noeud)));
+        if (hauteur != this.hauteur(noeud)) {
+            this.page(noeud).putInt(this.position(noeud) + POSITION_HAUTEUR, hauteur);
+        }
+    }
+
+    private void verifierOuvert() {
+        if (this.pages == null) {
+            throw new IllegalStateException("L'arbre a été fermé");
+        }
+    }
+
+    private ByteBuffer page(int noeud) {
+        this.verifierOuvert();
+        return this.pages[noeud >>> DECALAGE_PAGE];
+    }
+
+    private int position(int noeud) {
+        return (noeud & MASQUE_PAGE) * this.tailleNoeud;
+    }
+
+    private int gauche(int noeud) {
+        return this.page(noeud).getInt(this.position(noeud));
+    }
+
+    private int droit(int noeud) {
+        return this.page(noeud).getInt(this.position(noeud) + POSITION_DROIT);
+    }
+
+    private void definirGauche(int noeud, int gauche) {
+        this.page(noeud).putInt(this.position(noeud), gauche);
+    }
+
+    private void definirDroit(int noeud, int droit) {
+        this.page(noeud).putInt(this.position(noeud) + POSITION_DROIT, droit);
+    }
+
+    /**
+     * Fournit le nombre de niveaux du sous-arbre d'un noeud : 1 pour une feuille, 0 pour un
+     * sous-arbre vide.
+     */
+    private int hauteur(int noeud) {
+        return noeud == NUL ? 0 : this.page(noeud).getInt(this.position(noeud) + POSITION_HAUTEUR);
+    }
+
+    private K cle(int noeud) {
+        return this.codec.lire(this.page(noeud), this.position(noeud) + POSITION_CLE);
+    }
+
+    private int comparer(K cle, int noeud) {
+        return this.codec.comparer(cle, this.page(noeud), this.position(noeud) + POSITION_CLE);
+    }
+
+    private void copierCle(int source, int destination) {
+        final ByteBuffer pageSource = this.page(source);
+        final ByteBuffer pageDestination = this.page(destination);
+        final int positionSource = this.position(source) + POSITION_CLE;
+        final int positionDestination = this.position(destination) + POSITION_CLE;
+        for (int i = 0; i < this.codec.getTaille(); i++) {
+            pageDestination.put(positionDestination + i, pageSource.get(positionSource + i));
+        }
+    }
+
+    private void echangerCles(int premier, int second) {
+        final ByteBuffer pagePremier = this.page(premier);
+        final ByteBuffer pageSecond = this.page(second);
+        final int positionPremier = this.position(premier) + POSITION_CLE;
+        final int positionSecond = this.position(second) + POSITION_CLE;
+        for (int i = 0; i < this.codec.getTaille(); i++) {
+            final byte octet = pagePremier.get(positionPremier + i);
+            pagePremier.put(positionPremier + i, pageSecond.get(positionSecond + i));
+            pageSecond.put(positionSecond + i, octet);
+        }
+    }
+
+    private ArbreBinaireRecherche<K> vue(int noeud) {
+        return noeud == NUL ? null : noeud == RACINE ? this : new SousArbre(noeud);
+    }
+
+    private int rechercher(int noeud, K cle) {
+        while (noeud != NUL) {
+            final int cmp = this.comparer(cle, noeud);
+            if (cmp == 0) {
+                return noeud;
+            }
+            noeud = cmp < 0 ? this.gauche(noeud) : this.droit(noeud);
+        }
+        return NUL;
+    }
+
+    /**
+     * Recherche la clé la plus proche d'une clé de référence en une seule descente sur les
+     * indices : les comparaisons se font sur les octets sérialisés et seule la clé retenue est
+     * décodée.
+     */
+    private K naviguer(int noeud, K cle, boolean inferieure, boolean inclusive) {
+        if (cle == null) {
+            return null;
+        }
+        int candidat = NUL;
+        while (noeud != NUL) {
+            final int cmp = this.comparer(cle, noeud);
+            if (cmp == 0 && inclusive) {
+                return this.cle(noeud);
+            }
+            if (inferieure ? cmp > 0 : cmp < 0) {
+                candidat = noeud;
+            }
+            noeud = (inferieure ? cmp > 0 : cmp >= 0) ? this.droit(noeud) : this.gauche(noeud);
+        }
+        return candidat == NUL ? null : this.cle(candidat);
+    }
+
+    private int min(int noeud) {
+        int gauche;
+        while ((gauche = this.gauche(noeud)) != NUL) {
+            noeud = gauche;
+        }
+        return noeud;
+    }
+
+    private int max(int noeud) {
+        int droit;
+        while ((droit = this.droit(noeud)) != NUL) {
+            noeud = droit;
+        }
+        return noeud;
+    }
+
+    private void parcourir(Iterator<K> iterateur, Consumer<K> traitementNoeud) {
+        while (iterateur.hasNext()) {
+            traitementNoeud.accept(iterateur.next());
+        }
+    }
+
+    private void ajouterPage() {
+        if (this.nbPages == this.pages.length) {
+            this.pages = Arrays.copyOf(this.pages, this.nbPages << 1);
+        }
+        this.pages[this.nbPages] = this.creerPage(this.nbPages);
+        this.nbPages++;
+    }
+
+    private void notifierEtat() {
+        this.enregistrerEtat(this.nbPages, this.nbNoeuds, this.prochainIndice, this.premierLibre);
+    }
+
+    private int allouer(K cle) {
+        final int noeud;
+        if (this.premierLibre != NUL) {
+            noeud = this.premierLibre;
+            this.premierLibre = this.gauche(noeud);
+        } else {
+            if (this.prochainIndice < 0) {
+                throw new IllegalStateException("Nombre maximal de noeuds atteint");
+            }
+            if ((this.prochainIndice >>> DECALAGE_PAGE) == this.nbPages) {
+                this.ajouterPage();
+            }
+            noeud = this.prochainIndice++;
+        }
+        final ByteBuffer page = this.page(noeud);
+        final int position = this.position(noeud);
+        page.putInt(position, NUL);
+        page.putInt(position + POSITION_DROIT, NUL);
+        page.putInt(position + POSITION_HAUTEUR, 1);
+        this.codec.ecrire(page, position + POSITION_CLE, cle);
+        this.nbNoeuds++;
+        return noeud;
+    }
+
+    private void liberer(int noeud) {
+        this.definirGauche(noeud, this.premierLibre);
+        this.premierLibre = noeud;
+        this.nbNoeuds--;
+    }
+
+    /**
+     * Vue d'un sous-arbre de l'arbre, désigné par l'indice de son noeud racine.
+     */
+    private final class SousArbre extends AbstractArbreBinaireRecherche<K> {
+
+        private final int noeud;
+
+        SousArbre(int noeud) {
+            this.noeud = noeud;
+        }
+
+        @Override
+        public K getRacine() {
+            return cle(this.noeud);
+        }
+
+        @Override
+        public ArbreBinaireRecherche<K> getSag() {
+            return vue(gauche(this.noeud));
+        }
+
+        @Override
+        public ArbreBinaireRecherche<K> getSad() {
+            return vue(droit(this.noeud));
+        }
+
+        @Override
+        public boolean isFeuille() {
+            return gauche(this.noeud) == NUL && droit(this.noeud) == NUL;
+        }
+
+        @Override
+        public int getHauteur() {
+            return hauteur(this.noeud) - 1;
+        }
+
+        @Override
+        public ArbreBinaireRecherche<K> rechercherSousArbre(K cle) {
+            return cle == null ? null : vue(rechercher(this.noeud, cle));
+        }
+
+        @Override
+        public boolean contains(K cle) {
+            return cle != null && rechercher(this.noeud, cle) != NUL;
+        }
+
+        @Override
+        public K getMin() {
+            return cle(min(this.noeud));
+        }
+
+        @Override
+        public K getMax() {
+            return cle(max(this.noeud));
+        }
+
+        @Override
+        public K plancher(K cle) {
+            return naviguer(this.noeud, cle, true, true);
+        }
+
+        @Override
+        public K plafond(K cle) {
+            return naviguer(this.noeud, cle, false, true);
+        }
+
+        @Override
+        public K predecesseur(K cle) {
+            return naviguer(this.noeud, cle, true, false);
+        }
+
+        @Override
+        public K successeur(K cle) {
+            return naviguer(this.noeud, cle, false, false);
+        }
+
+        @Override
+        public void traiterNoeudsParcoursPrefixe(Consumer<K> traitementNoeud) {
+            parcourir(new IterateurPrefixe(this.noeud), traitementNoeud);
+        }
+
+        @Override
+        public void traiterNoeudsParcoursSuffixe(Consumer<K> traitementNoeud) {
+            parcourir(new IterateurSuffixe(this.noeud), traitementNoeud);
+        }
+
+        @Override
+        public void traiterNoeudsParcoursLargeur(Consumer<K> traitementNoeud) {
+            parcourir(new IterateurLargeur(this.noeud), traitementNoeud);
+        }
+
+        @Override
+        public Iterator<K> iterateurParcoursPrefixe() {
+            return new IterateurPrefixe(this.noeud);
+        }
+
+        @Override
+        public Iterator<K> iterateurParcoursSuffixe() {
+            return new IterateurSuffixe(this.noeud);
+        }
+
+        @Override
+        public Iterator<K> iterateurParcoursLargeur() {
+            return new IterateurLargeur(this.noeud);
+        }
+
+        @Override
+        public ArbreBinaireRecherche<K> ajouter(K cle) {
+            throw new UnsupportedOperationException(
+                    "Seule la racine d'un arbre en tampons peut être modifiée");
+        }
+
+        @Override
+        public ArbreBinaireRecherche<K> retirer(K cle) {
+            throw new UnsupportedOperationException(
+                    "Seule la racine d'un arbre en tampons peut être modifiée");
+        }
+
+        @Override
+        public StatutModification tenterAjouter(K cle) {
+            throw new UnsupportedOperationException(
+                    "Seule la racine d'un arbre en tampons peut être modifiée");
+        }
+
+        @Override
+        public StatutModification tenterRetirer(K cle) {
+            throw new UnsupportedOperationException(
+                    "Seule la racine d'un arbre en tampons peut être modifiée");
+        }
+    }
+
+    /**
+     * Itérateur préfixe sur les indices des noeuds.
+     */
+    private final class IterateurPrefixe implements Iterator<K> {
+
+        private final PileEntiers pile = new PileEntiers();
+
+        IterateurPrefixe(int noeud) {
+            this.pile.empiler(noeud);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !this.pile.isEmpty();
+        }
+
+        @Override
+        public K next() {
+            if (this.pile.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            final int noeud = this.pile.depiler();
+            final int droit = droit(noeud);
+            if (droit != NUL) {
+                this.pile.empiler(droit);
+            }
+            final int gauche = gauche(noeud);
+            if (gauche != NUL) {
+                this.pile.empiler(gauche);
+            }
+            return cle(noeud);
+        }
+    }
+
+    /**
+     * Itérateur suffixe sur les indices des noeuds : la pile contient la branche en cours, le
+     * dernier noeud traité indique si le sous-arbre droit du sommet a déjà été parcouru.
+     */
+    private final class IterateurSuffixe implements Iterator<K> {
+
+        private final PileEntiers pile = new PileEntiers();
+
+        private int courant;
+
+        private int dernierTraite = NUL;
+
+        IterateurSuffixe(int noeud) {
+            this.courant = noeud;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.courant != NUL || !this.pile.isEmpty();
+        }
+
+        @Override
+        public K next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            while (true) {
+                if (this.courant != NUL) {
+                    this.pile.empiler(this.courant);
+                    this.courant = gauche(this.courant);
+                } else {
+                    final int sommet = this.pile.sommet();
+                    final int droit = droit(sommet);
+                    if (droit != NUL && droit != this.dernierTraite) {
+                        this.courant = droit;
+                    } else {
+                        this.pile.depiler();
+                        this.dernierTraite = sommet;
+                        return cle(sommet);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Itérateur en largeur sur les indices des noeuds.
+     */
+    private final class IterateurLargeur implements Iterator<K> {
+
+        private final FileEntiers file = new FileEntiers();
+
+        IterateurLargeur(int noeud) {
+            this.file.enfiler(noeud);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !this.file.isEmpty();
+        }
+
+        @Override
+        public K next() {
+            if (this.file.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            final int noeud = this.file.defiler();
+            final int gauche = gauche(noeud);
+            if (gauche != NUL) {
+                this.file.enfiler(gauche);
+            }
+            final int droit = droit(noeud);
+            if (droit != NUL) {
+                this.file.enfiler(droit);
+            }
+            return cle(noeud);
+        }
+    }
+}
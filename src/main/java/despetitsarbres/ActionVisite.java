@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+/**
+ * Suite à donner à un parcours après la visite d'un noeud.
+ *
+ * @author Rémi Venant
+ * @see VisiteurArbre
+ */
+public enum ActionVisite {
+    /**
+     * Poursuivre le parcours par les sous-arbres du noeud.
+     */
+    CONTINUER,
+    /**
+     * Poursuivre le parcours sans visiter les sous-arbres du noeud.
+     */
+    IGNORER_SOUS_ARBRES,
+    /**
+     * Arrêter le parcours.
+     */
+    ARRETER
+}
@@ -20,7 +20,12 @@ package despetitsarbres;
 
 import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  *
@@ -87,6 +92,28 @@ public interface Arbre<V> extends Iterable<V> {
      */
     float getHauteurMoyenne();
 
+    /**
+     * Calcule en un seul parcours itératif le nombre de noeuds, le nombre de feuilles, la hauteur
+     * et la hauteur moyenne de l'arbre, ainsi que la distribution des degrés de ses noeuds, la
+     * largeur de chacun de ses niveaux et l'histogramme des profondeurs de ses feuilles.
+     *
+     * @return les statistiques de l'arbre
+     */
+    default StatistiquesArbre statistiques() {
+        return StatistiquesArbre.calculer(this);
+    }
+
+    /**
+     * Fournit un instantané immuable de l'arbre, stocké de façon contiguë dans l'ordre préfixe :
+     * le parcours préfixe y est un balayage de tableau, le nombre de noeuds et la hauteur des
+     * constantes. Les modifications ultérieures de l'arbre ne sont pas reportées sur l'instantané.
+     *
+     * @return l'arbre gelé
+     */
+    default ArbreGele<V> geler() {
+        return ArbreGele.geler(this);
+    }
+
     /**
      * Parcours l'arbre en profondeur préfixe et applique le traitement fourni sur chaque valeur de
      * noeuds.
@@ -110,6 +137,52 @@ public interface Arbre<V> extends Iterable<V> {
      */
     void traiterNoeudsParcoursLargeur(Consumer<V> traitementNoeud);
 
+    /**
+     * Parcours l'arbre en largeur, niveau par niveau, et applique le traitement fourni sur les
+     * valeurs des noeuds de chaque niveau, dans l'ordre du parcours en largeur. La liste d'un
+     * niveau n'est valable que pendant son traitement : elle doit être copiée pour être conservée.
+     *
+     * @param traitementNiveau le traitement à appliquer à chaque niveau, recevant sa profondeur
+     * (0 pour la racine) et les valeurs de ses noeuds
+     */
+    void traiterNiveaux(BiConsumer<Integer, List<V>> traitementNiveau);
+
+    /**
+     * Parcours l'arbre en profondeur préfixe en soumettant chaque noeud au visiteur, qui peut
+     * écarter les sous-arbres du noeud ou arrêter le parcours : les noeuds écartés ou suivant
+     * l'arrêt ne sont pas atteints.
+     *
+     * @param visiteur le visiteur des noeuds
+     * @return vrai si le parcours est allé à son terme, faux s'il a été arrêté par le visiteur
+     */
+    boolean visiterParcoursPrefixe(VisiteurArbre<V> visiteur);
+
+    /**
+     * Génère un flux séquentiel des valeurs des noeuds dans l'ordre de parcours donné. Le flux
+     * est paresseux : les noeuds sont atteints au fur et à mesure de sa consommation, si bien
+     * qu'une opération terminale court-circuitante (findFirst, anyMatch, limit...) ne parcourt
+     * pas le reste de l'arbre.
+     *
+     * @param ordre l'ordre de parcours
+     * @return le flux des valeurs
+     */
+    default Stream<V> stream(OrdreParcours ordre) {
+        final Iterator<V> iterateur;
+        switch (ordre) {
+            case PREFIXE:
+                iterateur = this.iterateurParcoursPrefixe();
+                break;
+            case SUFFIXE:
+                iterateur = this.iterateurParcoursSuffixe();
+                break;
+            default:
+                iterateur = this.iterateurParcoursLargeur();
+                break;
+        }
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterateur, Spliterator.ORDERED), false);
+    }
+
     /**
      * Génère un intérateur des valeurs des noeuds via un parcour préfixe.
      *
@@ -0,0 +1,581 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import despetitsarbres.exceptions.InsertionImpossibleException;
+import despetitsarbres.exceptions.SuppressionImpossibleException;
+import despetitsarbres.exceptions.ValeurNonTrouveeException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Arbre binaire de recherche AVL : les hauteurs des deux sous-arbres de chaque noeud diffèrent
+ * au plus de 1, ce qui borne la hauteur de l'arbre à environ 1,44.log2(n + 2). Chaque noeud
+ * conserve sa hauteur, mise à jour lors des ajouts et retraits : {@link #getHauteur()} est en
+ * temps constant.
+ *
+ * <p>
+ * Comme pour {@link ArbreRougeNoir}, les rotations échangent les clés entre noeuds afin que l'objet
+ * racine reste la racine de l'arbre. Un sous-arbre obtenu par {@link #getSag()},
+ * {@link #getSad()} ou {@link #rechercherSousArbre(Comparable)} ne reste valide que jusqu'à la
+ * modification suivante, et seule la racine peut être modifiée.
+ * </p>
+ *
+ * @author Rémi Venant
+ * @param <K> Type des valeurs des noeud de l'ABR (les valeurs doivent être comparable entre elles).
+ */
+public class ArbreAVL<K extends Comparable<K>> extends AbstractArbreBinaireRecherche<K> {
+
+    private K racine;
+
+    private ArbreAVL<K> sag;
+
+    private ArbreAVL<K> sad;
+
+    private int hauteur;
+
+    private final boolean estRacine;
+
+    private int nbCles;
+
+    /**
+     * Crée un ABR AVL réduit à une feuille.
+     *
+     * @param racine la valeur de la racine
+     * @throws NullPointerException si la racine est nulle
+     */
+    public ArbreAVL(K racine) {
+        this(Objects.requireNonNull(racine, "La racine d'un ABR ne peut être nulle"), true);
+    }
+
+    /**
+     * Constructeur pour les sous-classes.
+     *
+     * @param racine la valeur de la racine
+     * @param estRacine vrai pour la racine de l'arbre, faux pour un noeud interne
+     */
+    protected ArbreAVL(K racine, boolean estRacine) {
+        this.racine = racine;
+        this.hauteur = 0;
+        this.estRacine = estRacine;
+        this.nbCles = 1;
+    }
+
+    @Override
+    public K getRacine() {
+        return this.racine;
+    }
+
+    @Override
+    public ArbreAVL<K> getSag() {
+        return this.sag;
+    }
+
+    @Override
+    public ArbreAVL<K> getSad() {
+        return this.sad;
+    }
+
+    /**
+     * Fournit la hauteur de l'arbre, conservée par le noeud.
+     *
+     * @return la hauteur de l'arbre
+     */
+    @Override
+    public int getHauteur() {
+        return this.hauteur;
+    }
+
+    /**
+     * Fournit le nombre de noeuds de l'arbre, conservé par la racine de l'arbre : le calcul n'est
+     * en temps constant que pour celle-ci. Les séparateurs de l'arbre, qui pèsent ses sous-arbres,
+     * ne s'appuient donc pas sur ce nombre.
+     *
+     * @return le nombre de noeuds
+     */
+    @Override
+    public int getNbNoeuds() {
+        return this.estRacine ? this.nbCles : super.getNbNoeuds();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws UnsupportedOperationException si l'arbre est un sous-arbre
+     */
+    @Override
+    public ArbreAVL<K> ajouter(K cle) throws InsertionImpossibleException {
+        verifierAjout(this.tenterAjouter(cle));
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws UnsupportedOperationException si l'arbre est un sous-arbre
+     */
+    @Override
+    public StatutModification tenterAjouter(K cle) {
+        this.verifierRacine();
+        if (cle == null) {
+            return StatutModification.CLE_NULLE;
+        }
+        if (!this.inserer(cle)) {
+            return StatutModification.DEJA_PRESENTE;
+        }
+        this.nbCles++;
+        return StatutModification.EFFECTUEE;
+    }
+
+    /**
+     * Retire une clé de l'arbre. Un noeud à deux sous-arbres prend la clé maximale de son
+     * sous-arbre gauche.
+     *
+     * @param cle la clé à retirer
+     * @return l'arbre mis à jour
+     * @throws ValeurNonTrouveeException si la clé n'existe pas
+     * @throws SuppressionImpossibleException si l'arbre est une feuille de valeur clé ou si la clé
+     * est nulle
+     * @throws UnsupportedOperationException si l'arbre est un sous-arbre
+     */
+    @Override
+    public ArbreAVL<K> retirer(K cle) throws ValeurNonTrouveeException,
+            SuppressionImpossibleException {
+        verifierRetrait(this.tenterRetirer(cle), cle);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws UnsupportedOperationException si l'arbre est un sous-arbre
+     */
+    @Override
+    public StatutModification tenterRetirer(K cle) {
+        this.verifierRacine();
+        if (cle == null) {
+            return StatutModification.CLE_NULLE;
+        }
+        if (this.isFeuille()) {
+            return cle.compareTo(this.racine) == 0 ? StatutModification.DERNIERE_CLE
+                    : StatutModification.ABSENTE;
+        }
+        if (!this.supprimer(cle)) {
+            return StatutModification.ABSENTE;
+        }
+        this.nbCles--;
+        return StatutModification.EFFECTUEE;
+    }
+
+    /**
+     * Ajoute un lot de clés dans l'arbre. Lorsque le lot est grand devant l'arbre, ses clés sont
+     * fusionnées en un seul passage avec celles de l'arbre, parcourues dans l'ordre infixe, puis
+     * l'arbre est reconstruit avec une hauteur minimale, sans rotation. Sinon, le lot trié est
+     * réparti dans l'arbre en une seule descente : chaque noeud visité partage sa partie du lot
+     * entre ses deux sous-arbres, puis est rééquilibré une seule fois, en étant joint à ses
+     * sous-arbres mis à jour. Une partie du lot qui atteint un sous-arbre vide y forme un
+     * sous-arbre de hauteur minimale. Pour m clés dans un arbre de n noeuds, le coût est en
+     * O(m.log(n / m + 1)).
+     *
+     * @param cles les clés à ajouter
+     * @return les clés rejetées : clés nulles, déjà présentes dans l'arbre ou en double dans le lot
+     * @throws NullPointerException si la collection est nulle
+     * @throws UnsupportedOperationException si l'arbre est un sous-arbre
+     */
+    @Override
+    public List<K> ajouterTous(Collection<K> cles) {
+        this.verifierRacine();
+        final List<K> rejetees = new ArrayList<>();
+        final List<K> lot = ArbresBinairesRecherche.trierLot(cles, rejetees);
+        if (ArbresBinairesRecherche.isFusionPreferable(lot.size(), this.nbCles)) {
+            this.reconstruire(ArbresBinairesRecherche.fusionner(
+                    ArbresBinairesRecherche.clesInfixe(this, this.nbCles), lot, rejetees));
+        } else if (!lot.isEmpty()) {
+            final int nbRejetees = rejetees.size();
+            this.remplacerPar(this.copierRacine().insererLot(lot.toArray(), 0, lot.size(),
+                    rejetees));
+            this.nbCles += lot.size() - (rejetees.size() - nbRejetees);
+        }
+        return rejetees;
+    }
+
+    /**
+     * Retire un lot de clés de l'arbre. Lorsque le lot est grand devant l'arbre, les clés de
+     * l'arbre, parcourues dans l'ordre infixe, sont filtrées en un seul passage par le lot, puis
+     * l'arbre est reconstruit avec une hauteur minimale, sans rotation. Sinon, le lot trié est
+     * réparti dans l'arbre en une seule descente, comme pour {@link #ajouterTous(Collection)} :
+     * un noeud à retirer est remplacé par la jonction de ses deux sous-arbres mis à jour.
+     *
+     * @param cles les clés à retirer
+     * @return les clés rejetées : clés nulles, absentes de l'arbre, en double dans le lot, ou clé
+     * qui aurait vidé l'arbre
+     * @throws NullPointerException si la collection est nulle
+     * @throws UnsupportedOperationException si l'arbre est un sous-arbre
+     */
+    @Override
+    public List<K> retirerTous(Collection<K> cles) {
+        this.verifierRacine();
+        final List<K> rejetees = new ArrayList<>();
+        List<K> lot = ArbresBinairesRecherche.trierLot(cles, rejetees);
+        if (ArbresBinairesRecherche.isFusionPreferable(lot.size(), this.nbCles)) {
+            this.reconstruire(ArbresBinairesRecherche.filtrer(
+                    ArbresBinairesRecherche.clesInfixe(this, this.nbCles), lot, rejetees));
+            return rejetees;
+        }
+        // La plus grande clé de l'arbre est retirée en dernier : elle est conservée si le lot
+        // contient toutes les clés
+        final K max = this.getMax();
+        final boolean avecMax = !lot.isEmpty() && lot.get(lot.size() - 1).compareTo(max) == 0;
+        if (avecMax) {
+            lot = lot.subList(0, lot.size() - 1);
+        }
+        if (!lot.isEmpty()) {
+            final int nbRejetees = rejetees.size();
+            this.remplacerPar(this.copierRacine().retirerLot(lot.toArray(), 0, lot.size(),
+                    rejetees));
+            this.nbCles -= lot.size() - (rejetees.size() - nbRejetees);
+        }
+        if (avecMax && !this.tenterRetirer(max).isEffectuee()) {
+            rejetees.add(max);
+        }
+        return rejetees;
+    }
+
+    private void verifierRacine() {
+        if (!this.estRacine) {
+            throw new UnsupportedOperationException(
+                    "Seule la racine d'un arbre AVL peut être modifiée");
+        }
+    }
+
+    private static int hauteur(ArbreAVL<?> noeud) {
+        return noeud == null ? -1 : noeud.hauteur;
+    }
+
+    /**
+     * Crée un noeud interne réduit à une feuille. Les sous-classes redéfinissent cette méthode
+     * pour créer des noeuds de leur propre type.
+     *
+     * @param cle la clé du noeud
+     * @return le nouveau noeud
+     */
+    protected ArbreAVL<K> creerFeuille(K cle) {
+        return new ArbreAVL<>(cle, false);
+    }
+
+    /**
+     * Met à jour les données conservées par le noeud à partir de celles de ses sous-arbres. La
+     * méthode est appelée à chaque changement de sous-arbres, de bas en haut ; les sous-classes
+     * qui conservent d'autres données la redéfinissent en appelant la méthode parente.
+     */
+    protected void actualiser() {
+        this.hauteur = Math.max(hauteur(this.sag), hauteur(this.sad)) + 1;
+    }
+
+    /**
+     * Insère la clé dans le sous-arbre. Les ancêtres d'une clé déjà présente ne sont pas
+     * rééquilibrés.
+     *
+     * @return vrai si la clé a été insérée, faux si elle était déjà présente
+     */
+    private boolean inserer(K cle) {
+        final int cmp = cle.compareTo(this.racine);
+        if (cmp < 0) {
+            if (this.sag == null) {
+                this.sag = this.creerFeuille(cle);
+            } else if (!this.sag.inserer(cle)) {
+                return false;
+            }
+        } else if (cmp > 0) {
+            if (this.sad == null) {
+                this.sad = this.creerFeuille(cle);
+            } else if (!this.sad.inserer(cle)) {
+                return false;
+            }
+        } else {
+            return false;
+        }
+        this.equilibrer();
+        return true;
+    }
+
+    /**
+     * Supprime la clé du sous-arbre, dont ce noeud n'est pas une feuille. Une feuille portant la
+     * clé est détachée par son parent ; les ancêtres d'une clé absente ne sont pas rééquilibrés.
+     *
+     * @return vrai si la clé a été supprimée, faux si elle était absente
+     */
+    private boolean supprimer(K cle) {
+        final int cmp = cle.compareTo(this.racine);
+        if (cmp < 0) {
+            if (this.sag == null) {
+                return false;
+            } else if (this.sag.isFeuille()) {
+                if (cle.compareTo(this.sag.racine) != 0) {
+                    return false;
+                }
+                this.sag = null;
+            } else if (!this.sag.supprimer(cle)) {
+                return false;
+            }
+        } else if (cmp > 0) {
+            if (this.sad == null) {
+                return false;
+            } else if (this.sad.isFeuille()) {
+                if (cle.compareTo(this.sad.racine) != 0) {
+                    return false;
+                }
+                this.sad = null;
+            } else if (!this.sad.supprimer(cle)) {
+                return false;
+            }
+        } else if (this.sag != null && this.sad != null) {
+            this.racine = this.sag.getMax();
+            if (this.sag.isFeuille()) {
+                this.sag = null;
+            } else {
+                this.sag.supprimer(this.racine);
+            }
+        } else {
+            final ArbreAVL<K> fils = this.sag != null ? this.sag : this.sad;
+            this.racine = fils.racine;
+            this.sag = fils.sag;
+            this.sad = fils.sad;
+        }
+        this.equilibrer();
+        return true;
+    }
+
+    /**
+     * Copie la racine de l'arbre dans un nouveau noeud. Les jonctions d'un lot peuvent déplacer
+     * le noeud d'une clé dans l'arbre : c'est cette copie qui est traitée, et non la racine.
+     */
+    private ArbreAVL<K> copierRacine() {
+        final ArbreAVL<K> copie = this.creerFeuille(this.racine);
+        copie.sag = this.sag;
+        copie.sad = this.sad;
+        copie.actualiser();
+        return copie;
+    }
+
+    private void remplacerPar(ArbreAVL<K> noeud) {
+        this.racine = noeud.racine;
+        this.sag = noeud.sag;
+        this.sad = noeud.sad;
+        this.actualiser();
+    }
+
+    /**
+     * Insère dans le sous-arbre les clés [debut, fin) du lot, triées, qui sont partagées entre
+     * les deux sous-arbres de ce noeud. Les clés déjà présentes sont rejetées dans l'ordre
+     * croissant.
+     *
+     * @return la racine du sous-arbre mis à jour
+     */
+    private ArbreAVL<K> insererLot(Object[] lot, int debut, int fin, List<K> rejetees) {
+        int place = ArbresBinairesRecherche.rechercherPlace(lot, debut, fin, this.racine);
+        ArbreAVL<K> gauche = this.sag;
+        if (debut < place) {
+            gauche = gauche == null ? this.construireFils(lot, debut, place)
+                    : gauche.insererLot(lot, debut, place, rejetees);
+        }
+        if (place < fin && this.racine.compareTo(this.cleLot(lot, place)) == 0) {
+            rejetees.add(this.racine);
+            place++;
+        }
+        ArbreAVL<K> droit = this.sad;
+        if (place < fin) {
+            droit = droit == null ? this.construireFils(lot, place, fin)
+                    : droit.insererLot(lot, place, fin, rejetees);
+        }
+        return joindre(gauche, this, droit);
+    }
+
+    /**
+     * Retire du sous-arbre les clés [debut, fin) du lot, triées, qui sont partagées entre les
+     * deux sous-arbres de ce noeud. Les clés absentes sont rejetées dans l'ordre croissant. Si
+     * la clé de ce noeud est retirée, le noeud prend la plus grande clé de son sous-arbre gauche
+     * mis à jour, puis joint les deux sous-arbres.
+     *
+     * @return la racine du sous-arbre mis à jour, ou null s'il ne reste aucune clé
+     */
+    private ArbreAVL<K> retirerLot(Object[] lot, int debut, int fin, List<K> rejetees) {
+        int place = ArbresBinairesRecherche.rechercherPlace(lot, debut, fin, this.racine);
+        ArbreAVL<K> gauche = this.sag;
+        if (debut < place) {
+            gauche = gauche == null ? this.rejeterLot(lot, debut, place, rejetees)
+                    : gauche.retirerLot(lot, debut, place, rejetees);
+        }
+        final boolean retiree = place < fin
+                && this.racine.compareTo(this.cleLot(lot, place)) == 0;
+        if (retiree) {
+            place++;
+        }
+        ArbreAVL<K> droit = this.sad;
+        if (place < fin) {
+            droit = droit == null ? this.rejeterLot(lot, place, fin, rejetees)
+                    : droit.retirerLot(lot, place, fin, rejetees);
+        }
+        if (!retiree) {
+            return joindre(gauche, this, droit);
+        } else if (gauche == null) {
+            return droit;
+        }
+        this.racine = gauche.getMax();
+        return joindre(retirerMax(gauche), this, droit);
+    }
+
+    /**
+     * Rejette les clés [debut, fin) du lot, qui ont atteint un sous-arbre vide.
+     *
+     * @return null, le sous-arbre vide
+     */
+    private ArbreAVL<K> rejeterLot(Object[] lot, int debut, int fin, List<K> rejetees) {
+        for (int i = debut; i < fin; i++) {
+            rejetees.add(this.cleLot(lot, i));
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private K cleLot(Object[] lot, int indice) {
+        return (K) lot[indice];
+    }
+
+    /**
+     * Joint deux sous-arbres AVL par un noeud dont la clé est supérieure à celles du premier et
+     * inférieure à celles du second. Le plus haut des deux sous-arbres est descendu le long de
+     * son bord intérieur jusqu'à un sous-arbre dont la hauteur diffère d'au plus 1 de celle de
+     * l'autre, que le noeud remplace en prenant les deux pour sous-arbres ; les noeuds remontés
+     * sont rééquilibrés comme après une insertion. Le coût est proportionnel à la différence des
+     * hauteurs.
+     *
+     * @return la racine du sous-arbre joint
+     */
+    private static <K extends Comparable<K>> ArbreAVL<K> joindre(ArbreAVL<K> gauche,
+            ArbreAVL<K> noeud, ArbreAVL<K> droit) {
+        if (hauteur(gauche) > hauteur(droit) + 1) {
+            gauche.sad = joindre(gauche.sad, noeud, droit);
+            gauche.equilibrer();
+            return gauche;
+        } else if (hauteur(droit) > hauteur(gauche) + 1) {
+            droit.sag = joindre(gauche, noeud, droit.sag);
+            droit.equilibrer();
+            return droit;
+        }
+        noeud.sag = gauche;
+        noeud.sad = droit;
+        noeud.actualiser();
+        return noeud;
+    }
+
+    /**
+     * Détache le noeud de la plus grande clé du sous-arbre, en rééquilibrant ses ancêtres.
+     *
+     * @return la racine du sous-arbre restant, ou null s'il est vide
+     */
+    private static <K extends Comparable<K>> ArbreAVL<K> retirerMax(ArbreAVL<K> noeud) {
+        if (noeud.sad == null) {
+            return noeud.sag;
+        }
+        noeud.sad = retirerMax(noeud.sad);
+        noeud.equilibrer();
+        return noeud;
+    }
+
+    /**
+     * Remplace les noeuds de l'arbre par un arbre de hauteur minimale portant les clés, triées.
+     * Les tailles des deux sous-arbres de chaque noeud diffèrent au plus de 1, et donc leurs
+     * hauteurs aussi.
+     */
+    private void reconstruire(Object[] cles) {
+        this.construire(cles, 0, cles.length);
+        this.nbCles = cles.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void construire(Object[] cles, int debut, int fin) {
+        final int milieu = (debut + fin) >>> 1;
+        this.racine = (K) cles[milieu];
+        this.sag = this.construireFils(cles, debut, milieu);
+        this.sad = this.construireFils(cles, milieu + 1, fin);
+        this.actualiser();
+    }
+
+    @SuppressWarnings("unchecked")
+    private ArbreAVL<K> construireFils(Object[] cles, int debut, int fin) {
+        if (debut == fin) {
+            return null;
+        }
+        final ArbreAVL<K> fils = this.creerFeuille((K) cles[(debut + fin) >>> 1]);
+        fils.construire(cles, debut, fin);
+        return fils;
+    }
+
+    private void equilibrer() {
+        this.actualiser();
+        final int desequilibre = hauteur(this.sag) - hauteur(this.sad);
+        if (desequilibre > 1) {
+            if (hauteur(this.sag.sag) < hauteur(this.sag.sad)) {
+                this.sag.rotationGauche();
+            }
+            this.rotationDroite();
+        } else if (desequilibre < -1) {
+            if (hauteur(this.sad.sad) < hauteur(this.sad.sag)) {
+                this.sad.rotationDroite();
+            }
+            this.rotationGauche();
+        }
+    }
+
+    /**
+     * Rotation gauche sur place : ce noeud prend la clé de son fils droit, qui devient son fils
+     * gauche avec l'ancienne clé.
+     */
+    private void rotationGauche() {
+        final ArbreAVL<K> fils = this.sad;
+        final K cle = this.racine;
+        this.racine = fils.racine;
+        fils.racine = cle;
+        this.sad = fils.sad;
+        fils.sad = fils.sag;
+        fils.sag = this.sag;
+        this.sag = fils;
+        fils.actualiser();
+        this.actualiser();
+    }
+
+    /**
+     * Rotation droite sur place, symétrique de {@link #rotationGauche()}.
+     */
+    private void rotationDroite() {
+        final ArbreAVL<K> fils = this.sag;
+        final K cle = this.racine;
+        this.racine = fils.racine;
+        fils.racine = cle;
+        this.sag = fils.sag;
+        fils.sag = fils.sad;
+        fils.sad = this.sad;
+        this.sad = fils;
+        fils.actualiser();
+        this.actualiser();
+    }
+}
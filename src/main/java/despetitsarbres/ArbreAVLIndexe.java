@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import despetitsarbres.exceptions.InsertionImpossibleException;
+import despetitsarbres.exceptions.SuppressionImpossibleException;
+import despetitsarbres.exceptions.ValeurNonTrouveeException;
+import java.util.Objects;
+
+/**
+ * Arbre AVL dont chaque noeud conserve en plus le nombre de noeuds et de feuilles de son
+ * sous-arbre. {@link #getNbNoeuds()} et {@link #getNbFeuilles()} sont en temps constant, et le
+ * rang d'une clé comme la sélection de la k-ième clé sont en O(log n).
+ *
+ * @author Rémi Venant
+ * @param <K> Type des valeurs des noeud de l'ABR (les valeurs doivent être comparable entre elles).
+ */
+public class ArbreAVLIndexe<K extends Comparable<K>> extends ArbreAVL<K> {
+
+    private int nbNoeuds;
+
+    private int nbFeuilles;
+
+    /**
+     * Crée un ABR AVL indexé réduit à une feuille.
+     *
+     * @param racine la valeur de la racine
+     * @throws NullPointerException si la racine est nulle
+     */
+    public ArbreAVLIndexe(K racine) {
+        this(Objects.requireNonNull(racine, "La racine d'un ABR ne peut être nulle"), true);
+    }
+
+    private ArbreAVLIndexe(K racine, boolean estRacine) {
+        super(racine, estRacine);
+        this.nbNoeuds = 1;
+        this.nbFeuilles = 1;
+    }
+
+    @Override
+    public ArbreAVLIndexe<K> getSag() {
+        return (ArbreAVLIndexe<K>) super.getSag();
+    }
+
+    @Override
+    public ArbreAVLIndexe<K> getSad() {
+        return (ArbreAVLIndexe<K>) super.getSad();
+    }
+
+    /**
+     * Fournit le nombre de noeuds de l'arbre, conservé par le noeud.
+     *
+     * @return le nombre de noeuds
+     */
+    @Override
+    public int getNbNoeuds() {
+        return this.nbNoeuds;
+    }
+
+    /**
+     * Fournit le nombre de feuilles de l'arbre, conservé par le noeud.
+     *
+     * @return le nombre de feuilles
+     */
+    @Override
+    public int getNbFeuilles() {
+        return this.nbFeuilles;
+    }
+
+    @Override
+    protected boolean isNbNoeudsEnTempsConstant() {
+        return true;
+    }
+
+    @Override
+    public ArbreAVLIndexe<K> ajouter(K cle) throws InsertionImpossibleException {
+        super.ajouter(cle);
+        return this;
+    }
+
+    @Override
+    public ArbreAVLIndexe<K> retirer(K cle) throws ValeurNonTrouveeException,
+            SuppressionImpossibleException {
+        super.retirer(cle);
+        return this;
+    }
+
+    /**
+     * Fournit le rang d'une clé, c'est-à-dire le nombre de clés de l'arbre strictement
+     * inférieures à celle-ci. La clé n'a pas à être présente dans l'arbre.
+     *
+     * @param cle la clé
+     * @return le rang de la clé, entre 0 et {@link #getNbNoeuds()}
+     * @throws NullPointerException si la clé est nulle
+     */
+    public int rang(K cle) {
+        Objects.requireNonNull(cle, "La clé ne peut être nulle");
+        int rang = 0;
+        ArbreAVLIndexe<K> courant = this;
+        while (courant != null) {
+            final int cmp = cle.compareTo(courant.getRacine());
+            if (cmp <= 0) {
+                if (cmp == 0) {
+                    return rang + nbNoeuds(courant.getSag());
+                }
+                courant = courant.getSag();
+            } else {
+                rang += nbNoeuds(courant.getSag()) + 1;
+                courant = courant.getSad();
+            }
+        }
+        return rang;
+    }
+
+    /**
+     * Sélectionne la clé de rang k, c'est-à-dire la (k + 1)-ième plus petite clé de l'arbre.
+     *
+     * @param k le rang de la clé, à partir de 0
+     * @return la clé de rang k
+     * @throws IndexOutOfBoundsException si k est négatif ou supérieur ou égal au nombre de noeuds
+     */
+    public K selectionner(int k) {
+        Objects.checkIndex(k, this.nbNoeuds);
+        ArbreAVLIndexe<K> courant = this;
+        while (true) {
+            final int nbNoeudsSag = nbNoeuds(courant.getSag());
+            if (k < nbNoeudsSag) {
+                courant = courant.getSag();
+            } else if (k == nbNoeudsSag) {
+                return courant.getRacine();
+            } else {
+                k -= nbNoeudsSag + 1;
+                courant = courant.getSad();
+            }
+        }
+    }
+
+    @Override
+    protected ArbreAVLIndexe<K> creerFeuille(K cle) {
+        return new ArbreAVLIndexe<>(cle, false);
+    }
+
+    @Override
+    protected void actualiser() {
+        super.actualiser();
+        final ArbreAVLIndexe<K> sag = this.getSag();
+        final ArbreAVLIndexe<K> sad = this.getSad();
+        this.nbNoeuds = nbNoeuds(sag) + nbNoeuds(sad) + 1;
+        this.nbFeuilles = sag == null && sad == null ? 1
+                : (sag == null ? 0 : sag.nbFeuilles) + (sad == null ? 0 : sad.nbFeuilles);
+    }
+
+    private static int nbNoeuds(ArbreAVLIndexe<?> noeud) {
+        return noeud == null ? 0 : noeud.nbNoeuds;
+    }
+}
@@ -21,6 +21,11 @@ package despetitsarbres;
 import despetitsarbres.exceptions.InsertionImpossibleException;
 import despetitsarbres.exceptions.SuppressionImpossibleException;
 import despetitsarbres.exceptions.ValeurNonTrouveeException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
 
 /**
  *
@@ -74,6 +79,90 @@ public interface ArbreBinaireRecherche<K extends Comparable<K>> extends Arbre<K>
      */
     K getMax();
 
+    /**
+     * Fournit la plus grande clé de l'arbre inférieure ou égale à la clé donnée.
+     *
+     * @param cle la clé de référence
+     * @return la clé trouvée, null si aucune clé ne convient ou si la clé de référence est nulle
+     */
+    K plancher(K cle);
+
+    /**
+     * Fournit la plus petite clé de l'arbre supérieure ou égale à la clé donnée.
+     *
+     * @param cle la clé de référence
+     * @return la clé trouvée, null si aucune clé ne convient ou si la clé de référence est nulle
+     */
+    K plafond(K cle);
+
+    /**
+     * Fournit la plus grande clé de l'arbre strictement inférieure à la clé donnée, qui n'a pas à
+     * être présente dans l'arbre.
+     *
+     * @param cle la clé de référence
+     * @return la clé trouvée, null si aucune clé ne convient ou si la clé de référence est nulle
+     */
+    K predecesseur(K cle);
+
+    /**
+     * Fournit la plus petite clé de l'arbre strictement supérieure à la clé donnée, qui n'a pas à
+     * être présente dans l'arbre.
+     *
+     * @param cle la clé de référence
+     * @return la clé trouvée, null si aucune clé ne convient ou si la clé de référence est nulle
+     */
+    K successeur(K cle);
+
+    /**
+     * Génère un itérateur des clés de l'arbre via un parcours infixe, c'est-à-dire dans l'ordre
+     * croissant.
+     *
+     * @return l'itérateur
+     */
+    Iterator<K> iterateurParcoursInfixe();
+
+    /**
+     * Génère un itérateur, dans l'ordre croissant, des clés de l'arbre comprises entre deux
+     * bornes. Seuls les sous-arbres pouvant contenir des clés de la plage sont parcourus : pour un
+     * arbre équilibré, l'itération complète est en O(log n + k), k étant le nombre de clés
+     * fournies.
+     *
+     * @param de la borne inférieure, incluse
+     * @param a la borne supérieure, exclue
+     * @return l'itérateur des clés c telles que de &lt;= c &lt; a
+     * @throws NullPointerException si une borne est nulle
+     * @throws IllegalArgumentException si la borne inférieure est supérieure à la borne supérieure
+     */
+    Iterator<K> iterateurPlage(K de, K a);
+
+    /**
+     * Fournit, dans l'ordre croissant, les clés de l'arbre comprises entre deux bornes.
+     *
+     * @param de la borne inférieure, incluse
+     * @param a la borne supérieure, exclue
+     * @return une nouvelle liste des clés c telles que de &lt;= c &lt; a
+     * @throws NullPointerException si une borne est nulle
+     * @throws IllegalArgumentException si la borne inférieure est supérieure à la borne supérieure
+     * @see #iterateurPlage(Comparable, Comparable)
+     */
+    default List<K> plage(K de, K a) {
+        final List<K> cles = new ArrayList<>();
+        this.iterateurPlage(de, a).forEachRemaining(cles::add);
+        return cles;
+    }
+
+    /**
+     * Fournit une vue de l'arbre sous forme d'ensemble ordonné. Les recherches, navigations,
+     * ajouts et retraits de l'ensemble et de ses sous-ensembles s'appuient sur ceux de l'arbre ;
+     * les modifications de l'un sont visibles dans l'autre. Un ABR ne pouvant être vide, retirer
+     * sa dernière clé par l'ensemble lève une {@link IllegalStateException}.
+     *
+     * @return l'ensemble des clés de l'arbre
+     */
+    default NavigableSet<K> commeEnsemble() {
+        return new EnsembleArbre<>(this);
+    }
+
     /**
      * Ajoute une clé dans l'arbre, si celle-ci n'est pas nulle ou n'est déjà présente.
      *
@@ -94,4 +183,66 @@ public interface ArbreBinaireRecherche<K extends Comparable<K>> extends Arbre<K>
      */
     ArbreBinaireRecherche<K> retirer(K cle) throws ValeurNonTrouveeException,
             SuppressionImpossibleException;
+
+    /**
+     * Tente d'ajouter une clé dans l'arbre, sans lever d'exception si l'ajout est impossible. Les
+     * implémentations déterminent l'issue au cours de la descente d'ajout elle-même.
+     *
+     * @param cle la clé à ajouter
+     * @return {@link StatutModification#EFFECTUEE} si la clé a été ajoutée,
+     * {@link StatutModification#DEJA_PRESENTE} si elle était déjà présente ou
+     * {@link StatutModification#CLE_NULLE} si elle est nulle
+     */
+    StatutModification tenterAjouter(K cle);
+
+    /**
+     * Tente de retirer une clé de l'arbre, sans lever d'exception si le retrait est impossible. Les
+     * implémentations déterminent l'issue au cours de la descente de retrait elle-même.
+     *
+     * @param cle la clé à retirer
+     * @return {@link StatutModification#EFFECTUEE} si la clé a été retirée,
+     * {@link StatutModification#ABSENTE} si elle est absente, {@link StatutModification#CLE_NULLE}
+     * si elle est nulle ou {@link StatutModification#DERNIERE_CLE} si l'arbre est une feuille de
+     * valeur clé
+     */
+    StatutModification tenterRetirer(K cle);
+
+    /**
+     * Ajoute un lot de clés dans l'arbre. Le lot est trié avant d'être inséré, de sorte que les
+     * descentes successives parcourent les mêmes branches. Les clés qui ne peuvent être ajoutées
+     * sont renvoyées au lieu de provoquer une exception.
+     *
+     * @param cles les clés à ajouter
+     * @return les clés rejetées : clés nulles, déjà présentes dans l'arbre ou en double dans le lot
+     * @throws NullPointerException si la collection est nulle
+     */
+    default List<K> ajouterTous(Collection<K> cles) {
+        final List<K> rejetees = new ArrayList<>();
+        for (K cle : ArbresBinairesRecherche.trierLot(cles, rejetees)) {
+            if (!this.tenterAjouter(cle).isEffectuee()) {
+                rejetees.add(cle);
+            }
+        }
+        return rejetees;
+    }
+
+    /**
+     * Retire un lot de clés de l'arbre. Le lot est trié avant d'être retiré. Les clés qui ne
+     * peuvent être retirées sont renvoyées au lieu de provoquer une exception ; en particulier, si
+     * le lot contient toutes les clés de l'arbre, la plus grande est conservée.
+     *
+     * @param cles les clés à retirer
+     * @return les clés rejetées : clés nulles, absentes de l'arbre, en double dans le lot, ou clé
+     * qui aurait vidé l'arbre
+     * @throws NullPointerException si la collection est nulle
+     */
+    default List<K> retirerTous(Collection<K> cles) {
+        final List<K> rejetees = new ArrayList<>();
+        for (K cle : ArbresBinairesRecherche.trierLot(cles, rejetees)) {
+            if (!this.tenterRetirer(cle).isEffectuee()) {
+                rejetees.add(cle);
+            }
+        }
+        return rejetees;
+    }
 }
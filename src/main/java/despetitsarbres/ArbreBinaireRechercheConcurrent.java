@@ -0,0 +1,706 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import despetitsarbres.exceptions.InsertionImpossibleException;
+import despetitsarbres.exceptions.SuppressionImpossibleException;
+import despetitsarbres.exceptions.ValeurNonTrouveeException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Arbre binaire de recherche utilisable par plusieurs threads, qui protège un arbre délégué par un
+ * {@link StampedLock}.
+ *
+ * <p>
+ * Les recherches ({@link #contains(Comparable)}, {@link #getMin()}, {@link #getMax()},
+ * {@link #getRacine()}) sont d'abord tentées sans verrou, en lecture optimiste : elles ne
+ * bloquent ni les écritures ni les autres lectures, et ne sont reprises sous verrou de lecture que
+ * si une écriture a eu lieu pendant la descente. Une descente optimiste peut observer un état
+ * incohérent de l'arbre délégué ; elle est alors bornée par le nombre de noeuds et ses erreurs sont
+ * ignorées, son résultat n'étant retenu qu'après validation. Les modifications prennent le verrou
+ * d'écriture, l'arbre délégué ne pouvant être modifié que par un thread à la fois ; un ajout ou un
+ * retrait unitaire vérifie toutefois d'abord en lecture optimiste s'il aura un effet, et se
+ * termine sans verrou sinon. Les autres mesures sont calculées sous verrou de lecture, et les
+ * parcours et itérateurs portent sur un instantané des clés pris sous ce verrou.
+ * </p>
+ *
+ * <p>
+ * Les sous-arbres renvoyés par {@link #getSag()}, {@link #getSad()}, {@link #getForet()} et
+ * {@link #rechercherSousArbre(Comparable)} sont ceux de l'arbre délégué : ils ne sont pas protégés
+ * et ne doivent être consultés qu'en l'absence d'écriture concurrente.
+ * </p>
+ *
+ * @author Rémi Venant
+ * @param <K> Type des valeurs des noeud de l'ABR (les valeurs doivent être comparable entre elles).
+ */
+public class ArbreBinaireRechercheConcurrent<K extends Comparable<K>>
+        extends AbstractArbreBinaireRecherche<K> {
+
+    private static final int PRESENTE = 1;
+
+    private static final int ABSENTE = 0;
+
+    private static final int INDETERMINEE = -1;
+
+    private final ArbreBinaireRecherche<K> delegue;
+
+    private final StampedLock verrou = new StampedLock();
+
+    /**
+     * Nombre de noeuds du délégué, qui borne la longueur d'une descente. Modifié sous verrou
+     * d'écriture.
+     */
+    private int nbNoeuds;
+
+    /**
+     * Crée un ABR concurrent réduit à une feuille, équilibré par un {@link ArbreAVL}.
+     *
+     * @param racine la valeur de la racine
+     * @throws NullPointerException si la racine est nulle
+     */
+    public ArbreBinaireRechercheConcurrent(K racine) {
+        this(new ArbreAVL<>(racine));
+    }
+
+    /**
+     * Crée un ABR concurrent protégeant l'arbre fourni, qui ne doit plus être utilisé
+     * directement.
+     *
+     * @param delegue l'arbre délégué
+     * @throws NullPointerException si l'arbre est nul
+     */
+    public ArbreBinaireRechercheConcurrent(ArbreBinaireRecherche<K> delegue) {
+        this.delegue = Objects.requireNonNull(delegue, "L'arbre délégué ne peut être nul");
+        this.nbNoeuds = delegue.getNbNoeuds();
+    }
+
+    @Override
+    public K getRacine() {
+        return this.lire(ArbreBinaireRecherche::getRacine);
+    }
+
+    @Override
+    public ArbreBinaireRecherche<K> getSag() {
+        return this.lireSousVerrou(ArbreBinaireRecherche::getSag);
+    }
+
+    @Override
+    public ArbreBinaireRecherche<K> getSad() {
+        return this.lireSousVerrou(ArbreBinaireRecherche::getSad);
+    }
+
+    @Override
+    public List<Arbre<K>> getForet() {
+        return this.lireSousVerrou(ArbreBinaireRecherche::getForet);
+    }
+
+    @Override
+    public boolean isFeuille() {
+        return this.lireSousVerrou(ArbreBinaireRecherche::isFeuille);
+    }
+
+    @Override
+    public int getNbNoeuds() {
+        final long estampille = this.verrou.readLock();
+        try {
+            return this.nbNoeuds;
+        } finally {
+            this.verrou.unlockRead(estampille);
+        }
+    }
+
+    @Override
+    public int getNbFeuilles() {
+        return this.lireSousVerrou(ArbreBinaireRecherche::getNbFeuilles);
+    }
+
+    @Override
+    public int getHauteur() {
+        return this.lireSousVerrou(ArbreBinaireRecherche::getHauteur);
+    }
+
+    @Override
+    public float getHauteurMoyenne() {
+        return this.lireSousVerrou(ArbreBinaireRecherche::getHauteurMoyenne);
+    }
+
+    /**
+     * Calcule les statistiques de l'arbre sous verrou de lecture.
+     *
+     * @return les statistiques de l'arbre
+     */
+    @Override
+    public StatistiquesArbre statistiques() {
+        return this.lireSousVerrou(StatistiquesArbre::calculer);
+    }
+
+    /**
+     * Fournit un instantané immuable de l'arbre, copié sous verrou de lecture.
+     *
+     * @return l'arbre gelé
+     */
+    @Override
+    public ArbreGele<K> geler() {
+        return this.lireSousVerrou(ArbreGele::geler);
+    }
+
+    @Override
+    public ArbreBinaireRecherche<K> rechercherSousArbre(K cle) {
+        return this.lireSousVerrou(arbre -> arbre.rechercherSousArbre(cle));
+    }
+
+    @Override
+    public boolean contains(K cle) {
+        if (cle == null) {
+            return false;
+        }
+        return this.lire(arbre -> this.rechercher(arbre, cle) != null);
+    }
+
+    @Override
+    public K getMin() {
+        return this.lire(arbre -> {
+            ArbreBinaireRecherche<K> courant = arbre;
+            for (int pas = 0; courant.getSag() != null; pas++) {
+                this.verifierPas(pas);
+                courant = courant.getSag();
+            }
+            return courant.getRacine();
+        });
+    }
+
+    @Override
+    public K getMax() {
+        return this.lire(arbre -> {
+            ArbreBinaireRecherche<K> courant = arbre;
+            for (int pas = 0; courant.getSad() != null; pas++) {
+                this.verifierPas(pas);
+                courant = courant.getSad();
+            }
+            return courant.getRacine();
+        });
+    }
+
+    @Override
+    public K plancher(K cle) {
+        return cle == null ? null : this.lire(arbre -> this.naviguerBorne(arbre, cle, true, true));
+    }
+
+    @Override
+    public K plafond(K cle) {
+        return cle == null ? null : this.lire(arbre -> this.naviguerBorne(arbre, cle, false, true));
+    }
+
+    @Override
+    public K predecesseur(K cle) {
+        return cle == null ? null : this.lire(arbre -> this.naviguerBorne(arbre, cle, true, false));
+    }
+
+    @Override
+    public K successeur(K cle) {
+        return cle == null ? null
+                : this.lire(arbre -> this.naviguerBorne(arbre, cle, false, false));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Les noeuds sont fournis à partir d'un instantané des clés : le traitement peut modifier
+     * l'arbre.
+     * </p>
+     */
+    @Override
+    public void traiterNoeudsParcoursPrefixe(Consumer<K> traitementNoeud) {
+        this.instantane(ArbreBinaireRecherche::traiterNoeudsParcoursPrefixe)
+                .forEach(traitementNoeud);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Les noeuds sont fournis à partir d'un instantané des clés : le traitement peut modifier
+     * l'arbre.
+     * </p>
+     */
+    @Override
+    public void traiterNoeudsParcoursSuffixe(Consumer<K> traitementNoeud) {
+        this.instantane(ArbreBinaireRecherche::traiterNoeudsParcoursSuffixe)
+                .forEach(traitementNoeud);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Les noeuds sont fournis à partir d'un instantané des clés : le traitement peut modifier
+     * l'arbre.
+     * </p>
+     */
+    @Override
+    public void traiterNoeudsParcoursLargeur(Consumer<K> traitementNoeud) {
+        this.instantane(ArbreBinaireRecherche::traiterNoeudsParcoursLargeur)
+                .forEach(traitementNoeud);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Le parcours se déroule sous verrou de lecture, afin de ne visiter que les noeuds
+     * nécessaires : le visiteur ne doit pas modifier l'arbre, sous peine d'interblocage.
+     * </p>
+     */
+    @Override
+    public boolean visiterParcoursPrefixe(VisiteurArbre<K> visiteur) {
+        return this.lireSousVerrou(arbre -> arbre.visiterParcoursPrefixe(visiteur));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Les niveaux sont fournis à partir d'un instantané des clés : le traitement peut modifier
+     * l'arbre et conserver les listes reçues.
+     * </p>
+     */
+    @Override
+    public void traiterNiveaux(BiConsumer<Integer, List<K>> traitementNiveau) {
+        final List<List<K>> niveaux = this.lireSousVerrou(arbre -> {
+            final List<List<K>> instantane = new ArrayList<>();
+            arbre.traiterNiveaux((profondeur, niveau) -> instantane.add(List.copyOf(niveau)));
+            return instantane;
+        });
+        for (int profondeur = 0; profondeur < niveaux.size(); profondeur++) {
+            traitementNiveau.accept(profondeur, niveaux.get(profondeur));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * L'itérateur parcourt un instantané des clés et ne reflète pas les modifications ultérieures.
+     * </p>
+     */
+    @Override
+    public Iterator<K> iterateurParcoursPrefixe() {
+        return this.instantane(ArbreBinaireRecherche::traiterNoeudsParcoursPrefixe).iterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * L'itérateur parcourt un instantané des clés et ne reflète pas les modifications ultérieures.
+     * </p>
+     */
+    @Override
+    public Iterator<K> iterateurParcoursSuffixe() {
+        return this.instantane(ArbreBinaireRecherche::traiterNoeudsParcoursSuffixe).iterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * L'itérateur parcourt un instantané des clés et ne reflète pas les modifications ultérieures.
+     * </p>
+     */
+    @Override
+    public Iterator<K> iterateurParcoursLargeur() {
+        return this.instantane(ArbreBinaireRecherche::traiterNoeudsParcoursLargeur).iterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * L'itérateur parcourt un instantané des clés et ne reflète pas les modifications ultérieures.
+     * </p>
+     */
+    @Override
+    public Iterator<K> iterateurParcoursInfixe() {
+        return this.instantaneInfixe().iterator();
+    }
+
+    /**
+     * Fournit un instantané des clés dans l'ordre croissant, pris sous verrou de lecture.
+     */
+    List<K> instantaneInfixe() {
+        return this.instantane((arbre, traitement)
+                -> arbre.iterateurParcoursInfixe().forEachRemaining(traitement));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * L'itérateur parcourt un instantané des clés de la plage et ne reflète pas les modifications
+     * ultérieures.
+     * </p>
+     */
+    @Override
+    public Iterator<K> iterateurPlage(K de, K a) {
+        return this.instantane((arbre, traitement)
+                -> arbre.iterateurPlage(de, a).forEachRemaining(traitement)).iterator();
+    }
+
+    @Override
+    public Iterator<K> iterator() {
+        return this.iterateurParcoursPrefixe();
+    }
+
+    /**
+     * Génère un flux séquentiel et paresseux des clés dans l'ordre de parcours donné. Contrairement
+     * aux itérateurs, le flux ne copie pas l'arbre : il parcourt l'arbre délégué en prenant le
+     * verrou de lecture à chaque élément, si bien qu'une opération terminale court-circuitante
+     * n'atteint que les noeuds consommés. Le flux échoue par
+     * {@link ConcurrentModificationException} si une écriture a lieu entre sa création et la fin
+     * de sa consommation.
+     *
+     * @param ordre l'ordre de parcours
+     * @return le flux des clés
+     */
+    @Override
+    public Stream<K> stream(OrdreParcours ordre) {
+        Objects.requireNonNull(ordre);
+        return StreamSupport.stream(() -> Spliterators.spliteratorUnknownSize(
+                new IterateurVerrouille(ordre), Spliterator.ORDERED | Spliterator.NONNULL),
+                Spliterator.ORDERED | Spliterator.NONNULL, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Le séparateur parcourt un instantané des clés, pris sous verrou de lecture.
+     * </p>
+     */
+    @Override
+    public Spliterator<K> spliterator() {
+        final Object[] cles = this.lireSousVerrou(arbre -> {
+            final List<K> liste = new ArrayList<>(this.nbNoeuds);
+            arbre.spliterator().forEachRemaining(liste::add);
+            return liste.toArray();
+        });
+        return Spliterators.spliterator(cles, Spliterator.ORDERED | Spliterator.SORTED
+                | Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+    }
+
+    @Override
+    public ArbreBinaireRechercheConcurrent<K> ajouter(K cle) throws InsertionImpossibleException {
+        verifierAjout(this.tenterAjouter(cle));
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * La présence de la clé est d'abord vérifiée en lecture optimiste : un ajout sans effet ne
+     * prend pas le verrou d'écriture, et s'exécute donc en parallèle des lectures et des autres
+     * ajouts sans effet.
+     * </p>
+     */
+    @Override
+    public StatutModification tenterAjouter(K cle) {
+        if (cle == null) {
+            return StatutModification.CLE_NULLE;
+        } else if (this.presenceOptimiste(cle) == PRESENTE) {
+            return StatutModification.DEJA_PRESENTE;
+        }
+        final long estampille = this.verrou.writeLock();
+        try {
+            final StatutModification statut = this.delegue.tenterAjouter(cle);
+            if (statut.isEffectuee()) {
+                this.nbNoeuds++;
+            }
+            return statut;
+        } finally {
+            this.verrou.unlockWrite(estampille);
+        }
+    }
+
+    @Override
+    public ArbreBinaireRechercheConcurrent<K> retirer(K cle) throws ValeurNonTrouveeException,
+            SuppressionImpossibleException {
+        verifierRetrait(this.tenterRetirer(cle), cle);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * L'absence de la clé est d'abord vérifiée en lecture optimiste : un retrait sans effet ne
+     * prend pas le verrou d'écriture, et s'exécute donc en parallèle des lectures et des autres
+     * retraits sans effet.
+     * </p>
+     */
+    @Override
+    public StatutModification tenterRetirer(K cle) {
+        if (cle == null) {
+            return StatutModification.CLE_NULLE;
+        } else if (this.presenceOptimiste(cle) == ABSENTE) {
+            return StatutModification.ABSENTE;
+        }
+        final long estampille = this.verrou.writeLock();
+        try {
+            final StatutModification statut = this.delegue.tenterRetirer(cle);
+            if (statut.isEffectuee()) {
+                this.nbNoeuds--;
+            }
+            return statut;
+        } finally {
+            this.verrou.unlockWrite(estampille);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Le lot est ajouté sous un seul verrou d'écriture.
+     * </p>
+     */
+    @Override
+    public List<K> ajouterTous(Collection<K> cles) {
+        final long estampille = this.verrou.writeLock();
+        try {
+            final List<K> rejetees = this.delegue.ajouterTous(cles);
+            this.nbNoeuds += cles.size() - rejetees.size();
+            return rejetees;
+        } finally {
+            this.verrou.unlockWrite(estampille);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Le lot est retiré sous un seul verrou d'écriture.
+     * </p>
+     */
+    @Override
+    public List<K> retirerTous(Collection<K> cles) {
+        final long estampille = this.verrou.writeLock();
+        try {
+            final List<K> rejetees = this.delegue.retirerTous(cles);
+            this.nbNoeuds -= cles.size() - rejetees.size();
+            return rejetees;
+        } finally {
+            this.verrou.unlockWrite(estampille);
+        }
+    }
+
+    /**
+     * Effectue une lecture en lecture optimiste, reprise sous verrou de lecture si une écriture a
+     * eu lieu entre-temps. La lecture ne doit pas modifier l'arbre et doit être bornée même sur un
+     * état incohérent.
+     */
+    private <R> R lire(Function<ArbreBinaireRecherche<K>, R> lecture) {
+        final long estampille = this.verrou.tryOptimisticRead();
+        if (estampille != 0L) {
+            try {
+                final R resultat = lecture.apply(this.delegue);
+                if (this.verrou.validate(estampille)) {
+                    return resultat;
+                }
+            } catch (RuntimeException ex) {
+                // État incohérent observé pendant une écriture : la lecture est reprise sous verrou
+            }
+        }
+        return this.lireSousVerrou(lecture);
+    }
+
+    /**
+     * Recherche une clé en lecture optimiste seulement, sans reprise sous verrou : une
+     * modification qui dépend de la présence de la clé prend de toute façon le verrou
+     * d'écriture.
+     *
+     * @return {@link #PRESENTE}, {@link #ABSENTE}, ou {@link #INDETERMINEE} si une écriture a eu
+     * lieu pendant la descente
+     */
+    private int presenceOptimiste(K cle) {
+        final long estampille = this.verrou.tryOptimisticRead();
+        if (estampille != 0L) {
+            try {
+                final boolean presente = this.rechercher(this.delegue, cle) != null;
+                if (this.verrou.validate(estampille)) {
+                    return presente ? PRESENTE : ABSENTE;
+                }
+            } catch (RuntimeException ex) {
+                // État incohérent observé pendant une écriture : la présence reste indéterminée
+            }
+        }
+        return INDETERMINEE;
+    }
+
+    private <R> R lireSousVerrou(Function<ArbreBinaireRecherche<K>, R> lecture) {
+        final long estampille = this.verrou.readLock();
+        try {
+            return lecture.apply(this.delegue);
+        } finally {
+            this.verrou.unlockRead(estampille);
+        }
+    }
+
+    private List<K> instantane(ParcoursDelegue<K> parcours) {
+        final List<K> cles = new ArrayList<>();
+        final long estampille = this.verrou.readLock();
+        try {
+            parcours.parcourir(this.delegue, cles::add);
+        } finally {
+            this.verrou.unlockRead(estampille);
+        }
+        return Collections.unmodifiableList(cles);
+    }
+
+    private ArbreBinaireRecherche<K> rechercher(ArbreBinaireRecherche<K> arbre, K cle) {
+        ArbreBinaireRecherche<K> courant = arbre;
+        for (int pas = 0; courant != null; pas++) {
+            this.verifierPas(pas);
+            final int cmp = cle.compareTo(courant.getRacine());
+            if (cmp == 0) {
+                return courant;
+            }
+            courant = cmp < 0 ? courant.getSag() : courant.getSad();
+        }
+        return null;
+    }
+
+    /**
+     * Recherche la clé la plus proche d'une clé de référence, par une descente bornée pour la
+     * lecture optimiste.
+     */
+    private K naviguerBorne(ArbreBinaireRecherche<K> arbre, K cle, boolean inferieure,
+            boolean inclusive) {
+        K candidate = null;
+        ArbreBinaireRecherche<K> courant = arbre;
+        for (int pas = 0; courant != null; pas++) {
+            this.verifierPas(pas);
+            final K racine = courant.getRacine();
+            final int cmp = cle.compareTo(racine);
+            if (cmp == 0 && inclusive) {
+                return racine;
+            }
+            if (inferieure ? cmp > 0 : cmp < 0) {
+                candidate = racine;
+            }
+            courant = (inferieure ? cmp > 0 : cmp >= 0) ? courant.getSad() : courant.getSag();
+        }
+        return candidate;
+    }
+
+    /**
+     * Interrompt une descente plus longue que le nombre de noeuds, qui ne peut provenir que d'un
+     * état incohérent observé en lecture optimiste.
+     */
+    private void verifierPas(int pas) {
+        if (pas > this.nbNoeuds) {
+            throw new IllegalStateException("Descente interrompue");
+        }
+    }
+
+    /**
+     * Itérateur paresseux sur l'arbre délégué : chaque accès prend le verrou de lecture et vérifie
+     * qu'aucune écriture n'a eu lieu depuis la création de l'itérateur, dont l'estampille est
+     * conservée.
+     */
+    private final class IterateurVerrouille implements Iterator<K> {
+
+        private final long estampille;
+
+        private final Iterator<K> iterateur;
+
+        IterateurVerrouille(OrdreParcours ordre) {
+            this.estampille = verrou.readLock();
+            try {
+                switch (ordre) {
+                    case PREFIXE:
+                        this.iterateur = delegue.iterateurParcoursPrefixe();
+                        break;
+                    case SUFFIXE:
+                        this.iterateur = delegue.iterateurParcoursSuffixe();
+                        break;
+                    default:
+                        this.iterateur = delegue.iterateurParcoursLargeur();
+                        break;
+                }
+            } finally {
+                verrou.unlockRead(this.estampille);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            final long lecture = verrou.readLock();
+            try {
+                this.verifierInchange();
+                return this.iterateur.hasNext();
+            } finally {
+                verrou.unlockRead(lecture);
+            }
+        }
+
+        @Override
+        public K next() {
+            final long lecture = verrou.readLock();
+            try {
+                this.verifierInchange();
+                return this.iterateur.next();
+            } finally {
+                verrou.unlockRead(lecture);
+            }
+        }
+
+        private void verifierInchange() {
+            if (!verrou.validate(this.estampille)) {
+                throw new ConcurrentModificationException(
+                        "L'arbre a été modifié pendant le parcours du flux");
+            }
+        }
+    }
+
+    /**
+     * Parcours de l'arbre délégué fournissant ses clés à un traitement.
+     */
+    @FunctionalInterface
+    private interface ParcoursDelegue<K extends Comparable<K>> {
+
+        void parcourir(ArbreBinaireRecherche<K> arbre, Consumer<K> traitement);
+    }
+}
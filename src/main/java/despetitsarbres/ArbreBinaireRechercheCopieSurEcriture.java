@@ -0,0 +1,313 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import despetitsarbres.exceptions.InsertionImpossibleException;
+import despetitsarbres.exceptions.SuppressionImpossibleException;
+import despetitsarbres.exceptions.ValeurNonTrouveeException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Arbre binaire de recherche modifiable dont les lectures portent sur des instantanés : l'arbre
+ * référence la version courante d'un {@link ArbreBinaireRecherchePersistant}, remplacée à chaque
+ * modification par la nouvelle version.
+ *
+ * <p>
+ * Les itérateurs et parcours portent sur la version courante au moment de leur création : ils ne
+ * sont pas affectés par les modifications ultérieures de l'arbre, y compris par d'autres threads.
+ * Leur création est en temps constant, sans copie ; chaque modification ne crée que O(log n)
+ * noeuds, les autres étant partagés avec les versions encore parcourues. Les sous-arbres renvoyés
+ * sont eux aussi des instantanés. {@link #instantane()} fournit directement la version courante.
+ * </p>
+ *
+ * <p>
+ * Les lectures sont sans verrou ; les modifications sont sérialisées. Un ajout ou retrait par lot
+ * n'est publié qu'une fois le lot entièrement traité.
+ * </p>
+ *
+ * @author Rémi Venant
+ * @param <K> Type des valeurs des noeud de l'ABR (les valeurs doivent être comparable entre elles).
+ */
+public class ArbreBinaireRechercheCopieSurEcriture<K extends Comparable<K>>
+        extends AbstractArbreBinaireRecherche<K> {
+
+    private volatile ArbreBinaireRecherchePersistant<K> version;
+
+    /**
+     * Crée un ABR réduit à une feuille.
+     *
+     * @param racine la valeur de la racine
+     * @throws NullPointerException si la racine est nulle
+     */
+    public ArbreBinaireRechercheCopieSurEcriture(K racine) {
+        this.version = new ArbreBinaireRecherchePersistant<>(racine);
+    }
+
+    /**
+     * Fournit la version courante de l'arbre, qui ne sera jamais modifiée.
+     *
+     * @return l'instantané de l'arbre
+     */
+    public ArbreBinaireRecherchePersistant<K> instantane() {
+        return this.version;
+    }
+
+    @Override
+    public K getRacine() {
+        return this.version.getRacine();
+    }
+
+    @Override
+    public ArbreBinaireRecherchePersistant<K> getSag() {
+        return this.version.getSag();
+    }
+
+    @Override
+    public ArbreBinaireRecherchePersistant<K> getSad() {
+        return this.version.getSad();
+    }
+
+    @Override
+    public List<Arbre<K>> getForet() {
+        return this.version.getForet();
+    }
+
+    @Override
+    public boolean isFeuille() {
+        return this.version.isFeuille();
+    }
+
+    @Override
+    public int getNbNoeuds() {
+        return this.version.getNbNoeuds();
+    }
+
+    @Override
+    public int getNbFeuilles() {
+        return this.version.getNbFeuilles();
+    }
+
+    @Override
+    public int getHauteur() {
+        return this.version.getHauteur();
+    }
+
+    @Override
+    public float getHauteurMoyenne() {
+        return this.version.getHauteurMoyenne();
+    }
+
+    @Override
+    public ArbreBinaireRecherchePersistant<K> rechercherSousArbre(K cle) {
+        return this.version.rechercherSousArbre(cle);
+    }
+
+    @Override
+    public boolean contains(K cle) {
+        return this.version.contains(cle);
+    }
+
+    @Override
+    public K getMin() {
+        return this.version.getMin();
+    }
+
+    @Override
+    public K getMax() {
+        return this.version.getMax();
+    }
+
+    @Override
+    public K plancher(K cle) {
+        return this.version.plancher(cle);
+    }
+
+    @Override
+    public K plafond(K cle) {
+        return this.version.plafond(cle);
+    }
+
+    @Override
+    public K predecesseur(K cle) {
+        return this.version.predecesseur(cle);
+    }
+
+    @Override
+    public K successeur(K cle) {
+        return this.version.successeur(cle);
+    }
+
+    @Override
+    public void traiterNoeudsParcoursPrefixe(Consumer<K> traitementNoeud) {
+        this.version.traiterNoeudsParcoursPrefixe(traitementNoeud);
+    }
+
+    @Override
+    public void traiterNoeudsParcoursSuffixe(Consumer<K> traitementNoeud) {
+        this.version.traiterNoeudsParcoursSuffixe(traitementNoeud);
+    }
+
+    @Override
+    public void traiterNoeudsParcoursLargeur(Consumer<K> traitementNoeud) {
+        this.version.traiterNoeudsParcoursLargeur(traitementNoeud);
+    }
+
+    @Override
+    public boolean visiterParcoursPrefixe(VisiteurArbre<K> visiteur) {
+        return this.version.visiterParcoursPrefixe(visiteur);
+    }
+
+    @Override
+    public void traiterNiveaux(BiConsumer<Integer, List<K>> traitementNiveau) {
+        this.version.traiterNiveaux(traitementNiveau);
+    }
+
+    @Override
+    public Iterator<K> iterateurParcoursPrefixe() {
+        return this.version.iterateurParcoursPrefixe();
+    }
+
+    @Override
+    public Iterator<K> iterateurParcoursSuffixe() {
+        return this.version.iterateurParcoursSuffixe();
+    }
+
+    @Override
+    public Iterator<K> iterateurParcoursLargeur() {
+        return this.version.iterateurParcoursLargeur();
+    }
+
+    @Override
+    public Iterator<K> iterateurParcoursInfixe() {
+        return this.version.iterateurParcoursInfixe();
+    }
+
+    @Override
+    public Iterator<K> iterateurPlage(K de, K a) {
+        return this.version.iterateurPlage(de, a);
+    }
+
+    @Override
+    public Iterator<K> iterator() {
+        return this.version.iterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Le séparateur porte sur la version courante et n'est pas affecté par les modifications
+     * ultérieures.
+     * </p>
+     */
+    @Override
+    public Spliterator<K> spliterator() {
+        return this.version.spliterator();
+    }
+
+    @Override
+    public synchronized ArbreBinaireRechercheCopieSurEcriture<K> ajouter(K cle)
+            throws InsertionImpossibleException {
+        this.version = this.version.ajouter(cle);
+        return this;
+    }
+
+    @Override
+    public synchronized StatutModification tenterAjouter(K cle) {
+        if (cle == null) {
+            return StatutModification.CLE_NULLE;
+        }
+        final ArbreBinaireRecherchePersistant<K> courante = this.version;
+        this.version = inserer(courante, cle);
+        return this.version == courante ? StatutModification.DEJA_PRESENTE
+                : StatutModification.EFFECTUEE;
+    }
+
+    @Override
+    public synchronized ArbreBinaireRechercheCopieSurEcriture<K> retirer(K cle)
+            throws ValeurNonTrouveeException, SuppressionImpossibleException {
+        this.version = this.version.retirer(cle);
+        return this;
+    }
+
+    @Override
+    public synchronized StatutModification tenterRetirer(K cle) {
+        if (cle == null) {
+            return StatutModification.CLE_NULLE;
+        }
+        final ArbreBinaireRecherchePersistant<K> courante = this.version;
+        final ArbreBinaireRecherchePersistant<K> nouvelle = courante.sans(cle);
+        if (nouvelle == courante) {
+            return StatutModification.ABSENTE;
+        } else if (nouvelle == null) {
+            return StatutModification.DERNIERE_CLE;
+        }
+        this.version = nouvelle;
+        return StatutModification.EFFECTUEE;
+    }
+
+    @Override
+    public synchronized List<K> ajouterTous(Collection<K> cles) {
+        final List<K> rejetees = new ArrayList<>();
+        ArbreBinaireRecherchePersistant<K> courante = this.version;
+        for (K cle : ArbresBinairesRecherche.trierLot(cles, rejetees)) {
+            final ArbreBinaireRecherchePersistant<K> nouvelle = inserer(courante, cle);
+            if (nouvelle == courante) {
+                rejetees.add(cle);
+            }
+            courante = nouvelle;
+        }
+        this.version = courante;
+        return rejetees;
+    }
+
+    @Override
+    public synchronized List<K> retirerTous(Collection<K> cles) {
+        final List<K> rejetees = new ArrayList<>();
+        ArbreBinaireRecherchePersistant<K> courante = this.version;
+        for (K cle : ArbresBinairesRecherche.trierLot(cles, rejetees)) {
+            final ArbreBinaireRecherchePersistant<K> nouvelle = courante.sans(cle);
+            if (nouvelle == courante || nouvelle == null) {
+                rejetees.add(cle);
+            } else {
+                courante = nouvelle;
+            }
+        }
+        this.version = courante;
+        return rejetees;
+    }
+
+    /**
+     * Ajoute une clé non nulle, ce qui ne peut échouer.
+     */
+    private static <K extends Comparable<K>> ArbreBinaireRecherchePersistant<K> inserer(
+            ArbreBinaireRecherchePersistant<K> version, K cle) {
+        try {
+            return version.ajouter(cle);
+        } catch (InsertionImpossibleException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
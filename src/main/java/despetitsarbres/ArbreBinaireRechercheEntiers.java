@@ -0,0 +1,527 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import despetitsarbres.exceptions.InsertionImpossibleException;
+import despetitsarbres.exceptions.SuppressionImpossibleException;
+import despetitsarbres.exceptions.ValeurNonTrouveeException;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Arbre binaire de recherche de clés entières primitives, sans équilibrage (même comportement que
+ * {@link ArbreBinaireRechercheImpl}). Les noeuds sont stockés dans trois tableaux parallèles
+ * (clés, indices des fils gauches et droits) : un noeud occupe 12 octets, sans objet ni entier
+ * encapsulé, et les noeuds libérés par un retrait sont réutilisés par les ajouts suivants.
+ *
+ * <p>
+ * Les parcours utilisent un tableau de travail conservé par l'arbre : ils n'allouent rien une fois
+ * ce tableau dimensionné, mais un même arbre ne peut être parcouru par plusieurs threads à la
+ * fois. Un parcours imbriqué dans le traitement d'un autre utilise son propre tableau. La vue
+ * {@link #enArbre()} permet d'utiliser l'arbre là où un {@link ArbreBinaireRecherche} est
+ * attendu.
+ * </p>
+ *
+ * @author Rémi Venant
+ */
+public class ArbreBinaireRechercheEntiers {
+
+    private static final int NUL = -1;
+
+    private static final int CAPACITE_PAR_DEFAUT = 16;
+
+    private int[] cles;
+
+    private int[] gauches;
+
+    private int[] droits;
+
+    private int[] travail;
+
+    private final int racine;
+
+    private int nbNoeuds;
+
+    private int prochainIndice;
+
+    private int premierLibre;
+
+    /**
+     * Crée un ABR réduit à une feuille.
+     *
+     * @param racine la valeur de la racine
+     */
+    public ArbreBinaireRechercheEntiers(int racine) {
+        this(racine, CAPACITE_PAR_DEFAUT);
+    }
+
+    /**
+     * Crée un ABR réduit à une feuille, dimensionné pour le nombre de noeuds indiqué.
+     *
+     * @param racine la valeur de la racine
+     * @param capaciteInitiale le nombre de noeuds pouvant être stockés sans agrandir les tableaux
+     * @throws IllegalArgumentException si la capacité n'est pas strictement positive
+     */
+    public ArbreBinaireRechercheEntiers(int racine, int capaciteInitiale) {
+        if (capaciteInitiale < 1) {
+            throw new IllegalArgumentException("La capacité doit être strictement positive");
+        }
+        this.cles = new int[capaciteInitiale];
+        this.gauches = new int[capaciteInitiale];
+        this.droits = new int[capaciteInitiale];
+        this.premierLibre = NUL;
+        this.racine = this.allouer(racine);
+    }
+
+    /**
+     * Fournit la valeur de la racine de l'arbre.
+     *
+     * @return la racine
+     */
+    public int getRacine() {
+        return this.cles[this.racine];
+    }
+
+    /**
+     * Fournit le nombre de noeuds de l'arbre, en temps constant.
+     *
+     * @return le nombre de noeuds
+     */
+    public int getNbNoeuds() {
+        return this.nbNoeuds;
+    }
+
+    /**
+     * Calcul la hauteur de l'arbre par un parcours en largeur.
+     *
+     * @return la hauteur de l'arbre
+     */
+    public int getHauteur() {
+        final int[] file = this.emprunterTravail();
+        int debut = 0;
+        int fin = 0;
+        file[fin++] = this.racine;
+        int hauteur = -1;
+        while (debut < fin) {
+            final int finNiveau = fin;
+            while (debut < finNiveau) {
+                final int noeud = file[debut++];
+                if (this.gauches[noeud] != NUL) {
+                    file[fin++] = this.gauches[noeud];
+                }
+                if (this.droits[noeud] != NUL) {
+                    file[fin++] = this.droits[noeud];
+                }
+            }
+            hauteur++;
+        }
+        this.travail = file;
+        return hauteur;
+    }
+
+    /**
+     * Indique si l'arbre contient la cle.
+     *
+     * @param cle la clé à rechercher
+     * @return vrai si la clé existe, faut sinon
+     */
+    public boolean contains(int cle) {
+        return this.rechercher(cle) != NUL;
+    }
+
+    /**
+     * Fournit la cle de valeur minimale de l'arbre.
+     *
+     * @return la clé de plus petite valeur contenue dans l'arbre
+     */
+    public int getMin() {
+        int noeud = this.racine;
+        while (this.gauches[noeud] != NUL) {
+            noeud = this.gauches[noeud];
+        }
+        return this.cles[noeud];
+    }
+
+    /**
+     * Fournit la cle de valeur maximale de l'arbre.
+     *
+     * @return la clé de plus grande valeur contenue dans l'arbre
+     */
+    public int getMax() {
+        int noeud = this.racine;
+        while (this.droits[noeud] != NUL) {
+            noeud = this.droits[noeud];
+        }
+        return this.cles[noeud];
+    }
+
+    /**
+     * Ajoute une clé dans l'arbre, si celle-ci n'est déjà présente.
+     *
+     * @param cle la clé à ajouter
+     * @return l'arbre mis à jour
+     */
+    public ArbreBinaireRechercheEntiers ajouter(int cle) {
+        this.tenterAjouter(cle);
+        return this;
+    }
+
+    /**
+     * Tente d'ajouter une clé dans l'arbre.
+     *
+     * @param cle la clé à ajouter
+     * @return {@link StatutModification#EFFECTUEE} si la clé a été ajoutée ou
+     * {@link StatutModification#DEJA_PRESENTE} si elle était déjà présente
+     */
+    public StatutModification tenterAjouter(int cle) {
+        int noeud = this.racine;
+        while (true) {
+            final int cleNoeud = this.cles[noeud];
+            if (cle == cleNoeud) {
+                return StatutModification.DEJA_PRESENTE;
+            } else if (cle < cleNoeud) {
+                if (this.gauches[noeud] == NUL) {
+                    final int feuille = this.allouer(cle);
+                    this.gauches[noeud] = feuille;
+                    return StatutModification.EFFECTUEE;
+                }
+                noeud = this.gauches[noeud];
+            } else {
+                if (this.droits[noeud] == NUL) {
+                    final int feuille = this.allouer(cle);
+                    this.droits[noeud] = feuille;
+                    return StatutModification.EFFECTUEE;
+                }
+                noeud = this.droits[noeud];
+            }
+        }
+    }
+
+    /**
+     * Retire une clé de l'arbre. Un noeud à deux sous-arbres prend la clé maximale de son
+     * sous-arbre gauche ; un noeud à un seul sous-arbre prend la place de celui-ci.
+     *
+     * @param cle la clé à retirer
+     * @return l'arbre mis à jour
+     * @throws ValeurNonTrouveeException si la clé n'existe pas
+     * @throws SuppressionImpossibleException si l'arbre est une feuille de valeur clé
+     */
+    public ArbreBinaireRechercheEntiers retirer(int cle) throws ValeurNonTrouveeException,
+            SuppressionImpossibleException {
+        final StatutModification statut = this.tenterRetirer(cle);
+        if (!statut.isEffectuee()) {
+            AbstractArbreBinaireRecherche.verifierRetrait(statut, cle);
+        }
+        return this;
+    }
+
+    /**
+     * Tente de retirer une clé de l'arbre, sans lever d'exception si le retrait est impossible.
+     *
+     * @param cle la clé à retirer
+     * @return {@link StatutModification#EFFECTUEE} si la clé a été retirée,
+     * {@link StatutModification#ABSENTE} si elle est absente ou
+     * {@link StatutModification#DERNIERE_CLE} si l'arbre est une feuille de valeur clé
+     */
+    public StatutModification tenterRetirer(int cle) {
+        int parent = NUL;
+        int noeud = this.racine;
+        while (cle != this.cles[noeud]) {
+            parent = noeud;
+            noeud = cle < this.cles[noeud] ? this.gauches[noeud] : this.droits[noeud];
+            if (noeud == NUL) {
+                return StatutModification.ABSENTE;
+            }
+        }
+        final int gauche = this.gauches[noeud];
+        final int droit = this.droits[noeud];
+        if (gauche != NUL && droit != NUL) {
+            int parentMax = noeud;
+            int max = gauche;
+            while (this.droits[max] != NUL) {
+                parentMax = max;
+                max = this.droits[max];
+            }
+            this.cles[noeud] = this.cles[max];
+            if (parentMax == noeud) {
+                this.gauches[parentMax] = this.gauches[max];
+            } else {
+                this.droits[parentMax] = this.gauches[max];
+            }
+            this.liberer(max);
+        } else if (gauche != NUL || droit != NUL) {
+            final int fils = gauche != NUL ? gauche : droit;
+            this.cles[noeud] = this.cles[fils];
+            this.gauches[noeud] = this.gauches[fils];
+            this.droits[noeud] = this.droits[fils];
+            this.liberer(fils);
+        } else if (parent == NUL) {
+            return StatutModification.DERNIERE_CLE;
+        } else {
+            if (this.gauches[parent] == noeud) {
+                this.gauches[parent] = NUL;
+            } else {
+                this.droits[parent] = NUL;
+            }
+            this.liberer(noeud);
+        }
+        return StatutModification.EFFECTUEE;
+    }
+
+    /**
+     * Parcours l'arbre en profondeur préfixe et applique le traitement fourni sur chaque clé.
+     *
+     * @param traitementNoeud le traitement à appliquer à chaque noeud
+     */
+    public void traiterNoeudsParcoursPrefixe(IntConsumer traitementNoeud) {
+        final int[] pile = this.emprunterTravail();
+        try {
+            int sommet = 0;
+            pile[sommet++] = this.racine;
+            while (sommet > 0) {
+                final int noeud = pile[--sommet];
+                traitementNoeud.accept(this.cles[noeud]);
+                if (this.droits[noeud] != NUL) {
+                    pile[sommet++] = this.droits[noeud];
+                }
+                if (this.gauches[noeud] != NUL) {
+                    pile[sommet++] = this.gauches[noeud];
+                }
+            }
+        } finally {
+            this.travail = pile;
+        }
+    }
+
+    /**
+     * Parcours l'arbre en profondeur infixe, c'est-à-dire dans l'ordre croissant des clés, et
+     * applique le traitement fourni sur chaque clé.
+     *
+     * @param traitementNoeud le traitement à appliquer à chaque noeud
+     */
+    public void traiterNoeudsParcoursInfixe(IntConsumer traitementNoeud) {
+        final int[] pile = this.emprunterTravail();
+        try {
+            int sommet = 0;
+            int noeud = this.racine;
+            while (sommet > 0 || noeud != NUL) {
+                if (noeud != NUL) {
+                    pile[sommet++] = noeud;
+                    noeud = this.gauches[noeud];
+                } else {
+                    noeud = pile[--sommet];
+                    traitementNoeud.accept(this.cles[noeud]);
+                    noeud = this.droits[noeud];
+                }
+            }
+        } finally {
+            this.travail = pile;
+        }
+    }
+
+    /**
+     * Parcours l'arbre en profondeur suffixe et applique le traitement fourni sur chaque clé.
+     *
+     * @param traitementNoeud le traitement à appliquer à chaque noeud
+     */
+    public void traiterNoeudsParcoursSuffixe(IntConsumer traitementNoeud) {
+        final int[] pile = this.emprunterTravail();
+        try {
+            int sommet = 0;
+            int noeud = this.racine;
+            int dernierTraite = NUL;
+            while (sommet > 0 || noeud != NUL) {
+                if (noeud != NUL) {
+                    pile[sommet++] = noeud;
+                    noeud = this.gauches[noeud];
+                } else {
+                    final int haut = pile[sommet - 1];
+                    final int droit = this.droits[haut];
+                    if (droit != NUL && droit != dernierTraite) {
+                        noeud = droit;
+                    } else {
+                        traitementNoeud.accept(this.cles[haut]);
+                        dernierTraite = haut;
+                        sommet--;
+                    }
+                }
+            }
+        } finally {
+            this.travail = pile;
+        }
+    }
+
+    /**
+     * Parcours l'arbre en largeur et applique le traitement fourni sur chaque clé.
+     *
+     * @param traitementNoeud le traitement à appliquer à chaque noeud
+     */
+    public void traiterNoeudsParcoursLargeur(IntConsumer traitementNoeud) {
+        final int[] file = this.emprunterTravail();
+        try {
+            int debut = 0;
+            int fin = 0;
+            file[fin++] = this.racine;
+            while (debut < fin) {
+                final int noeud = file[debut++];
+                traitementNoeud.accept(this.cles[noeud]);
+                if (this.gauches[noeud] != NUL) {
+                    file[fin++] = this.gauches[noeud];
+                }
+                if (this.droits[noeud] != NUL) {
+                    file[fin++] = this.droits[noeud];
+                }
+            }
+        } finally {
+            this.travail = file;
+        }
+    }
+
+    /**
+     * Fournit une vue de cet arbre en tant qu'ABR de clés encapsulées. La vue et ses sous-arbres
+     * lisent directement les tableaux de cet arbre ; un sous-arbre ne reste valide que jusqu'à la
+     * modification suivante. Seule la vue racine peut être modifiée.
+     *
+     * @return la vue
+     */
+    public ArbreBinaireRecherche<Integer> enArbre() {
+        return new Vue(this.racine);
+    }
+
+    private int rechercher(int cle) {
+        int noeud = this.racine;
+        while (noeud != NUL) {
+            final int cleNoeud = this.cles[noeud];
+            if (cle == cleNoeud) {
+                return noeud;
+            }
+            noeud = cle < cleNoeud ? this.gauches[noeud] : this.droits[noeud];
+        }
+        return NUL;
+    }
+
+    private int allouer(int cle) {
+        final int noeud;
+        if (this.premierLibre != NUL) {
+            noeud = this.premierLibre;
+            this.premierLibre = this.gauches[noeud];
+        } else {
+            if (this.prochainIndice == this.cles.length) {
+                final int capacite = this.cles.length + (this.cles.length >> 1) + 1;
+                this.cles = Arrays.copyOf(this.cles, capacite);
+                this.gauches = Arrays.copyOf(this.gauches, capacite);
+                this.droits = Arrays.copyOf(this.droits, capacite);
+            }
+            noeud = this.prochainIndice++;
+        }
+        this.cles[noeud] = cle;
+        this.gauches[noeud] = NUL;
+        this.droits[noeud] = NUL;
+        this.nbNoeuds++;
+        return noeud;
+    }
+
+    private void liberer(int noeud) {
+        this.gauches[noeud] = this.premierLibre;
+        this.premierLibre = noeud;
+        this.nbNoeuds--;
+    }
+
+    /**
+     * Fournit le tableau de travail des parcours, assez grand pour contenir tous les noeuds. Le
+     * tableau est retiré de l'arbre pendant le parcours, qui le rend ensuite : un parcours imbriqué
+     * dans le traitement d'un autre dispose ainsi d'un nouveau tableau.
+     */
+    private int[] emprunterTravail() {
+        final int[] travail = this.travail;
+        this.travail = null;
+        if (travail == null || travail.length < this.nbNoeuds) {
+            return new int[this.cles.length];
+        }
+        return travail;
+    }
+
+    /**
+     * Vue d'un noeud en tant qu'ABR de clés encapsulées.
+     */
+    private final class Vue extends AbstractArbreBinaireRecherche<Integer> {
+
+        private final int noeud;
+
+        Vue(int noeud) {
+            this.noeud = noeud;
+        }
+
+        @Override
+        public Integer getRacine() {
+            return cles[this.noeud];
+        }
+
+        @Override
+        public ArbreBinaireRecherche<Integer> getSag() {
+            final int gauche = gauches[this.noeud];
+            return gauche == NUL ? null : new Vue(gauche);
+        }
+
+        @Override
+        public ArbreBinaireRecherche<Integer> getSad() {
+            final int droit = droits[this.noeud];
+            return droit == NUL ? null : new Vue(droit);
+        }
+
+        @Override
+        public ArbreBinaireRecherche<Integer> ajouter(Integer cle)
+                throws InsertionImpossibleException {
+            verifierAjout(this.tenterAjouter(cle));
+            return this;
+        }
+
+        @Override
+        public StatutModification tenterAjouter(Integer cle) {
+            this.verifierRacine();
+            if (cle == null) {
+                return StatutModification.CLE_NULLE;
+            }
+            return ArbreBinaireRechercheEntiers.this.tenterAjouter(cle.intValue());
+        }
+
+        @Override
+        public ArbreBinaireRecherche<Integer> retirer(Integer cle)
+                throws ValeurNonTrouveeException, SuppressionImpossibleException {
+            verifierRetrait(this.tenterRetirer(cle), cle);
+            return this;
+        }
+
+        @Override
+        public StatutModification tenterRetirer(Integer cle) {
+            this.verifierRacine();
+            if (cle == null) {
+                return StatutModification.CLE_NULLE;
+            }
+            return ArbreBinaireRechercheEntiers.this.tenterRetirer(cle.intValue());
+        }
+
+        private void verifierRacine() {
+            if (this.noeud != racine) {
+                throw new UnsupportedOperationException(
+                        "Seule la vue racine d'un arbre d'entiers peut être modifiée");
+            }
+        }
+    }
+}
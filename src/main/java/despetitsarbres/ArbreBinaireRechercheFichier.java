@@ -0,0 +1,1340 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import despetitsarbres.exceptions.InsertionImpossibleException;
+import despetitsarbres.exceptions.SuppressionImpossibleException;
+import despetitsarbres.exceptions.ValeurNonTrouveeException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Arbre binaire de recherche persistant, stocké sous forme d'arbre B dans un fichier de pages
+ * projeté en mémoire. Un arbre créé par {@link #creer(Path, Comparable, CodecCle)} peut être
+ * rouvert par {@link #ouvrir(Path, CodecCle)} sans le reconstruire : seul l'en-tête est lu, les
+ * pages sont projetées et chargées à la demande par le système lors des recherches.
+ *
+ * <p>
+ * Chaque page, de 4 Kio (ou d'un multiple de 4 Kio pour les grandes clés) et alignée sur les
+ * pages du système, est un noeud d'arbre B : son nombre de clés, les indices de ses pages
+ * enfants puis ses clés triées, codées par un {@link CodecCle} de taille fixe (511 clés entières
+ * par page). Toutes les feuilles sont à la même profondeur et les pages autres que la racine
+ * sont au moins à moitié pleines : une recherche ne touche qu'O(log_B n) pages, au plus 3 pour
+ * 10 millions de clés entières, quel que soit l'ordre des ajouts. Un ajout scinde les pages
+ * pleines de son chemin, un retrait complète les pages sous-remplies par emprunt à une voisine
+ * ou par fusion. La racine reste la page 0 ; les pages libérées sont chaînées dans une liste
+ * libre et réutilisées.
+ * </p>
+ *
+ * <p>
+ * Vu comme arbre binaire, un sous-arbre est une plage de clés d'une page : sa racine est la clé
+ * du milieu de la plage, ses sous-arbres gauche et droit les moitiés de part et d'autre ; une
+ * moitié vide est remplacée par la page enfant située entre les clés voisines. Les sous-arbres
+ * sont des vues créées à la demande, valides jusqu'à la modification suivante et non
+ * modifiables. Les parcours et itérateurs décodent les clés directement depuis les pages.
+ * </p>
+ *
+ * <p>
+ * Le fichier commence par un en-tête de {@value #TAILLE_ENTETE} octets (signature, version,
+ * taille des clés, taille des pages, nombre de pages, nombre de clés et tête de la liste libre),
+ * mis à jour à chaque modification, suivi des pages, projetées par segments de
+ * {@value #PAGES_PAR_SEGMENT} pages, en petit-boutiste. Les modifications sont écrites sur disque
+ * par le système ; {@link #synchroniser()} et {@link #close()} forcent leur écriture. Un fichier
+ * ne doit être ouvert que par un seul arbre à la fois, et l'arbre ne doit pas être utilisé par
+ * plusieurs threads à la fois. Une fois l'arbre fermé, l'arbre et ses sous-arbres ne sont plus
+ * utilisables. Les fichiers des versions 1 et 2, arbres binaires à un noeud par clé, ne sont pas
+ * reconnus.
+ * </p>
+ *
+ * @author Rémi Venant
+ * @param <K> Type des valeurs des noeud de l'ABR (les valeurs doivent être comparable entre elles).
+ */
+public class ArbreBinaireRechercheFichier<K extends Comparable<K>>
+        extends AbstractArbreBinaireRecherche<K> implements AutoCloseable {
+
+    /**
+     * Taille de l'en-tête du fichier, en octets.
+     */
+    public static final int TAILLE_ENTETE = 4096;
+
+    /**
+     * Logarithme en base 2 du nombre de pages par segment projeté.
+     */
+    static final int DECALAGE_SEGMENT = 8;
+
+    /**
+     * Nombre de pages par segment projeté.
+     */
+    public static final int PAGES_PAR_SEGMENT = 1 << DECALAGE_SEGMENT;
+
+    private static final int MASQUE_SEGMENT = PAGES_PAR_SEGMENT - 1;
+
+    /**
+     * Taille de page minimale, celle des pages du système ; la taille d'une page en est un
+     * multiple.
+     */
+    private static final int TAILLE_BLOC = 4096;
+
+    /**
+     * Nombre minimal de clés d'une page pleine, pour qu'une scission laisse au moins une clé de
+     * part et d'autre de la clé médiane.
+     */
+    private static final int CAPACITE_MIN = 3;
+
+    private static final int NUL = -1;
+
+    private static final int RACINE = 0;
+
+    private static final int POSITION_ENFANTS = Integer.BYTES;
+
+    private static final int MASQUE_BORNE = 0xFFFF;
+
+    private static final int SIGNATURE = 0x44504152;
+
+    private static final int VERSION = 3;
+
+    private static final int POSITION_SIGNATURE = 0;
+
+    private static final int POSITION_VERSION = 4;
+
+    private static final int POSITION_TAILLE_CLE = 8;
+
+    private static final int POSITION_TAILLE_PAGE = 12;
+
+    private static final int POSITION_NB_PAGES = 16;
+
+    private static final int POSITION_NB_CLES = 20;
+
+    private static final int POSITION_PREMIER_LIBRE = 24;
+
+    private final CodecCle<K> codec;
+
+    private final int tailleCle;
+
+    private final int taillePage;
+
+    /**
+     * Nombre maximal de clés d'une page, impair afin que la médiane d'une page pleine laisse
+     * {@link #minimum} clés de chaque côté.
+     */
+    private final int capacite;
+
+    /**
+     * Nombre minimal de clés d'une page autre que la racine.
+     */
+    private final int minimum;
+
+    private final int positionCles;
+
+    private final FileChannel canal;
+
+    private final MappedByteBuffer entete;
+
+    private ByteBuffer[] segments;
+
+    private int nbSegments;
+
+    private int nbPages;
+
+    private int nbCles;
+
+    private int premierLibre;
+
+    /**
+     * Chemin de la racine à la page modifiée (page puis indice de l'enfant suivi), réutilisé par
+     * les ajouts et retraits.
+     */
+    private final PileEntiers chemin = new PileEntiers();
+
+    private ArbreBinaireRechercheFichier(CodecCle<K> codec, FileChannel canal) throws IOException {
+        this.codec = Objects.requireNonNull(codec, "Le codec ne peut être nul");
+        this.tailleCle = codec.getTaille();
+        int taille = TAILLE_BLOC;
+        while (capacite(taille, this.tailleCle) < CAPACITE_MIN) {
+            taille += TAILLE_BLOC;
+        }
+        final int capaciteMax = capacite(taille, this.tailleCle);
+        this.taillePage = taille;
+        this.capacite = capaciteMax - 1 + (capaciteMax & 1);
+        this.minimum = this.capacite >>> 1;
+        this.positionCles = POSITION_ENFANTS + (this.capacite + 1) * Integer.BYTES;
+        this.segments = new ByteBuffer[1];
+        this.premierLibre = NUL;
+        this.canal = canal;
+        this.entete = canal.map(FileChannel.MapMode.READ_WRITE, 0, TAILLE_ENTETE);
+        this.entete.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Crée un fichier contenant un ABR réduit à une feuille.
+     *
+     * @param <K> Type des valeurs des noeud de l'ABR
+     * @param fichier le chemin du fichier, qui ne doit pas exister
+     * @param racine la valeur de la racine
+     * @param codec le codec des clés
+     * @return l'arbre, à fermer après usage
+     * @throws IOException si le fichier existe déjà ou ne peut être créé
+     * @throws NullPointerException si la racine ou le codec sont nuls
+     */
+    public static <K extends Comparable<K>> ArbreBinaireRechercheFichier<K> creer(Path fichier,
+            K racine, CodecCle<K> codec) throws IOException {
+        final FileChannel canal = FileChannel.open(fichier, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            final ArbreBinaireRechercheFichier<K> arbre = new ArbreBinaireRechercheFichier<>(codec,
+                    canal);
+            arbre.entete.putInt(POSITION_SIGNATURE, SIGNATURE);
+            arbre.entete.putInt(POSITION_VERSION, VERSION);
+            arbre.entete.putInt(POSITION_TAILLE_CLE, arbre.tailleCle);
+            arbre.entete.putInt(POSITION_TAILLE_PAGE, arbre.taillePage);
+            arbre.initialiser(racine);
+            return arbre;
+        } catch (IOException | RuntimeException ex) {
+            canal.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Ouvre un fichier contenant un ABR créé par {@link #creer(Path, Comparable, CodecCle)}.
+     *
+     * @param <K> Type des valeurs des noeud de l'ABR
+     * @param fichier le chemin du fichier
+     * @param codec le codec des clés, identique à celui utilisé à la création
+     * @return l'arbre, à fermer après usage
+     * @throws IOException si le fichier ne peut être ouvert ou n'est pas un fichier d'arbre valide
+     * @throws IllegalArgumentException si la taille des clés du codec ne correspond pas au fichier
+     */
+    public static <K extends Comparable<K>> ArbreBinaireRechercheFichier<K> ouvrir(Path fichier,
+            CodecCle<K> codec) throws IOException {
+        final FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            if (canal.size() < TAILLE_ENTETE) {
+                throw new IOException("Fichier d'arbre invalide : " + fichier);
+            }
+            final ArbreBinaireRechercheFichier<K> arbre = new ArbreBinaireRechercheFichier<>(codec,
+                    canal);
+            final ByteBuffer entete = arbre.entete;
+            if (entete.getInt(POSITION_SIGNATURE) != SIGNATURE
+                    || entete.getInt(POSITION_VERSION) != VERSION) {
+                throw new IOException("Fichier d'arbre invalide : " + fichier);
+            }
+            if (entete.getInt(POSITION_TAILLE_CLE) != arbre.tailleCle) {
+                throw new IllegalArgumentException(
+                        "La taille des clés du codec ne correspond pas au fichier");
+            }
+            final int nbPages = entete.getInt(POSITION_NB_PAGES);
+            if (entete.getInt(POSITION_TAILLE_PAGE) != arbre.taillePage || nbPages < 1) {
+                throw new IOException("Fichier d'arbre invalide : " + fichier);
+            }
+            if (canal.size() < arbre.positionSegment(nombreSegments(nbPages))) {
+                throw new IOException("Fichier d'arbre tronqué : " + fichier);
+            }
+            try {
+                arbre.restaurer(nbPages, entete.getInt(POSITION_NB_CLES),
+                        entete.getInt(POSITION_PREMIER_LIBRE));
+            } catch (IllegalArgumentException ex) {
+                throw new IOException("Fichier d'arbre invalide : " + fichier, ex);
+            }
+            return arbre;
+        } catch (IOException | RuntimeException ex) {
+            canal.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Force l'écriture sur disque des modifications de l'arbre.
+     *
+     * @throws IllegalStateException si l'arbre a été fermé
+     */
+    public void synchroniser() {
+        this.verifierOuvert();
+        for (int i = 0; i < this.nbSegments; i++) {
+            ((MappedByteBuffer) this.segments[i]).force();
+        }
+        this.entete.force();
+    }
+
+    /**
+     * Écrit les modifications sur disque, libère les projections et ferme le fichier. Fermer un
+     * arbre déjà fermé est sans effet.
+     *
+     * @throws UncheckedIOException si le fichier ne peut être fermé
+     */
+    @Override
+    public void close() {
+        if (!this.canal.isOpen()) {
+            return;
+        }
+        try {
+            this.synchroniser();
+            for (int i = 0; i < this.nbSegments; i++) {
+                TamponsDirects.liberer(this.segments[i]);
+            }
+            this.segments = null;
+            TamponsDirects.liberer(this.entete);
+            this.canal.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public K getRacine() {
+        return this.cle(this.vueRacine());
+    }
+
+    @Override
+    public ArbreBinaireRecherche<K> getSag() {
+        return this.arbre(this.vueGauche(this.vueRacine()));
+    }
+
+    @Override
+    public ArbreBinaireRecherche<K> getSad() {
+        return this.arbre(this.vueDroite(this.vueRacine()));
+    }
+
+    @Override
+    public boolean isFeuille() {
+        return this.isFeuille(this.vueRacine());
+    }
+
+    /**
+     * Fournit la hauteur de l'arbre vu comme arbre binaire. Seules les pages internes sont
+     * parcourues : la hauteur d'une plage de clés d'une feuille se déduit de sa taille.
+     *
+     * @return la hauteur de l'arbre
+     */
+    @Override
+    public int getHauteur() {
+        return this.hauteur(this.vueRacine());
+    }
+
+    /**
+     * Fournit le nombre de noeuds de l'arbre, c'est-à-dire de clés, en temps constant.
+     *
+     * @return le nombre de noeuds
+     */
+    @Override
+    public int getNbNoeuds() {
+        this.verifierOuvert();
+        return this.nbCles;
+    }
+
+    @Override
+    public ArbreBinaireRecherche<K> rechercherSousArbre(K cle) {
+        return cle == null ? null : this.arbre(this.rechercher(this.vueRacine(), cle));
+    }
+
+    @Override
+    public boolean contains(K cle) {
+        return cle != null && this.rechercher(this.vueRacine(), cle) != NUL;
+    }
+
+    @Override
+    public K getMin() {
+        return this.min(this.vueRacine());
+    }
+
+    @Override
+    public K getMax() {
+        return this.max(this.vueRacine());
+    }
+
+    @Override
+    public K plancher(K cle) {
+        return this.naviguer(this.vueRacine(), cle, true, true);
+    }
+
+    @Override
+    public K plafond(K cle) {
+        return this.naviguer(this.vueRacine(), cle, false, true);
+    }
+
+    @Override
+    public K predecesseur(K cle) {
+        return this.naviguer(this.vueRacine(), cle, true, false);
+    }
+
+    @Override
+    public K successeur(K cle) {
+        return this.naviguer(this.vueRacine(), cle, false, false);
+    }
+
+    @Override
+    public void traiterNoeudsParcoursPrefixe(Consumer<K> traitementNoeud) {
+        this.parcourir(new IterateurPrefixe(this.vueRacine()), traitementNoeud);
+    }
+
+    @Override
+    public void traiterNoeudsParcoursSuffixe(Consumer<K> traitementNoeud) {
+        this.parcourir(new IterateurSuffixe(this.vueRacine()), traitementNoeud);
+    }
+
+    @Override
+    public void traiterNoeudsParcoursLargeur(Consumer<K> traitementNoeud) {
+        this.parcourir(new IterateurLargeur(this.vueRacine()), traitementNoeud);
+    }
+
+    @Override
+    public Iterator<K> iterateurParcoursPrefixe() {
+        return new IterateurPrefixe(this.vueRacine());
+    }
+
+    @Override
+    public Iterator<K> iterateurParcoursSuffixe() {
+        return new IterateurSuffixe(this.vueRacine());
+    }
+
+    @Override
+    public Iterator<K> iterateurParcoursLargeur() {
+        return new IterateurLargeur(this.vueRacine());
+    }
+
+    @Override
+    public ArbreBinaireRechercheFichier<K> ajouter(K cle) throws InsertionImpossibleException {
+        verifierAjout(this.tenterAjouter(cle));
+        return this;
+    }
+
+    /**
+     * Ajoute une clé dans sa feuille. Une page pleine rencontrée est d'abord scindée autour de sa
+     * clé médiane, qui remonte dans la page parente, elle-même scindée au besoin.
+     *
+     * @param cle la clé à ajouter
+     * @return l'issue de l'ajout
+     */
+    @Override
+    public StatutModification tenterAjouter(K cle) {
+        if (cle == null) {
+            return StatutModification.CLE_NULLE;
+        }
+        this.chemin.vider();
+        int page = RACINE;
+        int indice;
+        while ((indice = this.indice(page, cle)) < 0 && !this.isFeuillePage(page)) {
+            this.chemin.empiler(page);
+            this.chemin.empiler(-indice - 1);
+            page = this.enfant(page, -indice - 1);
+        }
+        if (indice >= 0) {
+            return StatutModification.DEJA_PRESENTE;
+        }
+        final long place = this.reserver(page, -indice - 1);
+        final int feuille = page(place);
+        this.ouvrirPlace(feuille, (int) place);
+        this.codec.ecrire(this.segment(feuille), this.positionCle(feuille, (int) place), cle);
+        this.nbCles++;
+        this.notifierEtat();
+        return StatutModification.EFFECTUEE;
+    }
+
+    /**
+     * Retire une clé de l'arbre. Une clé d'une page interne prend la clé maximale de son
+     * sous-arbre gauche, retirée de sa feuille. Une page sous-remplie emprunte ensuite une clé à
+     * une voisine, ou fusionne avec elle en remontant le chemin.
+     *
+     * @param cle la clé à retirer
+     * @return l'arbre mis à jour
+     * @throws ValeurNonTrouveeException si la clé n'existe pas
+     * @throws SuppressionImpossibleException si l'arbre est une feuille de valeur clé ou si la clé
+     * est nulle
+     */
+    @Override
+    public ArbreBinaireRechercheFichier<K> retirer(K cle) throws ValeurNonTrouveeException,
+            SuppressionImpossibleException {
+        verifierRetrait(this.tenterRetirer(cle), cle);
+        return this;
+    }
+
+    @Override
+    public StatutModification tenterRetirer(K cle) {
+        if (cle == null) {
+            return StatutModification.CLE_NULLE;
+        }
+        this.chemin.vider();
+        int page = RACINE;
+        int indice;
+        while ((indice = this.indice(page, cle)) < 0) {
+            if (this.isFeuillePage(page)) {
+                return StatutModification.ABSENTE;
+            }
+            this.chemin.empiler(page);
+            this.chemin.empiler(-indice - 1);
+            page = this.enfant(page, -indice - 1);
+        }
+        if (this.nbCles == 1) {
+            return StatutModification.DERNIERE_CLE;
+        }
+        if (!this.isFeuillePage(page)) {
+            this.chemin.empiler(page);
+            this.chemin.empiler(indice);
+            int feuille = this.enfant(page, indice);
+            while (!this.isFeuillePage(feuille)) {
+                final int dernier = this.nbClesPage(feuille);
+                this.chemin.empiler(feuille);
+                this.chemin.empiler(dernier);
+                feuille = this.enfant(feuille, dernier);
+            }
+            final int max = this.nbClesPage(feuille) - 1;
+            this.copierCles(feuille, max, page, indice, 1);
+            page = feuille;
+            indice = max;
+        }
+        final int nbClesPage = this.nbClesPage(page);
+        this.copierCles(page, indice + 1, page, indice, nbClesPage - indice - 1);
+        this.definirNbCles(page, nbClesPage - 1);
+        this.completer(page);
+        this.nbCles--;
+        this.notifierEtat();
+        return StatutModification.EFFECTUEE;
+    }
+
+    /**
+     * Fournit le nombre de niveaux de pages de l'arbre, c'est-à-dire le nombre de pages touchées
+     * par une recherche infructueuse.
+     *
+     * @return le nombre de niveaux de pages
+     */
+    int getNbNiveaux() {
+        int niveaux = 1;
+        for (int page = RACINE; !this.isFeuillePage(page); page = this.enfant(page, 0)) {
+            niveaux++;
+        }
+        return niveaux;
+    }
+
+    /**
+     * Fournit le nombre maximal de clés d'une page.
+     *
+     * @return la capacité d'une page
+     */
+    int getCapacitePage() {
+        return this.capacite;
+    }
+
+    private static int capacite(int taillePage, int tailleCle) {
+        return (taillePage - POSITION_ENFANTS - Integer.BYTES) / (Integer.BYTES + tailleCle);
+    }
+
+    private static int nombreSegments(int nbPages) {
+        return ((nbPages - 1) >>> DECALAGE_SEGMENT) + 1;
+    }
+
+    private void initialiser(K racine) {
+        Objects.requireNonNull(racine, "La racine d'un ABR ne peut être nulle");
+        final int page = this.allouerPage();
+        this.codec.ecrire(this.segment(page), this.positionCle(page, 0), racine);
+        this.definirNbCles(page, 1);
+        this.nbCles = 1;
+        this.notifierEtat();
+    }
+
+    private void restaurer(int nbPages, int nbCles, int premierLibre) {
+        if (nbCles < 1 || premierLibre < NUL || premierLibre >= nbPages) {
+            throw new IllegalArgumentException("État de l'arbre incohérent");
+        }
+        final int nbSegmentsFichier = nombreSegments(nbPages);
+        while (this.nbSegments < nbSegmentsFichier) {
+            this.ajouterSegment();
+        }
+        this.nbPages = nbPages;
+        this.nbCles = nbCles;
+        this.premierLibre = premierLibre;
+    }
+
+    private void notifierEtat() {
+        this.entete.putInt(POSITION_NB_PAGES, this.nbPages);
+        this.entete.putInt(POSITION_NB_CLES, this.nbCles);
+        this.entete.putInt(POSITION_PREMIER_LIBRE, this.premierLibre);
+    }
+
+    private long positionSegment(int numero) {
+        return TAILLE_ENTETE + (long) numero * PAGES_PAR_SEGMENT * this.taillePage;
+    }
+
+    private void ajouterSegment() {
+        if (this.nbSegments == this.segments.length) {
+            this.segments = Arrays.copyOf(this.segments, this.nbSegments << 1);
+        }
+        try {
+            this.segments[this.nbSegments] = this.canal.map(FileChannel.MapMode.READ_WRITE,
+                    this.positionSegment(this.nbSegments),
+                    (long) PAGES_PAR_SEGMENT * this.taillePage).order(ByteOrder.LITTLE_ENDIAN);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        this.nbSegments++;
+    }
+
+    /**
+     * Alloue une feuille vide, prise dans la liste libre ou à la fin du fichier.
+     */
+    private int allouerPage() {
+        final int page;
+        if (this.premierLibre != NUL) {
+            page = this.premierLibre;
+            this.premierLibre = this.enfant(page, 0);
+        } else {
+            if (this.nbPages == Integer.MAX_VALUE) {
+                throw new IllegalStateException("Nombre maximal de pages atteint");
+            }
+            if ((this.nbPages >>> DECALAGE_SEGMENT) == this.nbSegments) {
+                this.ajouterSegment();
+            }
+            page = this.nbPages++;
+        }
+        this.definirNbCles(page, 0);
+        this.definirEnfant(page, 0, NUL);
+        return page;
+    }
+
+    private void libererPage(int page) {
+        this.definirEnfant(page, 0, this.premierLibre);
+        this.premierLibre = page;
+    }
+
+    private void verifierOuvert() {
+        if (this.segments == null) {
+            throw new IllegalStateException("L'arbre a été fermé");
+        }
+    }
+
+    private ByteBuffer segment(int page) {
+        this.verifierOuvert();
+        return this.segments[page >>> DECALAGE_SEGMENT];
+    }
+
+    private int position(int page) {
+        return (page & MASQUE_SEGMENT) * this.taillePage;
+    }
+
+    private int nbClesPage(int page) {
+        return this.segment(page).getInt(this.position(page));
+    }
+
+    private void definirNbCles(int page, int nbCles) {
+        this.segment(page).putInt(this.position(page), nbCles);
+    }
+
+    private int positionEnfant(int page, int indice) {
+        return this.position(page) + POSITION_ENFANTS + indice * Integer.BYTES;
+    }
+
+    private int enfant(int page, int indice) {
+        return this.segment(page).getInt(this.positionEnfant(page, indice));
+    }
+
+    private void definirEnfant(int page, int indice, int enfant) {
+        this.segment(page).putInt(this.positionEnfant(page, indice), enfant);
+    }
+
+    /**
+     * Indique si une page est une feuille : son premier enfant est nul.
+     */
+    private boolean isFeuillePage(int page) {
+        return this.enfant(page, 0) == NUL;
+    }
+
+    private int positionCle(int page, int indice) {
+        return this.position(page) + this.positionCles + indice * this.tailleCle;
+    }
+
+    private K cle(int page, int indice) {
+        return this.codec.lire(this.segment(page), this.positionCle(page, indice));
+    }
+
+    private int comparer(K cle, int page, int indice) {
+        return this.codec.comparer(cle, this.segment(page), this.positionCle(page, indice));
+    }
+
+    private void copierCles(int source, int debutSource, int destination, int debutDestination,
+            int nombre) {
+        deplacer(this.segment(source), this.positionCle(source, debutSource),
+                this.segment(destination), this.positionCle(destination, debutDestination),
+                nombre * this.tailleCle);
+    }
+
+    private void copierEnfants(int source, int debutSource, int destination,
+            int debutDestination, int nombre) {
+        deplacer(this.segment(source), this.positionEnfant(source, debutSource),
+                this.segment(destination), this.positionEnfant(destination, debutDestination),
+                nombre * Integer.BYTES);
+    }
+
+    /**
+     * Copie des octets d'un tampon à l'autre par mots de 8 octets. Dans un même tampon, les zones
+     * peuvent se chevaucher : la copie se fait alors dans le sens qui préserve la source.
+     */
+    private static void deplacer(ByteBuffer source, int positionSource, ByteBuffer destination,
+            int positionDestination, int longueur) {
+        if (source != destination || positionDestination < positionSource) {
+            int i = 0;
+            for (; i + Long.BYTES <= longueur; i += Long.BYTES) {
+                destination.putLong(positionDestination + i, source.getLong(positionSource + i));
+            }
+            for (; i < longueur; i++) {
+                destination.put(positionDestination + i, source.get(positionSource + i));
+            }
+        } else {
+            int i = longueur;
+            for (; i >= Long.BYTES; i -= Long.BYTES) {
+                destination.putLong(positionDestination + i - Long.BYTES,
+                        source.getLong(positionSource + i - Long.BYTES));
+            }
+            for (; i > 0; i--) {
+                destination.put(positionDestination + i - 1, source.get(positionSource + i - 1));
+            }
+        }
+    }
+
+    /**
+     * Recherche dichotomique d'une clé dans une page.
+     *
+     * @return l'indice de la clé, ou -(indice de l'enfant où la chercher) - 1
+     */
+    private int indice(int page, K cle) {
+        int debut = 0;
+        int fin = this.nbClesPage(page);
+        while (debut < fin) {
+            final int milieu = (debut + fin) >>> 1;
+            final int cmp = this.comparer(cle, page, milieu);
+            if (cmp == 0) {
+                return milieu;
+            }
+            if (cmp < 0) {
+                fin = milieu;
+            } else {
+                debut = milieu + 1;
+            }
+        }
+        return -debut - 1;
+    }
+
+    /**
+     * Garantit qu'une clé peut être insérée à un indice d'une page du chemin, en scindant la page
+     * si elle est pleine : sa clé médiane est insérée dans la page parente, réservée de la même
+     * façon, et ses clés supérieures passent dans une nouvelle page. La racine scindée reste la
+     * page 0 : ses deux moitiés passent dans deux nouvelles pages.
+     *
+     * @return l'emplacement où insérer la clé, la page dans les 32 bits de poids fort et l'indice
+     * dans ceux de poids faible
+     */
+    private long reserver(int page, int indice) {
+        if (this.nbClesPage(page) < this.capacite) {
+            return emplacement(page, indice);
+        }
+        final int median = this.minimum;
+        final int droite = this.allouerPage();
+        this.copierMoitie(page, median + 1, droite);
+        final int gauche;
+        if (page == RACINE) {
+            gauche = this.allouerPage();
+            this.copierMoitie(page, 0, gauche);
+            this.copierCles(page, median, page, 0, 1);
+            this.definirNbCles(page, 1);
+            this.definirEnfant(page, 0, gauche);
+            this.definirEnfant(page, 1, droite);
+        } else {
+            final int indiceParent = this.chemin.depiler();
+            final long place = this.reserver(this.chemin.depiler(), indiceParent);
+            final int parent = page(place);
+            this.ouvrirPlace(parent, (int) place);
+            this.copierCles(page, median, parent, (int) place, 1);
+            this.definirEnfant(parent, (int) place + 1, droite);
+            this.definirNbCles(page, median);
+            gauche = page;
+        }
+        return indice <= median ? emplacement(gauche, indice)
+                : emplacement(droite, indice - median - 1);
+    }
+
+    /**
+     * Copie la moitié d'une page pleine, {@link #minimum} clés à partir d'un indice et les
+     * enfants qui les encadrent, dans une page vide.
+     */
+    private void copierMoitie(int source, int debut, int destination) {
+        this.copierCles(source, debut, destination, 0, this.minimum);
+        if (!this.isFeuillePage(source)) {
+            this.copierEnfants(source, debut, destination, 0, this.minimum + 1);
+        }
+        this.definirNbCles(destination, this.minimum);
+    }
+
+    /**
+     * Décale les clés d'une page à partir d'un indice, et les enfants qui les suivent, pour
+     * insérer une clé à cet indice.
+     */
+    private void ouvrirPlace(int page, int indice) {
+        final int nbClesPage = this.nbClesPage(page);
+        this.copierCles(page, indice, page, indice + 1, nbClesPage - indice);
+        if (!this.isFeuillePage(page)) {
+            this.copierEnfants(page, indice + 1, page, indice + 2, nbClesPage - indice);
+        }
+        this.definirNbCles(page, nbClesPage + 1);
+    }
+
+    /**
+     * Complète les pages sous-remplies du chemin, de la page indiquée vers la racine. Une page
+     * emprunte une clé à une voisine qui en a plus que le minimum, ce qui termine la remontée ;
+     * sinon elle fusionne avec une voisine, ce qui retire une clé de la page parente. Une racine
+     * vidée par une fusion est remplacée par son unique enfant.
+     */
+    private void completer(int page) {
+        while (page != RACINE && this.nbClesPage(page) < this.minimum) {
+            final int indice = this.chemin.depiler();
+            final int parent = this.chemin.depiler();
+            if (indice > 0 && this.nbClesPage(this.enfant(parent, indice - 1)) > this.minimum) {
+                this.emprunterGauche(parent, indice);
+                return;
+            }
+            if (indice < this.nbClesPage(parent)
+                    && this.nbClesPage(this.enfant(parent, indice + 1)) > this.minimum) {
+                this.emprunterDroite(parent, indice);
+                return;
+            }
+            this.fusionner(parent, indice > 0 ? indice - 1 : indice);
+            page = parent;
+        }
+        if (this.nbClesPage(RACINE) == 0) {
+            final int enfant = this.enfant(RACINE, 0);
+            deplacer(this.segment(enfant), this.position(enfant), this.segment(RACINE),
+                    this.position(RACINE), this.taillePage);
+            this.libererPage(enfant);
+        }
+    }
+
+    /**
+     * L'enfant d'indice donné prend la clé séparatrice de la page parente, remplacée par la
+     * clé maximale de sa voisine gauche.
+     */
+    private void emprunterGauche(int parent, int indice) {
+        final int page = this.enfant(parent, indice);
+        final int gauche = this.enfant(parent, indice - 1);
+        final int nbClesPage = this.nbClesPage(page);
+        final int nbClesGauche = this.nbClesPage(gauche);
+        this.copierCles(page, 0, page, 1, nbClesPage);
+        if (!this.isFeuillePage(page)) {
+            this.copierEnfants(page, 0, page, 1, nbClesPage + 1);
+            this.copierEnfants(gauche, nbClesGauche, page, 0, 1);
+        }
+        this.copierCles(parent, indice - 1, page, 0, 1);
+        this.copierCles(gauche, nbClesGauche - 1, parent, indice - 1, 1);
+        this.definirNbCles(page, nbClesPage + 1);
+        this.definirNbCles(gauche, nbClesGauche - 1);
+    }
+
+    /**
+     * L'enfant d'indice donné prend la clé séparatrice de la page parente, remplacée par la
+     * clé minimale de sa voisine droite.
+     */
+    private void emprunterDroite(int parent, int indice) {
+        final int page = this.enfant(parent, indice);
+        final int droite = this.enfant(parent, indice + 1);
+        final int nbClesPage = this.nbClesPage(page);
+        final int nbClesDroite = this.nbClesPage(droite);
+        this.copierCles(parent, indice, page, nbClesPage, 1);
+        this.copierCles(droite, 0, parent, indice, 1);
+        if (!this.isFeuillePage(page)) {
+            this.copierEnfants(droite, 0, page, nbClesPage + 1, 1);
+            this.copierEnfants(droite, 1, droite, 0, nbClesDroite);
+        }
+        this.copierCles(droite, 1, droite, 0, nbClesDroite - 1);
+        this.definirNbCles(page, nbClesPage + 1);
+        this.definirNbCles(droite, nbClesDroite - 1);
+    }
+
+    /**
+     * Fusionne les enfants d'indices donné et suivant, avec leur clé séparatrice, dans le
+     * premier ; le second est libéré.
+     */
+    private void fusionner(int parent, int indice) {
+        final int gauche = this.enfant(parent, indice);
+        final int droite = this.enfant(parent, indice + 1);
+        final int nbClesGauche = this.nbClesPage(gauche);
+        final int nbClesDroite = this.nbClesPage(droite);
+        final int nbClesParent = this.nbClesPage(parent);
+        this.copierCles(parent, indice, gauche, nbClesGauche, 1);
+        this.copierCles(droite, 0, gauche, nbClesGauche + 1, nbClesDroite);
+        if (!this.isFeuillePage(gauche)) {
+            this.copierEnfants(droite, 0, gauche, nbClesGauche + 1, nbClesDroite + 1);
+        }
+        this.definirNbCles(gauche, nbClesGauche + nbClesDroite + 1);
+        this.copierCles(parent, indice + 1, parent, indice, nbClesParent - indice - 1);
+        this.copierEnfants(parent, indice + 2, parent, indice + 1, nbClesParent - indice - 1);
+        this.definirNbCles(parent, nbClesParent - 1);
+        this.libererPage(droite);
+    }
+
+    private static long emplacement(int page, int indice) {
+        return (long) page << Integer.SIZE | indice;
+    }
+
+    /**
+     * Code une vue : la page dans les 32 bits de poids fort, les bornes de la plage de clés
+     * [debut, fin[ dans les 16 bits suivants et les 16 bits de poids faible.
+     */
+    private static long vue(int page, int debut, int fin) {
+        return (long) page << Integer.SIZE | (debut << Short.SIZE | fin);
+    }
+
+    private static int page(long code) {
+        return (int) (code >>> Integer.SIZE);
+    }
+
+    private static int debut(long vue) {
+        return (int) vue >>> Short.SIZE;
+    }
+
+    private static int fin(long vue) {
+        return (int) vue & MASQUE_BORNE;
+    }
+
+    /**
+     * Fournit l'indice de la clé racine d'une vue, au milieu de sa plage.
+     */
+    private static int milieu(long vue) {
+        return (debut(vue) + fin(vue) - 1) >>> 1;
+    }
+
+    private long vuePage(int page) {
+        return vue(page, 0, this.nbClesPage(page));
+    }
+
+    private long vueRacine() {
+        return this.vuePage(RACINE);
+    }
+
+    private long vueGauche(long vue) {
+        final int page = page(vue);
+        final int debut = debut(vue);
+        final int milieu = milieu(vue);
+        if (debut < milieu) {
+            return vue(page, debut, milieu);
+        }
+        return this.isFeuillePage(page) ? NUL : this.vuePage(this.enfant(page, milieu));
+    }
+
+    private long vueDroite(long vue) {
+        final int page = page(vue);
+        final int fin = fin(vue);
+        final int milieu = milieu(vue);
+        if (milieu + 1 < fin) {
+            return vue(page, milieu + 1, fin);
+        }
+        return this.isFeuillePage(page) ? NUL : this.vuePage(this.enfant(page, fin));
+    }
+
+    private ArbreBinaireRecherche<K> arbre(long vue) {
+        return vue == NUL ? null : vue == this.vueRacine() ? this : new SousArbre(vue);
+    }
+
+    private K cle(long vue) {
+        return this.cle(page(vue), milieu(vue));
+    }
+
+    private boolean isFeuille(long vue) {
+        return fin(vue) - debut(vue) == 1 && this.isFeuillePage(page(vue));
+    }
+
+    /**
+     * Fournit la hauteur d'une vue. Une plage de k clés d'une feuille, découpée en son milieu, a
+     * pour hauteur la partie entière de log2(k).
+     */
+    private int hauteur(long vue) {
+        if (vue == NUL) {
+            return -1;
+        }
+        if (this.isFeuillePage(page(vue))) {
+            return Integer.SIZE - 1 - Integer.numberOfLeadingZeros(fin(vue) - debut(vue));
+        }
+        return 1 + Math.max(this.hauteur(this.vueGauche(vue)), this.hauteur(this.vueDroite(vue)));
+    }
+
+    /**
+     * Recherche une clé dans une vue par dichotomie sur les plages de clés de chaque page, de
+     * sorte que la plage où la clé est trouvée soit la vue dont elle est la racine.
+     *
+     * @return la vue dont la clé est la racine, ou -1
+     */
+    private long rechercher(long vue, K cle) {
+        int page = page(vue);
+        int debut = debut(vue);
+        int fin = fin(vue);
+        while (true) {
+            while (debut < fin) {
+                final int milieu = (debut + fin - 1) >>> 1;
+                final int cmp = this.comparer(cle, page, milieu);
+                if (cmp == 0) {
+                    return vue(page, debut, fin);
+                }
+                if (cmp < 0) {
+                    fin = milieu;
+                } else {
+                    debut = milieu + 1;
+                }
+            }
+            if (this.isFeuillePage(page)) {
+                return NUL;
+            }
+            page = this.enfant(page, debut);
+            debut = 0;
+            fin = this.nbClesPage(page);
+        }
+    }
+
+    /**
+     * Recherche la clé la plus proche d'une clé de référence en une seule descente : les
+     * comparaisons se font sur les octets sérialisés et seule la clé retenue est décodée.
+     */
+    private K naviguer(long vue, K cle, boolean inferieure, boolean inclusive) {
+        if (cle == null) {
+            return null;
+        }
+        int page = page(vue);
+        int debut = debut(vue);
+        int fin = fin(vue);
+        int pageCandidate = NUL;
+        int indiceCandidat = 0;
+        while (true) {
+            while (debut < fin) {
+                final int milieu = (debut + fin - 1) >>> 1;
+                final int cmp = this.comparer(cle, page, milieu);
+                if (cmp == 0 && inclusive) {
+                    return this.cle(page, milieu);
+                }
+                if (inferieure ? cmp > 0 : cmp < 0) {
+                    pageCandidate = page;
+                    indiceCandidat = milieu;
+                }
+                if (inferieure ? cmp > 0 : cmp >= 0) {
+                    debut = milieu + 1;
+                } else {
+                    fin = milieu;
+                }
+            }
+            if (this.isFeuillePage(page)) {
+                return pageCandidate == NUL ? null : this.cle(pageCandidate, indiceCandidat);
+            }
+            page = this.enfant(page, debut);
+            debut = 0;
+            fin = this.nbClesPage(page);
+        }
+    }
+
+    private K min(long vue) {
+        int page = page(vue);
+        int indice = debut(vue);
+        while (!this.isFeuillePage(page)) {
+            page = this.enfant(page, indice);
+            indice = 0;
+        }
+        return this.cle(page, indice);
+    }
+
+    private K max(long vue) {
+        int page = page(vue);
+        int indice = fin(vue);
+        while (!this.isFeuillePage(page)) {
+            page = this.enfant(page, indice);
+            indice = this.nbClesPage(page);
+        }
+        return this.cle(page, indice - 1);
+    }
+
+    private void parcourir(Iterator<K> iterateur, Consumer<K> traitementNoeud) {
+        while (iterateur.hasNext()) {
+            traitementNoeud.accept(iterateur.next());
+        }
+    }
+
+    private static void empiler(PileEntiers pile, long vue) {
+        pile.empiler(page(vue));
+        pile.empiler((int) vue);
+    }
+
+    private static long depiler(PileEntiers pile) {
+        final int bornes = pile.depiler();
+        return vue(pile.depiler(), bornes >>> Short.SIZE, bornes & MASQUE_BORNE);
+    }
+
+    /**
+     * Vue d'un sous-arbre de l'arbre, désigné par le code de sa plage de clés.
+     */
+    private final class SousArbre extends AbstractArbreBinaireRecherche<K> {
+
+        private final long vue;
+
+        SousArbre(long vue) {
+            this.vue = vue;
+        }
+
+        @Override
+        public K getRacine() {
+            return cle(this.vue);
+        }
+
+        @Override
+        public ArbreBinaireRecherche<K> getSag() {
+            return arbre(vueGauche(this.vue));
+        }
+
+        @Override
+        public ArbreBinaireRecherche<K> getSad() {
+            return arbre(vueDroite(this.vue));
+        }
+
+        @Override
+        public boolean isFeuille() {
+            return ArbreBinaireRechercheFichier.this.isFeuille(this.vue);
+        }
+
+        @Override
+        public int getHauteur() {
+            return hauteur(this.vue);
+        }
+
+        @Override
+        public ArbreBinaireRecherche<K> rechercherSousArbre(K cle) {
+            return cle == null ? null : arbre(rechercher(this.vue, cle));
+        }
+
+        @Override
+        public boolean contains(K cle) {
+            return cle != null && rechercher(this.vue, cle) != NUL;
+        }
+
+        @Override
+        public K getMin() {
+            return min(this.vue);
+        }
+
+        @Override
+        public K getMax() {
+            return max(this.vue);
+        }
+
+        @Override
+        public K plancher(K cle) {
+            return naviguer(this.vue, cle, true, true);
+        }
+
+        @Override
+        public K plafond(K cle) {
+            return naviguer(this.vue, cle, false, true);
+        }
+
+        @Override
+        public K predecesseur(K cle) {
+            return naviguer(this.vue, cle, true, false);
+        }
+
+        @Override
+        public K successeur(K cle) {
+            return naviguer(this.vue, cle, false, false);
+        }
+
+        @Override
+        public void traiterNoeudsParcoursPrefixe(Consumer<K> traitementNoeud) {
+            parcourir(new IterateurPrefixe(this.vue), traitementNoeud);
+        }
+
+        @Override
+        public void traiterNoeudsParcoursSuffixe(Consumer<K> traitementNoeud) {
+            parcourir(new IterateurSuffixe(this.vue), traitementNoeud);
+        }
+
+        @Override
+        public void traiterNoeudsParcoursLargeur(Consumer<K> traitementNoeud) {
+            parcourir(new IterateurLargeur(this.vue), traitementNoeud);
+        }
+
+        @Override
+        public Iterator<K> iterateurParcoursPrefixe() {
+            return new IterateurPrefixe(this.vue);
+        }
+
+        @Override
+        public Iterator<K> iterateurParcoursSuffixe() {
+            return new IterateurSuffixe(this.vue);
+        }
+
+        @Override
+        public Iterator<K> iterateurParcoursLargeur() {
+            return new IterateurLargeur(this.vue);
+        }
+
+        @Override
+        public ArbreBinaireRecherche<K> ajouter(K cle) {
+            throw new UnsupportedOperationException(
+                    "Seule la racine d'un arbre en fichier peut être modifiée");
+        }
+
+        @Override
+        public ArbreBinaireRecherche<K> retirer(K cle) {
+            throw new UnsupportedOperationException(
+                    "Seule la racine d'un arbre en fichier peut être modifiée");
+        }
+
+        @Override
+        public StatutModification tenterAjouter(K cle) {
+            throw new UnsupportedOperationException(
+                    "Seule la racine d'un arbre en fichier peut être modifiée");
+        }
+
+        @Override
+        public StatutModification tenterRetirer(K cle) {
+            throw new UnsupportedOperationException(
+                    "Seule la racine d'un arbre en fichier peut être modifiée");
+        }
+    }
+
+    /**
+     * Itérateur préfixe sur les vues : chaque vue est empilée sous la forme de deux entiers.
+     */
+    private final class IterateurPrefixe implements Iterator<K> {
+
+        private final PileEntiers pile = new PileEntiers();
+
+        IterateurPrefixe(long vue) {
+            empiler(this.pile, vue);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !this.pile.isEmpty();
+        }
+
+        @Override
+        public K next() {
+            if (this.pile.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            final long vue = depiler(this.pile);
+            final long droite = vueDroite(vue);
+            if (droite != NUL) {
+                empiler(this.pile, droite);
+            }
+            final long gauche = vueGauche(vue);
+            if (gauche != NUL) {
+                empiler(this.pile, gauche);
+            }
+            return cle(vue);
+        }
+    }
+
+    /**
+     * Itérateur suffixe sur les vues : chaque vue est empilée suivie d'un indicateur, vrai une
+     * fois ses sous-arbres empilés au-dessus d'elle.
+     */
+    private final class IterateurSuffixe implements Iterator<K> {
+
+        private final PileEntiers pile = new PileEntiers();
+
+        IterateurSuffixe(long vue) {
+            empiler(this.pile, vue);
+            this.pile.empiler(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !this.pile.isEmpty();
+        }
+
+        @Override
+        public K next() {
+            if (this.pile.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            while (true) {
+                final boolean developpee = this.pile.depiler() != 0;
+                final long vue = depiler(this.pile);
+                if (developpee) {
+                    return cle(vue);
+                }
+                empiler(this.pile, vue);
+                this.pile.empiler(1);
+                final long droite = vueDroite(vue);
+                if (droite != NUL) {
+                    empiler(this.pile, droite);
+                    this.pile.empiler(0);
+                }
+                final long gauche = vueGauche(vue);
+                if (gauche != NUL) {
+                    empiler(this.pile, gauche);
+                    this.pile.empiler(0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Itérateur en largeur sur les vues : chaque vue est enfilée sous la forme de deux entiers.
+     */
+    private final class IterateurLargeur implements Iterator<K> {
+
+        private final FileEntiers file = new FileEntiers();
+
+        IterateurLargeur(long vue) {
+            this.enfiler(vue);
+        }
+
+        private void enfiler(long vue) {
+            this.file.enfiler(page(vue));
+            this.file.enfiler((int) vue);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !this.file.isEmpty();
+        }
+
+        @Override
+        public K next() {
+            if (this.file.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            final int page = this.file.defiler();
+            final int bornes = this.file.defiler();
+            final long vue = vue(page, bornes >>> Short.SIZE, bornes & MASQUE_BORNE);
+            final long gauche = vueGauche(vue);
+            if (gauche != NUL) {
+                this.enfiler(gauche);
+            }
+            final long droite = vueDroite(vue);
+            if (droite != NUL) {
+                this.enfiler(droite);
+            }
+            return cle(vue);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import despetitsarbres.exceptions.InsertionImpossibleException;
+import despetitsarbres.exceptions.SuppressionImpossibleException;
+import despetitsarbres.exceptions.ValeurNonTrouveeException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Arbre binaire de recherche AVL dont les noeuds sont stockés hors du tas Java, dans des pages de
+ * tampons directs. Le nombre de noeuds n'est ainsi limité que par la mémoire native, sans charge
+ * pour le ramasse-miettes. La mémoire est libérée par {@link #close()}.
+ *
+ * @author Rémi Venant
+ * @param <K> Type des valeurs des noeud de l'ABR (les valeurs doivent être comparable entre elles).
+ * @see AbstractArbreBinaireRechercheTampons
+ */
+public class ArbreBinaireRechercheHorsTas<K extends Comparable<K>>
+        extends AbstractArbreBinaireRechercheTampons<K> {
+
+    /**
+     * Crée un ABR hors tas réduit à une feuille.
+     *
+     * @param racine la valeur de la racine
+     * @param codec le codec des clés
+     * @throws NullPointerException si la racine ou le codec sont nuls
+     */
+    public ArbreBinaireRechercheHorsTas(K racine, CodecCle<K> codec) {
+        this(racine, codec, 1);
+    }
+
+    /**
+     * Crée un ABR hors tas réduit à une feuille, en réservant la mémoire du nombre de noeuds
+     * indiqué.
+     *
+     * @param racine la valeur de la racine
+     * @param codec le codec des clés
+     * @param capaciteInitiale le nombre de noeuds pouvant être stockés sans réserver de mémoire
+     * @throws NullPointerException si la racine ou le codec sont nuls
+     * @throws IllegalArgumentException si la capacité n'est pas strictement positive
+     */
+    public ArbreBinaireRechercheHorsTas(K racine, CodecCle<K> codec, int capaciteInitiale) {
+        super(codec);
+        this.initialiser(racine, capaciteInitiale);
+    }
+
+    @Override
+    public ArbreBinaireRechercheHorsTas<K> ajouter(K cle) throws InsertionImpossibleException {
+        super.ajouter(cle);
+        return this;
+    }
+
+    @Override
+    public ArbreBinaireRechercheHorsTas<K> retirer(K cle) throws ValeurNonTrouveeException,
+            SuppressionImpossibleException {
+        super.retirer(cle);
+        return this;
+    }
+
+    @Override
+    protected ByteBuffer creerPage(int numero) {
+        return ByteBuffer.allocateDirect(NOEUDS_PAR_PAGE * this.getTailleNoeud())
+                .order(ByteOrder.nativeOrder());
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import despetitsarbres.exceptions.InsertionImpossibleException;
+import despetitsarbres.exceptions.SuppressionImpossibleException;
+import despetitsarbres.exceptions.ValeurNonTrouveeException;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Arbre binaire de recherche sans équilibrage : chaque clé est insérée en feuille, à la place
+ * imposée par l'ordre des clés. La forme de l'arbre dépend donc de l'ordre d'insertion.
+ *
+ * @author Rémi Venant
+ * @param <K> Type des valeurs des noeud de l'ABR (les valeurs doivent être comparable entre elles).
+ */
+public class ArbreBinaireRechercheImpl<K extends Comparable<K>>
+        extends AbstractArbreBinaireRecherche<K> {
+
+    private K racine;
+
+    private ArbreBinaireRechercheImpl<K> sag;
+
+    private ArbreBinaireRechercheImpl<K> sad;
+
+    /**
+     * Crée un ABR réduit à une feuille.
+     *
+     * @param racine la valeur de la racine
+     * @throws NullPointerException si la racine est nulle
+     */
+    public ArbreBinaireRechercheImpl(K racine) {
+        this(racine, null, null);
+    }
+
+    /**
+     * Crée un ABR à partir de sa racine et de ses sous-arbres. L'ordre des clés entre la racine et
+     * ses sous-arbres n'est pas vérifié.
+     *
+     * @param racine la valeur de la racine
+     * @param sag le sous-arbre gauche (peut être null)
+     * @param sad le sous-arbre droit (peut être null)
+     * @throws NullPointerException si la racine est nulle
+     */
+    public ArbreBinaireRechercheImpl(K racine, ArbreBinaireRechercheImpl<K> sag,
+            ArbreBinaireRechercheImpl<K> sad) {
+        this.racine = Objects.requireNonNull(racine, "La racine d'un ABR ne peut être nulle");
+        this.sag = sag;
+        this.sad = sad;
+    }
+
+    @Override
+    public K getRacine() {
+        return this.racine;
+    }
+
+    @Override
+    public ArbreBinaireRechercheImpl<K> getSag() {
+        return this.sag;
+    }
+
+    @Override
+    public ArbreBinaireRechercheImpl<K> getSad() {
+        return this.sad;
+    }
+
+    @Override
+    public ArbreBinaireRechercheImpl<K> ajouter(K cle) throws InsertionImpossibleException {
+        verifierAjout(this.tenterAjouter(cle));
+        return this;
+    }
+
+    @Override
+    public StatutModification tenterAjouter(K cle) {
+        if (cle == null) {
+            return StatutModification.CLE_NULLE;
+        }
+        ArbreBinaireRechercheImpl<K> courant = this;
+        while (true) {
+            final int cmp = cle.compareTo(courant.racine);
+            if (cmp == 0) {
+                return StatutModification.DEJA_PRESENTE;
+            } else if (cmp < 0) {
+                if (courant.sag == null) {
+                    courant.sag = new ArbreBinaireRechercheImpl<>(cle);
+                    return StatutModification.EFFECTUEE;
+                }
+                courant = courant.sag;
+            } else {
+                if (courant.sad == null) {
+                    courant.sad = new ArbreBinaireRechercheImpl<>(cle);
+                    return StatutModification.EFFECTUEE;
+                }
+                courant = courant.sad;
+            }
+        }
+    }
+
+    /**
+     * Retire une clé de l'arbre. Un noeud à deux sous-arbres prend la clé maximale de son
+     * sous-arbre gauche ; un noeud à un seul sous-arbre prend la place de celui-ci.
+     *
+     * @param cle la clé à retirer
+     * @return l'arbre mis à jour
+     * @throws ValeurNonTrouveeException si la clé n'existe pas
+     * @throws SuppressionImpossibleException si l'arbre est une feuille de valeur clé ou si la clé
+     * est nulle
+     */
+    @Override
+    public ArbreBinaireRechercheImpl<K> retirer(K cle) throws ValeurNonTrouveeException,
+            SuppressionImpossibleException {
+        verifierRetrait(this.tenterRetirer(cle), cle);
+        return this;
+    }
+
+    @Override
+    public StatutModification tenterRetirer(K cle) {
+        if (cle == null) {
+            return StatutModification.CLE_NULLE;
+        }
+        ArbreBinaireRechercheImpl<K> parent = null;
+        ArbreBinaireRechercheImpl<K> noeud = this;
+        int cmp;
+        while ((cmp = cle.compareTo(noeud.racine)) != 0) {
+            parent = noeud;
+            noeud = cmp < 0 ? noeud.sag : noeud.sad;
+            if (noeud == null) {
+                return StatutModification.ABSENTE;
+            }
+        }
+        if (noeud.sag != null && noeud.sad != null) {
+            ArbreBinaireRechercheImpl<K> parentMax = noeud;
+            ArbreBinaireRechercheImpl<K> max = noeud.sag;
+            while (max.sad != null) {
+                parentMax = max;
+                max = max.sad;
+            }
+            noeud.racine = max.racine;
+            if (parentMax == noeud) {
+                parentMax.sag = max.sag;
+            } else {
+                parentMax.sad = max.sag;
+            }
+        } else if (noeud.sag != null || noeud.sad != null) {
+            final ArbreBinaireRechercheImpl<K> fils = noeud.sag != null ? noeud.sag : noeud.sad;
+            noeud.racine = fils.racine;
+            noeud.sag = fils.sag;
+            noeud.sad = fils.sad;
+        } else if (parent == null) {
+            return StatutModification.DERNIERE_CLE;
+        } else if (parent.sag == noeud) {
+            parent.sag = null;
+        } else {
+            parent.sad = null;
+        }
+        return StatutModification.EFFECTUEE;
+    }
+
+    /**
+     * Parcours l'arbre dans l'ordre infixe (croissant) par la méthode de Morris, avec une mémoire
+     * auxiliaire constante : au lieu d'une pile, le parcours relie temporairement le noeud maximal
+     * de chaque sous-arbre gauche au noeud à visiter ensuite. Le parcours s'arrête dès que le
+     * traitement renvoie faux ; l'arbre retrouve sa structure à la fin du parcours, y compris
+     * après un arrêt anticipé ou une exception du traitement, au prix de la fin du cheminement.
+     *
+     * <p>
+     * L'arbre est modifié pendant le parcours : le traitement ne doit pas accéder à l'arbre, et
+     * aucun autre fil d'exécution ne doit le lire.
+     * </p>
+     *
+     * @param traitementNoeud le traitement de chaque clé, qui renvoie faux pour arrêter le parcours
+     * @return vrai si le parcours n'a pas été arrêté par le traitement
+     * @throws NullPointerException si le traitement est nul
+     */
+    public boolean parcourirInfixeMorris(Predicate<? super K> traitementNoeud) {
+        return this.parcourirMorris(false, traitementNoeud);
+    }
+
+    /**
+     * Parcours l'arbre dans l'ordre préfixe par la méthode de Morris, avec une mémoire auxiliaire
+     * constante. Les conditions d'arrêt et de restauration de l'arbre sont celles de
+     * {@link #parcourirInfixeMorris(Predicate)}.
+     *
+     * @param traitementNoeud le traitement de chaque clé, qui renvoie faux pour arrêter le parcours
+     * @return vrai si le parcours n'a pas été arrêté par le traitement
+     * @throws NullPointerException si le traitement est nul
+     */
+    public boolean parcourirPrefixeMorris(Predicate<? super K> traitementNoeud) {
+        return this.parcourirMorris(true, traitementNoeud);
+    }
+
+    /**
+     * Parcours de Morris. Un noeud est traité avant la modification du lien qui le concerne : si
+     * le traitement échoue, le cheminement de restauration reprend du même noeud dans un état
+     * cohérent.
+     */
+    private boolean parcourirMorris(boolean prefixe, Predicate<? super K> traitementNoeud) {
+        Objects.requireNonNull(traitementNoeud);
+        ArbreBinaireRechercheImpl<K> courant = this;
+        boolean continuer = true;
+        try {
+            while (courant != null && continuer) {
+                if (courant.sag == null) {
+                    continuer = traitementNoeud.test(courant.racine);
+                    courant = courant.sad;
+                } else {
+                    final ArbreBinaireRechercheImpl<K> predecesseur = predecesseurMorris(courant);
+                    if (predecesseur.sad == null) {
+                        if (prefixe) {
+                            continuer = traitementNoeud.test(courant.racine);
+                        }
+                        predecesseur.sad = courant;
+                        courant = courant.sag;
+                    } else {
+                        if (!prefixe) {
+                            continuer = traitementNoeud.test(courant.racine);
+                        }
+                        predecesseur.sad = null;
+                        courant = courant.sad;
+                    }
+                }
+            }
+        } finally {
+            // Fin du cheminement sans traitement, pour retirer les liens temporaires restants
+            while (courant != null) {
+                if (courant.sag == null) {
+                    courant = courant.sad;
+                } else {
+                    final ArbreBinaireRechercheImpl<K> predecesseur = predecesseurMorris(courant);
+                    if (predecesseur.sad == null) {
+                        predecesseur.sad = courant;
+                        courant = courant.sag;
+                    } else {
+                        predecesseur.sad = null;
+                        courant = courant.sad;
+                    }
+                }
+            }
+        }
+        return continuer;
+    }
+
+    /**
+     * Fournit le noeud maximal du sous-arbre gauche (non nul) d'un noeud, en s'arrêtant sur un
+     * lien temporaire vers ce noeud.
+     */
+    private static <K extends Comparable<K>> ArbreBinaireRechercheImpl<K> predecesseurMorris(
+            ArbreBinaireRechercheImpl<K> noeud) {
+        ArbreBinaireRechercheImpl<K> predecesseur = noeud.sag;
+        while (predecesseur.sad != null && predecesseur.sad != noeud) {
+            predecesseur = predecesseur.sad;
+        }
+        return predecesseur;
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import despetitsarbres.exceptions.InsertionImpossibleException;
+import despetitsarbres.exceptions.SuppressionImpossibleException;
+import despetitsarbres.exceptions.ValeurNonTrouveeException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+
+/**
+ * Arbre binaire de recherche AVL persistant : un arbre n'est jamais modifié. {@link #ajouter} et
+ * {@link #retirer} renvoient une nouvelle version de l'arbre, qui ne recopie que les noeuds du
+ * chemin de la racine à la clé (et ceux des rotations) et partage tous les autres avec la version
+ * précédente, soit O(log n) noeuds créés par modification. Une version peut ainsi servir
+ * d'instantané cohérent, parcouru sans verrou par un thread pendant qu'un autre en produit de
+ * nouvelles.
+ *
+ * <p>
+ * Chaque noeud conserve sa hauteur et le nombre de noeuds de son sous-arbre :
+ * {@link #getHauteur()} et {@link #getNbNoeuds()} sont en temps constant. Les sous-arbres sont eux
+ * aussi des arbres persistants, valides indéfiniment.
+ * </p>
+ *
+ * <p>
+ * Les opérations qui modifient l'arbre sans renvoyer de nouvelle version
+ * ({@link #tenterAjouter(Comparable)}, {@link #tenterRetirer(Comparable)},
+ * {@link #ajouterTous(Collection)} et {@link #retirerTous(Collection)}) ne sont pas supportées.
+ * </p>
+ *
+ * @author Rémi Venant
+ * @param <K> Type des valeurs des noeud de l'ABR (les valeurs doivent être comparable entre elles).
+ */
+public final class ArbreBinaireRecherchePersistant<K extends Comparable<K>>
+        extends AbstractArbreBinaireRecherche<K> {
+
+    private final K racine;
+
+    private final ArbreBinaireRecherchePersistant<K> sag;
+
+    private final ArbreBinaireRecherchePersistant<K> sad;
+
+    private final int hauteur;
+
+    private final int nbNoeuds;
+
+    /**
+     * Crée un ABR persistant réduit à une feuille.
+     *
+     * @param racine la valeur de la racine
+     * @throws NullPointerException si la racine est nulle
+     */
+    public ArbreBinaireRecherchePersistant(K racine) {
+        this(Objects.requireNonNull(racine, "La racine d'un ABR ne peut être nulle"), null, null);
+    }
+
+    private ArbreBinaireRecherchePersistant(K racine, ArbreBinaireRecherchePersistant<K> sag,
+            ArbreBinaireRecherchePersistant<K> sad) {
+        this.racine = racine;
+        this.sag = sag;
+        this.sad = sad;
+        this.hauteur = Math.max(hauteur(sag), hauteur(sad)) + 1;
+        this.nbNoeuds = nbNoeuds(sag) + nbNoeuds(sad) + 1;
+    }
+
+    @Override
+    public K getRacine() {
+        return this.racine;
+    }
+
+    @Override
+    public ArbreBinaireRecherchePersistant<K> getSag() {
+        return this.sag;
+    }
+
+    @Override
+    public ArbreBinaireRecherchePersistant<K> getSad() {
+        return this.sad;
+    }
+
+    /**
+     * Fournit le nombre de noeuds de l'arbre, conservé par le noeud.
+     *
+     * @return le nombre de noeuds
+     */
+    @Override
+    public int getNbNoeuds() {
+        return this.nbNoeuds;
+    }
+
+    /**
+     * Fournit la hauteur de l'arbre, conservée par le noeud.
+     *
+     * @return la hauteur de l'arbre
+     */
+    @Override
+    public int getHauteur() {
+        return this.hauteur;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * L'arbre n'étant jamais modifié, le séparateur est également IMMUTABLE.
+     * </p>
+     */
+    @Override
+    public Spliterator<K> spliterator() {
+        return SeparateurArbre.infixe(this, true, Spliterator.IMMUTABLE);
+    }
+
+    @Override
+    protected boolean isNbNoeudsEnTempsConstant() {
+        return true;
+    }
+
+    @Override
+    public ArbreBinaireRecherchePersistant<K> rechercherSousArbre(K cle) {
+        return (ArbreBinaireRecherchePersistant<K>) super.rechercherSousArbre(cle);
+    }
+
+    /**
+     * Fournit la version de l'arbre contenant la clé. Cet arbre n'est pas modifié.
+     *
+     * @param cle la clé à ajouter
+     * @return la nouvelle version, ou cet arbre si la clé est déjà présente
+     * @throws InsertionImpossibleException si la clé est nulle
+     */
+    @Override
+    public ArbreBinaireRecherchePersistant<K> ajouter(K cle) throws InsertionImpossibleException {
+        if (cle == null) {
+            throw InsertionImpossibleException.CLE_NULLE;
+        }
+        return inserer(this, cle);
+    }
+
+    /**
+     * Fournit la version de l'arbre ne contenant plus la clé. Cet arbre n'est pas modifié. Un
+     * noeud à deux sous-arbres prend la clé maximale de son sous-arbre gauche.
+     *
+     * @param cle la clé à retirer
+     * @return la nouvelle version
+     * @throws ValeurNonTrouveeException si la clé n'existe pas
+     * @throws SuppressionImpossibleException si l'arbre est une feuille de valeur clé ou si la clé
+     * est nulle
+     */
+    @Override
+    public ArbreBinaireRecherchePersistant<K> retirer(K cle) throws ValeurNonTrouveeException,
+            SuppressionImpossibleException {
+        if (cle == null) {
+            throw SuppressionImpossibleException.CLE_NULLE;
+        }
+        final ArbreBinaireRecherchePersistant<K> version = this.sans(cle);
+        verifierRetrait(version == this ? StatutModification.ABSENTE
+                : version == null ? StatutModification.DERNIERE_CLE
+                        : StatutModification.EFFECTUEE, cle);
+        return version;
+    }
+
+    /**
+     * Fournit, en une seule descente, la version de l'arbre ne contenant plus la clé. Cet arbre
+     * n'est pas modifié.
+     *
+     * @param cle la clé à retirer, non nulle
+     * @return la nouvelle version, cet arbre si la clé est absente, ou null si l'arbre est réduit à
+     * la clé
+     */
+    ArbreBinaireRecherchePersistant<K> sans(K cle) {
+        return supprimer(this, cle);
+    }
+
+    /**
+     * Opération non supportée : un arbre persistant n'est pas modifiable.
+     *
+     * @param cle la clé
+     * @return jamais
+     * @throws UnsupportedOperationException toujours
+     */
+    @Override
+    public StatutModification tenterAjouter(K cle) {
+        throw nonModifiable();
+    }
+
+    /**
+     * Opération non supportée : un arbre persistant n'est pas modifiable.
+     *
+     * @param cle la clé
+     * @return jamais
+     * @throws UnsupportedOperationException toujours
+     */
+    @Override
+    public StatutModification tenterRetirer(K cle) {
+        throw nonModifiable();
+    }
+
+    /**
+     * Opération non supportée : un arbre persistant n'est pas modifiable.
+     *
+     * @param cles les clés
+     * @return jamais
+     * @throws UnsupportedOperationException toujours
+     */
+    @Override
+    public List<K> ajouterTous(Collection<K> cles) {
+        throw nonModifiable();
+    }
+
+    /**
+     * Opération non supportée : un arbre persistant n'est pas modifiable.
+     *
+     * @param cles les clés
+     * @return jamais
+     * @throws UnsupportedOperationException toujours
+     */
+    @Override
+    public List<K> retirerTous(Collection<K> cles) {
+        throw nonModifiable();
+    }
+
+    private static UnsupportedOperationException nonModifiable() {
+        return new UnsupportedOperationException(
+                "Un arbre persistant n'est pas modifiable : ajouter et retirer renvoient une "
+                + "nouvelle version");
+    }
+
+    private static int hauteur(ArbreBinaireRecherchePersistant<?> noeud) {
+        return noeud == null ? -1 : noeud.hauteur;
+    }
+
+    private static int nbNoeuds(ArbreBinaireRecherchePersistant<?> noeud) {
+        return noeud == null ? 0 : noeud.nbNoeuds;
+    }
+
+    private static <K extends Comparable<K>> ArbreBinaireRecherchePersistant<K> inserer(
+            ArbreBinaireRecherchePersistant<K> noeud, K cle) {
+        if (noeud == null) {
+            return new ArbreBinaireRecherchePersistant<>(cle, null, null);
+        }
+        final int cmp = cle.compareTo(noeud.racine);
+        if (cmp < 0) {
+            final ArbreBinaireRecherchePersistant<K> sag = inserer(noeud.sag, cle);
+            return sag == noeud.sag ? noeud : equilibrer(noeud.racine, sag, noeud.sad);
+        } else if (cmp > 0) {
+            final ArbreBinaireRecherchePersistant<K> sad = inserer(noeud.sad, cle);
+            return sad == noeud.sad ? noeud : equilibrer(noeud.racine, noeud.sag, sad);
+        }
+        return noeud;
+    }
+
+    /**
+     * Supprime la clé du sous-arbre.
+     *
+     * @return la nouvelle version du sous-arbre, le sous-arbre lui-même si la clé en est absente,
+     * ou null s'il est réduit à la clé
+     */
+    private static <K extends Comparable<K>> ArbreBinaireRecherchePersistant<K> supprimer(
+            ArbreBinaireRecherchePersistant<K> noeud, K cle) {
+        if (noeud == null) {
+            return null;
+        }
+        final int cmp = cle.compareTo(noeud.racine);
+        if (cmp < 0) {
+            final ArbreBinaireRecherchePersistant<K> sag = supprimer(noeud.sag, cle);
+            return sag == noeud.sag ? noeud : equilibrer(noeud.racine, sag, noeud.sad);
+        } else if (cmp > 0) {
+            final ArbreBinaireRecherchePersistant<K> sad = supprimer(noeud.sad, cle);
+            return sad == noeud.sad ? noeud : equilibrer(noeud.racine, noeud.sag, sad);
+        } else if (noeud.sag != null && noeud.sad != null) {
+            final K max = noeud.sag.getMax();
+            return equilibrer(max, supprimer(noeud.sag, max), noeud.sad);
+        }
+        return noeud.sag != null ? noeud.sag : noeud.sad;
+    }
+
+    /**
+     * Crée un noeud à partir de sous-arbres AVL dont les hauteurs diffèrent au plus de 2, en
+     * effectuant les rotations nécessaires.
+     */
+    private static <K extends Comparable<K>> ArbreBinaireRecherchePersistant<K> equilibrer(K cle,
+            ArbreBinaireRecherchePersistant<K> sag, ArbreBinaireRecherchePersistant<K> sad) {
+        final int desequilibre = hauteur(sag) - hauteur(sad);
+        if (desequilibre > 1) {
+            if (hauteur(sag.sag) < hauteur(sag.sad)) {
+                // Rotation gauche-droite
+                return new ArbreBinaireRecherchePersistant<>(sag.sad.racine,
+                        new ArbreBinaireRecherchePersistant<>(sag.racine, sag.sag, sag.sad.sag),
+                        new ArbreBinaireRecherchePersistant<>(cle, sag.sad.sad, sad));
+            }
+            return new ArbreBinaireRecherchePersistant<>(sag.racine, sag.sag,
+                    new ArbreBinaireRecherchePersistant<>(cle, sag.sad, sad));
+        } else if (desequilibre < -1) {
+            if (hauteur(sad.sad) < hauteur(sad.sag)) {
+                // Rotation droite-gauche
+                return new ArbreBinaireRecherchePersistant<>(sad.sag.racine,
+                        new ArbreBinaireRecherchePersistant<>(cle, sag, sad.sag.sag),
+                        new ArbreBinaireRecherchePersistant<>(sad.racine, sad.sag.sad, sad.sad));
+            }
+            return new ArbreBinaireRecherchePersistant<>(sad.racine,
+                    new ArbreBinaireRecherchePersistant<>(cle, sag, sad.sag), sad.sad);
+        }
+        return new ArbreBinaireRecherchePersistant<>(cle, sag, sad);
+    }
+}
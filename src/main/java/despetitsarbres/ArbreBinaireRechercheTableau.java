@@ -0,0 +1,998 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import despetitsarbres.exceptions.InsertionImpossibleException;
+import despetitsarbres.exceptions.SuppressionImpossibleException;
+import despetitsarbres.exceptions.ValeurNonTrouveeException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Arbre binaire de recherche sans équilibrage (même comportement que
+ * {@link ArbreBinaireRechercheImpl}) dont les noeuds ne sont pas des objets : chaque noeud est un
+ * enregistrement de taille fixe d'un même tampon, qui contient les indices de ses fils gauche et
+ * droit. Une descente parcourt ainsi un tampon contigu plutôt qu'une chaîne d'objets dispersés
+ * dans le tas. Les noeuds libérés par un retrait sont chaînés dans une liste libre et réutilisés
+ * par les ajouts suivants.
+ *
+ * <p>
+ * Sans codec, les clés sont rangées dans un tableau parallèle aux noeuds et chaque niveau de la
+ * descente lit encore la clé encapsulée. Avec un {@link CodecCle}, la clé codée est stockée dans
+ * l'enregistrement du noeud, à la suite des indices de ses fils, et comparée sans être décodée :
+ * chaque niveau ne lit alors qu'un enregistrement.
+ * </p>
+ *
+ * <p>
+ * Cet objet est la racine de l'arbre. Ses sous-arbres sont des vues légères créées à la demande
+ * par {@link #getSag()}, {@link #getSad()} et {@link #rechercherSousArbre(Comparable)} ; une vue
+ * ne reste valide que jusqu'à la modification suivante et ne peut être modifiée.
+ * </p>
+ *
+ * @author Rémi Venant
+ * @param <K> Type des valeurs des noeud de l'ABR (les valeurs doivent être comparable entre elles).
+ */
+public class ArbreBinaireRechercheTableau<K extends Comparable<K>>
+        extends AbstractArbreBinaireRecherche<K> {
+
+    private static final int NUL = -1;
+
+    private static final int CAPACITE_PAR_DEFAUT = 16;
+
+    /**
+     * Nombre maximal d'octets du tampon des noeuds.
+     */
+    private static final int TAILLE_MAXIMALE = Integer.MAX_VALUE - 8;
+
+    private static final int POSITION_DROIT = Integer.BYTES;
+
+    /**
+     * Position de la clé codée dans un noeud, après les indices de ses fils.
+     */
+    static final int POSITION_CLE = 2 * Integer.BYTES;
+
+    /**
+     * Codec des clés stockées dans les noeuds, ou {@code null} si les clés sont rangées dans
+     * {@link #cles}.
+     */
+    private final CodecCle<K> codec;
+
+    private final int tailleNoeud;
+
+    private ByteBuffer noeuds;
+
+    private Object[] cles;
+
+    private int racine;
+
+    private int nbNoeuds;
+
+    private int prochainIndice;
+
+    private int premierLibre;
+
+    /**
+     * Crée un ABR réduit à une feuille.
+     *
+     * @param racine la valeur de la racine
+     * @throws NullPointerException si la racine est nulle
+     */
+    public ArbreBinaireRechercheTableau(K racine) {
+        this(racine, CAPACITE_PAR_DEFAUT);
+    }
+
+    /**
+     * Crée un ABR réduit à une feuille, dimensionné pour le nombre de noeuds indiqué.
+     *
+     * @param racine la valeur de la racine
+     * @param capaciteInitiale le nombre de noeuds pouvant être stockés sans agrandir les tableaux
+     * @throws NullPointerException si la racine est nulle
+     * @throws IllegalArgumentException si la capacité n'est pas strictement positive ou dépasse la
+     * taille maximale du tampon des noeuds
+     */
+    public ArbreBinaireRechercheTableau(K racine, int capaciteInitiale) {
+        this(racine, capaciteInitiale, null);
+    }
+
+    /**
+     * Crée un ABR réduit à une feuille dont les clés sont stockées codées dans les noeuds.
+     *
+     * @param racine la valeur de la racine
+     * @param codec le codec des clés
+     * @throws NullPointerException si la racine ou le codec est nul
+     */
+    public ArbreBinaireRechercheTableau(K racine, CodecCle<K> codec) {
+        this(racine, CAPACITE_PAR_DEFAUT, Objects.requireNonNull(codec));
+    }
+
+    /**
+     * Crée un ABR réduit à une feuille dont les clés sont stockées codées dans les noeuds,
+     * dimensionné pour le nombre de noeuds indiqué.
+     *
+     * @param racine la valeur de la racine
+     * @param capaciteInitiale le nombre de noeuds pouvant être stockés sans agrandir le tampon
+     * @param codec le codec des clés
+     * @throws NullPointerException si la racine ou le codec est nul
+     * @throws IllegalArgumentException si la capacité n'est pas strictement positive ou dépasse la
+     * taille maximale du tampon des noeuds
+     */
+    public ArbreBinaireRechercheTableau(K racine, int capaciteInitiale, CodecCle<K> codec) {
+        Objects.requireNonNull(racine, "La racine d'un ABR ne peut être nulle");
+        this.codec = codec;
+        this.tailleNoeud = getTailleNoeud(codec);
+        if (capaciteInitiale < 1) {
+            throw new IllegalArgumentException("La capacité doit être strictement positive");
+        }
+        if (capaciteInitiale > getCapaciteMaximale(codec)) {
+            throw new IllegalArgumentException("La capacité ne peut dépasser "
+                    + getCapaciteMaximale(codec) + " noeuds");
+        }
+        this.noeuds = allouerNoeuds(capaciteInitiale, codec);
+        this.cles = codec == null ? new Object[capaciteInitiale] : null;
+        this.premierLibre = NUL;
+        this.racine = this.allouer(racine);
+    }
+
+    /**
+     * Crée un ABR de hauteur minimale à partir de clés triées dans l'ordre strictement croissant.
+     * Le tableau est conservé comme tableau des clés : la i-ème clé reste dans le i-ème noeud et
+     * les noeuds sont numérotés dans l'ordre infixe.
+     *
+     * @param clesTriees les clés, triées et sans doublon
+     * @param nbCles le nombre de clés à utiliser, au début du tableau (au moins 1)
+     * @see ArbresBinairesRecherche#depuisTrie(java.util.Iterator, int)
+     */
+    ArbreBinaireRechercheTableau(Object[] clesTriees, int nbCles) {
+        this.codec = null;
+        this.tailleNoeud = getTailleNoeud(null);
+        this.construire(clesTriees, nbCles);
+    }
+
+    /**
+     * Crée un ABR de hauteur minimale à partir d'un tampon alloué par
+     * {@link #allouerNoeuds(int, CodecCle)}, dont les {@code nbCles} premiers noeuds ne contiennent
+     * encore que leur clé, écrite à la position {@link #POSITION_CLE} du noeud dans l'ordre
+     * strictement croissant. Le tampon est conservé : les noeuds sont numérotés dans
+     * l'ordre infixe et seuls les indices de leurs fils sont écrits.
+     *
+     * @param noeuds le tampon des noeuds
+     * @param nbCles le nombre de clés écrites (au moins 1)
+     * @param codec le codec des clés
+     */
+    ArbreBinaireRechercheTableau(ByteBuffer noeuds, int nbCles, CodecCle<K> codec) {
+        this.codec = codec;
+        this.tailleNoeud = getTailleNoeud(codec);
+        this.noeuds = noeuds;
+        this.lier(nbCles);
+    }
+
+    /**
+     * Alloue un tampon pouvant contenir le nombre de noeuds indiqué.
+     *
+     * @param capacite le nombre de noeuds
+     * @param codec le codec des clés stockées dans les noeuds, ou {@code null}
+     * @return le tampon, en petit-boutiste comme les flux de {@link ArbreWriter} : une clé codée
+     * peut y être copiée octet par octet depuis un flux
+     */
+    static ByteBuffer allouerNoeuds(int capacite, CodecCle<?> codec) {
+        return ByteBuffer.allocate(capacite * getTailleNoeud(codec)).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Fournit la taille d'un noeud dans un tampon alloué par {@link #allouerNoeuds(int, CodecCle)}.
+     * La clé codée du noeud d'indice i commence à la position
+     * {@code i * getTailleNoeud(codec) + POSITION_CLE}.
+     *
+     * @param codec le codec des clés stockées dans les noeuds, ou {@code null}
+     * @return la taille d'un noeud, en octets
+     */
+    static int getTailleNoeud(CodecCle<?> codec) {
+        return codec == null ? POSITION_CLE : POSITION_CLE + codec.getTaille();
+    }
+
+    /**
+     * Fournit le nombre maximal de noeuds d'un tampon.
+     *
+     * @param codec le codec des clés stockées dans les noeuds, ou {@code null}
+     * @return le nombre maximal de noeuds
+     */
+    static int getCapaciteMaximale(CodecCle<?> codec) {
+        return TAILLE_MAXIMALE / getTailleNoeud(codec);
+    }
+
+    @Override
+    public K getRacine() {
+        return this.cle(this.racine);
+    }
+
+    @Override
+    public ArbreBinaireRecherche<K> getSag() {
+        return this.vue(this.gauche(this.racine));
+    }
+
+    @Override
+    public ArbreBinaireRecherche<K> getSad() {
+        return this.vue(this.droit(this.racine));
+    }
+
+    @Override
+    public boolean isFeuille() {
+        return this.gauche(this.racine) == NUL && this.droit(this.racine) == NUL;
+    }
+
+    /**
+     * Fournit le nombre de noeuds de l'arbre, en temps constant.
+     *
+     * @return le nombre de noeuds
+     */
+    @Override
+    public int getNbNoeuds() {
+        return this.nbNoeuds;
+    }
+
+    @Override
+    public ArbreBinaireRecherche<K> rechercherSousArbre(K cle) {
+        return cle == null ? null : this.vue(this.rechercher(this.racine, cle));
+    }
+
+    @Override
+    public boolean contains(K cle) {
+        return cle != null && this.rechercher(this.racine, cle) != NUL;
+    }
+
+    @Override
+    public K getMin() {
+        return this.cle(this.min(this.racine));
+    }
+
+    @Override
+    public K getMax() {
+        return this.cle(this.max(this.racine));
+    }
+
+    @Override
+    public K plancher(K cle) {
+        return this.naviguer(this.racine, cle, true, true);
+    }
+
+    @Override
+    public K plafond(K cle) {
+        return this.naviguer(this.racine, cle, false, true);
+    }
+
+    @Override
+    public K predecesseur(K cle) {
+        return this.naviguer(this.racine, cle, true, false);
+    }
+
+    @Override
+    public K successeur(K cle) {
+        return this.naviguer(this.racine, cle, false, false);
+    }
+
+    @Override
+    public ArbreBinaireRechercheTableau<K> ajouter(K cle) throws InsertionImpossibleException {
+        verifierAjout(this.tenterAjouter(cle));
+        return this;
+    }
+
+    @Override
+    public StatutModification tenterAjouter(K cle) {
+        if (cle == null) {
+            return StatutModification.CLE_NULLE;
+        }
+        int noeud = this.racine;
+        while (true) {
+            final int cmp = this.comparer(cle, noeud);
+            if (cmp == 0) {
+                return StatutModification.DEJA_PRESENTE;
+            } else if (cmp < 0) {
+                final int gauche = this.gauche(noeud);
+                if (gauche == NUL) {
+                    this.definirGauche(noeud, this.allouer(cle));
+                    return StatutModification.EFFECTUEE;
+                }
+                noeud = gauche;
+            } else {
+                final int droit = this.droit(noeud);
+                if (droit == NUL) {
+                    this.definirDroit(noeud, this.allouer(cle));
+                    return StatutModification.EFFECTUEE;
+                }
+                noeud = droit;
+            }
+        }
+    }
+
+    /**
+     * Retire une clé de l'arbre. Un noeud à deux sous-arbres prend la clé maximale de son
+     * sous-arbre gauche ; un noeud à un seul sous-arbre prend la place de celui-ci.
+     *
+     * @param cle la clé à retirer
+     * @return l'arbre mis à jour
+     * @throws ValeurNonTrouveeException si la clé n'existe pas
+     * @throws SuppressionImpossibleException si l'arbre est une feuille de valeur clé ou si la clé
+     * est nulle
+     */
+    @Override
+    public ArbreBinaireRechercheTableau<K> retirer(K cle) throws ValeurNonTrouveeException,
+            SuppressionImpossibleException {
+        verifierRetrait(this.tenterRetirer(cle), cle);
+        return this;
+    }
+
+    @Override
+    public StatutModification tenterRetirer(K cle) {
+        if (cle == null) {
+            return StatutModification.CLE_NULLE;
+        }
+        int parent = NUL;
+        int noeud = this.racine;
+        int cmp;
+        while ((cmp = this.comparer(cle, noeud)) != 0) {
+            parent = noeud;
+            noeud = cmp < 0 ? this.gauche(noeud) : this.droit(noeud);
+            if (noeud == NUL) {
+                return StatutModification.ABSENTE;
+            }
+        }
+        final int gauche = this.gauche(noeud);
+        final int droit = this.droit(noeud);
+        if (gauche != NUL && droit != NUL) {
+            this.remplacerParMax(noeud);
+        } else if (gauche != NUL || droit != NUL) {
+            final int fils = gauche != NUL ? gauche : droit;
+            this.copierCle(fils, noeud);
+            this.definirGauche(noeud, this.gauche(fils));
+            this.definirDroit(noeud, this.droit(fils));
+            this.liberer(fils);
+        } else if (parent == NUL) {
+            return StatutModification.DERNIERE_CLE;
+        } else {
+            if (this.gauche(parent) == noeud) {
+                this.definirGauche(parent, NUL);
+            } else {
+                this.definirDroit(parent, NUL);
+            }
+            this.liberer(noeud);
+        }
+        return StatutModification.EFFECTUEE;
+    }
+
+    /**
+     * Ajoute un lot de clés dans l'arbre. Lorsque le lot est grand devant l'arbre, ses clés sont
+     * fusionnées en un seul passage avec celles de l'arbre, parcourues dans l'ordre infixe, puis
+     * l'arbre est reconstruit avec une hauteur minimale. Sinon, le lot trié est réparti dans
+     * l'arbre en une seule descente : chaque noeud visité partage sa partie du lot entre ses deux
+     * sous-arbres, et une partie qui atteint un sous-arbre vide y forme un sous-arbre de hauteur
+     * minimale. Les sous-arbres obtenus avant l'ajout ne sont plus valides.
+     *
+     * @param cles les clés à ajouter
+     * @return les clés rejetées : clés nulles, déjà présentes dans l'arbre ou en double dans le lot
+     * @throws NullPointerException si la collection est nulle
+     */
+    @Override
+    public List<K> ajouterTous(Collection<K> cles) {
+        final List<K> rejetees = new ArrayList<>();
+        final List<K> lot = ArbresBinairesRecherche.trierLot(cles, rejetees);
+        if (ArbresBinairesRecherche.isFusionPreferable(lot.size(), this.nbNoeuds)) {
+            final Object[] fusion = ArbresBinairesRecherche.fusionner(this.clesInfixe(), lot,
+                    rejetees);
+            this.construire(fusion, fusion.length);
+        } else if (!lot.isEmpty()) {
+            this.insererLot(lot, rejetees);
+        }
+        return rejetees;
+    }
+
+    /**
+     * Retire un lot de clés de l'arbre. Lorsque le lot est grand devant l'arbre, les clés de
+     * l'arbre, parcourues dans l'ordre infixe, sont filtrées en un seul passage par le lot, puis
+     * l'arbre est reconstruit avec une hauteur minimale. Sinon, le lot trié est réparti dans
+     * l'arbre en une seule descente, comme pour {@link #ajouterTous(Collection)} ; un noeud à
+     * retirer l'est après ses sous-arbres. Les sous-arbres obtenus avant le retrait ne sont plus
+     * valides.
+     *
+     * @param cles les clés à retirer
+     * @return les clés rejetées : clés nulles, absentes de l'arbre, en double dans le lot, ou clé
+     * qui aurait vidé l'arbre
+     * @throws NullPointerException si la collection est nulle
+     */
+    @Override
+    public List<K> retirerTous(Collection<K> cles) {
+        final List<K> rejetees = new ArrayList<>();
+        List<K> lot = ArbresBinairesRecherche.trierLot(cles, rejetees);
+        if (ArbresBinairesRecherche.isFusionPreferable(lot.size(), this.nbNoeuds)) {
+            final Object[] restantes = ArbresBinairesRecherche.filtrer(this.clesInfixe(), lot,
+                    rejetees);
+            this.construire(restantes, restantes.length);
+            return rejetees;
+        }
+        // La plus grande clé de l'arbre est retirée en dernier : elle est conservée si le lot
+        // contient toutes les clés
+        final boolean avecMax = !lot.isEmpty()
+                && this.comparer(lot.get(lot.size() - 1), this.max(this.racine)) == 0;
+        final K max = avecMax ? lot.get(lot.size() - 1) : null;
+        if (avecMax) {
+            lot = lot.subList(0, lot.size() - 1);
+        }
+        if (!lot.isEmpty()) {
+            this.retirerLot(lot, rejetees);
+        }
+        if (avecMax && !this.tenterRetirer(max).isEffectuee()) {
+            rejetees.add(max);
+        }
+        return rejetees;
+    }
+
+    /**
+     * Renumérote les noeuds dans l'ordre préfixe et ajuste le tampon au nombre de noeuds. Le fils
+     * gauche de chaque noeud le suit alors immédiatement, le plus souvent dans la même ligne de
+     * cache, et les noeuds libres disparaissent. Les sous-arbres obtenus avant la compaction ne
+     * sont plus valides.
+     *
+     * @return l'arbre compacté
+     */
+    public ArbreBinaireRechercheTableau<K> compacter() {
+        final ByteBuffer nouveauxNoeuds = allouerNoeuds(this.nbNoeuds, this.codec);
+        final Object[] nouvellesCles = this.codec == null ? new Object[this.nbNoeuds] : null;
+        // Chaque noeud à renuméroter est empilé avec la position, dans le nouveau tampon, de
+        // l'indice qui le désigne chez son parent
+        final PileEntiers pile = new PileEntiers();
+        pile.empiler(this.racine);
+        pile.empiler(NUL);
+        int nouveau = 0;
+        while (!pile.isEmpty()) {
+            final int lien = pile.depiler();
+            final int ancien = pile.depiler();
+            final int position = nouveau * this.tailleNoeud;
+            if (lien != NUL) {
+                nouveauxNoeuds.putInt(lien, nouveau);
+            }
+            if (this.codec == null) {
+                nouvellesCles[nouveau] = this.cles[ancien];
+            } else {
+                copierOctets(this.noeuds, this.position(ancien) + POSITION_CLE, nouveauxNoeuds,
+                        position + POSITION_CLE, this.codec.getTaille());
+            }
+            nouveauxNoeuds.putInt(position, NUL);
+            nouveauxNoeuds.putInt(position + POSITION_DROIT, NUL);
+            final int droit = this.droit(ancien);
+            if (droit != NUL) {
+                pile.empiler(droit);
+                pile.empiler(position + POSITION_DROIT);
+            }
+            final int gauche = this.gauche(ancien);
+            if (gauche != NUL) {
+                pile.empiler(gauche);
+                pile.empiler(position);
+            }
+            nouveau++;
+        }
+        this.noeuds = nouveauxNoeuds;
+        this.cles = nouvellesCles;
+        this.racine = 0;
+        this.prochainIndice = this.nbNoeuds;
+        this.premierLibre = NUL;
+        return this;
+    }
+
+    /**
+     * Remplace les noeuds de l'arbre par des clés triées : la i-ème clé est placée dans le i-ème
+     * noeud. Sans codec, le tableau des clés est conservé tel quel.
+     */
+    @SuppressWarnings("unchecked")
+    private void construire(Object[] clesTriees, int nbCles) {
+        this.noeuds = allouerNoeuds(nbCles, this.codec);
+        if (this.codec == null) {
+            this.cles = clesTriees;
+        } else {
+            for (int noeud = 0; noeud < nbCles; noeud++) {
+                this.codec.ecrire(this.noeuds, this.position(noeud) + POSITION_CLE,
+                        (K) clesTriees[noeud]);
+            }
+        }
+        this.lier(nbCles);
+    }
+
+    /**
+     * Relie en un arbre de hauteur minimale des noeuds numérotés dans l'ordre infixe, en un seul
+     * passage séquentiel. Le noeud d'indice i occupe le rang i + 1 de l'ordre infixe d'un arbre
+     * parfait, dont la racine est au rang de la plus grande puissance de 2 inférieure ou égale au
+     * nombre de noeuds : les fils d'un rang r dont le bit de poids faible vaut 2d sont aux rangs
+     * r - d et r + d. Un rang au-delà du dernier noeud est absent et remplacé par son fils gauche.
+     */
+    private void lier(int nbCles) {
+        for (int rang = 1; rang <= nbCles; rang++) {
+            final int demiPas = Integer.lowestOneBit(rang) >>> 1;
+            final int position = this.position(rang - 1);
+            if (demiPas == 0) {
+                this.noeuds.putInt(position, NUL);
+                this.noeuds.putInt(position + POSITION_DROIT, NUL);
+            } else {
+                int droit = rang + demiPas;
+                while (droit > nbCles && (droit & 1) == 0) {
+                    droit -= Integer.lowestOneBit(droit) >>> 1;
+                }
+                this.noeuds.putInt(position, rang - demiPas - 1);
+                this.noeuds.putInt(position + POSITION_DROIT, droit > nbCles ? NUL : droit - 1);
+            }
+        }
+        this.racine = Integer.highestOneBit(nbCles) - 1;
+        this.nbNoeuds = nbCles;
+        this.prochainIndice = nbCles;
+        this.premierLibre = NUL;
+    }
+
+    /**
+     * Insère les clés d'un lot trié en une seule descente. Chaque partie du lot restant à
+     * répartir est empilée avec le noeud qui la reçoit. Les clés déjà présentes sont rejetées
+     * dans l'ordre croissant.
+     */
+    private void insererLot(List<K> lot, List<K> rejetees) {
+        final List<K> presentes = new ArrayList<>();
+        final PileEntiers pile = new PileEntiers();
+        pile.empiler(this.racine);
+        pile.empiler(0);
+        pile.empiler(lot.size());
+        while (!pile.isEmpty()) {
+            final int fin = pile.depiler();
+            final int debut = pile.depiler();
+            final int noeud = pile.depiler();
+            int place = this.rechercherPlace(lot, debut, fin, noeud);
+            if (debut < place) {
+                final int gauche = this.gauche(noeud);
+                if (gauche == NUL) {
+                    this.definirGauche(noeud, this.construireLot(lot, debut, place));
+                } else {
+                    pile.empiler(gauche);
+                    pile.empiler(debut);
+                    pile.empiler(place);
+                }
+            }
+            if (place < fin && this.comparer(lot.get(place), noeud) == 0) {
+                presentes.add(lot.get(place++));
+            }
+            if (place < fin) {
+                final int droit = this.droit(noeud);
+                if (droit == NUL) {
+                    this.definirDroit(noeud, this.construireLot(lot, place, fin));
+                } else {
+                    pile.empiler(droit);
+                    pile.empiler(place);
+                    pile.empiler(fin);
+                }
+            }
+        }
+        presentes.sort(null);
+        rejetees.addAll(presentes);
+    }
+
+    /**
+     * Retire les clés d'un lot trié en une seule descente. Chaque partie du lot restant à
+     * répartir est empilée avec le noeud qui la reçoit et la position, dans le tampon, de
+     * l'indice qui désigne ce noeud chez son parent ; un noeud à retirer est empilé sous ses
+     * sous-arbres, pour n'être détaché qu'après eux. Les clés absentes sont rejetées dans l'ordre
+     * croissant. Le lot ne doit pas contenir toutes les clés de l'arbre.
+     */
+    private void retirerLot(List<K> lot, List<K> rejetees) {
+        final List<K> absentes = new ArrayList<>();
+        final PileEntiers pile = new PileEntiers();
+        empilerPartie(pile, this.racine, NUL, 0, lot.size());
+        while (!pile.isEmpty()) {
+            final int fin = pile.depiler();
+            final int debut = pile.depiler();
+            final int lien = pile.depiler();
+            final int noeud = pile.depiler();
+            if (debut == NUL) {
+                this.detacher(noeud, lien);
+                continue;
+            }
+            final int place = this.rechercherPlace(lot, debut, fin, noeud);
+            int suite = place;
+            if (place < fin && this.comparer(lot.get(place), noeud) == 0) {
+                empilerPartie(pile, noeud, lien, NUL, NUL);
+                suite++;
+            }
+            if (suite < fin) {
+                final int droit = this.droit(noeud);
+                if (droit == NUL) {
+                    absentes.addAll(lot.subList(suite, fin));
+                } else {
+                    empilerPartie(pile, droit, this.position(noeud) + POSITION_DROIT, suite, fin);
+                }
+            }
+            if (debut < place) {
+                final int gauche = this.gauche(noeud);
+                if (gauche == NUL) {
+                    absentes.addAll(lot.subList(debut, place));
+                } else {
+                    empilerPartie(pile, gauche, this.position(noeud), debut, place);
+                }
+            }
+        }
+        absentes.sort(null);
+        rejetees.addAll(absentes);
+    }
+
+    private static void empilerPartie(PileEntiers pile, int noeud, int lien, int debut,
+            int fin) {
+        pile.empiler(noeud);
+        pile.empiler(lien);
+        pile.empiler(debut);
+        pile.empiler(fin);
+    }
+
+    /**
+     * Recherche par dichotomie la place de la clé d'un noeud dans une partie d'un lot trié.
+     *
+     * @return l'indice de la première clé de la partie supérieure ou égale à celle du noeud, ou
+     * fin
+     */
+    private int rechercherPlace(List<K> lot, int debut, int fin, int noeud) {
+        int bas = debut;
+        int haut = fin;
+        while (bas < haut) {
+            final int milieu = (bas + haut) >>> 1;
+            if (this.comparer(lot.get(milieu), noeud) < 0) {
+                bas = milieu + 1;
+            } else {
+                haut = milieu;
+            }
+        }
+        return bas;
+    }
+
+    /**
+     * Construit un sous-arbre de hauteur minimale portant les clés [debut, fin) d'un lot trié.
+     *
+     * @return l'indice de la racine du sous-arbre, ou NUL si la partie est vide
+     */
+    private int construireLot(List<K> lot, int debut, int fin) {
+        if (debut == fin) {
+            return NUL;
+        }
+        final int milieu = (debut + fin) >>> 1;
+        final int noeud = this.allouer(lot.get(milieu));
+        final int gauche = this.construireLot(lot, debut, milieu);
+        this.definirGauche(noeud, gauche);
+        final int droit = this.construireLot(lot, milieu + 1, fin);
+        this.definirDroit(noeud, droit);
+        return noeud;
+    }
+
+    /**
+     * Détache un noeud dont la clé est retirée, sans le rechercher depuis la racine. Le lien est
+     * la position, dans le tampon, de l'indice qui le désigne chez son parent, ou NUL si le noeud
+     * est la racine ; celle-ci a au moins un sous-arbre.
+     */
+    private void detacher(int noeud, int lien) {
+        final int gauche = this.gauche(noeud);
+        final int droit = this.droit(noeud);
+        if (gauche != NUL && droit != NUL) {
+            this.remplacerParMax(noeud);
+            return;
+        }
+        final int fils = gauche != NUL ? gauche : droit;
+        if (lien == NUL) {
+            this.racine = fils;
+        } else {
+            this.noeuds.putInt(lien, fils);
+        }
+        this.liberer(noeud);
+    }
+
+    /**
+     * Remplace la clé d'un noeud à deux sous-arbres par la plus grande clé de son sous-arbre
+     * gauche, dont le noeud est libéré.
+     */
+    private void remplacerParMax(int noeud) {
+        int parentMax = noeud;
+        int max = this.gauche(noeud);
+        int suivant;
+        while ((suivant = this.droit(max)) != NUL) {
+            parentMax = max;
+            max = suivant;
+        }
+        this.copierCle(max, noeud);
+        if (parentMax == noeud) {
+            this.definirGauche(parentMax, this.gauche(max));
+        } else {
+            this.definirDroit(parentMax, this.gauche(max));
+        }
+        this.liberer(max);
+    }
+
+    private Object[] clesInfixe() {
+        final Object[] resultat = new Object[this.nbNoeuds];
+        final PileEntiers pile = new PileEntiers();
+        int nbCles = 0;
+        int noeud = this.racine;
+        while (noeud != NUL || !pile.isEmpty()) {
+            while (noeud != NUL) {
+                pile.empiler(noeud);
+                noeud = this.gauche(noeud);
+            }
+            noeud = pile.depiler();
+            resultat[nbCles++] = this.cle(noeud);
+            noeud = this.droit(noeud);
+        }
+        return resultat;
+    }
+
+    private int position(int noeud) {
+        return noeud * this.tailleNoeud;
+    }
+
+    private int gauche(int noeud) {
+        return this.noeuds.getInt(this.position(noeud));
+    }
+
+    private int droit(int noeud) {
+        return this.noeuds.getInt(this.position(noeud) + POSITION_DROIT);
+    }
+
+    private void definirGauche(int noeud, int gauche) {
+        this.noeuds.putInt(this.position(noeud), gauche);
+    }
+
+    private void definirDroit(int noeud, int droit) {
+        this.noeuds.putInt(this.position(noeud) + POSITION_DROIT, droit);
+    }
+
+    @SuppressWarnings("unchecked")
+    private K cle(int noeud) {
+        return this.codec == null ? (K) this.cles[noeud]
+                : this.codec.lire(this.noeuds, this.position(noeud) + POSITION_CLE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private int comparer(K cle, int noeud) {
+        return this.codec == null ? cle.compareTo((K) this.cles[noeud])
+                : this.codec.comparer(cle, this.noeuds, this.position(noeud) + POSITION_CLE);
+    }
+
+    private void copierCle(int source, int destination) {
+        if (this.codec == null) {
+            this.cles[destination] = this.cles[source];
+        } else {
+            copierOctets(this.noeuds, this.position(source) + POSITION_CLE, this.noeuds,
+                    this.position(destination) + POSITION_CLE, this.codec.getTaille());
+        }
+    }
+
+    /**
+     * Copie des octets entre deux tampons de même ordre, par entiers ou entiers longs lorsque leur
+     * nombre le permet.
+     */
+    static void copierOctets(ByteBuffer source, int positionSource, ByteBuffer destination,
+            int positionDestination, int nbOctets) {
+        if (nbOctets == Integer.BYTES) {
+            destination.putInt(positionDestination, source.getInt(positionSource));
+        } else if (nbOctets == Long.BYTES) {
+            destination.putLong(positionDestination, source.getLong(positionSource));
+        } else {
+            for (int i = 0; i < nbOctets; i++) {
+                destination.put(positionDestination + i, source.get(positionSource + i));
+            }
+        }
+    }
+
+    private ArbreBinaireRecherche<K> vue(int noeud) {
+        return noeud == NUL ? null : noeud == this.racine ? this : new SousArbre(noeud);
+    }
+
+    private int rechercher(int noeud, K cle) {
+        while (noeud != NUL) {
+            final int cmp = this.comparer(cle, noeud);
+            if (cmp == 0) {
+                return noeud;
+            }
+            noeud = cmp < 0 ? this.gauche(noeud) : this.droit(noeud);
+        }
+        return NUL;
+    }
+
+    /**
+     * Recherche la clé la plus proche d'une clé de référence en une seule descente sur les
+     * indices, sans créer de vue de sous-arbre.
+     */
+    private K naviguer(int noeud, K cle, boolean inferieure, boolean inclusive) {
+        if (cle == null) {
+            return null;
+        }
+        int candidat = NUL;
+        while (noeud != NUL) {
+            final int cmp = this.comparer(cle, noeud);
+            if (cmp == 0 && inclusive) {
+                return this.cle(noeud);
+            }
+            if (inferieure ? cmp > 0 : cmp < 0) {
+                candidat = noeud;
+            }
+            noeud = (inferieure ? cmp > 0 : cmp >= 0) ? this.droit(noeud) : this.gauche(noeud);
+        }
+        return candidat == NUL ? null : this.cle(candidat);
+    }
+
+    private int min(int noeud) {
+        int gauche;
+        while ((gauche = this.gauche(noeud)) != NUL) {
+            noeud = gauche;
+        }
+        return noeud;
+    }
+
+    private int max(int noeud) {
+        int droit;
+        while ((droit = this.droit(noeud)) != NUL) {
+            noeud = droit;
+        }
+        return noeud;
+    }
+
+    private int allouer(K cle) {
+        final int noeud;
+        if (this.premierLibre != NUL) {
+            noeud = this.premierLibre;
+            this.premierLibre = this.gauche(noeud);
+        } else {
+            final int capacite = this.noeuds.capacity() / this.tailleNoeud;
+            if (this.prochainIndice == capacite) {
+                this.agrandir(capacite);
+            }
+            noeud = this.prochainIndice++;
+        }
+        if (this.codec == null) {
+            this.cles[noeud] = cle;
+        } else {
+            this.codec.ecrire(this.noeuds, this.position(noeud) + POSITION_CLE, cle);
+        }
+        this.definirGauche(noeud, NUL);
+        this.definirDroit(noeud, NUL);
+        this.nbNoeuds++;
+        return noeud;
+    }
+
+    private void agrandir(int capacite) {
+        final int capaciteMaximale = getCapaciteMaximale(this.codec);
+        if (capacite >= capaciteMaximale) {
+            throw new IllegalStateException("Nombre maximal de noeuds atteint");
+        }
+        final int nouvelleCapacite = (int) Math.min(capaciteMaximale,
+                capacite + (capacite >> 1) + 1L);
+        final ByteBuffer nouveauxNoeuds = allouerNoeuds(nouvelleCapacite, this.codec);
+        this.noeuds.clear();
+        nouveauxNoeuds.put(this.noeuds).clear();
+        this.noeuds = nouveauxNoeuds;
+        if (this.codec == null) {
+            this.cles = Arrays.copyOf(this.cles, nouvelleCapacite);
+        }
+    }
+
+    private void liberer(int noeud) {
+        if (this.codec == null) {
+            this.cles[noeud] = null;
+        }
+        this.definirGauche(noeud, this.premierLibre);
+        this.premierLibre = noeud;
+        this.nbNoeuds--;
+    }
+
+    /**
+     * Vue d'un sous-arbre de l'arbre, désigné par l'indice de son noeud racine.
+     */
+    private final class SousArbre extends AbstractArbreBinaireRecherche<K> {
+
+        private final int noeud;
+
+        SousArbre(int noeud) {
+            this.noeud = noeud;
+        }
+
+        @Override
+        public K getRacine() {
+            return cle(this.noeud);
+        }
+
+        @Override
+        public ArbreBinaireRecherche<K> getSag() {
+            return vue(gauche(this.noeud));
+        }
+
+        @Override
+        public ArbreBinaireRecherche<K> getSad() {
+            return vue(droit(this.noeud));
+        }
+
+        @Override
+        public boolean isFeuille() {
+            return gauche(this.noeud) == NUL && droit(this.noeud) == NUL;
+        }
+
+        @Override
+        public ArbreBinaireRecherche<K> rechercherSousArbre(K cle) {
+            return cle == null ? null : vue(rechercher(this.noeud, cle));
+        }
+
+        @Override
+        public boolean contains(K cle) {
+            return cle != null && rechercher(this.noeud, cle) != NUL;
+        }
+
+        @Override
+        public K getMin() {
+            return cle(min(this.noeud));
+        }
+
+        @Override
+        public K getMax() {
+            return cle(max(this.noeud));
+        }
+
+        @Override
+        public K plancher(K cle) {
+            return naviguer(this.noeud, cle, true, true);
+        }
+
+        @Override
+        public K plafond(K cle) {
+            return naviguer(this.noeud, cle, false, true);
+        }
+
+        @Override
+        public K predecesseur(K cle) {
+            return naviguer(this.noeud, cle, true, false);
+        }
+
+        @Override
+        public K successeur(K cle) {
+            return naviguer(this.noeud, cle, false, false);
+        }
+
+        @Override
+        public ArbreBinaireRecherche<K> ajouter(K cle) {
+            throw new UnsupportedOperationException(
+                    "Seule la racine d'un arbre en tableaux peut être modifiée");
+        }
+
+        @Override
+        public ArbreBinaireRecherche<K> retirer(K cle) {
+            throw new UnsupportedOperationException(
+                    "Seule la racine d'un arbre en tableaux peut être modifiée");
+        }
+
+        @Override
+        public StatutModification tenterAjouter(K cle) {
+            throw new UnsupportedOperationException(
+                    "Seule la racine d'un arbre en tableaux peut être modifiée");
+        }
+
+        @Override
+        public StatutModification tenterRetirer(K cle) {
+            throw new UnsupportedOperationException(
+                    "Seule la racine d'un arbre en tableaux peut être modifiée");
+        }
+    }
+}
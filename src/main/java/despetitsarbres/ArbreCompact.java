@@ -0,0 +1,431 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Arbre quelconque compact, dont la structure est figée à la construction et dont les noeuds ne
+ * sont pas des objets. Les noeuds sont numérotés dans l'ordre d'un parcours en largeur et stockés
+ * dans deux tableaux parallèles : les valeurs, et l'indice du premier fils de chaque noeud. Les
+ * fils d'un noeud ont des indices consécutifs, si bien que ses fils sont les noeuds compris entre
+ * son premier fils et celui du noeud suivant (représentation « CSR »). Un noeud occupe ainsi une
+ * référence et un entier, sans liste de sous-arbres ni objet par noeud.
+ *
+ * <p>
+ * Dans la numérotation en largeur, les descendants d'un noeud situés à une même profondeur ont eux
+ * aussi des indices consécutifs : le nombre de noeuds, la hauteur et le parcours en largeur d'un
+ * sous-arbre se calculent par plages d'indices, sans pile ni file.
+ * </p>
+ *
+ * <p>
+ * Les sous-arbres sont des vues légères créées à la demande par {@link #getForet()}, dont la
+ * liste n'est pas modifiable. Seules les valeurs des noeuds peuvent être modifiées, par
+ * {@link #setRacine(Object)}.
+ * </p>
+ *
+ * @author Rémi Venant
+ * @param <V> type de valeurs stockées dans l'arbre.
+ */
+public final class ArbreCompact<V> extends AbstractArbre<V> {
+
+    private final Object[] valeurs;
+
+    /**
+     * Indice du premier fils de chaque noeud, suivi du nombre de noeuds : les fils du noeud i
+     * sont les noeuds d'indices debutsFils[i] inclus à debutsFils[i + 1] exclu.
+     */
+    private final int[] debutsFils;
+
+    private final int noeud;
+
+    private ArbreCompact(Object[] valeurs, int[] debutsFils, int noeud) {
+        this.valeurs = valeurs;
+        this.debutsFils = debutsFils;
+        this.noeud = noeud;
+    }
+
+    /**
+     * Construit un arbre compact de même forme et de mêmes valeurs que l'arbre fourni, par un
+     * parcours en largeur de celui-ci.
+     *
+     * @param <V> type de valeurs stockées dans l'arbre.
+     * @param arbre l'arbre à copier
+     * @return l'arbre compact
+     * @throws NullPointerException si l'arbre est nul
+     */
+    public static <V> ArbreCompact<V> depuis(Arbre<V> arbre) {
+        Objects.requireNonNull(arbre);
+        final Constructeur<V> constructeur = new Constructeur<>();
+        final FileObjets<Arbre<V>> file = new FileObjets<>();
+        file.enfiler(arbre);
+        while (!file.isEmpty()) {
+            final Arbre<V> courant = file.defiler();
+            final List<Arbre<V>> foret = courant.getForet();
+            constructeur.ajouter(courant.getRacine(), foret.size());
+            file.enfilerTous(foret);
+        }
+        return constructeur.construire();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V getRacine() {
+        return (V) this.valeurs[this.noeud];
+    }
+
+    @Override
+    public void setRacine(V valeur) {
+        this.valeurs[this.noeud] = valeur;
+    }
+
+    /**
+     * Fournit les sous-arbres dans une liste non modifiable, dont chaque élément est une vue
+     * créée à la demande.
+     *
+     * @return la forêt
+     */
+    @Override
+    public List<Arbre<V>> getForet() {
+        return new Foret(this.debutsFils[this.noeud], this.debutsFils[this.noeud + 1]);
+    }
+
+    @Override
+    public boolean isFeuille() {
+        return this.debutsFils[this.noeud] == this.debutsFils[this.noeud + 1];
+    }
+
+    /**
+     * Fournit le nombre de noeuds de l'arbre, en sommant la largeur de chacun de ses niveaux.
+     *
+     * @return le nombre de noeuds
+     */
+    @Override
+    public int getNbNoeuds() {
+        int nbNoeuds = 0;
+        for (int debut = this.noeud, fin = this.noeud + 1; debut < fin;
+                debut = this.debutsFils[debut], fin = this.debutsFils[fin]) {
+            nbNoeuds += fin - debut;
+        }
+        return nbNoeuds;
+    }
+
+    @Override
+    public int getNbFeuilles() {
+        int nbFeuilles = 0;
+        for (int debut = this.noeud, fin = this.noeud + 1; debut < fin;
+                debut = this.debutsFils[debut], fin = this.debutsFils[fin]) {
+            nbFeuilles += this.compterFeuilles(debut, fin);
+        }
+        return nbFeuilles;
+    }
+
+    @Override
+    public int getHauteur() {
+        int hauteur = -1;
+        for (int debut = this.noeud, fin = this.noeud + 1; debut < fin;
+                debut = this.debutsFils[debut], fin = this.debutsFils[fin]) {
+            hauteur++;
+        }
+        return hauteur;
+    }
+
+    @Override
+    public float getHauteurMoyenne() {
+        long sommeProfondeurs = 0;
+        long nbFeuilles = 0;
+        int profondeur = 0;
+        for (int debut = this.noeud, fin = this.noeud + 1; debut < fin;
+                debut = this.debutsFils[debut], fin = this.debutsFils[fin], profondeur++) {
+            final int nbFeuillesNiveau = this.compterFeuilles(debut, fin);
+            sommeProfondeurs += (long) nbFeuillesNiveau * profondeur;
+            nbFeuilles += nbFeuillesNiveau;
+        }
+        return (float) sommeProfondeurs / (float) nbFeuilles;
+    }
+
+    @Override
+    public void traiterNoeudsParcoursPrefixe(Consumer<V> traitementNoeud) {
+        final PileEntiers pile = new PileEntiers();
+        pile.empiler(this.noeud);
+        while (!pile.isEmpty()) {
+            final int courant = pile.depiler();
+            traitementNoeud.accept(this.valeur(courant));
+            for (int fils = this.debutsFils[courant + 1] - 1; fils >= this.debutsFils[courant];
+                    fils--) {
+                pile.empiler(fils);
+            }
+        }
+    }
+
+    @Override
+    public void traiterNoeudsParcoursSuffixe(Consumer<V> traitementNoeud) {
+        // Chaque noeud en cours de visite est empilé avec l'indice de son prochain fils à visiter
+        final PileEntiers pileNoeuds = new PileEntiers();
+        final PileEntiers pileFils = new PileEntiers();
+        pileNoeuds.empiler(this.noeud);
+        pileFils.empiler(this.debutsFils[this.noeud]);
+        while (!pileNoeuds.isEmpty()) {
+            final int courant = pileNoeuds.sommet();
+            final int fils = pileFils.depiler();
+            if (fils < this.debutsFils[courant + 1]) {
+                pileFils.empiler(fils + 1);
+                pileNoeuds.empiler(fils);
+                pileFils.empiler(this.debutsFils[fils]);
+            } else {
+                pileNoeuds.depiler();
+                traitementNoeud.accept(this.valeur(courant));
+            }
+        }
+    }
+
+    @Override
+    public void traiterNoeudsParcoursLargeur(Consumer<V> traitementNoeud) {
+        for (int debut = this.noeud, fin = this.noeud + 1; debut < fin;
+                debut = this.debutsFils[debut], fin = this.debutsFils[fin]) {
+            for (int courant = debut; courant < fin; courant++) {
+                traitementNoeud.accept(this.valeur(courant));
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * La liste d'un niveau est une vue non modifiable sur le tableau des valeurs.
+     * </p>
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void traiterNiveaux(BiConsumer<Integer, List<V>> traitementNiveau) {
+        final List<V> valeurs = (List<V>) Collections.unmodifiableList(
+                Arrays.asList(this.valeurs));
+        int profondeur = 0;
+        for (int debut = this.noeud, fin = this.noeud + 1; debut < fin;
+                debut = this.debutsFils[debut], fin = this.debutsFils[fin], profondeur++) {
+            traitementNiveau.accept(profondeur, valeurs.subList(debut, fin));
+        }
+    }
+
+    @Override
+    public Iterator<V> iterateurParcoursPrefixe() {
+        return new IterateurPrefixe();
+    }
+
+    @Override
+    public Iterator<V> iterateurParcoursLargeur() {
+        return new IterateurLargeur();
+    }
+
+    private int compterFeuilles(int debut, int fin) {
+        int nbFeuilles = 0;
+        for (int courant = debut; courant < fin; courant++) {
+            if (this.debutsFils[courant] == this.debutsFils[courant + 1]) {
+                nbFeuilles++;
+            }
+        }
+        return nbFeuilles;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valeur(int noeud) {
+        return (V) this.valeurs[noeud];
+    }
+
+    /**
+     * Constructeur d'arbre compact, qui reçoit les noeuds dans l'ordre d'un parcours en largeur,
+     * chacun avec son nombre de fils. Permet de construire un grand arbre sans créer au préalable
+     * un arbre chaîné.
+     *
+     * @param <V> type de valeurs stockées dans l'arbre.
+     */
+    public static final class Constructeur<V> {
+
+        private Object[] valeurs = new Object[16];
+
+        private int[] debutsFils = new int[17];
+
+        private int nbNoeuds;
+
+        /**
+         * Indice du premier fils du prochain noeud ajouté ayant des fils, c'est-à-dire nombre de
+         * noeuds annoncés jusque-là (racine comprise).
+         */
+        private int nbNoeudsAnnonces = 1;
+
+        /**
+         * Crée un constructeur vide.
+         */
+        public Constructeur() {
+        }
+
+        /**
+         * Ajoute le noeud suivant dans l'ordre du parcours en largeur : la racine, puis les fils
+         * de la racine, puis les fils de chacun d'eux dans l'ordre, etc.
+         *
+         * @param valeur la valeur du noeud
+         * @param nbFils le nombre de fils du noeud, qui seront ajoutés ultérieurement
+         * @return ce constructeur
+         * @throws IllegalArgumentException si le nombre de fils est négatif
+         * @throws IllegalStateException si tous les noeuds annoncés ont déjà été ajoutés
+         */
+        public Constructeur<V> ajouter(V valeur, int nbFils) {
+            if (nbFils < 0) {
+                throw new IllegalArgumentException("Le nombre de fils ne peut être négatif");
+            }
+            if (this.nbNoeuds == this.nbNoeudsAnnonces) {
+                throw new IllegalStateException("Tous les noeuds annoncés ont été ajoutés");
+            }
+            if (this.nbNoeudsAnnonces > Integer.MAX_VALUE - nbFils) {
+                throw new IllegalArgumentException("Trop de noeuds pour un arbre compact");
+            }
+            if (this.nbNoeuds == this.valeurs.length) {
+                final int capacite = this.nbNoeuds + (this.nbNoeuds >> 1) + 1;
+                this.valeurs = Arrays.copyOf(this.valeurs, capacite);
+                this.debutsFils = Arrays.copyOf(this.debutsFils, capacite + 1);
+            }
+            this.valeurs[this.nbNoeuds] = valeur;
+            this.debutsFils[this.nbNoeuds] = this.nbNoeudsAnnonces;
+            this.nbNoeuds++;
+            this.nbNoeudsAnnonces += nbFils;
+            return this;
+        }
+
+        /**
+         * Construit l'arbre à partir des noeuds ajoutés. Le constructeur peut ensuite être
+         * réutilisé pour un autre arbre.
+         *
+         * @return l'arbre compact
+         * @throws IllegalStateException si des noeuds annoncés n'ont pas été ajoutés
+         */
+        public ArbreCompact<V> construire() {
+            if (this.nbNoeuds < this.nbNoeudsAnnonces) {
+                throw new IllegalStateException((this.nbNoeudsAnnonces - this.nbNoeuds)
+                        + " noeud(s) annoncé(s) n'ont pas été ajoutés");
+            }
+            final Object[] valeurs = Arrays.copyOf(this.valeurs, this.nbNoeuds);
+            final int[] debutsFils = Arrays.copyOf(this.debutsFils, this.nbNoeuds + 1);
+            debutsFils[this.nbNoeuds] = this.nbNoeuds;
+            this.valeurs = new Object[16];
+            this.debutsFils = new int[17];
+            this.nbNoeuds = 0;
+            this.nbNoeudsAnnonces = 1;
+            return new ArbreCompact<>(valeurs, debutsFils, 0);
+        }
+    }
+
+    /**
+     * Forêt d'un noeud : vue non modifiable sur une plage de fils consécutifs.
+     */
+    private final class Foret extends AbstractList<Arbre<V>> implements RandomAccess {
+
+        private final int debut;
+
+        private final int fin;
+
+        Foret(int debut, int fin) {
+            this.debut = debut;
+            this.fin = fin;
+        }
+
+        @Override
+        public Arbre<V> get(int index) {
+            Objects.checkIndex(index, this.fin - this.debut);
+            return new ArbreCompact<>(ArbreCompact.this.valeurs, ArbreCompact.this.debutsFils,
+                    this.debut + index);
+        }
+
+        @Override
+        public int size() {
+            return this.fin - this.debut;
+        }
+    }
+
+    /**
+     * Itérateur préfixe : une pile des indices des noeuds restant à visiter.
+     */
+    private final class IterateurPrefixe implements Iterator<V> {
+
+        private final PileEntiers pile = new PileEntiers();
+
+        IterateurPrefixe() {
+            this.pile.empiler(ArbreCompact.this.noeud);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !this.pile.isEmpty();
+        }
+
+        @Override
+        public V next() {
+            if (this.pile.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            final int courant = this.pile.depiler();
+            final int[] debutsFils = ArbreCompact.this.debutsFils;
+            for (int fils = debutsFils[courant + 1] - 1; fils >= debutsFils[courant]; fils--) {
+                this.pile.empiler(fils);
+            }
+            return ArbreCompact.this.valeur(courant);
+        }
+    }
+
+    /**
+     * Itérateur en largeur : la plage d'indices du niveau en cours, sans file.
+     */
+    private final class IterateurLargeur implements Iterator<V> {
+
+        private int courant = ArbreCompact.this.noeud;
+
+        private int debutNiveau = ArbreCompact.this.noeud;
+
+        private int finNiveau = ArbreCompact.this.noeud + 1;
+
+        @Override
+        public boolean hasNext() {
+            return this.courant < this.finNiveau;
+        }
+
+        @Override
+        public V next() {
+            if (this.courant >= this.finNiveau) {
+                throw new NoSuchElementException();
+            }
+            final V valeur = ArbreCompact.this.valeur(this.courant++);
+            if (this.courant == this.finNiveau) {
+                final int[] debutsFils = ArbreCompact.this.debutsFils;
+                this.courant = debutsFils[this.debutNiveau];
+                this.finNiveau = debutsFils[this.finNiveau];
+                this.debutNiveau = this.courant;
+            }
+            return valeur;
+        }
+    }
+}
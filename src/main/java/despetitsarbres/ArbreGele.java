@@ -0,0 +1,328 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Instantané immuable d'un arbre quelconque, stocké de façon contiguë dans l'ordre préfixe. Pour
+ * chaque noeud sont conservés sa valeur, l'indice suivant la fin de son sous-arbre et sa hauteur :
+ * les noeuds d'un sous-arbre sont exactement ceux compris entre sa racine et la fin de son
+ * sous-arbre. Le parcours préfixe est ainsi le simple balayage d'un intervalle du tableau des
+ * valeurs, et le nombre de noeuds comme la hauteur sont des constantes.
+ *
+ * <p>
+ * Les sous-arbres sont des vues légères créées à la demande par {@link #getForet()}. Ni la valeur
+ * des noeuds, ni la forêt ne peuvent être modifiées : {@link #setRacine(Object)} et les
+ * modifications de la forêt lèvent {@link UnsupportedOperationException}. Les valeurs elles-mêmes
+ * sont partagées avec l'arbre d'origine et ne sont pas copiées.
+ * </p>
+ *
+ * @author Rémi Venant
+ * @param <V> type de valeurs stockées dans l'arbre.
+ * @see Arbre#geler()
+ */
+public final class ArbreGele<V> extends AbstractArbre<V> {
+
+    private final Object[] valeurs;
+
+    /**
+     * Indice suivant le dernier noeud du sous-arbre de chaque noeud.
+     */
+    private final int[] fins;
+
+    private final int[] hauteurs;
+
+    private final int noeud;
+
+    private ArbreGele(Object[] valeurs, int[] fins, int[] hauteurs, int noeud) {
+        this.valeurs = valeurs;
+        this.fins = fins;
+        this.hauteurs = hauteurs;
+        this.noeud = noeud;
+    }
+
+    /**
+     * Construit l'instantané d'un arbre par un parcours préfixe itératif : chaque noeud est
+     * numéroté à son entrée dans la pile, et la fin de son sous-arbre comme sa hauteur sont
+     * connues à sa sortie.
+     *
+     * @param <V> type de valeurs stockées dans l'arbre.
+     * @param arbre l'arbre à geler
+     * @return l'instantané
+     */
+    static <V> ArbreGele<V> geler(Arbre<V> arbre) {
+        Objects.requireNonNull(arbre);
+        Object[] valeurs = new Object[16];
+        int[] fins = new int[16];
+        int[] hauteurs = new int[16];
+        int nbNoeuds = 0;
+        final PileObjets<Iterator<Arbre<V>>> pileForets = new PileObjets<>();
+        final PileEntiers pileNoeuds = new PileEntiers();
+        Arbre<V> entrant = arbre;
+        while (entrant != null || !pileNoeuds.isEmpty()) {
+            if (entrant != null) {
+                if (nbNoeuds == valeurs.length) {
+                    final int capacite = nbNoeuds + (nbNoeuds >> 1);
+                    valeurs = Arrays.copyOf(valeurs, capacite);
+                    fins = Arrays.copyOf(fins, capacite);
+                    hauteurs = Arrays.copyOf(hauteurs, capacite);
+                }
+                valeurs[nbNoeuds] = entrant.getRacine();
+                pileNoeuds.empiler(nbNoeuds++);
+                pileForets.empiler(entrant.getForet().iterator());
+                entrant = null;
+            } else if (pileForets.sommet().hasNext()) {
+                entrant = pileForets.sommet().next();
+            } else {
+                pileForets.depiler();
+                final int sortant = pileNoeuds.depiler();
+                fins[sortant] = nbNoeuds;
+                if (!pileNoeuds.isEmpty()) {
+                    final int parent = pileNoeuds.sommet();
+                    hauteurs[parent] = Math.max(hauteurs[parent], hauteurs[sortant] + 1);
+                }
+            }
+        }
+        return new ArbreGele<>(Arrays.copyOf(valeurs, nbNoeuds), Arrays.copyOf(fins, nbNoeuds),
+                Arrays.copyOf(hauteurs, nbNoeuds), 0);
+    }
+
+    /**
+     * L'arbre est déjà gelé.
+     *
+     * @return cet arbre
+     */
+    @Override
+    public ArbreGele<V> geler() {
+        return this;
+    }
+
+    @Override
+    public V getRacine() {
+        return this.valeur(this.noeud);
+    }
+
+    /**
+     * Opération non supportée : un arbre gelé ne peut être modifié.
+     *
+     * @param valeur la valeur
+     * @throws UnsupportedOperationException toujours
+     */
+    @Override
+    public void setRacine(V valeur) {
+        throw new UnsupportedOperationException("Un arbre gelé ne peut être modifié");
+    }
+
+    /**
+     * Fournit les sous-arbres dans une liste non modifiable, dont chaque élément est une vue
+     * créée à la demande.
+     *
+     * @return la forêt
+     */
+    @Override
+    public List<Arbre<V>> getForet() {
+        int nbFils = 0;
+        for (int fils = this.noeud + 1; fils < this.fins[this.noeud]; fils = this.fins[fils]) {
+            nbFils++;
+        }
+        final int[] indicesFils = new int[nbFils];
+        for (int i = 0, fils = this.noeud + 1; i < nbFils; i++, fils = this.fins[fils]) {
+            indicesFils[i] = fils;
+        }
+        return new Foret(indicesFils);
+    }
+
+    @Override
+    public boolean isFeuille() {
+        return this.fins[this.noeud] == this.noeud + 1;
+    }
+
+    /**
+     * Fournit le nombre de noeuds de l'arbre, en temps constant.
+     *
+     * @return le nombre de noeuds
+     */
+    @Override
+    public int getNbNoeuds() {
+        return this.fins[this.noeud] - this.noeud;
+    }
+
+    @Override
+    public int getNbFeuilles() {
+        int nbFeuilles = 0;
+        for (int courant = this.noeud; courant < this.fins[this.noeud]; courant++) {
+            if (this.fins[courant] == courant + 1) {
+                nbFeuilles++;
+            }
+        }
+        return nbFeuilles;
+    }
+
+    /**
+     * Fournit la hauteur de l'arbre, en temps constant.
+     *
+     * @return la hauteur de l'arbre
+     */
+    @Override
+    public int getHauteur() {
+        return this.hauteurs[this.noeud];
+    }
+
+    /**
+     * Calcule la hauteur moyenne par un balayage de l'intervalle du sous-arbre ; la profondeur
+     * de chaque noeud est le nombre de ses ancêtres, dont les fins de sous-arbres sont empilées.
+     *
+     * @return la hauteur moyenne
+     */
+    @Override
+    public float getHauteurMoyenne() {
+        final PileEntiers finsAncetres = new PileEntiers();
+        long sommeProfondeurs = 0;
+        long nbFeuilles = 0;
+        for (int courant = this.noeud; courant < this.fins[this.noeud]; courant++) {
+            while (!finsAncetres.isEmpty() && finsAncetres.sommet() <= courant) {
+                finsAncetres.depiler();
+            }
+            if (this.fins[courant] == courant + 1) {
+                sommeProfondeurs += finsAncetres.getTaille();
+                nbFeuilles++;
+            } else {
+                finsAncetres.empiler(this.fins[courant]);
+            }
+        }
+        return (float) sommeProfondeurs / (float) nbFeuilles;
+    }
+
+    @Override
+    public void traiterNoeudsParcoursPrefixe(Consumer<V> traitementNoeud) {
+        for (int courant = this.noeud; courant < this.fins[this.noeud]; courant++) {
+            traitementNoeud.accept(this.valeur(courant));
+        }
+    }
+
+    @Override
+    public void traiterNoeudsParcoursSuffixe(Consumer<V> traitementNoeud) {
+        // Un noeud est traité dès que le balayage quitte son sous-arbre
+        final PileEntiers ancetres = new PileEntiers();
+        for (int courant = this.noeud; courant < this.fins[this.noeud]; courant++) {
+            while (!ancetres.isEmpty() && this.fins[ancetres.sommet()] <= courant) {
+                traitementNoeud.accept(this.valeur(ancetres.depiler()));
+            }
+            ancetres.empiler(courant);
+        }
+        while (!ancetres.isEmpty()) {
+            traitementNoeud.accept(this.valeur(ancetres.depiler()));
+        }
+    }
+
+    @Override
+    public void traiterNoeudsParcoursLargeur(Consumer<V> traitementNoeud) {
+        final FileEntiers file = new FileEntiers();
+        file.enfiler(this.noeud);
+        while (!file.isEmpty()) {
+            final int courant = file.defiler();
+            traitementNoeud.accept(this.valeur(courant));
+            for (int fils = courant + 1; fils < this.fins[courant]; fils = this.fins[fils]) {
+                file.enfiler(fils);
+            }
+        }
+    }
+
+    @Override
+    public Iterator<V> iterateurParcoursPrefixe() {
+        return new IterateurPrefixe();
+    }
+
+    /**
+     * Fournit un séparateur du balayage préfixe de l'intervalle du sous-arbre, de taille exacte
+     * et IMMUTABLE.
+     *
+     * @return le séparateur de l'arbre
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Spliterator<V> spliterator() {
+        return (Spliterator<V>) Spliterators.spliterator(this.valeurs, this.noeud,
+                this.fins[this.noeud], Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
+
+    @Override
+    protected boolean isNbNoeudsEnTempsConstant() {
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valeur(int noeud) {
+        return (V) this.valeurs[noeud];
+    }
+
+    /**
+     * Forêt d'un noeud : vue non modifiable sur les indices de ses fils.
+     */
+    private final class Foret extends AbstractList<Arbre<V>> implements RandomAccess {
+
+        private final int[] indicesFils;
+
+        Foret(int[] indicesFils) {
+            this.indicesFils = indicesFils;
+        }
+
+        @Override
+        public Arbre<V> get(int index) {
+            return new ArbreGele<>(ArbreGele.this.valeurs, ArbreGele.this.fins,
+                    ArbreGele.this.hauteurs, this.indicesFils[index]);
+        }
+
+        @Override
+        public int size() {
+            return this.indicesFils.length;
+        }
+    }
+
+    /**
+     * Itérateur préfixe : balayage de l'intervalle du sous-arbre.
+     */
+    private final class IterateurPrefixe implements Iterator<V> {
+
+        private int courant = ArbreGele.this.noeud;
+
+        @Override
+        public boolean hasNext() {
+            return this.courant < ArbreGele.this.fins[ArbreGele.this.noeud];
+        }
+
+        @Override
+        public V next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return ArbreGele.this.valeur(this.courant++);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Arbre général dont la forêt est une liste modifiable de sous-arbres.
+ *
+ * @author Rémi Venant
+ * @param <V> type de valeurs stockées dans l'arbre.
+ */
+public class ArbreImpl<V> extends AbstractArbre<V> {
+
+    private V racine;
+
+    private final List<Arbre<V>> foret;
+
+    /**
+     * Crée une feuille.
+     *
+     * @param racine la valeur de la racine
+     */
+    public ArbreImpl(V racine) {
+        this(racine, new ArrayList<>());
+    }
+
+    /**
+     * Crée un arbre à partir de sa racine et de sa forêt. La forêt fournie est utilisée telle
+     * quelle (elle n'est pas copiée).
+     *
+     * @param racine la valeur de la racine
+     * @param foret la forêt
+     * @throws NullPointerException si la forêt est nulle
+     */
+    public ArbreImpl(V racine, List<Arbre<V>> foret) {
+        this.racine = racine;
+        this.foret = Objects.requireNonNull(foret, "La forêt ne peut être nulle");
+    }
+
+    @Override
+    public V getRacine() {
+        return this.racine;
+    }
+
+    @Override
+    public void setRacine(V valeur) {
+        this.racine = valeur;
+    }
+
+    @Override
+    public List<Arbre<V>> getForet() {
+        return this.foret;
+    }
+}
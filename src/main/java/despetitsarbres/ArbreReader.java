@@ -0,0 +1,354 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Lecture d'arbres depuis un canal bloquant, au format binaire écrit par {@link ArbreWriter}. Les
+ * arbres sont lus un à un, dans l'ordre de leur écriture ; les noeuds sont construits au fil de la
+ * lecture, sans collection intermédiaire.
+ *
+ * @author Rémi Venant
+ * @see ArbreWriter
+ */
+public final class ArbreReader implements Closeable {
+
+    /**
+     * Nombre maximal de clés d'ABR allouées avant leur lecture, afin qu'un en-tête corrompu ne
+     * provoque pas une allocation démesurée.
+     */
+    private static final int NB_CLES_ALLOUEES_MAX = 1 << 24;
+
+    private final ReadableByteChannel canal;
+
+    /**
+     * Tampon de lecture, en mode lecture : les octets non lus sont entre sa position et sa limite.
+     */
+    private ByteBuffer tampon;
+
+    /**
+     * Crée un lecteur muni d'un tampon de taille par défaut.
+     *
+     * @param canal le canal source
+     * @throws NullPointerException si le canal est nul
+     */
+    public ArbreReader(ReadableByteChannel canal) {
+        this(canal, ArbreWriter.TAILLE_TAMPON_PAR_DEFAUT);
+    }
+
+    /**
+     * Crée un lecteur. Le tampon est agrandi si une valeur codée ne peut y tenir.
+     *
+     * @param canal le canal source
+     * @param tailleTampon la taille du tampon de lecture, en octets
+     * @throws NullPointerException si le canal est nul
+     * @throws IllegalArgumentException si le tampon ne peut contenir un en-tête
+     */
+    public ArbreReader(ReadableByteChannel canal, int tailleTampon) {
+        this.canal = Objects.requireNonNull(canal);
+        if (tailleTampon < ArbreWriter.TAILLE_ENTETE) {
+            throw new IllegalArgumentException("Le tampon doit contenir au moins "
+                    + ArbreWriter.TAILLE_ENTETE + " octets");
+        }
+        this.tampon = ByteBuffer.allocate(tailleTampon).order(ByteOrder.LITTLE_ENDIAN);
+        this.tampon.limit(0);
+    }
+
+    /**
+     * Lit un arbre quelconque écrit par {@link ArbreWriter#ecrireArbre(Arbre, CodecValeur)}.
+     * L'arbre est reconstruit en {@link ArbreImpl} au fil de la lecture préfixe : une pile retient
+     * les noeuds dont tous les fils n'ont pas encore été lus.
+     *
+     * @param <V> type de valeurs stockées dans l'arbre
+     * @param codec le codec des valeurs, de même taille fixe que celui de l'écriture
+     * @return l'arbre lu
+     * @throws EOFException si le canal se termine avant la fin de l'arbre
+     * @throws IOException si la lecture échoue ou si le flux n'est pas un arbre valide
+     */
+    public <V> Arbre<V> lireArbre(CodecValeur<V> codec) throws IOException {
+        Objects.requireNonNull(codec);
+        final int nbNoeuds = this.lireEntete(ArbreWriter.TYPE_ARBRE, codec.getTailleFixe());
+        final PileObjets<Arbre<V>> parents = new PileObjets<>();
+        final PileEntiers nbFilsRestants = new PileEntiers();
+        Arbre<V> racine = null;
+        for (int i = 0; i < nbNoeuds; i++) {
+            final int nbFils = this.lireEntier();
+            if (nbFils > nbNoeuds - i - 1) {
+                throw new IOException("Flux d'arbre invalide : " + nbFils + " fils annoncés pour "
+                        + (nbNoeuds - i - 1) + " noeuds restants");
+            }
+            final V valeur = this.lireValeur(codec);
+            final Arbre<V> noeud = nbFils == 0 ? new ArbreImpl<>(valeur)
+                    : new ArbreImpl<>(valeur, new ArrayList<>(nbFils));
+            if (racine == null) {
+                racine = noeud;
+            } else if (parents.isEmpty()) {
+                throw new IOException("Flux d'arbre invalide : noeud sans parent à la position "
+                        + i);
+            } else {
+                parents.sommet().getForet().add(noeud);
+                final int restants = nbFilsRestants.depiler() - 1;
+                if (restants == 0) {
+                    parents.depiler();
+                } else {
+                    nbFilsRestants.empiler(restants);
+                }
+            }
+            if (nbFils > 0) {
+                parents.empiler(noeud);
+                nbFilsRestants.empiler(nbFils);
+            }
+        }
+        if (!parents.isEmpty()) {
+            throw new IOException("Flux d'arbre invalide : fils manquants");
+        }
+        return racine;
+    }
+
+    /**
+     * Lit un arbre binaire de recherche écrit par
+     * {@link ArbreWriter#ecrireArbreBinaireRecherche(ArbreBinaireRecherche, CodecValeur)}. Les clés
+     * triées sont lues dans un tableau, qui devient sans copie celui d'un
+     * {@link ArbreBinaireRechercheTableau} de hauteur minimale dont les noeuds sont reliés en temps
+     * linéaire, sans recherche ni comparaison autre que la vérification de leur ordre.
+     *
+     * @param <K> Type des valeurs des noeud de l'ABR
+     * @param codec le codec des clés, de même taille fixe que celui de l'écriture
+     * @return l'arbre lu
+     * @throws EOFException si le canal se termine avant la fin de l'arbre
+     * @throws IOException si la lecture échoue ou si le flux n'est pas un ABR valide
+     */
+    public <K extends Comparable<K>> ArbreBinaireRechercheTableau<K> lireArbreBinaireRecherche(
+            CodecValeur<K> codec) throws IOException {
+        Objects.requireNonNull(codec);
+        final int nbNoeuds = this.lireEntete(ArbreWriter.TYPE_ARBRE_BINAIRE_RECHERCHE,
+                codec.getTailleFixe());
+        Object[] cles = new Object[Math.min(nbNoeuds, NB_CLES_ALLOUEES_MAX)];
+        K precedente = null;
+        for (int i = 0; i < nbNoeuds; i++) {
+            final K cle = this.lireValeur(codec);
+            verifierOrdre(precedente, cle, i);
+            if (i == cles.length) {
+                cles = agrandir(cles, i + 1, nbNoeuds);
+            }
+            cles[i] = cle;
+            precedente = cle;
+        }
+        return new ArbreBinaireRechercheTableau<>(cles, nbNoeuds);
+    }
+
+    /**
+     * Lit un arbre binaire de recherche écrit par
+     * {@link ArbreWriter#ecrireArbreBinaireRecherche(ArbreBinaireRecherche, CodecValeur)} avec le
+     * codec {@link CodecsValeurs#depuis(CodecCle)}, dans un {@link ArbreBinaireRechercheTableau} à
+     * clés codées par ce codec. Toutes les clés présentes dans le tampon sont traitées d'un bloc,
+     * à leur position absolue : le tampon n'est rempli et repositionné qu'une fois par bloc, et non
+     * pour chaque clé. Les clés ne sont pas décodées : leur ordre est vérifié par
+     * {@link CodecCle#comparer(ByteBuffer, int, ByteBuffer, int)} et leurs octets sont copiés
+     * dans leur noeud. Aucune clé n'est ainsi créée sous forme d'objet, et les noeuds, numérotés
+     * dans l'ordre infixe, ne sont pas déplacés.
+     *
+     * @param <K> Type des valeurs des noeud de l'ABR
+     * @param codec le codec des clés, de même taille que celui de l'écriture
+     * @return l'arbre lu
+     * @throws EOFException si le canal se termine avant la fin de l'arbre
+     * @throws IOException si la lecture échoue ou si le flux n'est pas un ABR valide
+     */
+    public <K extends Comparable<K>> ArbreBinaireRechercheTableau<K> lireArbreBinaireRecherche(
+            CodecCle<K> codec) throws IOException {
+        Objects.requireNonNull(codec);
+        final int taille = codec.getTaille();
+        final int nbNoeuds = this.lireEntete(ArbreWriter.TYPE_ARBRE_BINAIRE_RECHERCHE, taille);
+        if (nbNoeuds > ArbreBinaireRechercheTableau.getCapaciteMaximale(codec)) {
+            throw new IOException("ABR trop grand pour être chargé : " + nbNoeuds + " noeuds");
+        }
+        final int tailleNoeud = ArbreBinaireRechercheTableau.getTailleNoeud(codec);
+        int capacite = Math.min(nbNoeuds, NB_CLES_ALLOUEES_MAX);
+        ByteBuffer noeuds = ArbreBinaireRechercheTableau.allouerNoeuds(capacite, codec);
+        int i = 0;
+        while (i < nbNoeuds) {
+            this.assurer(taille);
+            final int fin = i + Math.min(nbNoeuds - i, this.tampon.remaining() / taille);
+            if (fin > capacite) {
+                capacite = (int) Math.min(nbNoeuds, Math.max(fin, 2L * capacite));
+                noeuds = agrandir(noeuds, capacite, codec);
+            }
+            int position = this.tampon.position();
+            int positionNoeud = i * tailleNoeud + ArbreBinaireRechercheTableau.POSITION_CLE;
+            for (; i < fin; i++) {
+                if (i > 0 && codec.comparer(noeuds, positionNoeud - tailleNoeud, this.tampon,
+                        position) >= 0) {
+                    throw new IOException("Flux d'ABR invalide : clés non triées ou en double à "
+                            + "la position " + i + " : "
+                            + codec.lire(noeuds, positionNoeud - tailleNoeud) + " puis "
+                            + codec.lire(this.tampon, position));
+                }
+                ArbreBinaireRechercheTableau.copierOctets(this.tampon, position, noeuds,
+                        positionNoeud, taille);
+                position += taille;
+                positionNoeud += tailleNoeud;
+            }
+            this.tampon.position(position);
+        }
+        return new ArbreBinaireRechercheTableau<>(noeuds, nbNoeuds, codec);
+    }
+
+    /**
+     * Ferme le canal.
+     *
+     * @throws IOException si la fermeture du canal échoue
+     */
+    @Override
+    public void close() throws IOException {
+        this.canal.close();
+    }
+
+    private int lireEntete(byte type, int tailleFixeCodec) throws IOException {
+        this.assurer(ArbreWriter.TAILLE_ENTETE);
+        if (this.tampon.getInt() != ArbreWriter.SIGNATURE) {
+            throw new IOException("Flux d'arbre invalide : signature inconnue");
+        }
+        final byte version = this.tampon.get();
+        if (version != ArbreWriter.VERSION) {
+            throw new IOException("Version de flux d'arbre non supportée : " + version);
+        }
+        final byte typeLu = this.tampon.get();
+        if (typeLu != type) {
+            throw new IOException(typeLu == ArbreWriter.TYPE_ARBRE
+                    ? "Le flux contient un arbre quelconque et non un ABR"
+                    : "Le flux contient un ABR et non un arbre quelconque");
+        }
+        final int tailleFixe = this.tampon.getInt();
+        if (tailleFixe != tailleFixeCodec) {
+            throw new IOException("Codec incompatible : taille fixe " + tailleFixeCodec
+                    + " au lieu de " + tailleFixe);
+        }
+        final int nbNoeuds = this.tampon.getInt();
+        if (nbNoeuds < 1) {
+            throw new IOException("Flux d'arbre invalide : " + nbNoeuds + " noeuds");
+        }
+        return nbNoeuds;
+    }
+
+    private static <K extends Comparable<K>> void verifierOrdre(K precedente, K cle, int position)
+            throws IOException {
+        if (cle == null) {
+            throw new IOException("Flux d'ABR invalide : clé nulle à la position " + position);
+        }
+        if (precedente != null && precedente.compareTo(cle) >= 0) {
+            throw new IOException("Flux d'ABR invalide : clés non triées ou en double à la "
+                    + "position " + position + " : " + precedente + " puis " + cle);
+        }
+    }
+
+    /**
+     * Agrandit le tableau des clés d'un ABR au moins au nombre de clés requis, en doublant sa
+     * taille sans dépasser le nombre de clés annoncé par l'en-tête.
+     */
+    private static Object[] agrandir(Object[] cles, int nbRequis, int nbNoeuds) {
+        return Arrays.copyOf(cles, (int) Math.min(nbNoeuds, Math.max(nbRequis, 2L * cles.length)));
+    }
+
+    /**
+     * Agrandit le tampon des noeuds d'un ABR à clés codées à la capacité indiquée.
+     */
+    private static ByteBuffer agrandir(ByteBuffer noeuds, int capacite, CodecCle<?> codec) {
+        final ByteBuffer agrandi = ArbreBinaireRechercheTableau.allouerNoeuds(capacite, codec);
+        noeuds.clear();
+        agrandi.put(noeuds).clear();
+        return agrandi;
+    }
+
+    private <V> V lireValeur(CodecValeur<V> codec) throws IOException {
+        final int tailleFixe = codec.getTailleFixe();
+        if (tailleFixe != CodecValeur.TAILLE_VARIABLE) {
+            this.assurer(tailleFixe);
+            final int debut = this.tampon.position();
+            final V valeur = codec.lire(this.tampon, tailleFixe);
+            this.tampon.position(debut + tailleFixe);
+            return valeur;
+        }
+        final int taille = this.lireEntier();
+        this.assurer(taille);
+        final int debut = this.tampon.position();
+        final int limite = this.tampon.limit();
+        this.tampon.limit(debut + taille);
+        final V valeur = codec.lire(this.tampon, taille);
+        this.tampon.limit(limite).position(debut + taille);
+        return valeur;
+    }
+
+    /**
+     * Lit un entier écrit sur 1 à 5 octets par {@link ArbreWriter}. Le cinquième octet ne porte que
+     * les 4 bits de poids fort : un entier qui en déborde ou qui est négatif est rejeté.
+     */
+    private int lireEntier() throws IOException {
+        int entier = 0;
+        for (int decalage = 0; decalage < 35; decalage += 7) {
+            if (!this.tampon.hasRemaining()) {
+                this.assurer(1);
+            }
+            final byte octet = this.tampon.get();
+            if (decalage == 28 && (octet & 0x70) != 0) {
+                break;
+            }
+            entier |= (octet & 0x7F) << decalage;
+            if (octet >= 0) {
+                if (entier < 0) {
+                    break;
+                }
+                return entier;
+            }
+        }
+        throw new IOException("Flux d'arbre invalide : entier mal codé");
+    }
+
+    /**
+     * Garantit que le tampon contient au moins le nombre d'octets indiqué non encore lus, en
+     * lisant le canal.
+     */
+    private void assurer(int nbOctets) throws IOException {
+        if (this.tampon.remaining() >= nbOctets) {
+            return;
+        }
+        if (this.tampon.capacity() < nbOctets) {
+            final ByteBuffer agrandi = ByteBuffer.allocate(nbOctets).order(ByteOrder.LITTLE_ENDIAN);
+            agrandi.put(this.tampon);
+            this.tampon = agrandi;
+        } else {
+            this.tampon.compact();
+        }
+        while (this.tampon.position() < nbOctets) {
+            if (this.canal.read(this.tampon) < 0) {
+                this.tampon.flip();
+                throw new EOFException("Flux d'arbre tronqué");
+            }
+        }
+        this.tampon.flip();
+    }
+}
@@ -0,0 +1,646 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import despetitsarbres.exceptions.InsertionImpossibleException;
+import despetitsarbres.exceptions.SuppressionImpossibleException;
+import despetitsarbres.exceptions.ValeurNonTrouveeException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Arbre binaire de recherche rouge-noir penchant à gauche (Sedgewick). La hauteur reste
+ * inférieure à 2.log2(n + 1) quel que soit l'ordre d'insertion.
+ *
+ * <p>
+ * Les rotations échangent les clés entre noeuds plutôt que de remplacer le noeud racine : l'objet
+ * racine reste ainsi la racine de l'arbre après chaque modification. En contrepartie, un
+ * sous-arbre obtenu par {@link #getSag()}, {@link #getSad()} ou
+ * {@link #rechercherSousArbre(Comparable)} ne reste valide que jusqu'à la modification suivante.
+ * Seule la racine peut être modifiée : ajouter ou retirer une clé d'un sous-arbre romprait
+ * l'équilibre de l'arbre entier.
+ * </p>
+ *
+ * @author Rémi Venant
+ * @param <K> Type des valeurs des noeud de l'ABR (les valeurs doivent être comparable entre elles).
+ */
+public class ArbreRougeNoir<K extends Comparable<K>> extends AbstractArbreBinaireRecherche<K> {
+
+    private K racine;
+
+    private ArbreRougeNoir<K> sag;
+
+    private ArbreRougeNoir<K> sad;
+
+    private boolean rouge;
+
+    private final boolean estRacine;
+
+    private int nbNoeuds;
+
+    /**
+     * Crée un ABR rouge-noir réduit à une feuille.
+     *
+     * @param racine la valeur de la racine
+     * @throws NullPointerException si la racine est nulle
+     */
+    public ArbreRougeNoir(K racine) {
+        this.racine = Objects.requireNonNull(racine, "La racine d'un ABR ne peut être nulle");
+        this.rouge = false;
+        this.estRacine = true;
+        this.nbNoeuds = 1;
+    }
+
+    private ArbreRougeNoir(K racine, boolean rouge) {
+        this.racine = racine;
+        this.rouge = rouge;
+        this.estRacine = false;
+    }
+
+    @Override
+    public K getRacine() {
+        return this.racine;
+    }
+
+    @Override
+    public ArbreRougeNoir<K> getSag() {
+        return this.sag;
+    }
+
+    @Override
+    public ArbreRougeNoir<K> getSad() {
+        return this.sad;
+    }
+
+    /**
+     * Fournit le nombre de noeuds de l'arbre, conservé par la racine de l'arbre : le calcul n'est
+     * en temps constant que pour celle-ci. Les séparateurs de l'arbre, qui pèsent ses sous-arbres,
+     * ne s'appuient donc pas sur ce nombre.
+     *
+     * @return le nombre de noeuds
+     */
+    @Override
+    public int getNbNoeuds() {
+        return this.estRacine ? this.nbNoeuds : super.getNbNoeuds();
+    }
+
+    /**
+     * Indique si le noeud racine de cet arbre est rouge.
+     *
+     * @return vrai si le noeud est rouge, faux s'il est noir
+     */
+    boolean isRouge() {
+        return this.rouge;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws UnsupportedOperationException si l'arbre est un sous-arbre
+     */
+    @Override
+    public ArbreRougeNoir<K> ajouter(K cle) throws InsertionImpossibleException {
+        verifierAjout(this.tenterAjouter(cle));
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws UnsupportedOperationException si l'arbre est un sous-arbre
+     */
+    @Override
+    public StatutModification tenterAjouter(K cle) {
+        this.verifierRacine();
+        if (cle == null) {
+            return StatutModification.CLE_NULLE;
+        }
+        final int nbNoeudsAvant = this.nbNoeuds;
+        inserer(this, this, cle);
+        this.rouge = false;
+        return this.nbNoeuds > nbNoeudsAvant ? StatutModification.EFFECTUEE
+                : StatutModification.DEJA_PRESENTE;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws UnsupportedOperationException si l'arbre est un sous-arbre
+     */
+    @Override
+    public ArbreRougeNoir<K> retirer(K cle) throws ValeurNonTrouveeException,
+            SuppressionImpossibleException {
+        verifierRetrait(this.tenterRetirer(cle), cle);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws UnsupportedOperationException si l'arbre est un sous-arbre
+     */
+    @Override
+    public StatutModification tenterRetirer(K cle) {
+        this.verifierRacine();
+        if (cle == null) {
+            return StatutModification.CLE_NULLE;
+        }
+        if (this.isFeuille()) {
+            return cle.compareTo(this.racine) == 0 ? StatutModification.DERNIERE_CLE
+                    : StatutModification.ABSENTE;
+        }
+        if (!estRouge(this.sag) && !estRouge(this.sad)) {
+            this.rouge = true;
+        }
+        final int nbNoeudsAvant = this.nbNoeuds;
+        supprimer(this, this, cle);
+        this.rouge = false;
+        return this.nbNoeuds < nbNoeudsAvant ? StatutModification.EFFECTUEE
+                : StatutModification.ABSENTE;
+    }
+
+    /**
+     * Ajoute un lot de clés dans l'arbre. Lorsque le lot est grand devant l'arbre, ses clés sont
+     * fusionnées en un seul passage avec celles de l'arbre, parcourues dans l'ordre infixe, puis
+     * l'arbre est reconstruit, sans rotation ni changement de couleur. Sinon, le lot trié est
+     * réparti dans l'arbre en une seule descente : chaque noeud visité partage sa partie du lot
+     * entre ses deux sous-arbres, puis est rééquilibré une seule fois, en étant joint à ses
+     * sous-arbres mis à jour selon leurs hauteurs noires. Une partie du lot qui atteint un
+     * sous-arbre vide y forme un sous-arbre construit directement.
+     *
+     * @param cles les clés à ajouter
+     * @return les clés rejetées : clés nulles, déjà présentes dans l'arbre ou en double dans le lot
+     * @throws NullPointerException si la collection est nulle
+     * @throws UnsupportedOperationException si l'arbre est un sous-arbre
+     */
+    @Override
+    public List<K> ajouterTous(Collection<K> cles) {
+        this.verifierRacine();
+        final List<K> rejetees = new ArrayList<>();
+        final List<K> lot = ArbresBinairesRecherche.trierLot(cles, rejetees);
+        if (ArbresBinairesRecherche.isFusionPreferable(lot.size(), this.nbNoeuds)) {
+            this.reconstruire(ArbresBinairesRecherche.fusionner(
+                    ArbresBinairesRecherche.clesInfixe(this, this.nbNoeuds), lot, rejetees));
+        } else if (!lot.isEmpty()) {
+            final int nbRejetees = rejetees.size();
+            final int nbNoeuds = this.nbNoeuds + lot.size();
+            this.remplacerPar(insererLot(this.copierRacine(), lot.toArray(), 0, lot.size(),
+                    rejetees));
+            this.nbNoeuds = nbNoeuds - (rejetees.size() - nbRejetees);
+        }
+        return rejetees;
+    }
+
+    /**
+     * Retire un lot de clés de l'arbre. Lorsque le lot est grand devant l'arbre, les clés de
+     * l'arbre, parcourues dans l'ordre infixe, sont filtrées en un seul passage par le lot, puis
+     * l'arbre est reconstruit, sans rotation ni changement de couleur. Sinon, le lot trié est
+     * réparti dans l'arbre en une seule descente, comme pour {@link #ajouterTous(Collection)} :
+     * un noeud à retirer est remplacé par la jonction de ses deux sous-arbres mis à jour.
+     *
+     * @param cles les clés à retirer
+     * @return les clés rejetées : clés nulles, absentes de l'arbre, en double dans le lot, ou clé
+     * qui aurait vidé l'arbre
+     * @throws NullPointerException si la collection est nulle
+     * @throws UnsupportedOperationException si l'arbre est un sous-arbre
+     */
+    @Override
+    public List<K> retirerTous(Collection<K> cles) {
+        this.verifierRacine();
+        final List<K> rejetees = new ArrayList<>();
+        List<K> lot = ArbresBinairesRecherche.trierLot(cles, rejetees);
+        if (ArbresBinairesRecherche.isFusionPreferable(lot.size(), this.nbNoeuds)) {
+            this.reconstruire(ArbresBinairesRecherche.filtrer(
+                    ArbresBinairesRecherche.clesInfixe(this, this.nbNoeuds), lot, rejetees));
+            return rejetees;
+        }
+        // La plus grande clé de l'arbre est retirée en dernier : elle est conservée si le lot
+        // contient toutes les clés
+        final K max = this.getMax();
+        final boolean avecMax = !lot.isEmpty() && lot.get(lot.size() - 1).compareTo(max) == 0;
+        if (avecMax) {
+            lot = lot.subList(0, lot.size() - 1);
+        }
+        if (!lot.isEmpty()) {
+            final int nbRejetees = rejetees.size();
+            final int nbNoeuds = this.nbNoeuds - lot.size();
+            this.remplacerPar(retirerLot(this, this.copierRacine(), lot.toArray(), 0,
+                    lot.size(), rejetees));
+            this.nbNoeuds = nbNoeuds + (rejetees.size() - nbRejetees);
+        }
+        if (avecMax && !this.tenterRetirer(max).isEffectuee()) {
+            rejetees.add(max);
+        }
+        return rejetees;
+    }
+
+    private void verifierRacine() {
+        if (!this.estRacine) {
+            throw new UnsupportedOperationException(
+                    "Seule la racine d'un arbre rouge-noir peut être modifiée");
+        }
+    }
+
+    private static boolean estRouge(ArbreRougeNoir<?> noeud) {
+        return noeud != null && noeud.rouge;
+    }
+
+    /**
+     * Insère la clé dans le sous-arbre. Le nombre de noeuds de l'arbre n'augmente que si la clé
+     * était absente.
+     *
+     * @return le noeud, ou le nouveau noeud si le sous-arbre était vide
+     */
+    private static <K extends Comparable<K>> ArbreRougeNoir<K> inserer(ArbreRougeNoir<K> arbre,
+            ArbreRougeNoir<K> noeud, K cle) {
+        if (noeud == null) {
+            arbre.nbNoeuds++;
+            return new ArbreRougeNoir<>(cle, true);
+        }
+        final int cmp = cle.compareTo(noeud.racine);
+        if (cmp < 0) {
+            noeud.sag = inserer(arbre, noeud.sag, cle);
+        } else if (cmp > 0) {
+            noeud.sad = inserer(arbre, noeud.sad, cle);
+        }
+        return noeud.equilibrer();
+    }
+
+    /**
+     * Supprime la clé du sous-arbre. Le nombre de noeuds de l'arbre ne diminue que si la clé
+     * était présente ; sinon, les noeuds rouges descendus le long du chemin sont remontés par
+     * {@link #equilibrer()}.
+     *
+     * @return le noeud, ou null si le noeud lui-même a été supprimé
+     */
+    private static <K extends Comparable<K>> ArbreRougeNoir<K> supprimer(ArbreRougeNoir<K> arbre,
+            ArbreRougeNoir<K> noeud, K cle) {
+        if (cle.compareTo(noeud.racine) < 0) {
+            if (noeud.sag == null) {
+                return noeud;
+            }
+            if (!estRouge(noeud.sag) && !estRouge(noeud.sag.sag)) {
+                noeud.deplacerRougeGauche();
+            }
+            noeud.sag = supprimer(arbre, noeud.sag, cle);
+        } else {
+            if (estRouge(noeud.sag)) {
+                noeud.rotationDroite();
+            }
+            if (noeud.sad == null) {
+                if (cle.compareTo(noeud.racine) != 0) {
+                    return noeud.equilibrer();
+                }
+                arbre.nbNoeuds--;
+                return null;
+            }
+            if (!estRouge(noeud.sad) && !estRouge(noeud.sad.sag)) {
+                noeud.deplacerRougeDroite();
+            }
+            if (cle.compareTo(noeud.racine) == 0) {
+                noeud.racine = noeud.sad.getMin();
+                noeud.sad = supprimerMin(arbre, noeud.sad);
+            } else {
+                noeud.sad = supprimer(arbre, noeud.sad, cle);
+            }
+        }
+        return noeud.equilibrer();
+    }
+
+    private static <K extends Comparable<K>> ArbreRougeNoir<K> supprimerMin(
+            ArbreRougeNoir<K> arbre, ArbreRougeNoir<K> noeud) {
+        if (noeud.sag == null) {
+            arbre.nbNoeuds--;
+            return null;
+        }
+        if (!estRouge(noeud.sag) && !estRouge(noeud.sag.sag)) {
+            noeud.deplacerRougeGauche();
+        }
+        noeud.sag = supprimerMin(arbre, noeud.sag);
+        return noeud.equilibrer();
+    }
+
+    /**
+     * Copie la racine de l'arbre dans un nouveau noeud. Les jonctions d'un lot peuvent déplacer
+     * le noeud d'une clé dans l'arbre : c'est cette copie qui est traitée, et non la racine.
+     */
+    private ArbreRougeNoir<K> copierRacine() {
+        final ArbreRougeNoir<K> copie = new ArbreRougeNoir<>(this.racine, false);
+        copie.sag = this.sag;
+        copie.sad = this.sad;
+        return copie;
+    }
+
+    private void remplacerPar(ArbreRougeNoir<K> noeud) {
+        this.racine = noeud.racine;
+        this.sag = noeud.sag;
+        this.sad = noeud.sad;
+        this.rouge = false;
+    }
+
+    /**
+     * Insère dans le sous-arbre les clés [debut, fin) du lot, triées, qui sont partagées entre
+     * les deux sous-arbres du noeud. Les clés déjà présentes sont rejetées dans l'ordre croissant.
+     *
+     * @return la racine, noire, du sous-arbre mis à jour
+     */
+    private static <K extends Comparable<K>> ArbreRougeNoir<K> insererLot(
+            ArbreRougeNoir<K> noeud, Object[] lot, int debut, int fin, List<K> rejetees) {
+        int place = ArbresBinairesRecherche.rechercherPlace(lot, debut, fin, noeud.racine);
+        ArbreRougeNoir<K> gauche = noeud.sag;
+        if (debut < place) {
+            gauche = gauche == null ? construireLot(lot, debut, place)
+                    : insererLot(gauche, lot, debut, place, rejetees);
+        }
+        if (place < fin && noeud.racine.compareTo(cleLot(lot, place)) == 0) {
+            rejetees.add(noeud.racine);
+            place++;
+        }
+        ArbreRougeNoir<K> droit = noeud.sad;
+        if (place < fin) {
+            droit = droit == null ? construireLot(lot, place, fin)
+                    : insererLot(droit, lot, place, fin, rejetees);
+        }
+        return joindre(gauche, noeud, droit);
+    }
+
+    /**
+     * Retire du sous-arbre les clés [debut, fin) du lot, triées, qui sont partagées entre les
+     * deux sous-arbres du noeud. Les clés absentes sont rejetées dans l'ordre croissant. Si la
+     * clé du noeud est retirée, le noeud prend la plus petite clé de son sous-arbre droit mis à
+     * jour, puis joint les deux sous-arbres.
+     *
+     * @return la racine, noire, du sous-arbre mis à jour, ou null s'il ne reste aucune clé
+     */
+    private static <K extends Comparable<K>> ArbreRougeNoir<K> retirerLot(ArbreRougeNoir<K> arbre,
+            ArbreRougeNoir<K> noeud, Object[] lot, int debut, int fin, List<K> rejetees) {
+        int place = ArbresBinairesRecherche.rechercherPlace(lot, debut, fin, noeud.racine);
+        ArbreRougeNoir<K> gauche = noeud.sag;
+        if (debut < place) {
+            gauche = gauche == null ? rejeterLot(lot, debut, place, rejetees)
+                    : retirerLot(arbre, gauche, lot, debut, place, rejetees);
+        }
+        final boolean retiree = place < fin && noeud.racine.compareTo(cleLot(lot, place)) == 0;
+        if (retiree) {
+            place++;
+        }
+        ArbreRougeNoir<K> droit = noeud.sad;
+        if (place < fin) {
+            droit = droit == null ? rejeterLot(lot, place, fin, rejetees)
+                    : retirerLot(arbre, droit, lot, place, fin, rejetees);
+        }
+        if (!retiree) {
+            return joindre(gauche, noeud, droit);
+        } else if (droit == null) {
+            return noircir(gauche);
+        }
+        noeud.racine = droit.getMin();
+        // Retrait du minimum d'un arbre rouge-noir autonome : sa racine est d'abord rougie si
+        // aucun de ses fils n'est rouge
+        droit.rouge = !estRouge(droit.sag) && !estRouge(droit.sad);
+        return joindre(gauche, noeud, supprimerMin(arbre, droit));
+    }
+
+    /**
+     * Rejette les clés [debut, fin) du lot, qui ont atteint un sous-arbre vide.
+     *
+     * @return null, le sous-arbre vide
+     */
+    private static <K extends Comparable<K>> ArbreRougeNoir<K> rejeterLot(Object[] lot,
+            int debut, int fin, List<K> rejetees) {
+        for (int i = debut; i < fin; i++) {
+            rejetees.add(cleLot(lot, i));
+        }
+        return null;
+    }
+
+    private static <K extends Comparable<K>> ArbreRougeNoir<K> construireLot(Object[] lot,
+            int debut, int fin) {
+        return construireFils(lot, debut, fin,
+                31 - Integer.numberOfLeadingZeros(fin - debut + 1));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K extends Comparable<K>> K cleLot(Object[] lot, int indice) {
+        return (K) lot[indice];
+    }
+
+    private static <K extends Comparable<K>> ArbreRougeNoir<K> noircir(ArbreRougeNoir<K> noeud) {
+        if (noeud != null) {
+            noeud.rouge = false;
+        }
+        return noeud;
+    }
+
+    /**
+     * Calcule la hauteur noire d'un sous-arbre, en descendant le long de son bord gauche.
+     */
+    private static int hauteurNoire(ArbreRougeNoir<?> noeud) {
+        int hauteur = 0;
+        for (; noeud != null; noeud = noeud.sag) {
+            if (!noeud.rouge) {
+                hauteur++;
+            }
+        }
+        return hauteur;
+    }
+
+    /**
+     * Joint deux arbres rouge-noir autonomes par un noeud dont la clé est supérieure à celles du
+     * premier et inférieure à celles du second. Le plus haut des deux arbres, en hauteur noire,
+     * est descendu le long de son bord intérieur jusqu'à un noeud noir de même hauteur noire que
+     * l'autre, que le noeud remplace, rouge, en prenant les deux pour sous-arbres ; les noeuds
+     * remontés sont rééquilibrés comme après une insertion. Le coût est proportionnel à la
+     * hauteur des arbres.
+     *
+     * @return la racine, noire, de l'arbre joint
+     */
+    private static <K extends Comparable<K>> ArbreRougeNoir<K> joindre(ArbreRougeNoir<K> gauche,
+            ArbreRougeNoir<K> noeud, ArbreRougeNoir<K> droit) {
+        final int hauteurGauche = hauteurNoire(noircir(gauche));
+        final int hauteurDroit = hauteurNoire(noircir(droit));
+        if (hauteurGauche > hauteurDroit) {
+            return noircir(joindreDroite(gauche, hauteurGauche, noeud, droit, hauteurDroit));
+        } else if (hauteurDroit > hauteurGauche) {
+            return noircir(joindreGauche(gauche, hauteurGauche, noeud, droit, hauteurDroit));
+        }
+        noeud.sag = gauche;
+        noeud.sad = droit;
+        noeud.rouge = false;
+        return noeud;
+    }
+
+    /**
+     * Descend le bord droit du sous-arbre gauche, dont les noeuds sont tous noirs, jusqu'à la
+     * hauteur noire du sous-arbre droit.
+     */
+    private static <K extends Comparable<K>> ArbreRougeNoir<K> joindreDroite(
+            ArbreRougeNoir<K> gauche, int hauteurGauche, ArbreRougeNoir<K> noeud,
+            ArbreRougeNoir<K> droit, int hauteurDroit) {
+        if (hauteurGauche == hauteurDroit) {
+            noeud.sag = gauche;
+            noeud.sad = droit;
+            noeud.rouge = true;
+            return noeud;
+        }
+        gauche.sad = joindreDroite(gauche.sad, hauteurGauche - 1, noeud, droit, hauteurDroit);
+        return gauche.equilibrer();
+    }
+
+    /**
+     * Descend le bord gauche du sous-arbre droit, en traversant ses noeuds rouges, jusqu'à un
+     * noeud noir de la hauteur noire du sous-arbre gauche.
+     */
+    private static <K extends Comparable<K>> ArbreRougeNoir<K> joindreGauche(
+            ArbreRougeNoir<K> gauche, int hauteurGauche, ArbreRougeNoir<K> noeud,
+            ArbreRougeNoir<K> droit, int hauteurDroit) {
+        if (hauteurDroit == hauteurGauche && !estRouge(droit)) {
+            noeud.sag = gauche;
+            noeud.sad = droit;
+            noeud.rouge = true;
+            return noeud;
+        }
+        droit.sag = joindreGauche(gauche, hauteurGauche, noeud, droit.sag,
+                droit.rouge ? hauteurDroit : hauteurDroit - 1);
+        return droit.equilibrer();
+    }
+
+    /**
+     * Remplace les noeuds de l'arbre par un arbre 2-3 portant les clés, triées, codé en
+     * rouge-noir penchant à gauche. La hauteur noire retenue est la plus grande possible pour ce
+     * nombre de clés : chaque niveau de 2-noeuds est complet, et les clés en surplus forment des
+     * 3-noeuds, dont le noeud rouge est le fils gauche.
+     */
+    private void reconstruire(Object[] cles) {
+        this.construire(cles, 0, cles.length, 31 - Integer.numberOfLeadingZeros(cles.length + 1));
+        this.rouge = false;
+        this.nbNoeuds = cles.length;
+    }
+
+    /**
+     * Construit sur ce noeud, noir, un sous-arbre de hauteur noire donnée portant les clés
+     * [debut, fin). Un sous-arbre de hauteur noire h contient entre 2^h - 1 et 3^h - 1 clés ; le
+     * noeud est un 2-noeud si ses deux sous-arbres peuvent se partager les clés restantes, un
+     * 3-noeud sinon.
+     */
+    @SuppressWarnings("unchecked")
+    private void construire(Object[] cles, int debut, int fin, int hauteurNoire) {
+        long maxFils = 1;
+        for (int i = 1; i < hauteurNoire; i++) {
+            maxFils *= 3;
+        }
+        maxFils--;
+        final int nbCles = fin - debut;
+        if (nbCles - 1 <= 2 * maxFils) {
+            final int milieu = debut + (nbCles - 1) / 2;
+            this.racine = (K) cles[milieu];
+            this.sag = construireFils(cles, debut, milieu, hauteurNoire - 1);
+            this.sad = construireFils(cles, milieu + 1, fin, hauteurNoire - 1);
+        } else {
+            final int tiers = (nbCles - 2) / 3;
+            final int premiere = debut + tiers;
+            final int seconde = premiere + 1 + (nbCles - 2 - tiers) / 2;
+            final ArbreRougeNoir<K> fils = new ArbreRougeNoir<>((K) cles[premiere], true);
+            fils.sag = construireFils(cles, debut, premiere, hauteurNoire - 1);
+            fils.sad = construireFils(cles, premiere + 1, seconde, hauteurNoire - 1);
+            this.racine = (K) cles[seconde];
+            this.sag = fils;
+            this.sad = construireFils(cles, seconde + 1, fin, hauteurNoire - 1);
+        }
+    }
+
+    private static <K extends Comparable<K>> ArbreRougeNoir<K> construireFils(Object[] cles,
+            int debut, int fin, int hauteurNoire) {
+        if (debut == fin) {
+            return null;
+        }
+        final ArbreRougeNoir<K> fils = new ArbreRougeNoir<>(null, false);
+        fils.construire(cles, debut, fin, hauteurNoire);
+        return fils;
+    }
+
+    private ArbreRougeNoir<K> equilibrer() {
+        if (estRouge(this.sad) && !estRouge(this.sag)) {
+            this.rotationGauche();
+        }
+        if (estRouge(this.sag) && estRouge(this.sag.sag)) {
+            this.rotationDroite();
+        }
+        if (estRouge(this.sag) && estRouge(this.sad)) {
+            this.inverserCouleurs();
+        }
+        return this;
+    }
+
+    /**
+     * Rotation gauche sur place : ce noeud prend la clé de son fils droit, qui devient son fils
+     * gauche avec l'ancienne clé. La couleur de ce noeud est conservée, le fils devient rouge.
+     */
+    private void rotationGauche() {
+        final ArbreRougeNoir<K> fils = this.sad;
+        final K cle = this.racine;
+        this.racine = fils.racine;
+        fils.racine = cle;
+        this.sad = fils.sad;
+        fils.sad = fils.sag;
+        fils.sag = this.sag;
+        this.sag = fils;
+        fils.rouge = true;
+    }
+
+    /**
+     * Rotation droite sur place, symétrique de {@link #rotationGauche()}.
+     */
+    private void rotationDroite() {
+        final ArbreRougeNoir<K> fils = this.sag;
+        final K cle = this.racine;
+        this.racine = fils.racine;
+        fils.racine = cle;
+        this.sag = fils.sag;
+        fils.sag = fils.sad;
+        fils.sad = this.sad;
+        this.sad = fils;
+        fils.rouge = true;
+    }
+
+    private void inverserCouleurs() {
+        this.rouge = !this.rouge;
+        this.sag.rouge = !this.sag.rouge;
+        this.sad.rouge = !this.sad.rouge;
+    }
+
+    private void deplacerRougeGauche() {
+        this.inverserCouleurs();
+        if (estRouge(this.sad.sag)) {
+            this.sad.rotationDroite();
+            this.rotationGauche();
+            this.inverserCouleurs();
+        }
+    }
+
+    private void deplacerRougeDroite() {
+        this.inverserCouleurs();
+        if (estRouge(this.sag.sag)) {
+            this.rotationDroite();
+            this.inverserCouleurs();
+        }
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Objects;
+
+/**
+ * Écriture d'arbres dans un canal, au format binaire lu par {@link ArbreReader}. Plusieurs arbres
+ * peuvent être écrits à la suite dans le même canal ; chaque arbre est entièrement transmis au
+ * canal à la fin de son écriture.
+ *
+ * <p>
+ * Chaque arbre commence par un en-tête de {@value #TAILLE_ENTETE} octets : signature, version,
+ * type d'arbre, taille fixe des valeurs ({@link CodecValeur#TAILLE_VARIABLE} pour un codec de
+ * taille variable) et nombre de noeuds. Suivent les noeuds :
+ * </p>
+ * <ul>
+ * <li>pour un arbre quelconque, dans l'ordre préfixe, chacun précédé de son nombre de fils ;</li>
+ * <li>pour un ABR, les seules clés dans l'ordre croissant, afin que la lecture construise l'arbre
+ * en temps linéaire sans aucune comparaison de recherche.</li>
+ * </ul>
+ * <p>
+ * Les entiers de l'en-tête sont en petit-boutiste ; les nombres de fils et les tailles des valeurs
+ * de taille variable sont codés sur 1 à 5 octets, 7 bits par octet.
+ * </p>
+ *
+ * @author Rémi Venant
+ * @see ArbreReader
+ */
+public final class ArbreWriter implements Closeable {
+
+    /**
+     * Taille de l'en-tête de chaque arbre, en octets.
+     */
+    public static final int TAILLE_ENTETE = 14;
+
+    /**
+     * Taille par défaut du tampon d'écriture, en octets.
+     */
+    public static final int TAILLE_TAMPON_PAR_DEFAUT = 64 * 1024;
+
+    static final int SIGNATURE = 0x44504153;
+
+    static final byte VERSION = 1;
+
+    static final byte TYPE_ARBRE = 0;
+
+    static final byte TYPE_ARBRE_BINAIRE_RECHERCHE = 1;
+
+    private final WritableByteChannel canal;
+
+    private ByteBuffer tampon;
+
+    /**
+     * Crée un écrivain muni d'un tampon de taille par défaut.
+     *
+     * @param canal le canal de destination
+     * @throws NullPointerException si le canal est nul
+     */
+    public ArbreWriter(WritableByteChannel canal) {
+        this(canal, TAILLE_TAMPON_PAR_DEFAUT);
+    }
+
+    /**
+     * Crée un écrivain. Le tampon est agrandi si une valeur codée ne peut y tenir.
+     *
+     * @param canal le canal de destination
+     * @param tailleTampon la taille du tampon d'écriture, en octets
+     * @throws NullPointerException si le canal est nul
+     * @throws IllegalArgumentException si le tampon ne peut contenir un en-tête
+     */
+    public ArbreWriter(WritableByteChannel canal, int tailleTampon) {
+        this.canal = Objects.requireNonNull(canal);
+        if (tailleTampon < TAILLE_ENTETE) {
+            throw new IllegalArgumentException("Le tampon doit contenir au moins " + TAILLE_ENTETE
+                    + " octets");
+        }
+        this.tampon = ByteBuffer.allocate(tailleTampon).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Écrit un arbre quelconque : ses noeuds sont écrits dans l'ordre préfixe, chacun précédé de
+     * son nombre de fils. Les noeuds sont écrits au fil du parcours, sans copie de l'arbre ; seul
+     * un {@link ArbreBinaireRechercheConcurrent} est d'abord gelé sous verrou de lecture, afin que
+     * le nombre de noeuds de l'en-tête et les noeuds écrits proviennent du même état.
+     *
+     * @param <V> type de valeurs stockées dans l'arbre
+     * @param arbre l'arbre
+     * @param codec le codec des valeurs
+     * @throws IOException si l'écriture dans le canal échoue
+     */
+    public <V> void ecrireArbre(Arbre<V> arbre, CodecValeur<? super V> codec) throws IOException {
+        Objects.requireNonNull(arbre);
+        Objects.requireNonNull(codec);
+        final Arbre<V> source = arbre instanceof ArbreBinaireRechercheConcurrent
+                ? arbre.geler() : arbre;
+        this.ecrireEntete(TYPE_ARBRE, codec, source.getNbNoeuds());
+        final PileObjets<Arbre<V>> pile = new PileObjets<>();
+        pile.empiler(source);
+        while (!pile.isEmpty()) {
+            final Arbre<V> courant = pile.depiler();
+            final List<Arbre<V>> foret = courant.getForet();
+            this.ecrireEntier(foret.size());
+            this.ecrireValeur(courant.getRacine(), codec);
+            for (ListIterator<Arbre<V>> it = foret.listIterator(foret.size()); it.hasPrevious();) {
+                pile.empiler(it.previous());
+            }
+        }
+        this.vider();
+    }
+
+    /**
+     * Écrit un arbre binaire de recherche : seules ses clés sont écrites, dans l'ordre croissant,
+     * au fil d'un parcours infixe et sans copie. Un {@link ArbreBinaireRechercheConcurrent}
+     * fournit lui-même l'instantané de ses clés, pris sous verrou de lecture, afin que le nombre
+     * de noeuds de l'en-tête et les clés écrites proviennent du même état.
+     *
+     * @param <K> Type des valeurs des noeud de l'ABR
+     * @param arbre l'arbre
+     * @param codec le codec des clés
+     * @throws IOException si l'écriture dans le canal échoue
+     */
+    public <K extends Comparable<K>> void ecrireArbreBinaireRecherche(
+            ArbreBinaireRecherche<K> arbre, CodecValeur<? super K> codec) throws IOException {
+        Objects.requireNonNull(arbre);
+        Objects.requireNonNull(codec);
+        final int nbNoeuds;
+        final Iterator<K> cles;
+        if (arbre instanceof ArbreBinaireRechercheConcurrent) {
+            final List<K> instantane
+                    = ((ArbreBinaireRechercheConcurrent<K>) arbre).instantaneInfixe();
+            nbNoeuds = instantane.size();
+            cles = instantane.iterator();
+        } else {
+            nbNoeuds = arbre.getNbNoeuds();
+            cles = arbre.iterateurParcoursInfixe();
+        }
+        this.ecrireEntete(TYPE_ARBRE_BINAIRE_RECHERCHE, codec, nbNoeuds);
+        while (cles.hasNext()) {
+            this.ecrireValeur(cles.next(), codec);
+        }
+        this.vider();
+    }
+
+    /**
+     * Transmet au canal les octets restant dans le tampon, puis ferme le canal.
+     *
+     * @throws IOException si l'écriture ou la fermeture du canal échoue
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            this.vider();
+        } finally {
+            this.canal.close();
+        }
+    }
+
+    private void ecrireEntete(byte type, CodecValeur<?> codec, int nbNoeuds) throws IOException {
+        this.reserver(TAILLE_ENTETE);
+        this.tampon.putInt(SIGNATURE).put(VERSION).put(type).putInt(codec.getTailleFixe())
+                .putInt(nbNoeuds);
+    }
+
+    private <V> void ecrireValeur(V valeur, CodecValeur<? super V> codec) throws IOException {
+        final int taille = codec.getTaille(valeur);
+        if (codec.getTailleFixe() == CodecValeur.TAILLE_VARIABLE) {
+            this.ecrireEntier(taille);
+        }
+        this.reserver(taille);
+        final int debut = this.tampon.position();
+        codec.ecrire(this.tampon, valeur);
+        if (this.tampon.position() != debut + taille) {
+            throw new IllegalStateException("Le codec a écrit " + (this.tampon.position() - debut)
+                    + " octets au lieu des " + taille + " annoncés");
+        }
+    }
+
+    /**
+     * Écrit un entier positif ou nul sur 1 à 5 octets, 7 bits par octet en commençant par les
+     * bits de poids faible ; le bit de poids fort de chaque octet indique si un octet suit.
+     */
+    private void ecrireEntier(int entier) throws IOException {
+        this.reserver(5);
+        int reste = entier;
+        while ((reste & ~0x7F) != 0) {
+            this.tampon.put((byte) ((reste & 0x7F) | 0x80));
+            reste >>>= 7;
+        }
+        this.tampon.put((byte) reste);
+    }
+
+    private void reserver(int nbOctets) throws IOException {
+        if (this.tampon.remaining() < nbOctets) {
+            this.vider();
+            if (this.tampon.capacity() < nbOctets) {
+                this.tampon = ByteBuffer.allocate(nbOctets).order(ByteOrder.LITTLE_ENDIAN);
+            }
+        }
+    }
+
+    private void vider() throws IOException {
+        this.tampon.flip();
+        while (this.tampon.hasRemaining()) {
+            this.canal.write(this.tampon);
+        }
+        this.tampon.clear();
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Méthodes utilitaires de construction d'arbres binaires de recherche.
+ *
+ * @author Rémi Venant
+ */
+public final class ArbresBinairesRecherche {
+
+    private static final int TAILLE_ESTIMEE_PAR_DEFAUT = 16;
+
+    /**
+     * Un lot est fusionné avec l'arbre plutôt que réparti dans celui-ci lorsque sa taille
+     * multipliée par ce facteur atteint le nombre de noeuds.
+     */
+    private static final int FACTEUR_FUSION = 8;
+
+    /**
+     * Construit en temps linéaire un ABR de hauteur minimale à partir de clés fournies dans
+     * l'ordre strictement croissant.
+     *
+     * @param <K> Type des valeurs des noeud de l'ABR
+     * @param cles les clés triées, sans doublon
+     * @return l'arbre construit
+     * @throws NullPointerException si l'itérateur ou une clé est nul
+     * @throws NoSuchElementException si l'itérateur ne fournit aucune clé
+     * @throws IllegalArgumentException si les clés ne sont pas triées ou contiennent un doublon
+     * @see #depuisTrie(Iterator, int)
+     */
+    public static <K extends Comparable<K>> ArbreBinaireRechercheTableau<K> depuisTrie(
+            Iterator<K> cles) {
+        return depuisTrie(cles, TAILLE_ESTIMEE_PAR_DEFAUT);
+    }
+
+    /**
+     * Construit en temps linéaire un ABR de hauteur minimale à partir de clés fournies dans
+     * l'ordre strictement croissant. Les clés sont d'abord recueillies dans un tableau dimensionné
+     * selon la taille estimée ; ce tableau devient celui d'un {@link ArbreBinaireRechercheTableau}
+     * dont les noeuds sont numérotés dans l'ordre infixe. L'ordre des clés est vérifié à la
+     * lecture : la construction échoue dès la première clé mal placée.
+     *
+     * @param <K> Type des valeurs des noeud de l'ABR
+     * @param cles les clés triées, sans doublon
+     * @param tailleEstimee le nombre de clés attendu ; une estimation fausse reste correcte mais
+     * provoque des réallocations
+     * @return l'arbre construit
+     * @throws NullPointerException si l'itérateur ou une clé est nul
+     * @throws NoSuchElementException si l'itérateur ne fournit aucune clé
+     * @throws IllegalArgumentException si les clés ne sont pas triées ou contiennent un doublon, ou
+     * si la taille estimée est négative
+     */
+    public static <K extends Comparable<K>> ArbreBinaireRechercheTableau<K> depuisTrie(
+            Iterator<K> cles, int tailleEstimee) {
+        Objects.requireNonNull(cles);
+        if (tailleEstimee < 0) {
+            throw new IllegalArgumentException("La taille estimée ne peut être négative");
+        }
+        if (!cles.hasNext()) {
+            throw new NoSuchElementException("Un ABR contient au moins une clé");
+        }
+        Object[] tampon = new Object[Math.max(tailleEstimee, 1)];
+        int nbCles = 0;
+        K precedente = null;
+        while (cles.hasNext()) {
+            final K cle = Objects.requireNonNull(cles.next(), "Une clé d'ABR ne peut être nulle");
+            if (precedente != null && precedente.compareTo(cle) >= 0) {
+                throw new IllegalArgumentException("Clés non triées ou en double à la position "
+                        + nbCles + " : " + precedente + " puis " + cle);
+            }
+            if (nbCles == tampon.length) {
+                tampon = Arrays.copyOf(tampon, tampon.length + (tampon.length >> 1) + 1);
+            }
+            tampon[nbCles++] = cle;
+            precedente = cle;
+        }
+        return new ArbreBinaireRechercheTableau<>(tampon, nbCles);
+    }
+
+    /**
+     * Prépare un lot de clés pour un traitement groupé : les clés non nulles sont triées et
+     * dédoublonnées, les clés nulles et les doublons sont ajoutés aux clés rejetées.
+     *
+     * @param <K> Type des clés
+     * @param cles le lot
+     * @param rejetees les clés rejetées, complétées par la méthode
+     * @return les clés du lot triées dans l'ordre strictement croissant
+     */
+    static <K extends Comparable<K>> List<K> trierLot(Collection<K> cles, List<K> rejetees) {
+        final List<K> lot = new ArrayList<>(cles.size());
+        for (K cle : cles) {
+            if (cle == null) {
+                rejetees.add(null);
+            } else {
+                lot.add(cle);
+            }
+        }
+        Collections.sort(lot);
+        int nbCles = 0;
+        for (K cle : lot) {
+            if (nbCles > 0 && lot.get(nbCles - 1).compareTo(cle) == 0) {
+                rejetees.add(cle);
+            } else {
+                lot.set(nbCles++, cle);
+            }
+        }
+        return lot.subList(0, nbCles);
+    }
+
+    /**
+     * Indique s'il vaut mieux fusionner un lot avec l'arbre, puis reconstruire celui-ci, que
+     * répartir le lot dans l'arbre en une seule descente : la fusion coûte un parcours de tout
+     * l'arbre, la descente au plus un chemin par clé.
+     *
+     * @param tailleLot le nombre de clés du lot
+     * @param nbNoeuds le nombre de noeuds de l'arbre
+     * @return vrai si la fusion est préférable
+     */
+    static boolean isFusionPreferable(int tailleLot, int nbNoeuds) {
+        return (long) tailleLot * FACTEUR_FUSION >= nbNoeuds;
+    }
+
+    /**
+     * Fournit les clés d'un arbre dans l'ordre croissant.
+     *
+     * @param arbre l'arbre
+     * @param nbNoeuds le nombre de noeuds de l'arbre
+     * @return les clés de l'arbre
+     */
+    static Object[] clesInfixe(ArbreBinaireRecherche<?> arbre, int nbNoeuds) {
+        final Object[] cles = new Object[nbNoeuds];
+        final Iterator<?> iterateur = arbre.iterateurParcoursInfixe();
+        for (int i = 0; i < nbNoeuds; i++) {
+            cles[i] = iterateur.next();
+        }
+        return cles;
+    }
+
+    /**
+     * Fusionne en un seul passage les clés d'un arbre avec un lot préparé par
+     * {@link #trierLot(Collection, List)}. Les clés du lot déjà présentes dans l'arbre sont
+     * rejetées.
+     *
+     * @param <K> Type des clés
+     * @param existantes les clés de l'arbre, dans l'ordre croissant
+     * @param lot les clés à ajouter, dans l'ordre strictement croissant
+     * @param rejetees les clés rejetées, complétées par la méthode
+     * @return les clés fusionnées, dans l'ordre strictement croissant
+     */
+    static <K extends Comparable<K>> Object[] fusionner(Object[] existantes, List<K> lot,
+            List<K> rejetees) {
+        final Object[] fusion = new Object[existantes.length + lot.size()];
+        int i = 0;
+        int j = 0;
+        int nbCles = 0;
+        while (i < existantes.length && j < lot.size()) {
+            final int cmp = comparer(existantes[i], lot.get(j));
+            if (cmp < 0) {
+                fusion[nbCles++] = existantes[i++];
+            } else if (cmp > 0) {
+                fusion[nbCles++] = lot.get(j++);
+            } else {
+                rejetees.add(lot.get(j++));
+            }
+        }
+        while (i < existantes.length) {
+            fusion[nbCles++] = existantes[i++];
+        }
+        while (j < lot.size()) {
+            fusion[nbCles++] = lot.get(j++);
+        }
+        return nbCles == fusion.length ? fusion : Arrays.copyOf(fusion, nbCles);
+    }
+
+    /**
+     * Retire en un seul passage les clés d'un lot préparé par {@link #trierLot(Collection, List)}
+     * des clés d'un arbre. Les clés du lot absentes de l'arbre sont rejetées. Si le lot contient
+     * toutes les clés de l'arbre, la plus grande est conservée et rejetée, comme lors d'un retrait
+     * clé par clé dans l'ordre croissant.
+     *
+     * @param <K> Type des clés
+     * @param existantes les clés de l'arbre, dans l'ordre croissant, non vide ; le tableau est
+     * réutilisé pour les clés restantes
+     * @param lot les clés à retirer, dans l'ordre strictement croissant
+     * @param rejetees les clés rejetées, complétées par la méthode
+     * @return les clés restantes, au moins une
+     */
+    @SuppressWarnings("unchecked")
+    static <K extends Comparable<K>> Object[] filtrer(Object[] existantes, List<K> lot,
+            List<K> rejetees) {
+        final Object[] restantes = existantes;
+        int i = 0;
+        int j = 0;
+        int nbCles = 0;
+        while (i < existantes.length && j < lot.size()) {
+            final int cmp = comparer(existantes[i], lot.get(j));
+            if (cmp < 0) {
+                restantes[nbCles++] = existantes[i++];
+            } else if (cmp > 0) {
+                rejetees.add(lot.get(j++));
+            } else {
+                i++;
+                j++;
+            }
+        }
+        while (i < existantes.length) {
+            restantes[nbCles++] = existantes[i++];
+        }
+        while (j < lot.size()) {
+            rejetees.add(lot.get(j++));
+        }
+        if (nbCles == 0) {
+            // Aucune case n'a été réécrite : la dernière contient toujours la plus grande clé
+            final K max = (K) existantes[existantes.length - 1];
+            restantes[nbCles++] = max;
+            rejetees.add(max);
+        }
+        return nbCles == restantes.length ? restantes : Arrays.copyOf(restantes, nbCles);
+    }
+
+    /**
+     * Recherche par dichotomie la place d'une clé dans une partie d'un lot trié : les clés du lot
+     * qui précèdent cette place sont inférieures à la clé, les suivantes supérieures ou égales.
+     *
+     * @param <K> Type des clés
+     * @param lot les clés du lot, dans l'ordre strictement croissant
+     * @param debut le début de la partie du lot, inclus
+     * @param fin la fin de la partie du lot, exclue
+     * @param cle la clé recherchée
+     * @return l'indice de la première clé de la partie supérieure ou égale à la clé, ou fin
+     */
+    static <K extends Comparable<K>> int rechercherPlace(Object[] lot, int debut, int fin,
+            K cle) {
+        int bas = debut;
+        int haut = fin;
+        while (bas < haut) {
+            final int milieu = (bas + haut) >>> 1;
+            if (comparer(lot[milieu], cle) < 0) {
+                bas = milieu + 1;
+            } else {
+                haut = milieu;
+            }
+        }
+        return bas;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K extends Comparable<K>> int comparer(Object cle, K autre) {
+        return ((K) cle).compareTo(autre);
+    }
+
+    private ArbresBinairesRecherche() {
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Codage d'une clé sur un nombre fixe d'octets, utilisé par les arbres dont les noeuds sont
+ * stockés hors du tas Java.
+ *
+ * @author Rémi Venant
+ * @param <K> Type des clés codées
+ */
+public interface CodecCle<K extends Comparable<K>> {
+
+    /**
+     * Fournit le nombre d'octets occupés par une clé codée.
+     *
+     * @return le nombre d'octets
+     */
+    int getTaille();
+
+    /**
+     * Écrit une clé dans le tampon, à la position indiquée, sans modifier la position du tampon.
+     *
+     * @param tampon le tampon
+     * @param position la position du premier octet de la clé
+     * @param cle la clé, non nulle
+     */
+    void ecrire(ByteBuffer tampon, int position, K cle);
+
+    /**
+     * Lit une clé dans le tampon, à la position indiquée, sans modifier la position du tampon.
+     *
+     * @param tampon le tampon
+     * @param position la position du premier octet de la clé
+     * @return la clé
+     */
+    K lire(ByteBuffer tampon, int position);
+
+    /**
+     * Compare une clé à la clé codée dans le tampon. L'implémentation par défaut décode la clé du
+     * tampon ; les codecs de types primitifs la redéfinissent pour comparer sans allocation.
+     *
+     * @param cle la clé à comparer
+     * @param tampon le tampon
+     * @param position la position du premier octet de la clé codée
+     * @return un entier négatif, nul ou positif si la clé est inférieure, égale ou supérieure à la
+     * clé codée
+     */
+    default int comparer(K cle, ByteBuffer tampon, int position) {
+        return cle.compareTo(this.lire(tampon, position));
+    }
+
+    /**
+     * Compare deux clés codées. L'implémentation par défaut décode les deux clés ; les codecs de
+     * types primitifs la redéfinissent pour comparer sans allocation.
+     *
+     * @param tampon le tampon de la première clé
+     * @param position la position du premier octet de la première clé
+     * @param autreTampon le tampon de la seconde clé
+     * @param autrePosition la position du premier octet de la seconde clé
+     * @return un entier négatif, nul ou positif si la première clé est inférieure, égale ou
+     * supérieure à la seconde
+     */
+    default int comparer(ByteBuffer tampon, int position, ByteBuffer autreTampon,
+            int autrePosition) {
+        return this.lire(tampon, position).compareTo(this.lire(autreTampon, autrePosition));
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Codage d'une valeur d'arbre, utilisé par {@link ArbreWriter} et {@link ArbreReader}. Contrairement
+ * à {@link CodecCle}, la taille d'une valeur codée peut dépendre de la valeur ; elle est alors
+ * enregistrée dans le flux avant la valeur.
+ *
+ * @author Rémi Venant
+ * @param <V> Type des valeurs codées
+ */
+public interface CodecValeur<V> {
+
+    /**
+     * Taille fixe déclarée par les codecs dont la taille dépend de la valeur.
+     */
+    int TAILLE_VARIABLE = -1;
+
+    /**
+     * Fournit le nombre d'octets occupés par toute valeur codée, ou {@link #TAILLE_VARIABLE} si ce
+     * nombre dépend de la valeur. L'implémentation par défaut renvoie {@link #TAILLE_VARIABLE}.
+     *
+     * @return le nombre d'octets, ou {@link #TAILLE_VARIABLE}
+     */
+    default int getTailleFixe() {
+        return TAILLE_VARIABLE;
+    }
+
+    /**
+     * Fournit le nombre d'octets occupés par une valeur codée.
+     *
+     * @param valeur la valeur
+     * @return le nombre d'octets
+     */
+    int getTaille(V valeur);
+
+    /**
+     * Écrit une valeur dans le tampon à partir de sa position, qui doit avancer d'exactement
+     * {@link #getTaille(Object)} octets.
+     *
+     * @param tampon le tampon, disposant d'assez de place
+     * @param valeur la valeur
+     */
+    void ecrire(ByteBuffer tampon, V valeur);
+
+    /**
+     * Lit une valeur dans le tampon à partir de sa position. Pour un codec de taille variable, la
+     * limite du tampon est placée à la fin de la valeur codée.
+     *
+     * @param tampon le tampon
+     * @param taille le nombre d'octets de la valeur codée
+     * @return la valeur
+     */
+    V lire(ByteBuffer tampon, int taille);
+}
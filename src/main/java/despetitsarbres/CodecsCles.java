@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Codecs de clés usuels.
+ *
+ * @author Rémi Venant
+ */
+public final class CodecsCles {
+
+    private static final CodecCle<Integer> ENTIERS = new CodecCle<Integer>() {
+        @Override
+        public int getTaille() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void ecrire(ByteBuffer tampon, int position, Integer cle) {
+            tampon.putInt(position, cle);
+        }
+
+        @Override
+        public Integer lire(ByteBuffer tampon, int position) {
+            return tampon.getInt(position);
+        }
+
+        @Override
+        public int comparer(Integer cle, ByteBuffer tampon, int position) {
+            return Integer.compare(cle, tampon.getInt(position));
+        }
+
+        @Override
+        public int comparer(ByteBuffer tampon, int position, ByteBuffer autreTampon,
+                int autrePosition) {
+            return Integer.compare(tampon.getInt(position), autreTampon.getInt(autrePosition));
+        }
+    };
+
+    private static final CodecCle<Long> LONGS = new CodecCle<Long>() {
+        @Override
+        public int getTaille() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void ecrire(ByteBuffer tampon, int position, Long cle) {
+            tampon.putLong(position, cle);
+        }
+
+        @Override
+        public Long lire(ByteBuffer tampon, int position) {
+            return tampon.getLong(position);
+        }
+
+        @Override
+        public int comparer(Long cle, ByteBuffer tampon, int position) {
+            return Long.compare(cle, tampon.getLong(position));
+        }
+
+        @Override
+        public int comparer(ByteBuffer tampon, int position, ByteBuffer autreTampon,
+                int autrePosition) {
+            return Long.compare(tampon.getLong(position), autreTampon.getLong(autrePosition));
+        }
+    };
+
+    private static final CodecCle<Double> DOUBLES = new CodecCle<Double>() {
+        @Override
+        public int getTaille() {
+            return Double.BYTES;
+        }
+
+        @Override
+        public void ecrire(ByteBuffer tampon, int position, Double cle) {
+            tampon.putDouble(position, cle);
+        }
+
+        @Override
+        public Double lire(ByteBuffer tampon, int position) {
+            return tampon.getDouble(position);
+        }
+
+        @Override
+        public int comparer(Double cle, ByteBuffer tampon, int position) {
+            return Double.compare(cle, tampon.getDouble(position));
+        }
+
+        @Override
+        public int comparer(ByteBuffer tampon, int position, ByteBuffer autreTampon,
+                int autrePosition) {
+            return Double.compare(tampon.getDouble(position), autreTampon.getDouble(autrePosition));
+        }
+    };
+
+    /**
+     * Fournit le codec des entiers, sur 4 octets.
+     *
+     * @return le codec
+     */
+    public static CodecCle<Integer> entiers() {
+        return ENTIERS;
+    }
+
+    /**
+     * Fournit le codec des entiers longs, sur 8 octets.
+     *
+     * @return le codec
+     */
+    public static CodecCle<Long> longs() {
+        return LONGS;
+    }
+
+    /**
+     * Fournit le codec des réels double précision, sur 8 octets.
+     *
+     * @return le codec
+     */
+    public static CodecCle<Double> doubles() {
+        return DOUBLES;
+    }
+
+    private CodecsCles() {
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Codecs de valeurs usuels.
+ *
+ * @author Rémi Venant
+ */
+public final class CodecsValeurs {
+
+    private static final CodecValeur<Integer> ENTIERS = depuis(CodecsCles.entiers());
+
+    private static final CodecValeur<Long> LONGS = depuis(CodecsCles.longs());
+
+    private static final CodecValeur<Double> DOUBLES = depuis(CodecsCles.doubles());
+
+    private static final CodecValeur<String> CHAINES = new CodecValeur<String>() {
+        @Override
+        public int getTaille(String valeur) {
+            // Taille UTF-8 calculée sans encoder : un substitut isolé est remplacé par '?'
+            final int longueur = valeur.length();
+            int taille = 0;
+            for (int i = 0; i < longueur; i++) {
+                final char c = valeur.charAt(i);
+                if (c < 0x80) {
+                    taille++;
+                } else if (c < 0x800) {
+                    taille += 2;
+                } else if (Character.isHighSurrogate(c) && i + 1 < longueur
+                        && Character.isLowSurrogate(valeur.charAt(i + 1))) {
+                    taille += 4;
+                    i++;
+                } else if (Character.isSurrogate(c)) {
+                    taille++;
+                } else {
+                    taille += 3;
+                }
+            }
+            return taille;
+        }
+
+        @Override
+        public void ecrire(ByteBuffer tampon, String valeur) {
+            tampon.put(valeur.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public String lire(ByteBuffer tampon, int taille) {
+            if (tampon.hasArray()) {
+                return new String(tampon.array(), tampon.arrayOffset() + tampon.position(), taille,
+                        StandardCharsets.UTF_8);
+            }
+            final byte[] octets = new byte[taille];
+            tampon.get(octets);
+            return new String(octets, StandardCharsets.UTF_8);
+        }
+    };
+
+    /**
+     * Fournit le codec des entiers, sur 4 octets.
+     *
+     * @return le codec
+     */
+    public static CodecValeur<Integer> entiers() {
+        return ENTIERS;
+    }
+
+    /**
+     * Fournit le codec des entiers longs, sur 8 octets.
+     *
+     * @return le codec
+     */
+    public static CodecValeur<Long> longs() {
+        return LONGS;
+    }
+
+    /**
+     * Fournit le codec des réels double précision, sur 8 octets.
+     *
+     * @return le codec
+     */
+    public static CodecValeur<Double> doubles() {
+        return DOUBLES;
+    }
+
+    /**
+     * Fournit le codec des chaînes, en UTF-8 et de taille variable.
+     *
+     * @return le codec
+     */
+    public static CodecValeur<String> chaines() {
+        return CHAINES;
+    }
+
+    /**
+     * Adapte un codec de clés de taille fixe en codec de valeurs.
+     *
+     * @param <K> Type des clés codées
+     * @param codec le codec de clés
+     * @return le codec de valeurs
+     */
+    public static <K extends Comparable<K>> CodecValeur<K> depuis(CodecCle<K> codec) {
+        Objects.requireNonNull(codec);
+        return new CodecValeur<K>() {
+            @Override
+            public int getTailleFixe() {
+                return codec.getTaille();
+            }
+
+            @Override
+            public int getTaille(K valeur) {
+                return codec.getTaille();
+            }
+
+            @Override
+            public void ecrire(ByteBuffer tampon, K valeur) {
+                final int position = tampon.position();
+                codec.ecrire(tampon, position, valeur);
+                tampon.position(position + codec.getTaille());
+            }
+
+            @Override
+            public K lire(ByteBuffer tampon, int taille) {
+                return codec.lire(tampon, tampon.position());
+            }
+        };
+    }
+
+    private CodecsValeurs() {
+    }
+}
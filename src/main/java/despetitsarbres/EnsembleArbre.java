@@ -0,0 +1,410 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.SortedSet;
+
+/**
+ * Vue d'un arbre binaire de recherche sous forme d'ensemble ordonné, éventuellement restreinte à
+ * une plage de clés et parcourue dans l'ordre décroissant. Chaque opération est traduite en
+ * recherches, navigations, ajouts et retraits de l'arbre, sans copie des clés : pour un arbre
+ * équilibré, les opérations sont en O(log n) et l'itération en O(log n) par clé.
+ *
+ * <p>
+ * Les bornes de la plage sont exprimées dans l'ordre croissant des clés, quel que soit l'ordre de
+ * la vue ; une borne nulle indique l'absence de limite. Les itérateurs sont faiblement
+ * cohérents : ils ne lèvent jamais {@link java.util.ConcurrentModificationException} et
+ * reprennent chaque pas à partir de la dernière clé fournie.
+ * </p>
+ *
+ * @author Rémi Venant
+ * @param <K> Type des clés de l'ABR
+ * @see ArbreBinaireRecherche#commeEnsemble()
+ */
+final class EnsembleArbre<K extends Comparable<K>> extends AbstractSet<K>
+        implements NavigableSet<K> {
+
+    private final ArbreBinaireRecherche<K> arbre;
+
+    private final K min;
+
+    private final boolean minInclus;
+
+    private final K max;
+
+    private final boolean maxInclus;
+
+    private final boolean decroissant;
+
+    EnsembleArbre(ArbreBinaireRecherche<K> arbre) {
+        this(arbre, null, false, null, false, false);
+    }
+
+    private EnsembleArbre(ArbreBinaireRecherche<K> arbre, K min, boolean minInclus, K max,
+            boolean maxInclus, boolean decroissant) {
+        this.arbre = Objects.requireNonNull(arbre);
+        this.min = min;
+        this.minInclus = minInclus;
+        this.max = max;
+        this.maxInclus = maxInclus;
+        this.decroissant = decroissant;
+    }
+
+    private boolean tropBas(K cle) {
+        if (this.min == null) {
+            return false;
+        }
+        final int cmp = cle.compareTo(this.min);
+        return cmp < 0 || (cmp == 0 && !this.minInclus);
+    }
+
+    private boolean tropHaut(K cle) {
+        if (this.max == null) {
+            return false;
+        }
+        final int cmp = cle.compareTo(this.max);
+        return cmp > 0 || (cmp == 0 && !this.maxInclus);
+    }
+
+    private boolean dansPlage(K cle) {
+        return !this.tropBas(cle) && !this.tropHaut(cle);
+    }
+
+    /**
+     * Indique si une clé peut borner un sous-ensemble : une borne exclue peut égaler une borne
+     * exclue de la vue, une borne incluse doit appartenir à la plage.
+     */
+    private boolean dansPlage(K borne, boolean incluse) {
+        if (incluse) {
+            return this.dansPlage(borne);
+        }
+        return (this.min == null || borne.compareTo(this.min) >= 0)
+                && (this.max == null || borne.compareTo(this.max) <= 0);
+    }
+
+    // Navigation dans l'ordre croissant, restreinte à la plage
+    private K premiere() {
+        final K cle;
+        if (this.min == null) {
+            cle = this.arbre.getMin();
+        } else {
+            cle = this.minInclus ? this.arbre.plafond(this.min) : this.arbre.successeur(this.min);
+        }
+        return cle == null || this.tropHaut(cle) ? null : cle;
+    }
+
+    private K derniere() {
+        final K cle;
+        if (this.max == null) {
+            cle = this.arbre.getMax();
+        } else {
+            cle = this.maxInclus ? this.arbre.plancher(this.max)
+                    : this.arbre.predecesseur(this.max);
+        }
+        return cle == null || this.tropBas(cle) ? null : cle;
+    }
+
+    private K plancherPlage(K cle) {
+        if (this.tropHaut(cle)) {
+            return this.derniere();
+        }
+        final K resultat = this.arbre.plancher(cle);
+        return resultat == null || this.tropBas(resultat) ? null : resultat;
+    }
+
+    private K predecesseurPlage(K cle) {
+        if (this.tropHaut(cle)) {
+            return this.derniere();
+        }
+        final K resultat = this.arbre.predecesseur(cle);
+        return resultat == null || this.tropBas(resultat) ? null : resultat;
+    }
+
+    private K plafondPlage(K cle) {
+        if (this.tropBas(cle)) {
+            return this.premiere();
+        }
+        final K resultat = this.arbre.plafond(cle);
+        return resultat == null || this.tropHaut(resultat) ? null : resultat;
+    }
+
+    private K successeurPlage(K cle) {
+        if (this.tropBas(cle)) {
+            return this.premiere();
+        }
+        final K resultat = this.arbre.successeur(cle);
+        return resultat == null || this.tropHaut(resultat) ? null : resultat;
+    }
+
+    @Override
+    public Comparator<? super K> comparator() {
+        return this.decroissant ? Collections.reverseOrder() : null;
+    }
+
+    @Override
+    public K lower(K e) {
+        Objects.requireNonNull(e);
+        return this.decroissant ? this.successeurPlage(e) : this.predecesseurPlage(e);
+    }
+
+    @Override
+    public K floor(K e) {
+        Objects.requireNonNull(e);
+        return this.decroissant ? this.plafondPlage(e) : this.plancherPlage(e);
+    }
+
+    @Override
+    public K ceiling(K e) {
+        Objects.requireNonNull(e);
+        return this.decroissant ? this.plancherPlage(e) : this.plafondPlage(e);
+    }
+
+    @Override
+    public K higher(K e) {
+        Objects.requireNonNull(e);
+        return this.decroissant ? this.predecesseurPlage(e) : this.successeurPlage(e);
+    }
+
+    @Override
+    public K first() {
+        final K cle = this.decroissant ? this.derniere() : this.premiere();
+        if (cle == null) {
+            throw new NoSuchElementException();
+        }
+        return cle;
+    }
+
+    @Override
+    public K last() {
+        final K cle = this.decroissant ? this.premiere() : this.derniere();
+        if (cle == null) {
+            throw new NoSuchElementException();
+        }
+        return cle;
+    }
+
+    @Override
+    public K pollFirst() {
+        final K cle = this.decroissant ? this.derniere() : this.premiere();
+        if (cle != null) {
+            this.remove(cle);
+        }
+        return cle;
+    }
+
+    @Override
+    public K pollLast() {
+        final K cle = this.decroissant ? this.premiere() : this.derniere();
+        if (cle != null) {
+            this.remove(cle);
+        }
+        return cle;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * La taille de l'ensemble complet est le nombre de noeuds de l'arbre ; celle d'une plage est
+     * calculée en parcourant ses clés.
+     * </p>
+     */
+    @Override
+    public int size() {
+        if (this.min == null && this.max == null) {
+            return this.arbre.getNbNoeuds();
+        }
+        int taille = 0;
+        for (K cle = this.premiere(); cle != null; cle = this.successeurPlage(cle)) {
+            taille++;
+        }
+        return taille;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.premiere() == null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean contains(Object o) {
+        final K cle = (K) Objects.requireNonNull(o);
+        return this.dansPlage(cle) && this.arbre.contains(cle);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException si la clé est hors de la plage de l'ensemble
+     */
+    @Override
+    public boolean add(K e) {
+        Objects.requireNonNull(e);
+        if (!this.dansPlage(e)) {
+            throw new IllegalArgumentException("Clé hors de la plage de l'ensemble : " + e);
+        }
+        return this.arbre.tenterAjouter(e).isEffectuee();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException si la clé est la dernière de l'arbre, qui ne peut être vide
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean remove(Object o) {
+        final K cle = (K) Objects.requireNonNull(o);
+        if (!this.dansPlage(cle)) {
+            return false;
+        }
+        final StatutModification statut = this.arbre.tenterRetirer(cle);
+        if (statut == StatutModification.DERNIERE_CLE) {
+            throw new IllegalStateException("La dernière clé d'un ABR ne peut être retirée");
+        }
+        return statut.isEffectuee();
+    }
+
+    @Override
+    public Iterator<K> iterator() {
+        return new Iterateur();
+    }
+
+    @Override
+    public Iterator<K> descendingIterator() {
+        return this.descendingSet().iterator();
+    }
+
+    @Override
+    public NavigableSet<K> descendingSet() {
+        return new EnsembleArbre<>(this.arbre, this.min, this.minInclus, this.max, this.maxInclus,
+                !this.decroissant);
+    }
+
+    @Override
+    public NavigableSet<K> subSet(K fromElement, boolean fromInclusive, K toElement,
+            boolean toInclusive) {
+        Objects.requireNonNull(fromElement);
+        Objects.requireNonNull(toElement);
+        if (this.decroissant) {
+            if (fromElement.compareTo(toElement) < 0) {
+                throw new IllegalArgumentException("Bornes inversées");
+            }
+            return this.restreindre(toElement, toInclusive, fromElement, fromInclusive);
+        }
+        if (fromElement.compareTo(toElement) > 0) {
+            throw new IllegalArgumentException("Bornes inversées");
+        }
+        return this.restreindre(fromElement, fromInclusive, toElement, toInclusive);
+    }
+
+    @Override
+    public NavigableSet<K> headSet(K toElement, boolean inclusive) {
+        Objects.requireNonNull(toElement);
+        return this.decroissant ? this.restreindre(toElement, inclusive, null, false)
+                : this.restreindre(null, false, toElement, inclusive);
+    }
+
+    @Override
+    public NavigableSet<K> tailSet(K fromElement, boolean inclusive) {
+        Objects.requireNonNull(fromElement);
+        return this.decroissant ? this.restreindre(null, false, fromElement, inclusive)
+                : this.restreindre(fromElement, inclusive, null, false);
+    }
+
+    @Override
+    public SortedSet<K> subSet(K fromElement, K toElement) {
+        return this.subSet(fromElement, true, toElement, false);
+    }
+
+    @Override
+    public SortedSet<K> headSet(K toElement) {
+        return this.headSet(toElement, false);
+    }
+
+    @Override
+    public SortedSet<K> tailSet(K fromElement) {
+        return this.tailSet(fromElement, true);
+    }
+
+    /**
+     * Crée la vue restreinte aux bornes fournies dans l'ordre croissant ; une borne nulle
+     * conserve celle de la vue courante.
+     */
+    private NavigableSet<K> restreindre(K bas, boolean basInclus, K haut, boolean hautInclus) {
+        if ((bas != null && !this.dansPlage(bas, basInclus))
+                || (haut != null && !this.dansPlage(haut, hautInclus))) {
+            throw new IllegalArgumentException("Borne hors de la plage de l'ensemble");
+        }
+        return new EnsembleArbre<>(this.arbre,
+                bas != null ? bas : this.min, bas != null ? basInclus : this.minInclus,
+                haut != null ? haut : this.max, haut != null ? hautInclus : this.maxInclus,
+                this.decroissant);
+    }
+
+    /**
+     * Itérateur de l'ensemble : chaque clé est obtenue par navigation à partir de la précédente,
+     * ce qui permet de retirer la clé fournie sans invalider l'itérateur.
+     */
+    private final class Iterateur implements Iterator<K> {
+
+        private K prochaine;
+
+        private K derniereFournie;
+
+        Iterateur() {
+            this.prochaine = EnsembleArbre.this.decroissant ? EnsembleArbre.this.derniere()
+                    : EnsembleArbre.this.premiere();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.prochaine != null;
+        }
+
+        @Override
+        public K next() {
+            if (this.prochaine == null) {
+                throw new NoSuchElementException();
+            }
+            this.derniereFournie = this.prochaine;
+            this.prochaine = EnsembleArbre.this.decroissant
+                    ? EnsembleArbre.this.predecesseurPlage(this.derniereFournie)
+                    : EnsembleArbre.this.successeurPlage(this.derniereFournie);
+            return this.derniereFournie;
+        }
+
+        @Override
+        public void remove() {
+            if (this.derniereFournie == null) {
+                throw new IllegalStateException();
+            }
+            EnsembleArbre.this.remove(this.derniereFournie);
+            this.derniereFournie = null;
+        }
+    }
+}
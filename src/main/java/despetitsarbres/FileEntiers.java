@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import java.util.NoSuchElementException;
+
+/**
+ * File d'entiers primitifs stockée dans un tampon circulaire de capacité croissante, utilisée par
+ * les parcours en largeur d'arbres dont les noeuds sont désignés par des indices. La file peut
+ * être vidée et réutilisée sans allocation.
+ *
+ * @author Rémi Venant
+ */
+final class FileEntiers {
+
+    private int[] elements;
+
+    private int tete;
+
+    private int taille;
+
+    FileEntiers() {
+        this(16);
+    }
+
+    FileEntiers(int capaciteInitiale) {
+        this.elements = new int[Math.max(1, capaciteInitiale)];
+    }
+
+    boolean isEmpty() {
+        return this.taille == 0;
+    }
+
+    int getTaille() {
+        return this.taille;
+    }
+
+    void enfiler(int element) {
+        if (this.taille == this.elements.length) {
+            final int[] elements = new int[this.taille << 1];
+            final int finTete = Math.min(this.taille, this.elements.length - this.tete);
+            System.arraycopy(this.elements, this.tete, elements, 0, finTete);
+            System.arraycopy(this.elements, 0, elements, finTete, this.taille - finTete);
+            this.elements = elements;
+            this.tete = 0;
+        }
+        int queue = this.tete + this.taille;
+        if (queue >= this.elements.length) {
+            queue -= this.elements.length;
+        }
+        this.elements[queue] = element;
+        this.taille++;
+    }
+
+    int defiler() {
+        if (this.taille == 0) {
+            throw new NoSuchElementException();
+        }
+        final int element = this.elements[this.tete];
+        if (++this.tete == this.elements.length) {
+            this.tete = 0;
+        }
+        this.taille--;
+        return element;
+    }
+
+    void vider() {
+        this.tete = 0;
+        this.taille = 0;
+    }
+}
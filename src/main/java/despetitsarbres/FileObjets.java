@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+
+/**
+ * File d'objets stockée dans un tampon circulaire de capacité croissante, utilisée par les
+ * parcours en largeur d'arbres chaînés. La file peut être vidée et réutilisée sans allocation ;
+ * un élément défilé n'est plus référencé par la file.
+ *
+ * @author Rémi Venant
+ * @param <E> type des éléments de la file
+ */
+final class FileObjets<E> {
+
+    private Object[] elements;
+
+    private int tete;
+
+    private int taille;
+
+    FileObjets() {
+        this(16);
+    }
+
+    FileObjets(int capaciteInitiale) {
+        this.elements = new Object[Math.max(1, capaciteInitiale)];
+    }
+
+    boolean isEmpty() {
+        return this.taille == 0;
+    }
+
+    int getTaille() {
+        return this.taille;
+    }
+
+    int getCapacite() {
+        return this.elements.length;
+    }
+
+    void enfiler(E element) {
+        if (this.taille == this.elements.length) {
+            final Object[] elements = new Object[this.taille << 1];
+            final int finTete = Math.min(this.taille, this.elements.length - this.tete);
+            System.arraycopy(this.elements, this.tete, elements, 0, finTete);
+            System.arraycopy(this.elements, 0, elements, finTete, this.taille - finTete);
+            this.elements = elements;
+            this.tete = 0;
+        }
+        int queue = this.tete + this.taille;
+        if (queue >= this.elements.length) {
+            queue -= this.elements.length;
+        }
+        this.elements[queue] = element;
+        this.taille++;
+    }
+
+    void enfilerTous(Collection<? extends E> elements) {
+        for (E element : elements) {
+            this.enfiler(element);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    E defiler() {
+        if (this.taille == 0) {
+            throw new NoSuchElementException();
+        }
+        final E element = (E) this.elements[this.tete];
+        this.elements[this.tete] = null;
+        if (++this.tete == this.elements.length) {
+            this.tete = 0;
+        }
+        this.taille--;
+        return element;
+    }
+
+    void vider() {
+        if (this.tete + this.taille <= this.elements.length) {
+            Arrays.fill(this.elements, this.tete, this.tete + this.taille, null);
+        } else {
+            Arrays.fill(this.elements, this.tete, this.elements.length, null);
+            Arrays.fill(this.elements, 0, this.tete + this.taille - this.elements.length, null);
+        }
+        this.tete = 0;
+        this.taille = 0;
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Mesures globales d'un arbre : nombre de noeuds, nombre de feuilles, hauteur et hauteur
+ * moyenne, calculées ensemble en un seul parcours itératif de l'arbre.
+ *
+ * <p>
+ * Le calcul parallèle repose sur un {@link ForkJoinPool} : chaque tâche parcourt ses sous-arbres
+ * avec sa propre pile et, chaque fois qu'elle a visité un nombre de noeuds égal au seuil, cède la
+ * moitié la plus ancienne de sa pile à une nouvelle tâche. Les arbres larges comme les arbres
+ * profonds se répartissent ainsi entre les fils d'exécution, sans connaître à l'avance la taille
+ * des sous-arbres. L'arbre ne doit pas être modifié pendant le calcul.
+ * </p>
+ *
+ * @author Rémi Venant
+ * @see Arbre#getNbNoeuds()
+ * @see Arbre#getNbFeuilles()
+ * @see Arbre#getHauteur()
+ * @see Arbre#getHauteurMoyenne()
+ */
+public final class MetriquesArbre {
+
+    /**
+     * Nombre de noeuds visités par une tâche avant qu'elle ne cède une partie de son travail.
+     */
+    public static final int SEUIL_PAR_DEFAUT = 8192;
+
+    private final int nbNoeuds;
+
+    private final int nbFeuilles;
+
+    private final int hauteur;
+
+    private final long sommeProfondeursFeuilles;
+
+    MetriquesArbre(int nbNoeuds, int nbFeuilles, int hauteur, long sommeProfondeursFeuilles) {
+        this.nbNoeuds = nbNoeuds;
+        this.nbFeuilles = nbFeuilles;
+        this.hauteur = hauteur;
+        this.sommeProfondeursFeuilles = sommeProfondeursFeuilles;
+    }
+
+    /**
+     * Calcule les mesures d'un arbre sur le fil d'exécution courant.
+     *
+     * @param arbre l'arbre
+     * @return les mesures de l'arbre
+     * @throws NullPointerException si l'arbre est nul
+     */
+    public static MetriquesArbre calculer(Arbre<?> arbre) {
+        Objects.requireNonNull(arbre);
+        return new CalculMetriques(arbre, Integer.MAX_VALUE).calculer();
+    }
+
+    /**
+     * Calcule en parallèle les mesures d'un arbre, dans le pool commun et avec le seuil par
+     * défaut.
+     *
+     * @param arbre l'arbre
+     * @return les mesures de l'arbre
+     * @throws NullPointerException si l'arbre est nul
+     * @see #calculerEnParallele(Arbre, ForkJoinPool, int)
+     */
+    public static MetriquesArbre calculerEnParallele(Arbre<?> arbre) {
+        return calculerEnParallele(arbre, ForkJoinPool.commonPool(), SEUIL_PAR_DEFAUT);
+    }
+
+    /**
+     * Calcule en parallèle les mesures d'un arbre. Un seuil faible répartit mieux le travail
+     * mais multiplie les tâches ; un arbre de moins de noeuds que le seuil est mesuré par une
+     * seule tâche.
+     *
+     * @param arbre l'arbre
+     * @param pool le pool exécutant les tâches
+     * @param seuil le nombre de noeuds visités par une tâche avant qu'elle ne cède une partie de
+     * son travail
+     * @return les mesures de l'arbre
+     * @throws NullPointerException si l'arbre ou le pool est nul
+     * @throws IllegalArgumentException si le seuil n'est pas strictement positif
+     */
+    public static MetriquesArbre calculerEnParallele(Arbre<?> arbre, ForkJoinPool pool,
+            int seuil) {
+        Objects.requireNonNull(arbre);
+        Objects.requireNonNull(pool);
+        if (seuil < 1) {
+            throw new IllegalArgumentException("Le seuil doit être strictement positif");
+        }
+        return pool.invoke(new CalculMetriques(arbre, seuil));
+    }
+
+    /**
+     * Fournit le nombre de noeuds de l'arbre.
+     *
+     * @return le nombre de noeuds
+     */
+    public int getNbNoeuds() {
+        return this.nbNoeuds;
+    }
+
+    /**
+     * Fournit le nombre de feuilles de l'arbre.
+     *
+     * @return le nombre de feuilles
+     */
+    public int getNbFeuilles() {
+        return this.nbFeuilles;
+    }
+
+    /**
+     * Fournit la hauteur de l'arbre.
+     *
+     * @return la hauteur de l'arbre
+     */
+    public int getHauteur() {
+        return this.hauteur;
+    }
+
+    /**
+     * Fournit la hauteur moyenne de l'arbre, moyenne des profondeurs de ses feuilles.
+     *
+     * @return la hauteur moyenne
+     */
+    public float getHauteurMoyenne() {
+        return (float) this.sommeProfondeursFeuilles / (float) this.nbFeuilles;
+    }
+
+    private MetriquesArbre combiner(MetriquesArbre autres) {
+        return new MetriquesArbre(this.nbNoeuds + autres.nbNoeuds,
+                this.nbFeuilles + autres.nbFeuilles, Math.max(this.hauteur, autres.hauteur),
+                this.sommeProfondeursFeuilles + autres.sommeProfondeursFeuilles);
+    }
+
+    @Override
+    public String toString() {
+        return "MetriquesArbre{nbNoeuds=" + this.nbNoeuds + ", nbFeuilles=" + this.nbFeuilles
+                + ", hauteur=" + this.hauteur + ", hauteurMoyenne=" + this.getHauteurMoyenne()
+                + '}';
+    }
+
+    /**
+     * Tâche de mesure : une pile des sous-arbres restant à visiter, avec leur profondeur.
+     */
+    private static final class CalculMetriques extends RecursiveTask<MetriquesArbre> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int seuil;
+
+        private final transient PileObjets<Arbre<?>> pile = new PileObjets<>();
+
+        private final transient PileEntiers profondeurs = new PileEntiers();
+
+        CalculMetriques(Arbre<?> arbre, int seuil) {
+            this.seuil = seuil;
+            this.pile.empiler(arbre);
+            this.profondeurs.empiler(0);
+        }
+
+        private CalculMetriques(int seuil) {
+            this.seuil = seuil;
+        }
+
+        @Override
+        protected MetriquesArbre compute() {
+            return this.calculer();
+        }
+
+        MetriquesArbre calculer() {
+            final List<CalculMetriques> cedees = new ArrayList<>();
+            int nbNoeuds = 0;
+            int nbFeuilles = 0;
+            int hauteur = 0;
+            long sommeProfondeursFeuilles = 0;
+            int budget = this.seuil;
+            while (!this.pile.isEmpty()) {
+                if (budget == 0) {
+                    if (this.pile.getTaille() > 1) {
+                        final CalculMetriques cedee = this.ceder();
+                        cedee.fork();
+                        cedees.add(cedee);
+                    }
+                    budget = this.seuil;
+                }
+                budget--;
+                final Arbre<?> arbre = this.pile.depiler();
+                final int profondeur = this.profondeurs.depiler();
+                nbNoeuds++;
+                hauteur = Math.max(hauteur, profondeur);
+                final List<? extends Arbre<?>> foret = arbre.getForet();
+                if (foret.isEmpty()) {
+                    nbFeuilles++;
+                    sommeProfondeursFeuilles += profondeur;
+                } else {
+                    for (Arbre<?> sousArbre : foret) {
+                        this.pile.empiler(sousArbre);
+                        this.profondeurs.empiler(profondeur + 1);
+                    }
+                }
+            }
+            MetriquesArbre metriques = new MetriquesArbre(nbNoeuds, nbFeuilles, hauteur,
+                    sommeProfondeursFeuilles);
+            for (CalculMetriques cedee : cedees) {
+                metriques = metriques.combiner(cedee.join());
+            }
+            return metriques;
+        }
+
+        /**
+         * Cède à une nouvelle tâche la moitié la plus ancienne de la pile, dont les sous-arbres
+         * sont les plus proches de la racine et donc les plus gros.
+         */
+        private CalculMetriques ceder() {
+            final CalculMetriques cedee = new CalculMetriques(this.seuil);
+            final int nombre = this.pile.getTaille() / 2;
+            this.pile.transfererBase(nombre, cedee.pile);
+            this.profondeurs.transfererBase(nombre, cedee.profondeurs);
+            return cedee;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+/**
+ * Ordre de parcours des noeuds d'un arbre.
+ *
+ * @author Rémi Venant
+ * @see Arbre#stream(OrdreParcours)
+ */
+public enum OrdreParcours {
+    /**
+     * Parcours en profondeur préfixe : chaque noeud avant ses sous-arbres.
+     */
+    PREFIXE,
+    /**
+     * Parcours en profondeur suffixe : chaque noeud après ses sous-arbres.
+     */
+    SUFFIXE,
+    /**
+     * Parcours en largeur : niveau par niveau, depuis la racine.
+     */
+    LARGEUR
+}
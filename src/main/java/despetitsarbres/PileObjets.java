@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Pile d'objets sur un tableau de capacité croissante, utilisée par les parcours itératifs
+ * d'arbres chaînés. Contrairement à {@link java.util.ArrayDeque}, la pile peut être vidée et
+ * réutilisée sans allocation, et un élément dépilé n'est plus référencé par la pile.
+ *
+ * @author Rémi Venant
+ * @param <E> type des éléments de la pile
+ */
+final class PileObjets<E> {
+
+    private Object[] elements;
+
+    private int taille;
+
+    PileObjets() {
+        this(16);
+    }
+
+    PileObjets(int capaciteInitiale) {
+        this.elements = new Object[Math.max(1, capaciteInitiale)];
+    }
+
+    boolean isEmpty() {
+        return this.taille == 0;
+    }
+
+    int getTaille() {
+        return this.taille;
+    }
+
+    int getCapacite() {
+        return this.elements.length;
+    }
+
+    void empiler(E element) {
+        if (this.taille == this.elements.length) {
+            this.elements = Arrays.copyOf(this.elements, this.taille << 1);
+        }
+        this.elements[this.taille++] = element;
+    }
+
+    @SuppressWarnings("unchecked")
+    E depiler() {
+        if (this.taille == 0) {
+            throw new NoSuchElementException();
+        }
+        final E element = (E) this.elements[--this.taille];
+        this.elements[this.taille] = null;
+        return element;
+    }
+
+    @SuppressWarnings("unchecked")
+    E sommet() {
+        if (this.taille == 0) {
+            throw new NoSuchElementException();
+        }
+        return (E) this.elements[this.taille - 1];
+    }
+
+    /**
+     * Transfère les éléments les plus anciens de la pile au sommet d'une autre pile, en conservant
+     * leur ordre.
+     */
+    @SuppressWarnings("unchecked")
+    void transfererBase(int nombre, PileObjets<E> destination) {
+        if (nombre < 0 || nombre > this.taille) {
+            throw new IllegalArgumentException("Nombre d'éléments invalide : " + nombre);
+        }
+        for (int i = 0; i < nombre; i++) {
+            destination.empiler((E) this.elements[i]);
+        }
+        System.arraycopy(this.elements, nombre, this.elements, 0, this.taille - nombre);
+        Arrays.fill(this.elements, this.taille - nombre, this.taille, null);
+        this.taille -= nombre;
+    }
+
+    void vider() {
+        Arrays.fill(this.elements, 0, this.taille, null);
+        this.taille = 0;
+    }
+}
@@ -0,0 +1,299 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Séparateur ({@link Spliterator}) d'un arbre, qui découpe l'arbre selon ses sous-arbres afin que
+ * les flux parallèles se répartissent des parties de tailles comparables.
+ *
+ * <p>
+ * Les éléments restant à parcourir sont une suite d'entrées, chacune étant soit un sous-arbre
+ * entier, soit la seule racine d'un sous-arbre. Découper le séparateur cède au nouveau séparateur
+ * les premières entrées, pour environ la moitié des noeuds ; si aucun découpage ne laisse au
+ * moins le quart des noeuds à chaque partie, le plus grand sous-arbre est d'abord développé en sa
+ * racine et ses sous-arbres. Les arbres quelconques sont parcourus dans l'ordre préfixe, les ABR
+ * dans l'ordre infixe (croissant).
+ * </p>
+ *
+ * <p>
+ * Lorsque le nombre de noeuds de chaque sous-arbre est connu en temps constant, les tailles de
+ * toutes les parties sont exactes (SIZED et SUBSIZED). Sinon, seul le séparateur initial connaît
+ * sa taille exacte, calculée lors de la première demande, et les parties en reçoivent une
+ * estimation.
+ * </p>
+ *
+ * @author Rémi Venant
+ * @param <V> type de valeurs stockées dans l'arbre.
+ */
+final class SeparateurArbre<V> implements Spliterator<V> {
+
+    private final boolean infixe;
+
+    private final boolean tailleConnue;
+
+    private int caracteristiques;
+
+    private Deque<Entree<V>> entrees;
+
+    /**
+     * Nombre de noeuds restant (exact si SIZED, estimé sinon), ou -1 s'il n'est pas encore
+     * calculé.
+     */
+    private long taille;
+
+    private SeparateurArbre(boolean infixe, boolean tailleConnue, int caracteristiques,
+            Deque<Entree<V>> entrees, long taille) {
+        this.infixe = infixe;
+        this.tailleConnue = tailleConnue;
+        this.caracteristiques = caracteristiques;
+        this.entrees = entrees;
+        this.taille = taille;
+    }
+
+    /**
+     * Crée un séparateur parcourant un arbre dans l'ordre préfixe.
+     *
+     * @param <V> type de valeurs stockées dans l'arbre
+     * @param arbre l'arbre
+     * @param tailleConnue vrai si le nombre de noeuds de l'arbre et de ses sous-arbres est obtenu
+     * en temps constant
+     * @param caracteristiques caractéristiques supplémentaires (par exemple IMMUTABLE)
+     * @return le séparateur
+     */
+    static <V> SeparateurArbre<V> prefixe(Arbre<V> arbre, boolean tailleConnue,
+            int caracteristiques) {
+        return creer(arbre, false, tailleConnue, ORDERED | caracteristiques);
+    }
+
+    /**
+     * Crée un séparateur parcourant un ABR dans l'ordre infixe, c'est-à-dire croissant.
+     *
+     * @param <K> type des clés de l'ABR
+     * @param arbre l'arbre
+     * @param tailleConnue vrai si le nombre de noeuds de l'arbre et de ses sous-arbres est obtenu
+     * en temps constant
+     * @param caracteristiques caractéristiques supplémentaires (par exemple IMMUTABLE)
+     * @return le séparateur
+     */
+    static <K extends Comparable<K>> SeparateurArbre<K> infixe(ArbreBinaireRecherche<K> arbre,
+            boolean tailleConnue, int caracteristiques) {
+        return creer(arbre, true, tailleConnue,
+                ORDERED | SORTED | DISTINCT | NONNULL | caracteristiques);
+    }
+
+    private static <V> SeparateurArbre<V> creer(Arbre<V> arbre, boolean infixe,
+            boolean tailleConnue, int caracteristiques) {
+        final Deque<Entree<V>> entrees = new ArrayDeque<>();
+        entrees.add(new Entree<>(arbre, false));
+        return new SeparateurArbre<>(infixe, tailleConnue,
+                caracteristiques | SIZED | (tailleConnue ? SUBSIZED : 0), entrees,
+                tailleConnue ? arbre.getNbNoeuds() : -1);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super V> action) {
+        Objects.requireNonNull(action);
+        while (!this.entrees.isEmpty()) {
+            final Entree<V> entree = this.entrees.pollFirst();
+            if (entree.racineSeule) {
+                this.consommer();
+                action.accept(entree.arbre.getRacine());
+                return true;
+            }
+            if (this.infixe) {
+                final ArbreBinaireRecherche<?> abr = (ArbreBinaireRecherche<?>) entree.arbre;
+                this.empiler(abr.getSad());
+                this.entrees.addFirst(new Entree<>(entree.arbre, true));
+                this.empiler(abr.getSag());
+            } else {
+                final List<Arbre<V>> foret = entree.arbre.getForet();
+                for (int i = foret.size() - 1; i >= 0; i--) {
+                    this.entrees.addFirst(new Entree<>(foret.get(i), false));
+                }
+                this.consommer();
+                action.accept(entree.arbre.getRacine());
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Spliterator<V> trySplit() {
+        final long tailleAvant = this.estimateSize();
+        while (!this.entrees.isEmpty()) {
+            long total = 0;
+            Entree<V> plusLourde = null;
+            long poidsPlusLourde = -1;
+            for (Entree<V> entree : this.entrees) {
+                final long poids = this.poids(entree);
+                total += poids;
+                if (!entree.racineSeule && poids > poidsPlusLourde) {
+                    plusLourde = entree;
+                    poidsPlusLourde = poids;
+                }
+            }
+            // Nombre et poids des premières entrées formant environ la moitié du poids total
+            int nbPremieres = 0;
+            long poidsPremieres = 0;
+            for (Entree<V> entree : this.entrees) {
+                final long poids = this.poids(entree);
+                if (nbPremieres > 0 && (nbPremieres == this.entrees.size() - 1
+                        || 2 * (poidsPremieres + poids) > total)) {
+                    break;
+                }
+                nbPremieres++;
+                poidsPremieres += poids;
+            }
+            final boolean equilibre = this.entrees.size() > 1
+                    && 4 * Math.min(poidsPremieres, total - poidsPremieres) >= total;
+            if (equilibre || plusLourde == null) {
+                return this.entrees.size() > 1
+                        ? this.separer(nbPremieres, poidsPremieres, total, tailleAvant) : null;
+            }
+            this.developper(plusLourde);
+        }
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        if (this.taille < 0) {
+            long nbNoeuds = 0;
+            for (Entree<V> entree : this.entrees) {
+                nbNoeuds += entree.racineSeule ? 1 : entree.arbre.getNbNoeuds();
+            }
+            this.taille = nbNoeuds;
+        }
+        return this.taille;
+    }
+
+    @Override
+    public int characteristics() {
+        return this.caracteristiques;
+    }
+
+    @Override
+    public Comparator<? super V> getComparator() {
+        if (this.hasCharacteristics(SORTED)) {
+            return null;
+        }
+        throw new IllegalStateException();
+    }
+
+    /**
+     * Cède au nouveau séparateur les premières entrées.
+     */
+    private Spliterator<V> separer(int nbPremieres, long poidsPremieres, long total,
+            long tailleAvant) {
+        final Deque<Entree<V>> premieres = new ArrayDeque<>();
+        for (int i = 0; i < nbPremieres; i++) {
+            premieres.addLast(this.entrees.pollFirst());
+        }
+        final long taillePremieres;
+        if (this.tailleConnue) {
+            taillePremieres = poidsPremieres;
+        } else {
+            // Seul le séparateur initial connaît sa taille exacte
+            taillePremieres = total == 0 ? tailleAvant / 2 : tailleAvant * poidsPremieres / total;
+            this.caracteristiques &= ~SIZED;
+        }
+        this.taille = tailleAvant - taillePremieres;
+        return new SeparateurArbre<>(this.infixe, this.tailleConnue, this.caracteristiques,
+                premieres, taillePremieres);
+    }
+
+    /**
+     * Poids d'une entrée : son nombre de noeuds s'il est connu ; sinon, une racine seule est
+     * négligée devant un sous-arbre.
+     */
+    private long poids(Entree<V> entree) {
+        if (this.tailleConnue) {
+            return entree.racineSeule ? 1 : entree.arbre.getNbNoeuds();
+        }
+        return entree.racineSeule ? 0 : 1;
+    }
+
+    /**
+     * Remplace une entrée de sous-arbre entier par sa racine et ses sous-arbres, dans l'ordre du
+     * parcours.
+     */
+    private void developper(Entree<V> sousArbre) {
+        final Deque<Entree<V>> nouvelles = new ArrayDeque<>(this.entrees.size() + 4);
+        for (Entree<V> entree : this.entrees) {
+            if (entree != sousArbre) {
+                nouvelles.addLast(entree);
+            } else if (this.infixe) {
+                final ArbreBinaireRecherche<?> abr = (ArbreBinaireRecherche<?>) entree.arbre;
+                ajouter(nouvelles, abr.getSag());
+                nouvelles.addLast(new Entree<>(entree.arbre, true));
+                ajouter(nouvelles, abr.getSad());
+            } else {
+                nouvelles.addLast(new Entree<>(entree.arbre, true));
+                for (Arbre<V> enfant : entree.arbre.getForet()) {
+                    nouvelles.addLast(new Entree<>(enfant, false));
+                }
+            }
+        }
+        this.entrees = nouvelles;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> void ajouter(Deque<Entree<V>> entrees, ArbreBinaireRecherche<?> abr) {
+        if (abr != null) {
+            entrees.addLast(new Entree<>((Arbre<V>) abr, false));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void empiler(ArbreBinaireRecherche<?> abr) {
+        if (abr != null) {
+            this.entrees.addFirst(new Entree<>((Arbre<V>) abr, false));
+        }
+    }
+
+    private void consommer() {
+        if (this.taille > 0) {
+            this.taille--;
+        }
+    }
+
+    /**
+     * Entrée restant à parcourir : un sous-arbre entier, ou sa seule racine.
+     */
+    private static final class Entree<V> {
+
+        private final Arbre<V> arbre;
+
+        private final boolean racineSeule;
+
+        Entree(Arbre<V> arbre, boolean racineSeule) {
+            this.arbre = arbre;
+            this.racineSeule = racineSeule;
+        }
+    }
+}
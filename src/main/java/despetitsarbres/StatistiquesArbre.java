@@ -0,0 +1,234 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Statistiques d'un arbre, calculées en un seul parcours en largeur itératif : distribution des
+ * degrés, largeur de chaque niveau et histogramme des profondeurs des feuilles. Les mesures
+ * globales (nombre de noeuds et de feuilles, hauteur, hauteur moyenne) en sont déduites et
+ * fournies par un {@link MetriquesArbre}. Les statistiques sont figées au moment du calcul.
+ *
+ * @author Rémi Venant
+ * @see Arbre#statistiques()
+ */
+public final class StatistiquesArbre {
+
+    private final MetriquesArbre metriques;
+
+    private final int[] distributionDegres;
+
+    private final int[] largeursNiveaux;
+
+    private final int[] profondeursFeuilles;
+
+    private StatistiquesArbre(int[] distributionDegres, int[] largeursNiveaux,
+            int[] profondeursFeuilles) {
+        int nbNoeuds = 0;
+        int nbFeuilles = 0;
+        long sommeProfondeursFeuilles = 0;
+        for (int profondeur = 0; profondeur < largeursNiveaux.length; profondeur++) {
+            nbNoeuds += largeursNiveaux[profondeur];
+            nbFeuilles += profondeursFeuilles[profondeur];
+            sommeProfondeursFeuilles += (long) profondeur * profondeursFeuilles[profondeur];
+        }
+        this.metriques = new MetriquesArbre(nbNoeuds, nbFeuilles, largeursNiveaux.length - 1,
+                sommeProfondeursFeuilles);
+        this.distributionDegres = distributionDegres;
+        this.largeursNiveaux = largeursNiveaux;
+        this.profondeursFeuilles = profondeursFeuilles;
+    }
+
+    /**
+     * Calcule les statistiques d'un arbre. Le parcours se fait niveau par niveau avec une file :
+     * la profondeur d'un noeud est celle du niveau en cours, sans être mémorisée pour chaque noeud.
+     *
+     * @param arbre l'arbre
+     * @return les statistiques de l'arbre
+     */
+    static StatistiquesArbre calculer(Arbre<?> arbre) {
+        int[] distributionDegres = new int[4];
+        int[] largeursNiveaux = new int[16];
+        int[] profondeursFeuilles = new int[16];
+        int profondeur = 0;
+        final Deque<Arbre<?>> file = new ArrayDeque<>();
+        file.add(arbre);
+        while (!file.isEmpty()) {
+            final int largeur = file.size();
+            if (profondeur == largeursNiveaux.length) {
+                largeursNiveaux = Arrays.copyOf(largeursNiveaux, profondeur << 1);
+                profondeursFeuilles = Arrays.copyOf(profondeursFeuilles, profondeur << 1);
+            }
+            largeursNiveaux[profondeur] = largeur;
+            for (int i = 0; i < largeur; i++) {
+                final List<? extends Arbre<?>> foret = file.poll().getForet();
+                final int degre = foret.size();
+                if (degre >= distributionDegres.length) {
+                    distributionDegres = Arrays.copyOf(distributionDegres,
+                            Math.max(degre + 1, distributionDegres.length << 1));
+                }
+                distributionDegres[degre]++;
+                if (degre == 0) {
+                    profondeursFeuilles[profondeur]++;
+                } else {
+                    file.addAll(foret);
+                }
+            }
+            profondeur++;
+        }
+        int degreMax = distributionDegres.length - 1;
+        while (distributionDegres[degreMax] == 0) {
+            degreMax--;
+        }
+        return new StatistiquesArbre(Arrays.copyOf(distributionDegres, degreMax + 1),
+                Arrays.copyOf(largeursNiveaux, profondeur),
+                Arrays.copyOf(profondeursFeuilles, profondeur));
+    }
+
+    /**
+     * Fournit les mesures globales de l'arbre.
+     *
+     * @return les mesures de l'arbre
+     */
+    public MetriquesArbre getMetriques() {
+        return this.metriques;
+    }
+
+    /**
+     * Fournit le nombre de noeuds de l'arbre.
+     *
+     * @return le nombre de noeuds
+     */
+    public int getNbNoeuds() {
+        return this.metriques.getNbNoeuds();
+    }
+
+    /**
+     * Fournit le nombre de feuilles de l'arbre.
+     *
+     * @return le nombre de feuilles
+     */
+    public int getNbFeuilles() {
+        return this.metriques.getNbFeuilles();
+    }
+
+    /**
+     * Fournit la hauteur de l'arbre.
+     *
+     * @return la hauteur de l'arbre
+     */
+    public int getHauteur() {
+        return this.metriques.getHauteur();
+    }
+
+    /**
+     * Fournit la hauteur moyenne de l'arbre, moyenne des profondeurs de ses feuilles.
+     *
+     * @return la hauteur moyenne
+     */
+    public float getHauteurMoyenne() {
+        return this.metriques.getHauteurMoyenne();
+    }
+
+    /**
+     * Fournit le plus grand nombre de sous-arbres d'un noeud de l'arbre.
+     *
+     * @return le degré maximal
+     */
+    public int getDegreMax() {
+        return this.distributionDegres.length - 1;
+    }
+
+    /**
+     * Fournit le nombre de noeuds ayant exactement le nombre de sous-arbres donné.
+     *
+     * @param degre le nombre de sous-arbres
+     * @return le nombre de noeuds de ce degré, 0 si le degré est négatif ou supérieur au degré
+     * maximal
+     */
+    public int getNbNoeudsDeDegre(int degre) {
+        return degre >= 0 && degre < this.distributionDegres.length
+                ? this.distributionDegres[degre] : 0;
+    }
+
+    /**
+     * Fournit la distribution des degrés : l'élément d'indice d est le nombre de noeuds ayant d
+     * sous-arbres.
+     *
+     * @return une copie de la distribution, de longueur {@link #getDegreMax()} + 1
+     */
+    public int[] getDistributionDegres() {
+        return this.distributionDegres.clone();
+    }
+
+    /**
+     * Fournit le nombre de noeuds situés à la profondeur donnée (la racine est de profondeur 0).
+     *
+     * @param profondeur la profondeur du niveau
+     * @return la largeur du niveau, 0 si la profondeur est négative ou supérieure à la hauteur
+     */
+    public int getLargeurNiveau(int profondeur) {
+        return profondeur >= 0 && profondeur < this.largeursNiveaux.length
+                ? this.largeursNiveaux[profondeur] : 0;
+    }
+
+    /**
+     * Fournit la largeur de l'arbre, plus grand nombre de noeuds d'un même niveau.
+     *
+     * @return la largeur maximale d'un niveau
+     */
+    public int getLargeurMax() {
+        int largeurMax = 0;
+        for (int largeur : this.largeursNiveaux) {
+            largeurMax = Math.max(largeurMax, largeur);
+        }
+        return largeurMax;
+    }
+
+    /**
+     * Fournit la largeur de chaque niveau : l'élément d'indice p est le nombre de noeuds de
+     * profondeur p.
+     *
+     * @return une copie des largeurs, de longueur {@link #getHauteur()} + 1
+     */
+    public int[] getLargeursNiveaux() {
+        return this.largeursNiveaux.clone();
+    }
+
+    /**
+     * Fournit l'histogramme des profondeurs des feuilles : l'élément d'indice p est le nombre de
+     * feuilles de profondeur p.
+     *
+     * @return une copie de l'histogramme, de longueur {@link #getHauteur()} + 1
+     */
+    public int[] getHistogrammeProfondeursFeuilles() {
+        return this.profondeursFeuilles.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "StatistiquesArbre{metriques=" + this.metriques + ", distributionDegres="
+                + Arrays.toString(this.distributionDegres) + ", largeursNiveaux="
+                + Arrays.toString(this.largeursNiveaux) + '}';
+    }
+}
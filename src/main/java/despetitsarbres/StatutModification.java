@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+/**
+ * Issue d'une tentative d'ajout ou de retrait d'une clé dans un arbre binaire de recherche.
+ *
+ * @author Rémi Venant
+ * @see ArbreBinaireRecherche#tenterAjouter(Comparable)
+ * @see ArbreBinaireRecherche#tenterRetirer(Comparable)
+ */
+public enum StatutModification {
+    /**
+     * La clé a été ajoutée ou retirée.
+     */
+    EFFECTUEE,
+    /**
+     * La clé à ajouter était déjà présente : l'arbre est inchangé.
+     */
+    DEJA_PRESENTE,
+    /**
+     * La clé à retirer était absente : l'arbre est inchangé.
+     */
+    ABSENTE,
+    /**
+     * La clé est nulle : l'arbre est inchangé.
+     */
+    CLE_NULLE,
+    /**
+     * La clé à retirer est l'unique clé de l'arbre, qui ne peut être vide : l'arbre est inchangé.
+     */
+    DERNIERE_CLE;
+
+    /**
+     * Indique si l'arbre a été modifié.
+     *
+     * @return vrai si la clé a été ajoutée ou retirée
+     */
+    public boolean isEffectuee() {
+        return this == EFFECTUEE;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+/**
+ * Libération explicite de la mémoire des tampons directs et projetés. Java 11 n'offre pas d'API
+ * publique pour cela : la méthode {@code invokeCleaner} de {@code sun.misc.Unsafe} (module
+ * jdk.unsupported) est utilisée lorsqu'elle est disponible. Sinon, la mémoire sera libérée par le
+ * ramasse-miettes lorsque le tampon ne sera plus référencé.
+ *
+ * @author Rémi Venant
+ */
+final class TamponsDirects {
+
+    private static final Object UNSAFE;
+
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe;
+        Method invokeCleaner;
+        try {
+            final Class<?> classeUnsafe = Class.forName("sun.misc.Unsafe");
+            final Field champ = classeUnsafe.getDeclaredField("theUnsafe");
+            champ.setAccessible(true);
+            unsafe = champ.get(null);
+            invokeCleaner = classeUnsafe.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            unsafe = null;
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    /**
+     * Libère la mémoire d'un tampon direct. Le tampon ne doit plus être utilisé ensuite.
+     *
+     * @param tampon le tampon, qui ne doit être ni une tranche ni une copie d'un autre tampon
+     * @return vrai si la mémoire a été libérée immédiatement, faux si elle le sera par le
+     * ramasse-miettes
+     */
+    static boolean liberer(ByteBuffer tampon) {
+        if (INVOKE_CLEANER == null || tampon == null || !tampon.isDirect()) {
+            return false;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, tampon);
+            return true;
+        } catch (IllegalAccessException | InvocationTargetException ex) {
+            return false;
+        }
+    }
+
+    private TamponsDirects() {
+    }
+}
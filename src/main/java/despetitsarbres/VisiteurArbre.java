@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+/**
+ * Visiteur des noeuds d'un arbre, qui décide après chaque noeud de la suite du parcours : il peut
+ * écarter les sous-arbres du noeud ou arrêter le parcours.
+ *
+ * @author Rémi Venant
+ * @param <V> type de valeurs stockées dans l'arbre.
+ * @see Arbre#visiterParcoursPrefixe(VisiteurArbre)
+ */
+@FunctionalInterface
+public interface VisiteurArbre<V> {
+
+    /**
+     * Visite un noeud.
+     *
+     * @param valeur la valeur du noeud
+     * @param profondeur la profondeur du noeud, 0 pour la racine de l'arbre parcouru
+     * @return la suite à donner au parcours
+     */
+    ActionVisite visiter(V valeur, int profondeur);
+}
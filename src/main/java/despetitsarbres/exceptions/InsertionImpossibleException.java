@@ -24,6 +24,12 @@ package despetitsarbres.exceptions;
  */
 public class InsertionImpossibleException extends Exception {
 
+    /**
+     * Shared instance without stack trace, thrown when adding a null key.
+     */
+    public static final InsertionImpossibleException CLE_NULLE
+            = new InsertionImpossibleException("Impossible d'ajouter une clé nulle", false);
+
     /**
      * Creates a new instance of <code>InsertionImpossibleException</code> without detail message.
      */
@@ -39,4 +45,16 @@ public class InsertionImpossibleException extends Exception {
     public InsertionImpossibleException(String msg) {
         super(msg);
     }
+
+    /**
+     * Constructs an instance of <code>InsertionImpossibleException</code> with the specified
+     * detail message, with or without stack trace. An instance without stack trace has no
+     * suppressed exceptions either, and is cheap to throw as normal control flow.
+     *
+     * @param msg the detail message.
+     * @param writableStackTrace whether or not the stack trace should be writable
+     */
+    public InsertionImpossibleException(String msg, boolean writableStackTrace) {
+        super(msg, null, writableStackTrace, writableStackTrace);
+    }
 }
@@ -24,6 +24,12 @@ package despetitsarbres.exceptions;
  */
 public class SuppressionImpossibleException extends Exception {
 
+    /**
+     * Shared instance without stack trace, thrown when removing a null key.
+     */
+    public static final SuppressionImpossibleException CLE_NULLE
+            = new SuppressionImpossibleException("Impossible de retirer une clé nulle", false);
+
     /**
      * Creates a new instance of <code>SuppressionImpossibleException</code> without detail message.
      */
@@ -39,4 +45,16 @@ public class SuppressionImpossibleException extends Exception {
     public SuppressionImpossibleException(String msg) {
         super(msg);
     }
+
+    /**
+     * Constructs an instance of <code>SuppressionImpossibleException</code> with the specified
+     * detail message, with or without stack trace. An instance without stack trace has no
+     * suppressed exceptions either, and is cheap to throw as normal control flow.
+     *
+     * @param msg the detail message.
+     * @param writableStackTrace whether or not the stack trace should be writable
+     */
+    public SuppressionImpossibleException(String msg, boolean writableStackTrace) {
+        super(msg, null, writableStackTrace, writableStackTrace);
+    }
 }
@@ -39,4 +39,16 @@ public class ValeurNonTrouveeException extends Exception {
     public ValeurNonTrouveeException(String msg) {
         super(msg);
     }
+
+    /**
+     * Constructs an instance of <code>ValeurNonTrouveeException</code> with the specified
+     * detail message, with or without stack trace. An instance without stack trace has no
+     * suppressed exceptions either, and is cheap to throw as normal control flow.
+     *
+     * @param msg the detail message.
+     * @param writableStackTrace whether or not the stack trace should be writable
+     */
+    public ValeurNonTrouveeException(String msg, boolean writableStackTrace) {
+        super(msg, null, writableStackTrace, writableStackTrace);
+    }
 }
@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import despetitsarbres.exceptions.InsertionImpossibleException;
+import despetitsarbres.exceptions.SuppressionImpossibleException;
+import despetitsarbres.exceptions.ValeurNonTrouveeException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author Rémi Venant
+ */
+public class ArbreAVLIndexeTest {
+
+    public ArbreAVLIndexeTest() {
+    }
+
+    @BeforeAll
+    public static void setUpClass() {
+    }
+
+    @AfterAll
+    public static void tearDownClass() {
+    }
+
+    @BeforeEach
+    public void setUp() {
+    }
+
+    @AfterEach
+    public void tearDown() {
+    }
+
+    /**
+     * Compare les compteurs conservés de chaque noeud à ceux recalculés par un parcours.
+     */
+    private static void verifierCompteurs(ArbreAVLIndexe<Integer> noeud) {
+        if (noeud == null) {
+            return;
+        }
+        final int[] compteurs = new int[2];
+        noeud.traiterNoeudsParcoursPrefixe((v) -> compteurs[0]++);
+        assertEquals(compteurs[0], noeud.getNbNoeuds(), "Nombre de noeuds conservé incorrect");
+        final ArbreAVLIndexe<Integer> sag = noeud.getSag();
+        final ArbreAVLIndexe<Integer> sad = noeud.getSad();
+        final int nbFeuilles = noeud.isFeuille() ? 1
+                : (sag == null ? 0 : sag.getNbFeuilles()) + (sad == null ? 0 : sad.getNbFeuilles());
+        assertEquals(nbFeuilles, noeud.getNbFeuilles(), "Nombre de feuilles conservé incorrect");
+        verifierCompteurs(sag);
+        verifierCompteurs(sad);
+    }
+
+    @Test
+    public void testCompteursArbreTest() throws InsertionImpossibleException {
+        final ArbreAVLIndexe<Integer> arbre = new ArbreAVLIndexe<>(4);
+        assertEquals(1, arbre.getNbNoeuds(), "Nombre de noeuds incorrect");
+        assertEquals(1, arbre.getNbFeuilles(), "Nombre de feuilles incorrect");
+        arbre.ajouter(2).ajouter(6).ajouter(1).ajouter(3).ajouter(5).ajouter(7);
+        assertEquals(7, arbre.getNbNoeuds(), "Nombre de noeuds incorrect");
+        assertEquals(4, arbre.getNbFeuilles(), "Nombre de feuilles incorrect");
+        arbre.ajouter(6);
+        assertEquals(7, arbre.getNbNoeuds(), "Une clé déjà présente ne devrait pas être comptée");
+    }
+
+    @Test
+    public void testRangEtSelection() throws InsertionImpossibleException {
+        final ArbreAVLIndexe<Integer> arbre = new ArbreAVLIndexe<>(0);
+        for (int i = 1; i < 1000; i++) {
+            arbre.ajouter(i * 2);
+        }
+        for (int k = 0; k < 1000; k++) {
+            assertEquals(k * 2, arbre.selectionner(k), "Sélection incorrecte");
+            assertEquals(k, arbre.rang(k * 2), "Rang d'une clé présente incorrect");
+            assertEquals(k + 1, arbre.rang(k * 2 + 1), "Rang d'une clé absente incorrect");
+        }
+        assertEquals(0, arbre.rang(-5), "Rang d'une clé inférieure au min incorrect");
+        assertThrows(IndexOutOfBoundsException.class, () -> {
+            arbre.selectionner(1000);
+        }, "Sélectionner au-delà du nombre de noeuds devrait être impossible");
+        assertThrows(IndexOutOfBoundsException.class, () -> {
+            arbre.selectionner(-1);
+        }, "Sélectionner un rang négatif devrait être impossible");
+    }
+
+    @Test
+    public void testAjoutRetraitAleatoires() throws InsertionImpossibleException,
+            SuppressionImpossibleException, ValeurNonTrouveeException {
+        final Random random = new Random(42);
+        final ArbreAVLIndexe<Integer> arbre = new ArbreAVLIndexe<>(500);
+        final TreeSet<Integer> attendu = new TreeSet<>();
+        attendu.add(500);
+        for (int i = 0; i < 4000; i++) {
+            final int cle = random.nextInt(1000);
+            if (random.nextBoolean() || attendu.size() == 1) {
+                arbre.ajouter(cle);
+                attendu.add(cle);
+            } else if (attendu.contains(cle)) {
+                arbre.retirer(cle);
+                attendu.remove(cle);
+            }
+        }
+        verifierCompteurs(arbre);
+        assertEquals(attendu.size(), arbre.getNbNoeuds(), "Nombre de noeuds incorrect");
+        final List<Integer> cles = new ArrayList<>(attendu);
+        for (int k = 0; k < cles.size(); k++) {
+            assertEquals(cles.get(k), arbre.selectionner(k), "Sélection incorrecte");
+        }
+        assertEquals(attendu.headSet(250).size(), arbre.rang(250), "Rang incorrect");
+    }
+
+    @Test
+    public void testCompteursApresLot() {
+        final ArbreAVLIndexe<Integer> arbre = new ArbreAVLIndexe<>(0);
+        final List<Integer> lot = new ArrayList<>();
+        for (int i = 1; i < 500; i++) {
+            lot.add(i * 2);
+        }
+        assertTrue(arbre.ajouterTous(lot).isEmpty(), "Aucune clé ne devrait être rejetée");
+        verifierCompteurs(arbre);
+        assertEquals(500, arbre.getNbNoeuds(), "Nombre de noeuds incorrect");
+        assertEquals(998, arbre.selectionner(499), "Sélection incorrecte");
+        lot.subList(100, lot.size()).clear();
+        assertTrue(arbre.retirerTous(lot).isEmpty(), "Aucune clé ne devrait être rejetée");
+        verifierCompteurs(arbre);
+        assertEquals(400, arbre.getNbNoeuds(), "Nombre de noeuds incorrect");
+        assertEquals(202, arbre.selectionner(1), "Sélection incorrecte");
+        // Un lot petit devant l'arbre est réparti dans l'arbre en une seule descente
+        assertTrue(arbre.ajouterTous(List.of(301, 1, 999, 555)).isEmpty(),
+                "Aucune clé ne devrait être rejetée");
+        verifierCompteurs(arbre);
+        assertEquals(404, arbre.getNbNoeuds(), "Nombre de noeuds incorrect");
+        assertEquals(301, arbre.selectionner(52), "Sélection incorrecte");
+        assertEquals(List.of(3), arbre.retirerTous(List.of(3, 1, 202, 998)),
+                "Seule la clé absente devrait être rejetée");
+        verifierCompteurs(arbre);
+        assertEquals(401, arbre.getNbNoeuds(), "Nombre de noeuds incorrect");
+        assertEquals(204, arbre.selectionner(1), "Sélection incorrecte");
+    }
+}
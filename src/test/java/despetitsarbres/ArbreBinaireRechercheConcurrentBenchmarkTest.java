@@ -0,0 +1,201 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compare le débit d'un ABR concurrent ({@link ArbreBinaireRechercheConcurrent}) et d'un
+ * {@link ArbreAVL} protégé par un bloc {@code synchronized}, de 1 à 32 threads, pour une charge de
+ * 90 % de recherches, 5 % d'ajouts et 5 % de retraits, dont la moitié sont sans effet. Jusqu'au
+ * nombre de processeurs, le débit de l'arbre concurrent doit croître avec le nombre de threads,
+ * d'au moins {@value #EFFICACITE_MINIMALE} fois le débit d'un thread par thread ajouté, et dépasser
+ * celui de l'arbre synchronisé ; au-delà, il ne doit pas s'effondrer sous {@value
+ * #EFFICACITE_MINIMALE} fois le débit atteint au nombre de processeurs. Exécution :
+ * {@code mvn test -Dtest=ArbreBinaireRechercheConcurrentBenchmarkTest -Ddespetitsarbres.benchmark=true}
+ * (nombre de clés modifiable par {@code -Ddespetitsarbres.benchmark.taille=...}, durée de chaque
+ * mesure en millisecondes par {@code -Ddespetitsarbres.benchmark.duree=...}).
+ *
+ * @author Rémi Venant
+ */
+@EnabledIfSystemProperty(named = "despetitsarbres.benchmark", matches = "true")
+public class ArbreBinaireRechercheConcurrentBenchmarkTest {
+
+    private static final int[] NB_THREADS = {1, 2, 4, 8, 16, 32};
+
+    private static final int POURCENTAGE_ECRITURES = 10;
+
+    private static final double EFFICACITE_MINIMALE = 0.5;
+
+    public ArbreBinaireRechercheConcurrentBenchmarkTest() {
+    }
+
+    /**
+     * Opérations d'un arbre sous test.
+     */
+    private interface Operations {
+
+        boolean contains(int cle);
+
+        void ajouter(int cle);
+
+        void retirer(int cle);
+    }
+
+    /**
+     * Mesure le débit, en millions d'opérations par seconde, de threads opérant sur des clés de
+     * [0, 2 * taille) pendant la durée indiquée.
+     */
+    private static double mesurer(Operations operations, int nbThreads, int taille, long duree)
+            throws Exception {
+        final ExecutorService executeur = Executors.newFixedThreadPool(nbThreads);
+        try {
+            final CountDownLatch depart = new CountDownLatch(1);
+            final List<Future<Long>> resultats = new ArrayList<>();
+            for (int t = 0; t < nbThreads; t++) {
+                resultats.add(executeur.submit(() -> {
+                    final ThreadLocalRandom random = ThreadLocalRandom.current();
+                    depart.await();
+                    final long fin = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(duree);
+                    long nbOperations = 0;
+                    do {
+                        for (int i = 0; i < 1000; i++) {
+                            final int cle = random.nextInt(2 * taille);
+                            final int tirage = random.nextInt(100);
+                            if (tirage >= POURCENTAGE_ECRITURES) {
+                                operations.contains(cle);
+                            } else if (tirage % 2 == 0) {
+                                operations.ajouter(cle);
+                            } else {
+                                operations.retirer(cle);
+                            }
+                        }
+                        nbOperations += 1000;
+                    } while (System.nanoTime() < fin);
+                    return nbOperations;
+                }));
+            }
+            final long debut = System.nanoTime();
+            depart.countDown();
+            long total = 0;
+            for (Future<Long> resultat : resultats) {
+                total += resultat.get();
+            }
+            return total * 1000.0 / (System.nanoTime() - debut);
+        } finally {
+            executeur.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testDebit() throws Exception {
+        final int taille = Integer.getInteger("despetitsarbres.benchmark.taille", 1_000_000);
+        final long duree = Long.getLong("despetitsarbres.benchmark.duree", 1000L);
+        final ArbreBinaireRechercheConcurrent<Integer> concurrent
+                = new ArbreBinaireRechercheConcurrent<>(0);
+        final ArbreAVL<Integer> synchronise = new ArbreAVL<>(0);
+        for (int cle = 2; cle < 2 * taille; cle += 2) {
+            concurrent.ajouter(cle);
+            synchronise.ajouter(cle);
+        }
+        final Operations operationsConcurrentes = new Operations() {
+            @Override
+            public boolean contains(int cle) {
+                return concurrent.contains(cle);
+            }
+
+            @Override
+            public void ajouter(int cle) {
+                concurrent.tenterAjouter(cle);
+            }
+
+            @Override
+            public void retirer(int cle) {
+                if (cle != 0) {
+                    concurrent.tenterRetirer(cle);
+                }
+            }
+        };
+        final Operations operationsSynchronisees = new Operations() {
+            @Override
+            public boolean contains(int cle) {
+                synchronized (synchronise) {
+                    return synchronise.contains(cle);
+                }
+            }
+
+            @Override
+            public void ajouter(int cle) {
+                synchronized (synchronise) {
+                    synchronise.tenterAjouter(cle);
+                }
+            }
+
+            @Override
+            public void retirer(int cle) {
+                if (cle != 0) {
+                    synchronized (synchronise) {
+                        synchronise.tenterRetirer(cle);
+                    }
+                }
+            }
+        };
+        System.out.printf("%d clés, %d %% d'écritures, %d processeurs%n", taille,
+                POURCENTAGE_ECRITURES, Runtime.getRuntime().availableProcessors());
+        final int nbProcesseurs = Runtime.getRuntime().availableProcessors();
+        double debitUnThread = 0;
+        double debitProcesseurs = 0;
+        for (int nbThreads : NB_THREADS) {
+            final double debitSynchronise = mesurer(operationsSynchronisees, nbThreads, taille,
+                    duree);
+            final double debitConcurrent = mesurer(operationsConcurrentes, nbThreads, taille,
+                    duree);
+            System.out.printf("%2d threads : synchronized %.2f Mop/s, concurrent %.2f Mop/s "
+                    + "(x%.2f)%n", nbThreads, debitSynchronise, debitConcurrent,
+                    debitConcurrent / debitSynchronise);
+            if (nbThreads == 1) {
+                debitUnThread = debitConcurrent;
+            }
+            if (nbThreads <= nbProcesseurs) {
+                debitProcesseurs = debitConcurrent;
+                assertTrue(debitConcurrent >= EFFICACITE_MINIMALE * nbThreads * debitUnThread,
+                        "Le débit devrait croître avec le nombre de threads : " + nbThreads
+                        + " threads");
+            } else {
+                assertTrue(debitConcurrent >= EFFICACITE_MINIMALE * debitProcesseurs,
+                        "Le débit ne devrait pas s'effondrer au-delà du nombre de processeurs : "
+                        + nbThreads + " threads");
+            }
+            if (nbThreads > 1 && nbThreads <= nbProcesseurs) {
+                assertTrue(debitConcurrent >= debitSynchronise, "L'arbre concurrent devrait "
+                        + "dépasser l'arbre synchronisé : " + nbThreads + " threads");
+            }
+        }
+    }
+}
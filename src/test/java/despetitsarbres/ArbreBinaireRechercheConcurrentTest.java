@@ -0,0 +1,296 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import despetitsarbres.exceptions.InsertionImpossibleException;
+import despetitsarbres.exceptions.SuppressionImpossibleException;
+import despetitsarbres.exceptions.ValeurNonTrouveeException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author Rémi Venant
+ */
+public class ArbreBinaireRechercheConcurrentTest {
+
+    private static final int NB_ECRIVAINS = 4;
+
+    private static final int NB_LECTEURS = 4;
+
+    private static final int NB_OPERATIONS = 50_000;
+
+    /**
+     * Les clés paires de [0, MAX_STABLE] sont présentes pendant tout le test ; les écrivains
+     * ajoutent et retirent des clés impaires.
+     */
+    private static final int MAX_STABLE = 2000;
+
+    public ArbreBinaireRechercheConcurrentTest() {
+    }
+
+    @BeforeAll
+    public static void setUpClass() {
+    }
+
+    @AfterAll
+    public static void tearDownClass() {
+    }
+
+    @BeforeEach
+    public void setUp() {
+    }
+
+    @AfterEach
+    public void tearDown() {
+    }
+
+    @Test
+    public void testOperations() throws InsertionImpossibleException, ValeurNonTrouveeException,
+            SuppressionImpossibleException {
+        final ArbreBinaireRechercheConcurrent<Integer> arbre
+                = new ArbreBinaireRechercheConcurrent<>(4);
+        arbre.ajouter(2).ajouter(6).ajouter(1).ajouter(3);
+        assertEquals(5, arbre.getNbNoeuds(), "L'arbre devrait contenir 5 noeuds");
+        assertEquals(Integer.valueOf(1), arbre.getMin(), "Le min devrait être 1");
+        assertEquals(Integer.valueOf(6), arbre.getMax(), "Le max devrait être 6");
+        assertTrue(arbre.contains(3), "3 devrait être présente");
+        assertFalse(arbre.contains(5), "5 devrait être absente");
+        assertFalse(arbre.contains(null), "null ne devrait pas être présente");
+
+        final Iterator<Integer> iterateur = arbre.iterateurParcoursPrefixe();
+        arbre.retirer(1);
+        assertEquals(StatutModification.ABSENTE, arbre.tenterRetirer(1), "1 a été retirée");
+        final List<Integer> parcours = new ArrayList<>();
+        iterateur.forEachRemaining(parcours::add);
+        assertEquals(Arrays.asList(4, 2, 1, 3, 6), parcours,
+                "L'itérateur devrait parcourir l'instantané pris à sa création");
+        final Iterator<Integer> plage = arbre.iterateurPlage(2, 6);
+        arbre.tenterAjouter(5);
+        final List<Integer> clesPlage = new ArrayList<>();
+        plage.forEachRemaining(clesPlage::add);
+        assertEquals(Arrays.asList(2, 3, 4), clesPlage,
+                "L'itérateur de plage devrait parcourir l'instantané pris à sa création");
+        assertEquals(Arrays.asList(2, 3, 4, 5), arbre.plage(2, 6), "Plage [2, 6) invalide");
+        arbre.tenterRetirer(5);
+
+        assertEquals(Arrays.asList(2), arbre.ajouterTous(Arrays.asList(8, 2, 7)),
+                "2 devrait être rejetée");
+        assertEquals(6, arbre.getNbNoeuds(), "L'arbre devrait contenir 6 noeuds");
+        assertEquals(Arrays.asList(9), arbre.retirerTous(Arrays.asList(2, 9, 3)),
+                "9 devrait être rejetée");
+        assertEquals(4, arbre.getNbNoeuds(), "L'arbre devrait contenir 4 noeuds");
+
+        final List<Integer> prefixe = new ArrayList<>();
+        arbre.iterateurParcoursPrefixe().forEachRemaining(prefixe::add);
+        assertEquals(prefixe, arbre.stream(OrdreParcours.PREFIXE).collect(Collectors.toList()),
+                "Flux préfixe invalide");
+        assertEquals(Integer.valueOf(8), arbre.stream(OrdreParcours.LARGEUR)
+                .filter((cle) -> cle > 7).findFirst().orElse(null), "Premier élément invalide");
+        final Iterator<Integer> flux = arbre.stream(OrdreParcours.SUFFIXE).iterator();
+        flux.next();
+        arbre.tenterAjouter(5);
+        assertThrows(ConcurrentModificationException.class, flux::next,
+                "Le flux devrait échouer après une écriture");
+        arbre.tenterRetirer(5);
+
+        // Le traitement d'un parcours peut modifier l'arbre sans interblocage
+        arbre.traiterNoeudsParcoursLargeur((cle) -> arbre.tenterAjouter(cle + 100));
+        assertEquals(8, arbre.getNbNoeuds(), "L'arbre devrait contenir 8 noeuds");
+    }
+
+    /**
+     * Test de stress : des lecteurs recherchent des clés stables et des clés jamais ajoutées
+     * pendant que des écrivains ajoutent et retirent des clés.
+     */
+    @Test
+    public void testLecturesEtEcrituresConcurrentes() throws Exception {
+        final ArbreBinaireRechercheConcurrent<Integer> arbre
+                = new ArbreBinaireRechercheConcurrent<>(MAX_STABLE / 2);
+        for (int cle = 0; cle <= MAX_STABLE; cle += 2) {
+            arbre.ajouter(cle);
+        }
+        final ExecutorService executeur = Executors.newFixedThreadPool(NB_ECRIVAINS + NB_LECTEURS);
+        final CountDownLatch depart = new CountDownLatch(1);
+        final List<Future<TreeSet<Integer>>> ecritures = new ArrayList<>();
+        final List<Future<TreeSet<Integer>>> lectures = new ArrayList<>();
+        try {
+            for (int t = 0; t < NB_ECRIVAINS; t++) {
+                ecritures.add(executeur.submit(ecrivain(arbre, t, depart)));
+            }
+            for (int t = 0; t < NB_LECTEURS; t++) {
+                lectures.add(executeur.submit(lecteur(arbre, t, depart)));
+            }
+            depart.countDown();
+            for (Future<TreeSet<Integer>> lecture : lectures) {
+                lecture.get(60, TimeUnit.SECONDS);
+            }
+            final TreeSet<Integer> attendu = new TreeSet<>();
+            for (int cle = 0; cle <= MAX_STABLE; cle += 2) {
+                attendu.add(cle);
+            }
+            for (Future<TreeSet<Integer>> ecriture : ecritures) {
+                attendu.addAll(ecriture.get(60, TimeUnit.SECONDS));
+            }
+            assertEquals(attendu.size(), arbre.getNbNoeuds(), "Nombre de noeuds incorrect");
+            final TreeSet<Integer> obtenu = new TreeSet<>();
+            arbre.forEach(obtenu::add);
+            assertEquals(attendu, obtenu, "Clés incorrectes");
+            assertTrue(arbre.getHauteur() <= 20, "L'arbre devrait rester équilibré");
+        } finally {
+            executeur.shutdownNow();
+        }
+    }
+
+    /**
+     * Vérifie que les écritures sans effet ne prennent pas le verrou d'écriture : elles aboutissent
+     * pendant qu'une lecture détient le verrou de lecture, qui bloque les écritures effectives.
+     */
+    @Test
+    public void testEcrituresSansEffetPendantLecture() throws Exception {
+        final ArbreBinaireRechercheConcurrent<Integer> arbre
+                = new ArbreBinaireRechercheConcurrent<>(5);
+        arbre.ajouterTous(Arrays.asList(1, 2, 3, 4, 6, 7, 8));
+        final ExecutorService executeur = Executors.newFixedThreadPool(2);
+        final CountDownLatch lectureEnCours = new CountDownLatch(1);
+        final CountDownLatch finLecture = new CountDownLatch(1);
+        try {
+            final Future<Boolean> lecture = executeur.submit(() -> arbre.visiterParcoursPrefixe(
+                    (cle, profondeur) -> {
+                        lectureEnCours.countDown();
+                        try {
+                            finLecture.await();
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return ActionVisite.ARRETER;
+                    }));
+            assertTrue(lectureEnCours.await(10, TimeUnit.SECONDS), "La lecture devrait débuter");
+            assertEquals(StatutModification.DEJA_PRESENTE, executeur.submit(
+                    () -> arbre.tenterAjouter(3)).get(10, TimeUnit.SECONDS),
+                    "Un ajout sans effet ne devrait pas attendre la lecture");
+            assertEquals(StatutModification.ABSENTE, executeur.submit(
+                    () -> arbre.tenterRetirer(42)).get(10, TimeUnit.SECONDS),
+                    "Un retrait sans effet ne devrait pas attendre la lecture");
+            assertEquals(StatutModification.CLE_NULLE, arbre.tenterAjouter(null),
+                    "Une clé nulle ne devrait pas attendre la lecture");
+            final Future<StatutModification> ajout = executeur.submit(
+                    () -> arbre.tenterAjouter(9));
+            assertThrows(TimeoutException.class, () -> ajout.get(100, TimeUnit.MILLISECONDS),
+                    "Un ajout effectif devrait attendre la fin de la lecture");
+            finLecture.countDown();
+            assertFalse(lecture.get(10, TimeUnit.SECONDS), "La lecture a été arrêtée");
+            assertEquals(StatutModification.EFFECTUEE, ajout.get(10, TimeUnit.SECONDS),
+                    "L'ajout devrait aboutir après la lecture");
+            assertEquals(9, arbre.getNbNoeuds(), "L'arbre devrait contenir 9 noeuds");
+        } finally {
+            finLecture.countDown();
+            executeur.shutdownNow();
+        }
+    }
+
+    /**
+     * Écrivain ajoutant et retirant des clés impaires qui lui sont propres ; renvoie les clés
+     * présentes à la fin.
+     */
+    private static Callable<TreeSet<Integer>> ecrivain(
+            ArbreBinaireRechercheConcurrent<Integer> arbre, int numero, CountDownLatch depart) {
+        return () -> {
+            final Random random = new Random(numero);
+            final TreeSet<Integer> presentes = new TreeSet<>();
+            depart.await();
+            for (int i = 0; i < NB_OPERATIONS; i++) {
+                final int cle = 2 * (random.nextInt(MAX_STABLE / 2 / NB_ECRIVAINS) * NB_ECRIVAINS
+                        + numero) + 1;
+                if (random.nextBoolean()) {
+                    assertEquals(presentes.add(cle), arbre.tenterAjouter(cle).isEffectuee(),
+                            "Statut d'ajout incorrect");
+                } else {
+                    assertEquals(presentes.remove(cle), arbre.tenterRetirer(cle).isEffectuee(),
+                            "Statut de retrait incorrect");
+                }
+            }
+            return presentes;
+        };
+    }
+
+    /**
+     * Lecteur vérifiant que les clés stables sont toujours trouvées et que les clés jamais
+     * ajoutées ne le sont jamais.
+     */
+    private static Callable<TreeSet<Integer>> lecteur(
+            ArbreBinaireRechercheConcurrent<Integer> arbre, int numero, CountDownLatch depart) {
+        return () -> {
+            final Random random = new Random(100 + numero);
+            depart.await();
+            for (int i = 0; i < NB_OPERATIONS; i++) {
+                final int stable = 2 * random.nextInt(MAX_STABLE / 2 + 1);
+                assertTrue(arbre.contains(stable), "La clé stable " + stable + " est présente");
+                final int absente = -1 - random.nextInt(MAX_STABLE);
+                assertFalse(arbre.contains(absente), "La clé " + absente + " est absente");
+                assertEquals(Integer.valueOf(0), arbre.getMin(), "Le min devrait être 0");
+                assertEquals(Integer.valueOf(MAX_STABLE), arbre.getMax(),
+                        "Le max devrait être " + MAX_STABLE);
+                if (i % 5000 == 0) {
+                    verifierInstantane(arbre.geler());
+                    final StatistiquesArbre statistiques = arbre.statistiques();
+                    assertTrue(statistiques.getNbNoeuds() > MAX_STABLE / 2,
+                            "Les clés stables devraient être comptées");
+                    assertTrue(statistiques.getDegreMax() <= 2, "Degré d'ABR incorrect");
+                }
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Vérifie qu'un instantané pris pendant des écritures est cohérent : clés sans doublon,
+     * toutes les clés stables présentes.
+     */
+    private static void verifierInstantane(Arbre<Integer> instantane) {
+        final Set<Integer> cles = new HashSet<>();
+        instantane.traiterNoeudsParcoursPrefixe((cle) -> assertTrue(cles.add(cle),
+                "Clé en double dans l'instantané : " + cle));
+        assertEquals(cles.size(), instantane.getNbNoeuds(), "Nombre de noeuds incohérent");
+        for (int cle = 0; cle <= MAX_STABLE; cle += 2) {
+            assertTrue(cles.contains(cle), "La clé stable " + cle + " manque à l'instantané");
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import despetitsarbres.exceptions.InsertionImpossibleException;
+import despetitsarbres.exceptions.SuppressionImpossibleException;
+import despetitsarbres.exceptions.ValeurNonTrouveeException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static despetitsarbres.TestingArbreFactory.parcourir;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author Rémi Venant
+ */
+public class ArbreBinaireRechercheCopieSurEcritureTest {
+
+    public ArbreBinaireRechercheCopieSurEcritureTest() {
+    }
+
+    @BeforeAll
+    public static void setUpClass() {
+    }
+
+    @AfterAll
+    public static void tearDownClass() {
+    }
+
+    @BeforeEach
+    public void setUp() {
+    }
+
+    @AfterEach
+    public void tearDown() {
+    }
+
+    /**
+     * Test que les itérateurs ne voient pas les modifications postérieures à leur création.
+     */
+    @Test
+    public void testIterateursInstantanes() throws InsertionImpossibleException,
+            ValeurNonTrouveeException, SuppressionImpossibleException {
+        final ArbreBinaireRechercheCopieSurEcriture<Integer> arbre
+                = new ArbreBinaireRechercheCopieSurEcriture<>(4);
+        arbre.ajouter(2).ajouter(6).ajouter(1).ajouter(3);
+        final Iterator<Integer> prefixe = arbre.iterateurParcoursPrefixe();
+        final Iterator<Integer> largeur = arbre.iterateurParcoursLargeur();
+        assertEquals(Integer.valueOf(4), prefixe.next());
+        arbre.retirer(2);
+        arbre.ajouter(7).ajouter(8);
+        final StringBuilder parcours = new StringBuilder();
+        // Le traitement modifie l'arbre pendant son propre parcours
+        arbre.traiterNoeudsParcoursSuffixe((cle) -> {
+            parcours.append(cle).append(", ");
+            arbre.tenterRetirer(cle);
+        });
+        assertEquals("2, 1, 3, 6", parcourir(prefixe),
+                "L'itérateur devrait parcourir l'arbre tel qu'à sa création");
+        assertEquals("4, 2, 6, 1, 3", parcourir(largeur),
+                "L'itérateur devrait parcourir l'arbre tel qu'à sa création");
+        assertEquals("3, 1, 6, 8, 7, 4, ", parcours.toString(), "Parcours incorrect");
+        assertTrue(arbre.isFeuille(), "Seule la dernière clé devrait rester");
+        assertEquals(Integer.valueOf(4), arbre.getRacine(), "La dernière clé devrait être 4");
+    }
+
+    @Test
+    public void testModifications() throws InsertionImpossibleException {
+        final ArbreBinaireRechercheCopieSurEcriture<Integer> arbre
+                = new ArbreBinaireRechercheCopieSurEcriture<>(4);
+        final ArbreBinaireRecherchePersistant<Integer> initial = arbre.instantane();
+        assertEquals(StatutModification.EFFECTUEE, arbre.tenterAjouter(2));
+        assertEquals(StatutModification.DEJA_PRESENTE, arbre.tenterAjouter(2));
+        assertEquals(StatutModification.CLE_NULLE, arbre.tenterAjouter(null));
+        assertEquals(StatutModification.ABSENTE, arbre.tenterRetirer(5));
+        assertEquals(Arrays.asList(null, 2), arbre.ajouterTous(Arrays.asList(1, 2, null, 3)));
+        assertEquals(Arrays.asList(5), arbre.retirerTous(Arrays.asList(1, 5)));
+        assertEquals(3, arbre.getNbNoeuds(), "L'arbre devrait contenir 3 noeuds");
+        assertEquals(1, initial.getNbNoeuds(), "L'instantané initial ne devrait pas changer");
+        assertThrows(InsertionImpossibleException.class, () -> arbre.ajouter(null));
+        assertThrows(ValeurNonTrouveeException.class, () -> arbre.retirer(5));
+
+        final ArbreBinaireRecherchePersistant<Integer> avantAbsente = arbre.instantane();
+        assertEquals(StatutModification.ABSENTE, arbre.tenterRetirer(0));
+        assertSame(avantAbsente, arbre.instantane(), "Une clé absente ne crée pas de version");
+        assertEquals(StatutModification.CLE_NULLE, arbre.tenterRetirer(null));
+        assertEquals(StatutModification.EFFECTUEE, arbre.tenterRetirer(2));
+        assertEquals(StatutModification.EFFECTUEE, arbre.tenterRetirer(4));
+        assertEquals(StatutModification.DERNIERE_CLE, arbre.tenterRetirer(3));
+        assertEquals(3, arbre.getRacine(), "La dernière clé devrait rester");
+    }
+
+    /**
+     * Test d'itérations pendant qu'un autre thread modifie l'arbre.
+     */
+    @Test
+    public void testIterationsConcurrentes() throws Exception {
+        final ArbreBinaireRechercheCopieSurEcriture<Integer> arbre
+                = new ArbreBinaireRechercheCopieSurEcriture<>(0);
+        for (int cle = 1; cle < 1000; cle++) {
+            arbre.ajouter(cle);
+        }
+        final AtomicBoolean arret = new AtomicBoolean();
+        final Thread ecrivain = new Thread(() -> {
+            int cle = 1000;
+            while (!arret.get()) {
+                arbre.tenterAjouter(cle);
+                arbre.tenterRetirer(cle - 1000 + 1);
+                cle++;
+            }
+        });
+        ecrivain.start();
+        try {
+            for (int i = 0; i < 200; i++) {
+                final ArbreBinaireRecherchePersistant<Integer> instantane = arbre.instantane();
+                int nb = 0;
+                Integer precedente = null;
+                final Iterator<Integer> iterateur = instantane.iterateurParcoursLargeur();
+                while (iterateur.hasNext()) {
+                    final Integer cle = iterateur.next();
+                    assertNotEquals(precedente, cle);
+                    precedente = cle;
+                    nb++;
+                }
+                assertEquals(instantane.getNbNoeuds(), nb,
+                        "Le parcours devrait couvrir tout l'instantané");
+            }
+        } finally {
+            arret.set(true);
+            ecrivain.join();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import despetitsarbres.exceptions.InsertionImpossibleException;
+import despetitsarbres.exceptions.SuppressionImpossibleException;
+import despetitsarbres.exceptions.ValeurNonTrouveeException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author Rémi Venant
+ */
+public class ArbreBinaireRechercheEntiersTest {
+
+    public ArbreBinaireRechercheEntiersTest() {
+    }
+
+    @BeforeAll
+    public static void setUpClass() {
+    }
+
+    @AfterAll
+    public static void tearDownClass() {
+    }
+
+    @BeforeEach
+    public void setUp() {
+    }
+
+    @AfterEach
+    public void tearDown() {
+    }
+
+    /**
+     * Construit l'arbre de test des ABR à partir des clés de {@link TestingArbreFactory}.
+     */
+    private static ArbreBinaireRechercheEntiers genererArbreTestABR() {
+        final ArbreBinaireRechercheEntiers arbre = new ArbreBinaireRechercheEntiers(30, 2);
+        for (int cle : TestingArbreFactory.getClesArbreTestABR()) {
+            arbre.ajouter(cle);
+        }
+        return arbre;
+    }
+
+    @Test
+    public void testParcours() {
+        final ArbreBinaireRechercheEntiers arbre = genererArbreTestABR();
+        final StringBuilder sb = new StringBuilder();
+        arbre.traiterNoeudsParcoursPrefixe((v) -> sb.append(v).append(", "));
+        assertEquals(TestingArbreFactory.parcoursPrefixeABR(), sb.substring(0, sb.length() - 2),
+                "Parcours préfixe invalide");
+        sb.setLength(0);
+        arbre.traiterNoeudsParcoursSuffixe((v) -> sb.append(v).append(", "));
+        assertEquals(TestingArbreFactory.parcoursSuffixeABR(), sb.substring(0, sb.length() - 2),
+                "Parcours suffixe invalide");
+        sb.setLength(0);
+        arbre.traiterNoeudsParcoursLargeur((v) -> sb.append(v).append(", "));
+        assertEquals(TestingArbreFactory.parcoursLargeurABR(), sb.substring(0, sb.length() - 2),
+                "Parcours en largeur invalide");
+        sb.setLength(0);
+        arbre.traiterNoeudsParcoursInfixe((v) -> sb.append(v).append(", "));
+        assertEquals("18, 19, 20, 21, 22, 23, 27, 30, 33, 35, 40, 43, 44, 45, 46, 47",
+                sb.substring(0, sb.length() - 2), "Parcours infixe invalide");
+    }
+
+    /**
+     * Test des parcours dont le traitement calcule la hauteur ou parcourt à nouveau l'arbre.
+     */
+    @Test
+    public void testParcoursImbriques() {
+        final ArbreBinaireRechercheEntiers arbre = genererArbreTestABR();
+        final StringBuilder sb = new StringBuilder();
+        final StringBuilder imbrique = new StringBuilder();
+        arbre.traiterNoeudsParcoursInfixe((v) -> {
+            sb.append(v).append(", ");
+            assertEquals(TestingArbreFactory.getHauteurArbreTestABR(), arbre.getHauteur(),
+                    "Hauteur imbriquée incorrecte");
+            if (v == 30) {
+                arbre.traiterNoeudsParcoursPrefixe((w) -> imbrique.append(w).append(", "));
+            }
+        });
+        assertEquals("18, 19, 20, 21, 22, 23, 27, 30, 33, 35, 40, 43, 44, 45, 46, 47",
+                sb.substring(0, sb.length() - 2), "Parcours infixe englobant invalide");
+        assertEquals(TestingArbreFactory.parcoursPrefixeABR(),
+                imbrique.substring(0, imbrique.length() - 2), "Parcours préfixe imbriqué invalide");
+        sb.setLength(0);
+        arbre.traiterNoeudsParcoursLargeur((v) -> {
+            sb.append(v).append(", ");
+            arbre.traiterNoeudsParcoursSuffixe((w) -> {
+            });
+        });
+        assertEquals(TestingArbreFactory.parcoursLargeurABR(), sb.substring(0, sb.length() - 2),
+                "Parcours en largeur englobant invalide");
+    }
+
+    @Test
+    public void testMetriques() {
+        final ArbreBinaireRechercheEntiers arbre = genererArbreTestABR();
+        assertEquals(TestingArbreFactory.getNbNoeudsArbreTestABR(), arbre.getNbNoeuds(),
+                "Nombre de noeuds incorrect");
+        assertEquals(TestingArbreFactory.getHauteurArbreTestABR(), arbre.getHauteur(),
+                "Hauteur incorrecte");
+        assertEquals(TestingArbreFactory.getABRMin(), arbre.getMin(), "Min incorrect");
+        assertEquals(TestingArbreFactory.getABRMax(), arbre.getMax(), "Max incorrect");
+        assertTrue(arbre.contains(45), "45 devrait être trouvé");
+        assertFalse(arbre.contains(28), "28 ne devrait pas être trouvé");
+    }
+
+    @Test
+    public void testVue() {
+        final ArbreBinaireRecherche<Integer> vue = genererArbreTestABR().enArbre();
+        assertEquals(TestingArbreFactory.getNbFeuillesArbreTestABR(), vue.getNbFeuilles(),
+                "Nombre de feuilles incorrect");
+        assertEquals(TestingArbreFactory.getHauteurMoyenneArbreTestABR(),
+                vue.getHauteurMoyenne(), 1e-7F, "Hauteur moyenne invalide");
+        final StringBuilder sb = new StringBuilder();
+        for (Integer valeur : vue) {
+            sb.append(valeur).append(", ");
+        }
+        assertEquals(TestingArbreFactory.parcoursPrefixeABR(), sb.substring(0, sb.length() - 2),
+                "Parcours invalide");
+        assertNotNull(vue.rechercherSousArbre(21), "la recherche devrait être fructueuse");
+        assertThrows(UnsupportedOperationException.class, () -> {
+            vue.setRacine(2);
+        }, "Redéfinir la racine d'un ABR devrait être impossible");
+        assertThrows(UnsupportedOperationException.class, () -> {
+            vue.getSag().ajouter(2);
+        }, "Modifier un sous-arbre de la vue devrait être impossible");
+    }
+
+    @Test
+    public void testRetraitEtReutilisation() throws InsertionImpossibleException,
+            SuppressionImpossibleException, ValeurNonTrouveeException {
+        final ArbreBinaireRechercheEntiers arbre = new ArbreBinaireRechercheEntiers(4)
+                .ajouter(2).ajouter(6).ajouter(1).ajouter(3).ajouter(5).ajouter(7);
+        arbre.retirer(4);
+        assertEquals(3, arbre.getRacine(), "La racine devrait être 3");
+        arbre.retirer(6).retirer(1);
+        assertEquals(4, arbre.getNbNoeuds(), "Nombre de noeuds incorrect");
+        final StringBuilder sb = new StringBuilder();
+        arbre.traiterNoeudsParcoursPrefixe((v) -> sb.append(v).append(", "));
+        assertEquals("3, 2, 5, 7", sb.substring(0, sb.length() - 2), "Parcours invalide");
+        arbre.ajouter(10).ajouter(0).ajouter(6);
+        assertEquals(7, arbre.getNbNoeuds(), "Nombre de noeuds incorrect");
+        assertTrue(arbre.contains(6) && arbre.contains(0) && arbre.contains(10),
+                "Les clés ajoutées devraient être trouvées");
+        assertThrows(ValeurNonTrouveeException.class, () -> {
+            arbre.retirer(42);
+        }, "Retirer une clé absente devrait être impossible");
+        assertThrows(SuppressionImpossibleException.class, () -> {
+            new ArbreBinaireRechercheEntiers(2).retirer(2);
+        }, "Retirer la valeur d'un ABR ne contenant que cette valeur devrait être impossible");
+        final ArbreBinaireRecherche<Integer> vue = arbre.enArbre();
+        vue.ajouter(42).retirer(3);
+        assertTrue(arbre.contains(42) && !arbre.contains(3), "La vue devrait modifier l'arbre");
+    }
+
+    @Test
+    public void testAjoutTrieProfond() {
+        final ArbreBinaireRechercheEntiers arbre = new ArbreBinaireRechercheEntiers(0);
+        for (int i = 1; i < 20000; i++) {
+            arbre.ajouter(i);
+        }
+        assertEquals(19999, arbre.getHauteur(), "Hauteur incorrecte");
+        final long[] somme = new long[1];
+        arbre.traiterNoeudsParcoursSuffixe((v) -> somme[0] += v);
+        assertEquals(19999L * 20000L / 2, somme[0], "Somme des clés incorrecte");
+    }
+}
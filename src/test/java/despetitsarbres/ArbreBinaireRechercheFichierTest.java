@@ -0,0 +1,284 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import despetitsarbres.exceptions.InsertionImpossibleException;
+import despetitsarbres.exceptions.SuppressionImpossibleException;
+import despetitsarbres.exceptions.ValeurNonTrouveeException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static despetitsarbres.TestingArbreFactory.parcourir;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author Rémi Venant
+ */
+public class ArbreBinaireRechercheFichierTest {
+
+    @TempDir
+    Path repertoire;
+
+    public ArbreBinaireRechercheFichierTest() {
+    }
+
+    @BeforeAll
+    public static void setUpClass() {
+    }
+
+    @AfterAll
+    public static void tearDownClass() {
+    }
+
+    @BeforeEach
+    public void setUp() {
+    }
+
+    @AfterEach
+    public void tearDown() {
+    }
+
+    /**
+     * Vérifie l'ordre des clés de chaque vue et la hauteur calculée de chaque sous-arbre.
+     *
+     * @return le nombre de noeuds de l'arbre
+     */
+    private static <K extends Comparable<K>> int verifierVues(ArbreBinaireRecherche<K> arbre,
+            K min, K max) {
+        if (arbre == null) {
+            return 0;
+        }
+        final K cle = arbre.getRacine();
+        assertTrue(min == null || cle.compareTo(min) > 0, "Clé mal ordonnée : " + cle);
+        assertTrue(max == null || cle.compareTo(max) < 0, "Clé mal ordonnée : " + cle);
+        final ArbreBinaireRecherche<K> sag = arbre.getSag();
+        final ArbreBinaireRecherche<K> sad = arbre.getSad();
+        final int nbNoeuds = 1 + verifierVues(sag, min, cle) + verifierVues(sad, cle, max);
+        final int hauteur = 1 + Math.max(sag == null ? -1 : sag.getHauteur(),
+                sad == null ? -1 : sad.getHauteur());
+        assertEquals(hauteur, arbre.getHauteur(), "Hauteur incorrecte : " + cle);
+        assertEquals(sag == null && sad == null, arbre.isFeuille(), "Feuille incorrecte : " + cle);
+        return nbNoeuds;
+    }
+
+    /**
+     * Test de la création, de la fermeture et de la réouverture d'un arbre.
+     */
+    @Test
+    public void testReouverture() throws IOException, InsertionImpossibleException {
+        System.out.println("reouverture");
+        final Path fichier = this.repertoire.resolve("arbre.dpa");
+        try (ArbreBinaireRechercheFichier<Integer> arbre = ArbreBinaireRechercheFichier.creer(
+                fichier, 30, CodecsCles.entiers())) {
+            TestingArbreFactory.remplirArbreTestABR(arbre);
+        }
+        try (ArbreBinaireRechercheFichier<Integer> arbre = ArbreBinaireRechercheFichier.ouvrir(
+                fichier, CodecsCles.entiers())) {
+            assertEquals(16, arbre.getNbNoeuds());
+            assertEquals(8, arbre.getNbFeuilles());
+            assertEquals(Integer.valueOf(18), arbre.getMin());
+            assertEquals(Integer.valueOf(47), arbre.getMax());
+            assertTrue(arbre.contains(33));
+            assertFalse(arbre.contains(34));
+            assertEquals("30, 21, 19, 18, 20, 23, 22, 27, 43, 35, 33, 40, 45, 44, 46, 47",
+                    parcourir(arbre.iterator()));
+            assertEquals("18, 20, 19, 22, 27, 23, 21, 33, 40, 35, 44, 47, 46, 45, 43, 30",
+                    parcourir(arbre.iterateurParcoursSuffixe()));
+            assertEquals("30, 21, 43, 19, 23, 35, 45, 18, 20, 22, 27, 33, 40, 44, 46, 47",
+                    parcourir(arbre.iterateurParcoursLargeur()));
+            assertEquals(4, arbre.getHauteur());
+            final ArbreBinaireRecherche<Integer> sousArbre = arbre.rechercherSousArbre(45);
+            assertEquals(Integer.valueOf(45), sousArbre.getRacine());
+            assertEquals(Integer.valueOf(44), sousArbre.getMin());
+            assertEquals(Integer.valueOf(47), sousArbre.getMax());
+        }
+    }
+
+    /**
+     * Test de modifications sur plusieurs pages, persistées après réouverture.
+     */
+    @Test
+    public void testModificationsPersistees() throws IOException, InsertionImpossibleException,
+            ValeurNonTrouveeException, SuppressionImpossibleException {
+        System.out.println("modificationsPersistees");
+        final Path fichier = this.repertoire.resolve("arbre.dpa");
+        final Random alea = new Random(7);
+        final TreeSet<Integer> attendu = new TreeSet<>();
+        attendu.add(0);
+        try (ArbreBinaireRechercheFichier<Integer> arbre = ArbreBinaireRechercheFichier.creer(
+                fichier, 0, CodecsCles.entiers())) {
+            final int nbCles = 2 * ArbreBinaireRechercheFichier.PAGES_PAR_SEGMENT
+                    * arbre.getCapacitePage();
+            while (attendu.size() < nbCles) {
+                final int cle = alea.nextInt();
+                arbre.ajouter(cle);
+                attendu.add(cle);
+            }
+        }
+        try (ArbreBinaireRechercheFichier<Integer> arbre = ArbreBinaireRechercheFichier.ouvrir(
+                fichier, CodecsCles.entiers())) {
+            assertEquals(attendu.size(), arbre.getNbNoeuds());
+            for (int i = 0; i < 1000; i++) {
+                final Integer cle = attendu.higher(alea.nextInt());
+                if (cle != null && cle != 0) {
+                    arbre.retirer(cle);
+                    attendu.remove(cle);
+                }
+            }
+            arbre.synchroniser();
+        }
+        try (ArbreBinaireRechercheFichier<Integer> arbre = ArbreBinaireRechercheFichier.ouvrir(
+                fichier, CodecsCles.entiers())) {
+            assertEquals(attendu.size(), arbre.getNbNoeuds());
+            assertEquals(attendu.first(), arbre.getMin());
+            assertEquals(attendu.last(), arbre.getMax());
+            for (Integer cle : attendu) {
+                assertTrue(arbre.contains(cle));
+            }
+            verifierVues(arbre, null, null);
+            arbre.ajouter(42);
+            assertTrue(arbre.contains(42));
+        }
+    }
+
+    /**
+     * Test d'ajouts de clés triées : l'arbre rouvert reste équilibré.
+     */
+    @Test
+    public void testAjoutsTries() throws IOException, InsertionImpossibleException {
+        System.out.println("ajoutsTries");
+        final Path fichier = this.repertoire.resolve("arbre.dpa");
+        final int nbCles = 100_000;
+        try (ArbreBinaireRechercheFichier<Integer> arbre = ArbreBinaireRechercheFichier.creer(
+                fichier, 0, CodecsCles.entiers())) {
+            for (int cle = 1; cle < nbCles; cle++) {
+                arbre.ajouter(cle);
+            }
+        }
+        try (ArbreBinaireRechercheFichier<Integer> arbre = ArbreBinaireRechercheFichier.ouvrir(
+                fichier, CodecsCles.entiers())) {
+            assertEquals(nbCles, arbre.getNbNoeuds());
+            assertTrue(arbre.getHauteur() <= 1.44 * Math.log(nbCles + 2) / Math.log(2),
+                    "Des clés triées devraient donner un arbre de hauteur logarithmique : "
+                    + arbre.getHauteur());
+            assertEquals(nbCles, verifierVues(arbre, null, null));
+            assertEquals(Integer.valueOf(0), arbre.getMin());
+            assertEquals(Integer.valueOf(nbCles - 1), arbre.getMax());
+        }
+    }
+
+    /**
+     * Test du nombre de pages touchées par une recherche : il croît en log_B(n), B étant le
+     * nombre de clés d'une page, et non en log2(n).
+     */
+    @Test
+    public void testNiveauxLogarithmiques() throws IOException, InsertionImpossibleException {
+        System.out.println("niveauxLogarithmiques");
+        final Path fichier = this.repertoire.resolve("arbre.dpa");
+        final Random alea = new Random(11);
+        try (ArbreBinaireRechercheFichier<Integer> arbre = ArbreBinaireRechercheFichier.creer(
+                fichier, 0, CodecsCles.entiers())) {
+            assertEquals(511, arbre.getCapacitePage());
+            for (int i = 0; i < 200_000; i++) {
+                arbre.ajouter(alea.nextInt());
+            }
+            final int degre = (arbre.getCapacitePage() + 1) / 2;
+            final double borne = 1 + Math.log((arbre.getNbNoeuds() + 1) / 2.0) / Math.log(degre);
+            assertTrue(arbre.getNbNiveaux() <= borne, "Une recherche devrait toucher au plus "
+                    + borne + " pages : " + arbre.getNbNiveaux());
+            assertTrue(arbre.getNbNiveaux() <= 3);
+        }
+    }
+
+    /**
+     * Test de retraits jusqu'à la dernière clé : les pages sous-remplies empruntent ou
+     * fusionnent, la racine se réduit à une feuille et ses pages libérées sont réutilisées.
+     */
+    @Test
+    public void testRetraitsJusquALaDerniereCle() throws IOException,
+            InsertionImpossibleException, ValeurNonTrouveeException,
+            SuppressionImpossibleException {
+        System.out.println("retraitsJusquALaDerniereCle");
+        final Path fichier = this.repertoire.resolve("arbre.dpa");
+        final Random alea = new Random(3);
+        final List<Integer> cles = new ArrayList<>();
+        try (ArbreBinaireRechercheFichier<Long> arbre = ArbreBinaireRechercheFichier.creer(
+                fichier, -1L, CodecsCles.longs())) {
+            for (int cle = 0; cle < 100_000; cle++) {
+                arbre.ajouter((long) cle);
+                cles.add(cle);
+            }
+            assertEquals(3, arbre.getNbNiveaux());
+            final long taille = Files.size(fichier);
+            Collections.shuffle(cles, alea);
+            for (int i = 0; i < cles.size(); i++) {
+                assertEquals(StatutModification.EFFECTUEE,
+                        arbre.tenterRetirer((long) cles.get(i)));
+                if (i % 20_000 == 0) {
+                    assertEquals(cles.size() - i, verifierVues(arbre, null, null));
+                    assertFalse(arbre.contains((long) cles.get(i)));
+                    assertTrue(arbre.contains(-1L));
+                }
+            }
+            assertEquals(1, arbre.getNbNiveaux());
+            assertTrue(arbre.isFeuille());
+            assertEquals(Long.valueOf(-1L), arbre.getRacine());
+            assertEquals(StatutModification.DERNIERE_CLE, arbre.tenterRetirer(-1L));
+            assertEquals(StatutModification.ABSENTE, arbre.tenterRetirer(4L));
+            for (int cle = 0; cle < 100_000; cle++) {
+                arbre.ajouter((long) cle);
+            }
+            assertEquals(taille, Files.size(fichier),
+                    "Les pages libérées devraient être réutilisées");
+            assertEquals(100_001, verifierVues(arbre, null, null));
+        }
+    }
+
+    /**
+     * Test de l'ouverture de fichiers invalides.
+     */
+    @Test
+    public void testOuvertureInvalide() throws IOException {
+        System.out.println("ouvertureInvalide");
+        final Path fichier = this.repertoire.resolve("arbre.dpa");
+        assertThrows(IOException.class, () -> ArbreBinaireRechercheFichier.ouvrir(fichier,
+                CodecsCles.entiers()));
+        Files.write(fichier, new byte[ArbreBinaireRechercheFichier.TAILLE_ENTETE]);
+        assertThrows(IOException.class, () -> ArbreBinaireRechercheFichier.ouvrir(fichier,
+                CodecsCles.entiers()));
+        Files.delete(fichier);
+        ArbreBinaireRechercheFichier.creer(fichier, 1, CodecsCles.entiers()).close();
+        assertThrows(IOException.class, () -> ArbreBinaireRechercheFichier.creer(fichier, 1,
+                CodecsCles.entiers()));
+        assertThrows(IllegalArgumentException.class, () -> ArbreBinaireRechercheFichier.ouvrir(
+                fichier, CodecsCles.longs()));
+    }
+}
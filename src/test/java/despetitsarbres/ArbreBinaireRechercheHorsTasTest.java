@@ -0,0 +1,229 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import despetitsarbres.exceptions.InsertionImpossibleException;
+import despetitsarbres.exceptions.SuppressionImpossibleException;
+import despetitsarbres.exceptions.ValeurNonTrouveeException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static despetitsarbres.TestingArbreFactory.parcourir;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author Rémi Venant
+ */
+public class ArbreBinaireRechercheHorsTasTest {
+
+    public ArbreBinaireRechercheHorsTasTest() {
+    }
+
+    @BeforeAll
+    public static void setUpClass() {
+    }
+
+    @AfterAll
+    public static void tearDownClass() {
+    }
+
+    @BeforeEach
+    public void setUp() {
+    }
+
+    @AfterEach
+    public void tearDown() {
+    }
+
+    /**
+     * Vérifie l'ordre des clés, l'équilibre AVL et la hauteur conservée de chaque sous-arbre.
+     *
+     * @return la hauteur du sous-arbre, -1 s'il est vide
+     */
+    static int verifierEquilibre(ArbreBinaireRecherche<Integer> arbre, Integer min, Integer max) {
+        if (arbre == null) {
+            return -1;
+        }
+        final Integer cle = arbre.getRacine();
+        assertTrue(min == null || cle > min, "Clé mal ordonnée : " + cle);
+        assertTrue(max == null || cle < max, "Clé mal ordonnée : " + cle);
+        final int hauteurSag = verifierEquilibre(arbre.getSag(), min, cle);
+        final int hauteurSad = verifierEquilibre(arbre.getSad(), cle, max);
+        assertTrue(Math.abs(hauteurSag - hauteurSad) <= 1, "Noeud déséquilibré : " + cle);
+        final int hauteur = 1 + Math.max(hauteurSag, hauteurSad);
+        assertEquals(hauteur, arbre.getHauteur(), "Hauteur conservée incorrecte : " + cle);
+        return hauteur;
+    }
+
+    @Test
+    public void testConstructionRacineNulle() {
+        assertThrows(NullPointerException.class, () -> {
+            new ArbreBinaireRechercheHorsTas<>(null, CodecsCles.entiers());
+        }, "Il ne devrait pas être possible de construire un ABR avec une racine nulle");
+    }
+
+    @Test
+    public void testArbreTestABR() throws InsertionImpossibleException {
+        try (ArbreBinaireRechercheHorsTas<Integer> arbre = TestingArbreFactory.remplirArbreTestABR(
+                new ArbreBinaireRechercheHorsTas<>(30, CodecsCles.entiers()))) {
+            assertEquals(TestingArbreFactory.parcoursPrefixeABR(),
+                    parcourir(arbre.iterateurParcoursPrefixe()), "Parcours préfixe invalide");
+            assertEquals(TestingArbreFactory.parcoursSuffixeABR(),
+                    parcourir(arbre.iterateurParcoursSuffixe()), "Parcours suffixe invalide");
+            assertEquals(TestingArbreFactory.parcoursLargeurABR(),
+                    parcourir(arbre.iterateurParcoursLargeur()), "Parcours en largeur invalide");
+            final StringBuilder sb = new StringBuilder();
+            arbre.traiterNoeudsParcoursSuffixe((v) -> sb.append(v).append(", "));
+            assertEquals(TestingArbreFactory.parcoursSuffixeABR(),
+                    sb.substring(0, sb.length() - 2), "Parcours suffixe invalide");
+            assertEquals(TestingArbreFactory.getNbNoeudsArbreTestABR(), arbre.getNbNoeuds(),
+                    "Nombre de noeuds incorrect");
+            assertEquals(TestingArbreFactory.getNbFeuillesArbreTestABR(), arbre.getNbFeuilles(),
+                    "Nombre de feuilles incorrect");
+            assertEquals(TestingArbreFactory.getHauteurArbreTestABR(), arbre.getHauteur(),
+                    "Hauteur incorrecte");
+            assertEquals(TestingArbreFactory.getABRMin(), arbre.getMin(), "Min incorrect");
+            assertEquals(TestingArbreFactory.getABRMax(), arbre.getMax(), "Max incorrect");
+            final ArbreBinaireRecherche<Integer> ssArbre = arbre.rechercherSousArbre(22);
+            assertNotNull(ssArbre, "la recherche devrait être fructueuse");
+            assertEquals("22, 21, 23, 27", parcourir(ssArbre.iterateurParcoursPrefixe()),
+                    "Parcours du sous-arbre invalide");
+            assertNull(arbre.rechercherSousArbre(28),
+                    "la recherche ne devrait pas être fructueuse");
+            assertThrows(UnsupportedOperationException.class, () -> {
+                ssArbre.retirer(21);
+            }, "Modifier un sous-arbre devrait être impossible");
+        }
+    }
+
+    @Test
+    public void testRetirer() throws InsertionImpossibleException,
+            SuppressionImpossibleException, ValeurNonTrouveeException {
+        try (ArbreBinaireRechercheHorsTas<Long> arbre
+                = new ArbreBinaireRechercheHorsTas<>(4L, CodecsCles.longs())) {
+            arbre.ajouter(2L).ajouter(6L).ajouter(1L).ajouter(3L).ajouter(5L).ajouter(7L);
+            arbre.retirer(4L);
+            assertEquals("3, 2, 1, 6, 5, 7", parcourir(arbre.iterator()), "Parcours invalide");
+            arbre.retirer(6L).retirer(1L);
+            assertEquals("3, 2, 5, 7", parcourir(arbre.iterator()), "Parcours invalide");
+            assertThrows(ValeurNonTrouveeException.class, () -> {
+                arbre.retirer(42L);
+            }, "Retirer une clé absente devrait être impossible");
+        }
+        try (ArbreBinaireRechercheHorsTas<Double> arbre
+                = new ArbreBinaireRechercheHorsTas<>(2.5, CodecsCles.doubles())) {
+            assertThrows(SuppressionImpossibleException.class, () -> {
+                arbre.retirer(2.5);
+            }, "Retirer la valeur d'un ABR ne contenant que cette valeur devrait être impossible");
+        }
+    }
+
+    @Test
+    public void testAjoutRetraitAleatoiresPlusieursPages() throws InsertionImpossibleException,
+            SuppressionImpossibleException, ValeurNonTrouveeException {
+        final Random random = new Random(42);
+        try (ArbreBinaireRechercheHorsTas<Integer> arbre
+                = new ArbreBinaireRechercheHorsTas<>(500_000, CodecsCles.entiers())) {
+            final TreeSet<Integer> attendu = new TreeSet<>();
+            attendu.add(500_000);
+            for (int i = 0; i < 300_000; i++) {
+                final int cle = random.nextInt(1_000_000);
+                if (random.nextInt(3) > 0) {
+                    arbre.ajouter(cle);
+                    attendu.add(cle);
+                } else if (attendu.contains(cle) && attendu.size() > 1) {
+                    arbre.retirer(cle);
+                    attendu.remove(cle);
+                }
+            }
+            assertEquals(attendu.size(), arbre.getNbNoeuds(), "Nombre de noeuds incorrect");
+            final List<Integer> cles = new ArrayList<>();
+            arbre.forEach(cles::add);
+            cles.sort(null);
+            assertEquals(new ArrayList<>(attendu), cles, "Clés incorrectes");
+            assertEquals(attendu.first(), arbre.getMin(), "Min incorrect");
+            assertEquals(attendu.last(), arbre.getMax(), "Max incorrect");
+            verifierEquilibre(arbre, null, null);
+            final ArbreBinaireRecherche<Integer> sad = arbre.getSad();
+            final TreeSet<Integer> attenduSad = new TreeSet<>(attendu.tailSet(arbre.getRacine(),
+                    false));
+            for (int i = 0; i < 10_000; i++) {
+                final int cle = random.nextInt(1_000_002) - 1;
+                assertEquals(attendu.floor(cle), arbre.plancher(cle), "Plancher incorrect");
+                assertEquals(attendu.ceiling(cle), arbre.plafond(cle), "Plafond incorrect");
+                assertEquals(attendu.lower(cle), arbre.predecesseur(cle),
+                        "Prédécesseur incorrect");
+                assertEquals(attendu.higher(cle), arbre.successeur(cle), "Successeur incorrect");
+                assertEquals(attenduSad.ceiling(cle), sad.plafond(cle), "Plafond du sad incorrect");
+                assertEquals(attenduSad.lower(cle), sad.predecesseur(cle),
+                        "Prédécesseur du sad incorrect");
+            }
+        }
+    }
+
+    @Test
+    public void testAjoutRetraitTries() throws InsertionImpossibleException,
+            SuppressionImpossibleException, ValeurNonTrouveeException {
+        final int nbCles = 100_000;
+        try (ArbreBinaireRechercheHorsTas<Integer> arbre
+                = new ArbreBinaireRechercheHorsTas<>(0, CodecsCles.entiers())) {
+            for (int cle = 1; cle < nbCles; cle++) {
+                arbre.ajouter(cle);
+            }
+            assertEquals(nbCles, arbre.getNbNoeuds(), "Nombre de noeuds incorrect");
+            assertTrue(arbre.getHauteur() <= 1.44 * Math.log(nbCles + 2) / Math.log(2),
+                    "Des clés triées devraient donner un arbre de hauteur logarithmique : "
+                    + arbre.getHauteur());
+            verifierEquilibre(arbre, null, null);
+            for (int cle = 0; cle < nbCles / 2; cle++) {
+                arbre.retirer(cle);
+            }
+            verifierEquilibre(arbre, null, null);
+            assertEquals(Integer.valueOf(nbCles / 2), arbre.getMin(), "Min incorrect");
+        }
+    }
+
+    @Test
+    public void testFermeture() throws InsertionImpossibleException {
+        final ArbreBinaireRechercheHorsTas<Integer> arbre = TestingArbreFactory.remplirArbreTestABR(
+                new ArbreBinaireRechercheHorsTas<>(30, CodecsCles.entiers()));
+        final ArbreBinaireRecherche<Integer> ssArbre = arbre.getSag();
+        arbre.close();
+        assertThrows(IllegalStateException.class, () -> {
+            arbre.contains(30);
+        }, "Utiliser un arbre fermé devrait être impossible");
+        assertThrows(IllegalStateException.class, () -> {
+            ssArbre.getRacine();
+        }, "Utiliser un sous-arbre d'un arbre fermé devrait être impossible");
+        assertThrows(IllegalStateException.class, () -> {
+            arbre.getNbNoeuds();
+        }, "Utiliser un arbre fermé devrait être impossible");
+        arbre.close();
+        assertTrue(TamponsDirects.liberer(ByteBuffer.allocateDirect(16)),
+                "La mémoire native devrait être libérée immédiatement");
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import despetitsarbres.exceptions.InsertionImpossibleException;
+import despetitsarbres.exceptions.SuppressionImpossibleException;
+import despetitsarbres.exceptions.ValeurNonTrouveeException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static despetitsarbres.TestingArbreFactory.parcourir;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author Rémi Venant
+ */
+public class ArbreBinaireRecherchePersistantTest {
+
+    public ArbreBinaireRecherchePersistantTest() {
+    }
+
+    @BeforeAll
+    public static void setUpClass() {
+    }
+
+    @AfterAll
+    public static void tearDownClass() {
+    }
+
+    @BeforeEach
+    public void setUp() {
+    }
+
+    @AfterEach
+    public void tearDown() {
+    }
+
+    @Test
+    public void testConstructionRacineNulle() {
+        assertThrows(NullPointerException.class, () -> {
+            new ArbreBinaireRecherchePersistant<Integer>(null);
+        }, "Un ABR ne peut avoir une racine nulle");
+    }
+
+    /**
+     * Test que les versions précédentes ne sont pas modifiées et partagent leurs noeuds.
+     */
+    @Test
+    public void testVersions() throws InsertionImpossibleException, ValeurNonTrouveeException,
+            SuppressionImpossibleException {
+        final ArbreBinaireRecherchePersistant<Integer> v1 = new ArbreBinaireRecherchePersistant<>(4)
+                .ajouter(2).ajouter(6).ajouter(1).ajouter(3).ajouter(5).ajouter(7);
+        final ArbreBinaireRecherchePersistant<Integer> v2 = v1.ajouter(8);
+        final ArbreBinaireRecherchePersistant<Integer> v3 = v2.retirer(2);
+        assertEquals("4, 2, 6, 1, 3, 5, 7", parcourir(v1.iterateurParcoursLargeur()));
+        assertEquals("4, 2, 6, 1, 3, 5, 7, 8", parcourir(v2.iterateurParcoursLargeur()));
+        assertEquals("4, 1, 6, 3, 5, 7, 8", parcourir(v3.iterateurParcoursLargeur()));
+        assertEquals(7, v1.getNbNoeuds(), "v1 devrait contenir 7 noeuds");
+        assertEquals(8, v2.getNbNoeuds(), "v2 devrait contenir 8 noeuds");
+        assertEquals(7, v3.getNbNoeuds(), "v3 devrait contenir 7 noeuds");
+        assertSame(v1.getSag(), v2.getSag(), "Le sag non modifié devrait être partagé");
+        assertSame(v2.getSad(), v3.getSad(), "Le sad non modifié devrait être partagé");
+        assertSame(v2, v2.ajouter(5), "Ajouter une clé présente renvoie le même arbre");
+        assertSame(v2.getSad(), v2.rechercherSousArbre(6), "Le sous-arbre de 6 est le sad");
+    }
+
+    @Test
+    public void testAjoutTrieVolumineux() throws InsertionImpossibleException {
+        ArbreBinaireRecherchePersistant<Integer> arbre = new ArbreBinaireRecherchePersistant<>(0);
+        for (int cle = 1; cle < 100_000; cle++) {
+            arbre = arbre.ajouter(cle);
+        }
+        assertEquals(100_000, arbre.getNbNoeuds(), "L'arbre devrait contenir 100000 noeuds");
+        assertEquals(16, arbre.getHauteur(), "L'arbre devrait être de hauteur minimale");
+        assertEquals(Integer.valueOf(99_999), arbre.getMax(), "Max incorrect");
+    }
+
+    @Test
+    public void testAjoutRetraitAleatoires() throws InsertionImpossibleException,
+            SuppressionImpossibleException, ValeurNonTrouveeException {
+        final Random random = new Random(42);
+        ArbreBinaireRecherchePersistant<Integer> arbre = new ArbreBinaireRecherchePersistant<>(500);
+        final TreeSet<Integer> attendu = new TreeSet<>();
+        attendu.add(500);
+        final List<ArbreBinaireRecherchePersistant<Integer>> versions = new ArrayList<>();
+        final List<Integer> tailles = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            final int cle = random.nextInt(2000);
+            if (random.nextBoolean() || attendu.size() == 1) {
+                arbre = arbre.ajouter(cle);
+                attendu.add(cle);
+            } else if (attendu.remove(cle)) {
+                arbre = arbre.retirer(cle);
+            } else {
+                final ArbreBinaireRecherchePersistant<Integer> version = arbre;
+                assertThrows(ValeurNonTrouveeException.class, () -> version.retirer(cle),
+                        "La clé absente ne devrait pas être retirée");
+            }
+            if (i % 1000 == 0) {
+                versions.add(arbre);
+                tailles.add(attendu.size());
+            }
+        }
+        assertEquals(attendu.size(), arbre.getNbNoeuds(), "Nombre de noeuds incorrect");
+        for (int cle = 0; cle < 2000; cle++) {
+            assertEquals(attendu.contains(cle), arbre.contains(cle), "Recherche incorrecte");
+        }
+        assertTrue(arbre.getHauteur() <= 1.45 * Math.log(attendu.size() + 2) / Math.log(2),
+                "L'arbre devrait rester équilibré");
+        for (int v = 0; v < versions.size(); v++) {
+            final int[] nb = new int[1];
+            versions.get(v).traiterNoeudsParcoursLargeur((cle) -> nb[0]++);
+            assertEquals(tailles.get(v).intValue(), nb[0], "Une version a été modifiée");
+            assertEquals(tailles.get(v).intValue(), versions.get(v).getNbNoeuds(),
+                    "Une version a été modifiée");
+        }
+    }
+
+    @Test
+    public void testModificationsImpossibles() {
+        final ArbreBinaireRecherchePersistant<Integer> arbre
+                = new ArbreBinaireRecherchePersistant<>(2);
+        assertThrows(InsertionImpossibleException.class, () -> arbre.ajouter(null));
+        assertThrows(SuppressionImpossibleException.class, () -> arbre.retirer(2));
+        assertThrows(ValeurNonTrouveeException.class, () -> arbre.retirer(3));
+        assertThrows(UnsupportedOperationException.class, () -> arbre.tenterAjouter(3));
+        assertThrows(UnsupportedOperationException.class, () -> arbre.tenterRetirer(2));
+        assertThrows(UnsupportedOperationException.class, () -> arbre.setRacine(3));
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import despetitsarbres.exceptions.InsertionImpossibleException;
+import java.util.Random;
+import java.util.function.IntPredicate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compare le temps de recherche d'un ABR chaîné ({@link ArbreBinaireRechercheImpl}) à celui d'un
+ * ABR en tableaux ({@link ArbreBinaireRechercheTableau}) compacté, sans codec puis avec le codec
+ * {@link CodecsCles#entiers()}, tous trois de même forme. Exécution :
+ * {@code mvn test -Dtest=ArbreBinaireRechercheTableauBenchmarkTest
+ * -Ddespetitsarbres.benchmark=true} (nombre de clés modifiable par
+ * {@code -Ddespetitsarbres.benchmark.taille=...}). Les arbres conservant 10 millions de clés, un
+ * tas suffisant ({@code -DargLine=-Xmx4g}) est nécessaire.
+ *
+ * <p>
+ * Le gain attendu de l'ABR en tableaux sur l'ABR chaîné est d'au moins {@value #RATIO_MINIMAL} :
+ * après la compaction, qui numérote les noeuds dans l'ordre préfixe, le fils gauche de chaque
+ * noeud le suit immédiatement dans le tampon et une partie des niveaux de la descente ne coûtent
+ * plus de défaut de cache (on mesure environ 1,4). Avec un codec, chaque niveau ne lit plus qu'un
+ * enregistrement, qui contient la clé et les indices des fils, au lieu du noeud et de sa clé
+ * encapsulée : le gain attendu est d'au moins {@value #RATIO_MINIMAL_CLES_CODEES} (on mesure
+ * environ 2,2).
+ * </p>
+ *
+ * @author Rémi Venant
+ */
+@EnabledIfSystemProperty(named = "despetitsarbres.benchmark", matches = "true")
+public class ArbreBinaireRechercheTableauBenchmarkTest {
+
+    private static final int NB_RECHERCHES = 2_000_000;
+
+    private static final int NB_MESURES = 5;
+
+    private static final double RATIO_MINIMAL = 1.2;
+
+    private static final double RATIO_MINIMAL_CLES_CODEES = 1.6;
+
+    public ArbreBinaireRechercheTableauBenchmarkTest() {
+    }
+
+    /**
+     * Mesure le meilleur temps moyen par recherche, en nanosecondes. La recherche reçoit l'indice
+     * de la clé à rechercher.
+     */
+    private static double mesurer(IntPredicate recherche) {
+        double meilleur = Double.MAX_VALUE;
+        for (int mesure = 0; mesure < NB_MESURES; mesure++) {
+            int trouvees = 0;
+            final long debut = System.nanoTime();
+            for (int i = 0; i < NB_RECHERCHES; i++) {
+                if (recherche.test(i)) {
+                    trouvees++;
+                }
+            }
+            final long duree = System.nanoTime() - debut;
+            assertEquals(NB_RECHERCHES, trouvees, "Toutes les clés devraient être trouvées");
+            meilleur = Math.min(meilleur, (double) duree / NB_RECHERCHES);
+        }
+        return meilleur;
+    }
+
+    @Test
+    public void testRecherche() throws InsertionImpossibleException {
+        final int taille = Integer.getInteger("despetitsarbres.benchmark.taille", 10_000_000);
+        final Random random = new Random(42);
+        final Integer[] cles = new Integer[taille];
+        for (int i = 0; i < taille; i++) {
+            cles[i] = i;
+        }
+        for (int i = taille - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final Integer cle = cles[i];
+            cles[i] = cles[j];
+            cles[j] = cle;
+        }
+        final Integer[] recherches = new Integer[NB_RECHERCHES];
+        for (int i = 0; i < NB_RECHERCHES; i++) {
+            recherches[i] = cles[random.nextInt(taille)];
+        }
+
+        ArbreBinaireRechercheImpl<Integer> chaine = new ArbreBinaireRechercheImpl<>(cles[0]);
+        for (int i = 1; i < taille; i++) {
+            chaine.ajouter(cles[i]);
+        }
+        final ArbreBinaireRechercheImpl<Integer> arbreChaine = chaine;
+        final double tempsChaine = mesurer((i) -> arbreChaine.contains(recherches[i]));
+        chaine = null;
+        System.gc();
+
+        ArbreBinaireRechercheTableau<Integer> tableau = new ArbreBinaireRechercheTableau<>(cles[0],
+                taille);
+        for (int i = 1; i < taille; i++) {
+            tableau.ajouter(cles[i]);
+        }
+        final ArbreBinaireRechercheTableau<Integer> arbreTableau = tableau.compacter();
+        final double tempsTableau = mesurer((i) -> arbreTableau.contains(recherches[i]));
+        tableau = null;
+        System.gc();
+
+        final ArbreBinaireRechercheTableau<Integer> codees = new ArbreBinaireRechercheTableau<>(
+                cles[0], taille, CodecsCles.entiers());
+        for (int i = 1; i < taille; i++) {
+            codees.ajouter(cles[i]);
+        }
+        codees.compacter();
+        final double tempsCodees = mesurer((i) -> codees.contains(recherches[i]));
+
+        System.out.printf("Recherche parmi %d clés : chaîné %.1f ns, tableaux %.1f ns (x%.2f), "
+                + "tableaux à clés codées %.1f ns (x%.2f)%n", taille, tempsChaine,
+                tempsTableau, tempsChaine / tempsTableau, tempsCodees, tempsChaine / tempsCodees);
+        assertTrue(tempsChaine / tempsTableau >= RATIO_MINIMAL, "La recherche dans l'ABR en "
+                + "tableaux devrait être au moins " + RATIO_MINIMAL + " fois plus rapide que dans "
+                + "l'ABR chaîné : x" + tempsChaine / tempsTableau);
+        assertTrue(tempsChaine / tempsCodees >= RATIO_MINIMAL_CLES_CODEES, "La recherche dans "
+                + "l'ABR en tableaux à clés codées devrait être au moins "
+                + RATIO_MINIMAL_CLES_CODEES + " fois plus rapide que dans l'ABR chaîné : x"
+                + tempsChaine / tempsCodees);
+    }
+}
@@ -0,0 +1,321 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import despetitsarbres.exceptions.InsertionImpossibleException;
+import despetitsarbres.exceptions.SuppressionImpossibleException;
+import despetitsarbres.exceptions.ValeurNonTrouveeException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeSet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static despetitsarbres.TestingArbreFactory.parcourir;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author Rémi Venant
+ */
+public class ArbreBinaireRechercheTableauTest {
+
+    public ArbreBinaireRechercheTableauTest() {
+    }
+
+    @BeforeAll
+    public static void setUpClass() {
+    }
+
+    @AfterAll
+    public static void tearDownClass() {
+    }
+
+    @BeforeEach
+    public void setUp() {
+    }
+
+    @AfterEach
+    public void tearDown() {
+    }
+
+    @Test
+    public void testConstructionRacineNulle() {
+        assertThrows(NullPointerException.class, () -> {
+            ArbreBinaireRechercheTableau<Integer> a = new ArbreBinaireRechercheTableau<>(null);
+        }, "Il ne devrait pas être possible de construire un ABR avec une racine nulle");
+    }
+
+    @Test
+    public void testArbreTestABR() throws InsertionImpossibleException {
+        final ArbreBinaireRechercheTableau<Integer> arbre = TestingArbreFactory.remplirArbreTestABR(
+                new ArbreBinaireRechercheTableau<>(30, 2));
+        assertEquals(TestingArbreFactory.parcoursPrefixeABR(), parcourir(arbre.iterator()),
+                "Parcours invalide");
+        final StringBuilder sb = new StringBuilder();
+        arbre.traiterNoeudsParcoursSuffixe((v) -> sb.append(v).append(", "));
+        assertEquals(TestingArbreFactory.parcoursSuffixeABR(), sb.substring(0, sb.length() - 2),
+                "Parcours invalide");
+        assertEquals(TestingArbreFactory.getNbNoeudsArbreTestABR(), arbre.getNbNoeuds(),
+                "Nombre de noeuds incorrect");
+        assertEquals(TestingArbreFactory.getNbFeuillesArbreTestABR(), arbre.getNbFeuilles(),
+                "Nombre de feuilles incorrect");
+        assertEquals(TestingArbreFactory.getHauteurArbreTestABR(), arbre.getHauteur(),
+                "Hauteur incorrecte");
+        assertEquals(TestingArbreFactory.getABRMin(), arbre.getMin(), "Min incorrect");
+        assertEquals(TestingArbreFactory.getABRMax(), arbre.getMax(), "Max incorrect");
+        final ArbreBinaireRecherche<Integer> ssArbre = arbre.rechercherSousArbre(45);
+        assertNotNull(ssArbre, "la recherche devrait être fructueuse");
+        assertEquals(43, ssArbre.getMin(), "Min du sous-arbre incorrect");
+        assertTrue(ssArbre.contains(47), "47 devrait être trouvé dans le sous-arbre");
+        assertFalse(ssArbre.contains(40), "40 ne devrait pas être trouvé dans le sous-arbre");
+        assertNull(arbre.rechercherSousArbre(28), "la recherche ne devrait pas être fructueuse");
+        assertThrows(UnsupportedOperationException.class, () -> {
+            ssArbre.ajouter(48);
+        }, "Modifier un sous-arbre devrait être impossible");
+    }
+
+    @Test
+    public void testRetirer() throws InsertionImpossibleException,
+            SuppressionImpossibleException, ValeurNonTrouveeException {
+        final ArbreBinaireRechercheTableau<Integer> arbre = new ArbreBinaireRechercheTableau<>(4)
+                .ajouter(2).ajouter(6).ajouter(1).ajouter(3).ajouter(5).ajouter(7);
+        arbre.retirer(4);
+        assertEquals("3, 2, 1, 6, 5, 7", parcourir(arbre.iterator()), "Parcours invalide");
+        arbre.retirer(2).retirer(7);
+        assertEquals("3, 1, 6, 5", parcourir(arbre.iterator()), "Parcours invalide");
+        assertThrows(ValeurNonTrouveeException.class, () -> {
+            arbre.retirer(42);
+        }, "Retirer une clé absente devrait être impossible");
+        assertThrows(SuppressionImpossibleException.class, () -> {
+            new ArbreBinaireRechercheTableau<>(2).retirer(2);
+        }, "Retirer la valeur d'un ABR ne contenant que cette valeur devrait être impossible");
+    }
+
+    @Test
+    public void testCompacter() throws InsertionImpossibleException,
+            SuppressionImpossibleException, ValeurNonTrouveeException {
+        final ArbreBinaireRechercheTableau<Integer> arbre = TestingArbreFactory.remplirArbreTestABR(
+                new ArbreBinaireRechercheTableau<>(30, 2));
+        arbre.retirer(22).retirer(45).retirer(19);
+        final String parcoursAttendu = parcourir(arbre.iterator());
+        arbre.compacter();
+        assertEquals(parcoursAttendu, parcourir(arbre.iterator()),
+                "La compaction ne devrait pas modifier l'arbre");
+        assertEquals(13, arbre.getNbNoeuds(), "Nombre de noeuds incorrect");
+        arbre.ajouter(22).ajouter(50);
+        assertTrue(arbre.contains(22) && arbre.contains(50),
+                "Les clés ajoutées devraient être trouvées");
+        assertEquals(15, arbre.getNbNoeuds(), "Nombre de noeuds incorrect");
+    }
+
+    @Test
+    public void testAjoutRetraitAleatoires() throws InsertionImpossibleException,
+            SuppressionImpossibleException, ValeurNonTrouveeException {
+        verifierAjoutRetraitAleatoires(new ArbreBinaireRechercheTableau<>(500));
+    }
+
+    @Test
+    public void testAjoutRetraitAleatoiresCodecCle() throws InsertionImpossibleException,
+            SuppressionImpossibleException, ValeurNonTrouveeException {
+        final ArbreBinaireRechercheTableau<Integer> arbre = new ArbreBinaireRechercheTableau<>(500,
+                CodecsCles.entiers());
+        verifierAjoutRetraitAleatoires(arbre);
+        final String parcoursAttendu = parcourir(arbre.iterator());
+        arbre.compacter();
+        assertEquals(parcoursAttendu, parcourir(arbre.iterator()),
+                "La compaction ne devrait pas modifier l'arbre");
+        final List<Integer> lot = new ArrayList<>();
+        for (int cle = 1000; cle < 3000; cle++) {
+            lot.add(cle);
+        }
+        assertTrue(arbre.ajouterTous(lot).isEmpty(), "Aucune clé ne devrait être rejetée");
+        assertEquals(1000, arbre.plafond(1000), "Plafond incorrect");
+        assertEquals(2999, arbre.getMax(), "Max incorrect");
+    }
+
+    private static void verifierAjoutRetraitAleatoires(ArbreBinaireRechercheTableau<Integer> arbre)
+            throws InsertionImpossibleException, SuppressionImpossibleException,
+            ValeurNonTrouveeException {
+        final Random random = new Random(42);
+        final TreeSet<Integer> attendu = new TreeSet<>();
+        attendu.add(500);
+        for (int i = 0; i < 5000; i++) {
+            final int cle = random.nextInt(1000);
+            if (random.nextBoolean() || attendu.size() == 1) {
+                arbre.ajouter(cle);
+                attendu.add(cle);
+            } else if (attendu.contains(cle)) {
+                arbre.retirer(cle);
+                attendu.remove(cle);
+            }
+        }
+        assertEquals(attendu.size(), arbre.getNbNoeuds(), "Nombre de noeuds incorrect");
+        final ArbreBinaireRecherche<Integer> sag = arbre.getSag();
+        final TreeSet<Integer> attenduSag = new TreeSet<>(attendu.headSet(arbre.getRacine()));
+        for (int cle = -1; cle <= 1000; cle++) {
+            assertEquals(attendu.contains(cle), arbre.contains(cle), "Recherche incorrecte");
+            assertEquals(attendu.floor(cle), arbre.plancher(cle), "Plancher incorrect");
+            assertEquals(attendu.ceiling(cle), arbre.plafond(cle), "Plafond incorrect");
+            assertEquals(attendu.lower(cle), arbre.predecesseur(cle), "Prédécesseur incorrect");
+            assertEquals(attendu.higher(cle), arbre.successeur(cle), "Successeur incorrect");
+            assertEquals(attenduSag.floor(cle), sag.plancher(cle), "Plancher du sag incorrect");
+            assertEquals(attenduSag.higher(cle), sag.successeur(cle),
+                    "Successeur du sag incorrect");
+        }
+        assertEquals(attendu.first(), arbre.getMin(), "Min incorrect");
+        assertEquals(attendu.last(), arbre.getMax(), "Max incorrect");
+    }
+
+    @Test
+    public void testConstructionTriee() throws InsertionImpossibleException,
+            SuppressionImpossibleException, ValeurNonTrouveeException {
+        for (int nbCles = 1; nbCles <= 130; nbCles++) {
+            final Object[] cles = new Object[nbCles];
+            final StringJoiner attendu = new StringJoiner(", ");
+            for (int i = 0; i < nbCles; i++) {
+                cles[i] = 2 * i;
+                attendu.add(String.valueOf(2 * i));
+            }
+            final ArbreBinaireRechercheTableau<Integer> arbre = new ArbreBinaireRechercheTableau<>(
+                    cles, nbCles);
+            assertEquals(attendu.toString(), parcourir(arbre.iterateurParcoursInfixe()),
+                    "Parcours infixe invalide pour " + nbCles + " clés");
+            assertEquals(31 - Integer.numberOfLeadingZeros(nbCles), arbre.getHauteur(),
+                    "La hauteur devrait être minimale pour " + nbCles + " clés");
+            arbre.ajouter(-1).ajouter(2 * nbCles - 1);
+            if (nbCles > 1) {
+                arbre.retirer(2);
+            }
+            assertTrue(arbre.contains(-1) && arbre.contains(2 * nbCles - 1),
+                    "Les clés ajoutées devraient être trouvées");
+            assertFalse(arbre.contains(2), "2 ne devrait pas être trouvé");
+        }
+    }
+
+    @Test
+    public void testTraitementParLots() throws InsertionImpossibleException {
+        final Random random = new Random(7);
+        final ArbreBinaireRechercheTableau<Integer> arbre = new ArbreBinaireRechercheTableau<>(0);
+        final TreeSet<Integer> attendu = new TreeSet<>();
+        attendu.add(0);
+        // Des lots de tailles variées passent par la fusion ou par la descente commune
+        for (int taille : new int[]{1000, 10, 3000, 1, 50}) {
+            final List<Integer> lot = new ArrayList<>();
+            int nbRejetees = 0;
+            for (int i = 0; i < taille; i++) {
+                final int cle = random.nextInt(5000);
+                if (attendu.contains(cle)) {
+                    nbRejetees++;
+                }
+                lot.add(cle);
+                attendu.add(cle);
+            }
+            assertEquals(nbRejetees, arbre.ajouterTous(lot).size(), "Rejets d'ajout incorrects");
+            assertEquals(attendu.size(), arbre.getNbNoeuds(), "Nombre de noeuds incorrect");
+
+            lot.clear();
+            nbRejetees = 0;
+            for (int i = 0; i < taille / 2; i++) {
+                final int cle = random.nextInt(5000);
+                if (!attendu.remove(cle)) {
+                    nbRejetees++;
+                }
+                lot.add(cle);
+            }
+            assertEquals(nbRejetees, arbre.retirerTous(lot).size(), "Rejets de retrait incorrects");
+            assertEquals(attendu.size(), arbre.getNbNoeuds(), "Nombre de noeuds incorrect");
+        }
+        for (int cle = 0; cle < 5000; cle++) {
+            assertEquals(attendu.contains(cle), arbre.contains(cle), "Recherche incorrecte");
+        }
+        arbre.ajouter(5000);
+        assertEquals(Integer.valueOf(5000), arbre.getMax(), "Max incorrect");
+
+        final List<Integer> toutes = new ArrayList<>(attendu);
+        toutes.add(5000);
+        assertEquals(List.of(5000), arbre.retirerTous(toutes), "La plus grande clé est conservée");
+        assertTrue(arbre.isFeuille(), "L'arbre devrait être réduit à une feuille");
+        assertEquals(Integer.valueOf(5000), arbre.getRacine(),
+                "La clé conservée devrait être la clé rejetée");
+
+        final ArbreBinaireRechercheTableau<Integer> petit = new ArbreBinaireRechercheTableau<>(2);
+        petit.ajouter(1);
+        petit.ajouter(3);
+        assertEquals(List.of(3), petit.retirerTous(List.of(1, 2, 3)));
+        assertTrue(petit.isFeuille());
+        assertEquals(Integer.valueOf(3), petit.getRacine());
+    }
+
+    @Test
+    public void testLotsDansGrandArbre() throws InsertionImpossibleException {
+        verifierLotsDansGrandArbre(new ArbreBinaireRechercheTableau<>(0));
+        verifierLotsDansGrandArbre(new ArbreBinaireRechercheTableau<>(0, CodecsCles.entiers()));
+    }
+
+    private static void verifierLotsDansGrandArbre(ArbreBinaireRechercheTableau<Integer> arbre)
+            throws InsertionImpossibleException {
+        final Random random = new Random(13);
+        final TreeSet<Integer> attendu = new TreeSet<>();
+        attendu.add(0);
+        for (int i = 1; i < 20000; i++) {
+            final int cle = 2 * random.nextInt(20000);
+            arbre.ajouter(cle);
+            attendu.add(cle);
+        }
+        // Des lots petits devant l'arbre, dispersés ou contigus, sont répartis dans l'arbre en une
+        // seule descente
+        final Set<Integer> lot = new LinkedHashSet<>();
+        for (int essai = 0; essai < 6; essai++) {
+            lot.clear();
+            final TreeSet<Integer> rejetees = new TreeSet<>();
+            final int origine = random.nextInt(40000);
+            for (int i = 0; lot.size() < 1000; i++) {
+                final int cle = essai % 2 == 0 ? random.nextInt(44000) - 2000 : origine + i;
+                if (lot.add(cle) && !attendu.add(cle)) {
+                    rejetees.add(cle);
+                }
+            }
+            assertEquals(new ArrayList<>(rejetees), arbre.ajouterTous(lot),
+                    "Rejets d'ajout incorrects");
+            assertEquals(attendu.size(), arbre.getNbNoeuds(), "Nombre de noeuds incorrect");
+
+            lot.clear();
+            rejetees.clear();
+            for (int i = 0; lot.size() < 1000; i++) {
+                final int cle = essai % 2 == 0 ? random.nextInt(44000) - 2000 : origine - i;
+                if (lot.add(cle) && !attendu.remove(cle)) {
+                    rejetees.add(cle);
+                }
+            }
+            assertEquals(new ArrayList<>(rejetees), arbre.retirerTous(lot),
+                    "Rejets de retrait incorrects");
+            assertEquals(attendu.size(), arbre.getNbNoeuds(), "Nombre de noeuds incorrect");
+            final List<Integer> cles = new ArrayList<>();
+            arbre.iterateurParcoursInfixe().forEachRemaining(cles::add);
+            assertEquals(new ArrayList<>(attendu), cles, "Clés incorrectes");
+        }
+    }
+}
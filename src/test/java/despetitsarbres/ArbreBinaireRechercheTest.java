@@ -21,8 +21,10 @@ package despetitsarbres;
 import despetitsarbres.exceptions.InsertionImpossibleException;
 import despetitsarbres.exceptions.SuppressionImpossibleException;
 import despetitsarbres.exceptions.ValeurNonTrouveeException;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -461,4 +463,221 @@ public class ArbreBinaireRechercheTest {
         assertNotNull(rSadSad, "root->sad->sad ne devrait pas être null");
         assertEquals(7, rSadSad.getRacine(), "root->sad->sad devrait être égal à 7");
     }
+
+    @Test
+    public void testAjouterTous() throws InsertionImpossibleException {
+        final ArbreBinaireRecherche<Integer> abr = TestingFactory.creerABR(4).ajouter(2);
+        final List<Integer> rejetees = abr.ajouterTous(Arrays.asList(7, 2, null, 1, 6, 7, 3, 5));
+        assertEquals(Arrays.asList(null, 7, 2), rejetees, "null, 7 (doublon) et 2 sont rejetées");
+        assertEquals(7, abr.getNbNoeuds(), "L'arbre devrait contenir 7 noeuds");
+        assertEquals(1, abr.getMin(), "Le min devrait être 1");
+        assertEquals(7, abr.getMax(), "Le max devrait être 7");
+        assertEquals(Integer.valueOf(4), abr.getRacine(), "La racine devrait rester 4");
+    }
+
+    @Test
+    public void testRetirerTous() throws InsertionImpossibleException {
+        final ArbreBinaireRecherche<Integer> abr
+                = TestingFactory.creerABR(4).ajouter(2).ajouter(6)
+                        .ajouter(1).ajouter(3).ajouter(5).ajouter(7);
+        List<Integer> rejetees = abr.retirerTous(Arrays.asList(6, 8, null, 1, 6));
+        assertEquals(Arrays.asList(null, 6, 8), rejetees, "null, 6 (doublon) et 8 sont rejetées");
+        assertEquals(5, abr.getNbNoeuds(), "L'arbre devrait contenir 5 noeuds");
+        assertFalse(abr.contains(1), "1 devrait être retirée");
+        assertFalse(abr.contains(6), "6 devrait être retirée");
+
+        rejetees = abr.retirerTous(Arrays.asList(2, 3, 4, 5, 7));
+        assertEquals(Arrays.asList(7), rejetees, "La dernière clé ne peut être retirée");
+        assertTrue(abr.isFeuille(), "L'arbre devrait être réduit à une feuille");
+        assertEquals(7, abr.getRacine(), "La racine devrait être 7");
+    }
+
+    @Test
+    public void testTenterAjouterRetirer() throws InsertionImpossibleException {
+        final ArbreBinaireRecherche<Integer> abr = TestingFactory.creerABR(4).ajouter(2);
+        assertEquals(StatutModification.EFFECTUEE, abr.tenterAjouter(6), "6 devrait être ajoutée");
+        assertEquals(StatutModification.DEJA_PRESENTE, abr.tenterAjouter(2),
+                "2 est déjà présente");
+        assertEquals(StatutModification.CLE_NULLE, abr.tenterAjouter(null), "La clé est nulle");
+        assertEquals(3, abr.getNbNoeuds(), "L'arbre devrait contenir 3 noeuds");
+
+        assertEquals(StatutModification.ABSENTE, abr.tenterRetirer(5), "5 est absente");
+        assertEquals(StatutModification.CLE_NULLE, abr.tenterRetirer(null), "La clé est nulle");
+        assertEquals(StatutModification.EFFECTUEE, abr.tenterRetirer(2), "2 devrait être retirée");
+        assertEquals(StatutModification.EFFECTUEE, abr.tenterRetirer(4), "4 devrait être retirée");
+        assertEquals(StatutModification.DERNIERE_CLE, abr.tenterRetirer(6),
+                "La dernière clé ne peut être retirée");
+        assertEquals(6, abr.getRacine(), "La racine devrait être 6");
+    }
+
+    @Test
+    public void testExceptionsSansTrace() throws InsertionImpossibleException {
+        final ArbreBinaireRecherche<Integer> abr = TestingFactory.creerABR(4).ajouter(2);
+        final ValeurNonTrouveeException absente
+                = assertThrows(ValeurNonTrouveeException.class, () -> abr.retirer(5));
+        assertEquals(0, absente.getStackTrace().length, "L'exception ne devrait pas avoir de trace");
+        assertTrue(absente.getMessage().contains("5"), "Le message devrait citer la clé");
+        assertSame(SuppressionImpossibleException.CLE_NULLE,
+                assertThrows(SuppressionImpossibleException.class, () -> abr.retirer(null)),
+                "Une clé nulle devrait lever l'instance partagée");
+        assertSame(InsertionImpossibleException.CLE_NULLE,
+                assertThrows(InsertionImpossibleException.class, () -> abr.ajouter(null)),
+                "Une clé nulle devrait lever l'instance partagée");
+        assertEquals(0, SuppressionImpossibleException.CLE_NULLE.getStackTrace().length,
+                "L'instance partagée ne devrait pas avoir de trace");
+        assertEquals(0, InsertionImpossibleException.CLE_NULLE.getStackTrace().length,
+                "L'instance partagée ne devrait pas avoir de trace");
+        final SuppressionImpossibleException derniere = assertThrows(
+                SuppressionImpossibleException.class, () -> TestingFactory.creerABR(4).retirer(4));
+        assertEquals(0, derniere.getStackTrace().length, "L'exception ne devrait pas avoir de trace");
+        assertTrue(derniere.getMessage().contains("4"), "Le message devrait citer la clé");
+    }
+
+    @Test
+    public void testABRDegenere() throws InsertionImpossibleException {
+        // Clés insérées dans l'ordre croissant : l'ABR est un peigne de profondeur maximale
+        final int nbCles = 100_000;
+        final ArbreBinaireRecherche<Integer> abr = TestingFactory.creerABR(0);
+        for (int cle = 1; cle < nbCles; cle++) {
+            abr.ajouter(cle);
+        }
+        assertEquals(nbCles, abr.getNbNoeuds(), "Nombre de noeuds incorrect");
+        assertEquals(1, abr.getNbFeuilles(), "Nombre de feuilles incorrect");
+        assertEquals(nbCles - 1, abr.getHauteur(), "Hauteur incorrecte");
+        assertEquals(nbCles - 1, abr.getHauteurMoyenne(), 1e-3, "Hauteur moyenne incorrecte");
+        final int[] attendu = new int[]{0};
+        abr.traiterNoeudsParcoursPrefixe((cle) -> assertEquals(attendu[0]++, cle.intValue()));
+        abr.traiterNoeudsParcoursSuffixe((cle) -> assertEquals(--attendu[0], cle.intValue()));
+        assertEquals(0, attendu[0], "Parcours incomplet");
+    }
+
+    private static String parcoursPrefixe(ArbreBinaireRecherche<Integer> abr) {
+        final StringBuilder sb = new StringBuilder();
+        abr.traiterNoeudsParcoursPrefixe((cle) -> sb.append(cle).append(", "));
+        return sb.substring(0, sb.length() - 2);
+    }
+
+    private static String parcoursSuffixe(ArbreBinaireRecherche<Integer> abr) {
+        final StringBuilder sb = new StringBuilder();
+        abr.traiterNoeudsParcoursSuffixe((cle) -> sb.append(cle).append(", "));
+        return sb.substring(0, sb.length() - 2);
+    }
+
+    @Test
+    public void testParcoursMorris() {
+        final ArbreBinaireRechercheImpl<Integer> abr
+                = (ArbreBinaireRechercheImpl<Integer>) TestingArbreFactory.generateArbreTestABR();
+        final StringBuilder infixe = new StringBuilder();
+        assertTrue(abr.parcourirInfixeMorris((cle) -> {
+            infixe.append(cle).append(", ");
+            return true;
+        }),
+                "Le parcours devrait être complet");
+        assertEquals("18, 19, 20, 21, 22, 23, 27, 30, 33, 35, 40, 43, 44, 45, 46, 47, ",
+                infixe.toString(), "Parcours infixe invalide");
+        final StringBuilder prefixe = new StringBuilder();
+        assertTrue(abr.parcourirPrefixeMorris((cle) -> {
+            prefixe.append(cle).append(", ");
+            return true;
+        }),
+                "Le parcours devrait être complet");
+        assertEquals(TestingArbreFactory.parcoursPrefixeABR() + ", ", prefixe.toString(),
+                "Parcours préfixe invalide");
+        assertEquals(TestingArbreFactory.parcoursPrefixeABR(), parcoursPrefixe(abr),
+                "La structure de l'arbre devrait être restaurée");
+    }
+
+    @Test
+    public void testParcoursMorrisInterrompu() {
+        final ArbreBinaireRechercheImpl<Integer> abr
+                = (ArbreBinaireRechercheImpl<Integer>) TestingArbreFactory.generateArbreTestABR();
+        final int[] nbVisites = new int[1];
+        assertFalse(abr.parcourirInfixeMorris((cle) -> ++nbVisites[0] < 5),
+                "Le parcours devrait être interrompu");
+        assertEquals(5, nbVisites[0], "Le parcours devrait s'arrêter à la 5e clé");
+        assertEquals(TestingArbreFactory.parcoursPrefixeABR(), parcoursPrefixe(abr),
+                "La structure de l'arbre devrait être restaurée");
+        assertFalse(abr.parcourirPrefixeMorris((cle) -> cle != 22),
+                "Le parcours devrait être interrompu");
+        assertEquals(TestingArbreFactory.parcoursPrefixeABR(), parcoursPrefixe(abr),
+                "La structure de l'arbre devrait être restaurée");
+
+        for (int arret : new int[]{18, 20, 27, 33, 47}) {
+            assertThrows(IllegalStateException.class, () -> abr.parcourirInfixeMorris((cle) -> {
+                if (cle == arret) {
+                    throw new IllegalStateException();
+                }
+                return true;
+            }));
+            assertThrows(IllegalStateException.class, () -> abr.parcourirPrefixeMorris((cle) -> {
+                if (cle == arret) {
+                    throw new IllegalStateException();
+                }
+                return true;
+            }));
+            assertEquals(TestingArbreFactory.parcoursPrefixeABR(), parcoursPrefixe(abr),
+                    "La structure de l'arbre devrait être restaurée");
+            assertEquals(TestingArbreFactory.parcoursSuffixeABR(), parcoursSuffixe(abr),
+                    "La structure de l'arbre devrait être restaurée");
+        }
+    }
+
+    @Test
+    public void testIterateurParcoursInfixe() {
+        final ArbreBinaireRecherche<Integer> abr = TestingArbreFactory.generateArbreTestABR();
+        final StringBuilder sb = new StringBuilder();
+        final Iterator<Integer> it = abr.iterateurParcoursInfixe();
+        while (it.hasNext()) {
+            sb.append(it.next()).append(", ");
+        }
+        assertEquals("18, 19, 20, 21, 22, 23, 27, 30, 33, 35, 40, 43, 44, 45, 46, 47, ",
+                sb.toString(), "Parcours infixe invalide");
+        assertThrows(NoSuchElementException.class, it::next);
+    }
+
+    @Test
+    public void testPlage() {
+        final ArbreBinaireRecherche<Integer> abr = TestingArbreFactory.generateArbreTestABR();
+        assertEquals(Arrays.asList(21, 22, 23, 27, 30, 33, 35), abr.plage(21, 40),
+                "Plage [21, 40) invalide");
+        assertEquals(Arrays.asList(19, 20), abr.plage(19, 21), "Plage [19, 21) invalide");
+        assertEquals(Arrays.asList(43, 44, 45, 46, 47), abr.plage(42, 100),
+                "Plage [42, 100) invalide");
+        assertEquals(16, abr.plage(0, 100).size(), "La plage devrait contenir toutes les clés");
+        assertTrue(abr.plage(24, 27).isEmpty(), "La plage [24, 27) devrait être vide");
+        assertTrue(abr.plage(30, 30).isEmpty(), "La plage [30, 30) devrait être vide");
+        assertTrue(abr.plage(0, 18).isEmpty(), "La plage [0, 18) devrait être vide");
+        assertTrue(abr.plage(48, 60).isEmpty(), "La plage [48, 60) devrait être vide");
+
+        final Iterator<Integer> it = abr.iterateurPlage(44, 46);
+        assertEquals(Integer.valueOf(44), it.next());
+        assertEquals(Integer.valueOf(45), it.next());
+        assertFalse(it.hasNext(), "La plage [44, 46) devrait être épuisée");
+        assertThrows(NoSuchElementException.class, it::next);
+
+        assertThrows(IllegalArgumentException.class, () -> abr.plage(40, 30));
+        assertThrows(NullPointerException.class, () -> abr.iterateurPlage(null, 30));
+        assertThrows(NullPointerException.class, () -> abr.iterateurPlage(30, null));
+    }
+
+    @Test
+    public void testNavigation() {
+        final ArbreBinaireRecherche<Integer> abr = TestingArbreFactory.generateArbreTestABR();
+        assertEquals(Integer.valueOf(23), abr.plancher(23), "Plancher de 23 invalide");
+        assertEquals(Integer.valueOf(27), abr.plancher(29), "Plancher de 29 invalide");
+        assertNull(abr.plancher(17), "17 ne devrait pas avoir de plancher");
+        assertEquals(Integer.valueOf(23), abr.plafond(23), "Plafond de 23 invalide");
+        assertEquals(Integer.valueOf(30), abr.plafond(28), "Plafond de 28 invalide");
+        assertNull(abr.plafond(48), "48 ne devrait pas avoir de plafond");
+        assertEquals(Integer.valueOf(22), abr.predecesseur(23), "Prédécesseur de 23 invalide");
+        assertEquals(Integer.valueOf(27), abr.predecesseur(29), "Prédécesseur de 29 invalide");
+        assertEquals(Integer.valueOf(35), abr.predecesseur(40), "Prédécesseur de 40 invalide");
+        assertNull(abr.predecesseur(18), "18 ne devrait pas avoir de prédécesseur");
+        assertEquals(Integer.valueOf(27), abr.successeur(23), "Successeur de 23 invalide");
+        assertEquals(Integer.valueOf(33), abr.successeur(30), "Successeur de 30 invalide");
+        assertEquals(Integer.valueOf(18), abr.successeur(0), "Successeur de 0 invalide");
+        assertNull(abr.successeur(47), "47 ne devrait pas avoir de successeur");
+        assertNull(abr.plancher(null), "Une clé nulle n'a pas de plancher");
+        assertNull(abr.successeur(null), "Une clé nulle n'a pas de successeur");
+    }
 }
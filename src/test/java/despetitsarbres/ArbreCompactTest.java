@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static despetitsarbres.TestingArbreFactory.parcourir;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author Rémi Venant
+ */
+public class ArbreCompactTest {
+
+    public ArbreCompactTest() {
+    }
+
+    @BeforeAll
+    public static void setUpClass() {
+    }
+
+    @AfterAll
+    public static void tearDownClass() {
+    }
+
+    @BeforeEach
+    public void setUp() {
+    }
+
+    @AfterEach
+    public void tearDown() {
+    }
+
+    /**
+     * Test of depuis method, of class ArbreCompact.
+     */
+    @Test
+    public void testDepuis() {
+        System.out.println("depuis");
+        final ArbreCompact<String> arbre = ArbreCompact.depuis(
+                TestingArbreFactory.generateArbreTest1());
+        assertEquals("a", arbre.getRacine());
+        assertEquals(TestingArbreFactory.getNbNoeudsArbreTest1(), arbre.getNbNoeuds());
+        assertEquals(TestingArbreFactory.getNbFeuillesArbreTest1(), arbre.getNbFeuilles());
+        assertEquals(TestingArbreFactory.getHauteurArbreTest1(), arbre.getHauteur());
+        assertEquals(TestingArbreFactory.getHauteurMoyenneArbreTest1(),
+                arbre.getHauteurMoyenne(), 1e-6);
+        assertEquals(TestingArbreFactory.parcoursPrefixe(),
+                parcourir(arbre.iterateurParcoursPrefixe()));
+        assertEquals(TestingArbreFactory.parcoursSuffixe(),
+                parcourir(arbre.iterateurParcoursSuffixe()));
+        assertEquals(TestingArbreFactory.parcoursLargeur(),
+                parcourir(arbre.iterateurParcoursLargeur()));
+        final StringBuilder sb = new StringBuilder();
+        arbre.traiterNoeudsParcoursPrefixe((valeur) -> sb.append(valeur));
+        arbre.traiterNoeudsParcoursSuffixe((valeur) -> sb.append(valeur));
+        arbre.traiterNoeudsParcoursLargeur((valeur) -> sb.append(valeur));
+        assertEquals("abcdefgh" + "cedbgfha" + "abfhcdge", sb.toString());
+        final List<String> niveaux = new ArrayList<>();
+        arbre.traiterNiveaux((profondeur, niveau) -> niveaux.add(profondeur + ":" + niveau));
+        assertEquals("[0:[a], 1:[b, f, h], 2:[c, d, g], 3:[e]]", niveaux.toString());
+    }
+
+    /**
+     * Test des sous-arbres, vues sur l'arbre compact.
+     */
+    @Test
+    public void testSousArbres() {
+        System.out.println("sousArbres");
+        final ArbreCompact<String> arbre = ArbreCompact.depuis(
+                TestingArbreFactory.generateArbreTest1());
+        final List<Arbre<String>> foret = arbre.getForet();
+        assertEquals(3, foret.size());
+        final Arbre<String> b = foret.get(0);
+        assertEquals("b", b.getRacine());
+        assertEquals(4, b.getNbNoeuds());
+        assertEquals(2, b.getNbFeuilles());
+        assertEquals(2, b.getHauteur());
+        assertEquals(1.5f, b.getHauteurMoyenne());
+        assertEquals("b, c, d, e", parcourir(b.iterateurParcoursPrefixe()));
+        assertEquals("c, e, d, b", parcourir(b.iterateurParcoursSuffixe()));
+        assertEquals("b, c, d, e", parcourir(b.iterateurParcoursLargeur()));
+        assertTrue(foret.get(2).isFeuille());
+        assertEquals(1, foret.get(2).getNbNoeuds());
+        assertEquals(0, foret.get(2).getHauteur());
+        assertThrows(IndexOutOfBoundsException.class, () -> foret.get(3));
+        assertThrows(UnsupportedOperationException.class,
+                () -> foret.add(TestingFactory.creerArbre("z")));
+
+        b.setRacine("B");
+        assertEquals("a, B, c, d, e, f, g, h", parcourir(arbre.iterateurParcoursPrefixe()),
+                "La valeur modifiée par une vue devrait être visible dans l'arbre");
+    }
+
+    /**
+     * Test of Constructeur class, of class ArbreCompact.
+     */
+    @Test
+    public void testConstructeur() {
+        System.out.println("constructeur");
+        final ArbreCompact.Constructeur<String> constructeur = new ArbreCompact.Constructeur<>();
+        final ArbreCompact<String> arbre = constructeur.ajouter("a", 3).ajouter("b", 2)
+                .ajouter("f", 1).ajouter("h", 0).ajouter("c", 0).ajouter("d", 1)
+                .ajouter("g", 0).ajouter("e", 0).construire();
+        assertEquals(TestingArbreFactory.parcoursPrefixe(),
+                parcourir(arbre.iterateurParcoursPrefixe()));
+        assertEquals("x", constructeur.ajouter("x", 0).construire().getRacine(),
+                "Le constructeur devrait être réutilisable");
+
+        assertThrows(IllegalArgumentException.class, () -> constructeur.ajouter("x", -1));
+        constructeur.ajouter("x", 1);
+        assertThrows(IllegalStateException.class, constructeur::construire);
+        constructeur.ajouter("y", 0);
+        assertThrows(IllegalStateException.class, () -> constructeur.ajouter("z", 0));
+        assertThrows(IllegalStateException.class,
+                () -> new ArbreCompact.Constructeur<String>().construire());
+    }
+
+    /**
+     * Test d'un arbre compact très profond puis très large.
+     */
+    @Test
+    public void testFormesExtremes() {
+        System.out.println("formesExtremes");
+        final ArbreCompact.Constructeur<Integer> constructeur = new ArbreCompact.Constructeur<>();
+        final int nbNoeuds = 200_000;
+        for (int i = 0; i < nbNoeuds; i++) {
+            constructeur.ajouter(i, i < nbNoeuds - 1 ? 1 : 0);
+        }
+        final ArbreCompact<Integer> profond = constructeur.construire();
+        assertEquals(nbNoeuds, profond.getNbNoeuds());
+        assertEquals(nbNoeuds - 1, profond.getHauteur());
+        final int[] attendu = new int[]{nbNoeuds};
+        profond.traiterNoeudsParcoursSuffixe((valeur) -> assertEquals(--attendu[0], valeur));
+        assertEquals(0, attendu[0]);
+
+        constructeur.ajouter(-1, nbNoeuds);
+        for (int i = 0; i < nbNoeuds; i++) {
+            constructeur.ajouter(i, 0);
+        }
+        final ArbreCompact<Integer> large = constructeur.construire();
+        assertEquals(nbNoeuds + 1, large.getNbNoeuds());
+        assertEquals(nbNoeuds, large.getNbFeuilles());
+        assertEquals(1, large.getHauteur());
+        assertEquals(Integer.valueOf(nbNoeuds - 1), large.getForet().get(nbNoeuds - 1)
+                .getRacine());
+    }
+}
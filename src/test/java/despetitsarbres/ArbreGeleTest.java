@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import despetitsarbres.exceptions.InsertionImpossibleException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static despetitsarbres.TestingArbreFactory.parcourir;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author Rémi Venant
+ */
+public class ArbreGeleTest {
+
+    public ArbreGeleTest() {
+    }
+
+    @BeforeAll
+    public static void setUpClass() {
+    }
+
+    @AfterAll
+    public static void tearDownClass() {
+    }
+
+    @BeforeEach
+    public void setUp() {
+    }
+
+    @AfterEach
+    public void tearDown() {
+    }
+
+    /**
+     * Test of geler method, of class Arbre.
+     */
+    @Test
+    public void testGeler() {
+        System.out.println("geler");
+        final Arbre<String> origine = TestingArbreFactory.generateArbreTest1();
+        final ArbreGele<String> arbre = origine.geler();
+        assertEquals("a", arbre.getRacine());
+        assertEquals(TestingArbreFactory.getNbNoeudsArbreTest1(), arbre.getNbNoeuds());
+        assertEquals(TestingArbreFactory.getNbFeuillesArbreTest1(), arbre.getNbFeuilles());
+        assertEquals(TestingArbreFactory.getHauteurArbreTest1(), arbre.getHauteur());
+        assertEquals(TestingArbreFactory.getHauteurMoyenneArbreTest1(),
+                arbre.getHauteurMoyenne(), 1e-6);
+        assertEquals(TestingArbreFactory.parcoursPrefixe(),
+                parcourir(arbre.iterateurParcoursPrefixe()));
+        assertEquals(TestingArbreFactory.parcoursSuffixe(),
+                parcourir(arbre.iterateurParcoursSuffixe()));
+        assertEquals(TestingArbreFactory.parcoursLargeur(),
+                parcourir(arbre.iterateurParcoursLargeur()));
+        final StringBuilder sb = new StringBuilder();
+        arbre.traiterNoeudsParcoursPrefixe((valeur) -> sb.append(valeur));
+        arbre.traiterNoeudsParcoursSuffixe((valeur) -> sb.append(valeur));
+        arbre.traiterNoeudsParcoursLargeur((valeur) -> sb.append(valeur));
+        assertEquals("abcdefgh" + "cedbgfha" + "abfhcdge", sb.toString());
+        assertEquals("abcdefgh", arbre.stream(OrdreParcours.PREFIXE)
+                .collect(Collectors.joining()));
+        assertSame(arbre, arbre.geler(), "Un arbre gelé ne devrait pas être recopié");
+
+        origine.setRacine("z");
+        assertEquals("a", arbre.getRacine(),
+                "L'instantané ne devrait pas suivre les modifications de l'arbre d'origine");
+    }
+
+    /**
+     * Test des sous-arbres et des modifications interdites.
+     */
+    @Test
+    public void testSousArbres() {
+        System.out.println("sousArbres");
+        final ArbreGele<String> arbre = TestingArbreFactory.generateArbreTest1().geler();
+        assertThrows(UnsupportedOperationException.class, () -> arbre.setRacine("z"));
+        final List<Arbre<String>> foret = arbre.getForet();
+        assertEquals(3, foret.size());
+        final Arbre<String> b = foret.get(0);
+        assertEquals("b", b.getRacine());
+        assertEquals(4, b.getNbNoeuds());
+        assertEquals(2, b.getNbFeuilles());
+        assertEquals(2, b.getHauteur());
+        assertEquals(1.5f, b.getHauteurMoyenne());
+        assertEquals("b, c, d, e", parcourir(b.iterateurParcoursPrefixe()));
+        assertEquals("c, e, d, b", parcourir(b.iterateurParcoursSuffixe()));
+        assertEquals("b, c, d, e", parcourir(b.iterateurParcoursLargeur()));
+        assertTrue(foret.get(2).isFeuille());
+        assertEquals(1, foret.get(2).getNbNoeuds());
+        assertEquals(0, foret.get(2).getHauteur());
+        assertThrows(IndexOutOfBoundsException.class, () -> foret.get(3));
+        assertThrows(UnsupportedOperationException.class, () -> b.setRacine("B"));
+        assertThrows(UnsupportedOperationException.class,
+                () -> foret.add(TestingFactory.creerArbre("z")));
+        assertThrows(UnsupportedOperationException.class, () -> foret.remove(0));
+        assertThrows(UnsupportedOperationException.class, foret::clear);
+    }
+
+    /**
+     * Test du séparateur d'un arbre gelé.
+     *
+     * @throws InsertionImpossibleException ne devrait pas arriver
+     */
+    @Test
+    public void testSpliterator() throws InsertionImpossibleException {
+        System.out.println("spliterator");
+        final ArbreBinaireRechercheImpl<Integer> abr = new ArbreBinaireRechercheImpl<>(5000);
+        for (int i = 0; i < 10_000; i++) {
+            abr.ajouter((i * 7919) % 10_000);
+        }
+        final ArbreGele<Integer> arbre = abr.geler();
+        assertEquals(abr.getNbNoeuds(), arbre.getNbNoeuds());
+        assertEquals(abr.getHauteur(), arbre.getHauteur());
+        final Spliterator<Integer> separateur = arbre.spliterator();
+        assertTrue(separateur.hasCharacteristics(Spliterator.SIZED | Spliterator.IMMUTABLE));
+        assertEquals(10_000, separateur.getExactSizeIfKnown());
+        final List<Integer> prefixe = new ArrayList<>();
+        abr.traiterNoeudsParcoursPrefixe(prefixe::add);
+        assertEquals(prefixe, StreamSupport.stream(arbre.spliterator(), true)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Test d'un arbre gelé très profond.
+     */
+    @Test
+    public void testArbreProfond() {
+        System.out.println("arbreProfond");
+        final ArbreCompact.Constructeur<Integer> constructeur = new ArbreCompact.Constructeur<>();
+        final int nbNoeuds = 200_000;
+        for (int i = 0; i < nbNoeuds; i++) {
+            constructeur.ajouter(i, i < nbNoeuds - 1 ? 1 : 0);
+        }
+        final ArbreGele<Integer> profond = constructeur.construire().geler();
+        assertEquals(nbNoeuds, profond.getNbNoeuds());
+        assertEquals(nbNoeuds - 1, profond.getHauteur());
+        assertEquals(nbNoeuds - 1, profond.getHauteurMoyenne(), 1e-6);
+        final int[] attendu = new int[]{nbNoeuds};
+        profond.traiterNoeudsParcoursSuffixe((valeur) -> assertEquals(--attendu[0], valeur));
+        assertEquals(0, attendu[0]);
+        final Arbre<Integer> sousArbre = profond.getForet().get(0).getForet().get(0);
+        assertEquals(nbNoeuds - 2, sousArbre.getNbNoeuds());
+        assertEquals(nbNoeuds - 3, sousArbre.getHauteur());
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import despetitsarbres.exceptions.InsertionImpossibleException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compare le chargement d'un ABR par {@link ArbreReader} à sa reconstruction par ajouts
+ * successifs des clés lues. Exécution :
+ * {@code mvn test -Dtest=ArbreReaderBenchmarkTest -Ddespetitsarbres.benchmark=true}
+ * (nombre de clés modifiable par {@code -Ddespetitsarbres.benchmark.taille=...}). Les deux
+ * chargements conservant toutes leurs clés, un tas initial suffisant
+ * ({@code -DargLine=-Xms3g}) évite que le ramasse-miettes ne domine les mesures.
+ *
+ * <p>
+ * Le gain attendu est d'au moins {@value #RATIO_MINIMAL} : les clés ne sont ni décodées ni
+ * créées sous forme d'objets, leurs octets sont copiés dans les noeuds d'un ABR en tableaux à clés
+ * codées, et ces noeuds, numérotés dans l'ordre infixe, sont reliés en un seul passage séquentiel.
+ * </p>
+ *
+ * @author Rémi Venant
+ */
+@EnabledIfSystemProperty(named = "despetitsarbres.benchmark", matches = "true")
+public class ArbreReaderBenchmarkTest {
+
+    private static final int NB_MESURES = 10;
+
+    private static final int RATIO_MINIMAL = 10;
+
+    public ArbreReaderBenchmarkTest() {
+    }
+
+    @Test
+    public void testChargement() throws IOException, InsertionImpossibleException {
+        final int taille = Integer.getInteger("despetitsarbres.benchmark.taille", 5_000_000);
+        final Random random = new Random(42);
+        final Integer[] cles = new Integer[taille];
+        for (int i = 0; i < taille; i++) {
+            cles[i] = i;
+        }
+        for (int i = taille - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final Integer cle = cles[i];
+            cles[i] = cles[j];
+            cles[j] = cle;
+        }
+        final ArbreBinaireRechercheImpl<Integer> arbre = new ArbreBinaireRechercheImpl<>(cles[0]);
+        for (int i = 1; i < taille; i++) {
+            arbre.ajouter(cles[i]);
+        }
+        final ByteArrayOutputStream sortie = new ByteArrayOutputStream();
+        try (ArbreWriter ecrivain = new ArbreWriter(Channels.newChannel(sortie))) {
+            ecrivain.ecrireArbreBinaireRecherche(arbre, CodecsValeurs.entiers());
+        }
+        final byte[] octets = sortie.toByteArray();
+        // Ancienne méthode : les clés sont enregistrées dans l'ordre préfixe, puis relues et
+        // ajoutées une à une
+        final ByteBuffer prefixe = ByteBuffer.allocate(taille * Integer.BYTES);
+        arbre.traiterNoeudsParcoursPrefixe(prefixe::putInt);
+
+        long meilleurAjouts = Long.MAX_VALUE;
+        long meilleurLecture = Long.MAX_VALUE;
+        for (int mesure = 0; mesure < NB_MESURES; mesure++) {
+            System.gc();
+            long debut = System.nanoTime();
+            try (ArbreReader lecteur = new ArbreReader(Channels.newChannel(
+                    new ByteArrayInputStream(octets)))) {
+                assertEquals(taille, lecteur.lireArbreBinaireRecherche(CodecsCles.entiers())
+                        .getNbNoeuds());
+            }
+            meilleurLecture = Math.min(meilleurLecture, System.nanoTime() - debut);
+
+            System.gc();
+            debut = System.nanoTime();
+            prefixe.rewind();
+            final ArbreBinaireRechercheImpl<Integer> reconstruit = new ArbreBinaireRechercheImpl<>(
+                    prefixe.getInt());
+            for (int i = 1; i < taille; i++) {
+                reconstruit.ajouter(prefixe.getInt());
+            }
+            meilleurAjouts = Math.min(meilleurAjouts, System.nanoTime() - debut);
+        }
+        final double ratio = (double) meilleurAjouts / meilleurLecture;
+        System.out.printf("Chargement de %d clés : ajouts %.1f ms, lecture triée %.1f ms (x%.1f)%n",
+                taille, meilleurAjouts / 1e6, meilleurLecture / 1e6, ratio);
+        assertTrue(ratio >= RATIO_MINIMAL, "La lecture triée devrait être au moins "
+                + RATIO_MINIMAL + " fois plus rapide que les ajouts : x" + ratio);
+    }
+}
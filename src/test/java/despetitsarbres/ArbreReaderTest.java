@@ -0,0 +1,268 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import despetitsarbres.exceptions.InsertionImpossibleException;
+import despetitsarbres.exceptions.SuppressionImpossibleException;
+import despetitsarbres.exceptions.ValeurNonTrouveeException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static despetitsarbres.TestingArbreFactory.parcourir;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de {@link ArbreReader} et {@link ArbreWriter}.
+ *
+ * @author Rémi Venant
+ */
+public class ArbreReaderTest {
+
+    public ArbreReaderTest() {
+    }
+
+    @BeforeAll
+    public static void setUpClass() {
+    }
+
+    @AfterAll
+    public static void tearDownClass() {
+    }
+
+    @BeforeEach
+    public void setUp() {
+    }
+
+    @AfterEach
+    public void tearDown() {
+    }
+
+    private static ArbreReader lecteur(ByteArrayOutputStream octets, int tailleTampon) {
+        return new ArbreReader(Channels.newChannel(new ByteArrayInputStream(octets.toByteArray())),
+                tailleTampon);
+    }
+
+    /**
+     * Test of lireArbre method, of class ArbreReader.
+     *
+     * @throws IOException ne devrait pas arriver
+     */
+    @Test
+    public void testLireArbre() throws IOException {
+        System.out.println("lireArbre");
+        final Arbre<String> arbre = TestingArbreFactory.generateArbreTest1();
+        final Arbre<String> unicode = TestingFactory.creerArbre("été",
+                new ArrayList<>(Arrays.asList(TestingFactory.creerArbre("€"),
+                        TestingFactory.creerArbre("🌳"),
+                        TestingFactory.creerArbre("isolé\ud800"),
+                        TestingFactory.creerArbre(""))));
+        final ByteArrayOutputStream octets = new ByteArrayOutputStream();
+        try (ArbreWriter ecrivain = new ArbreWriter(Channels.newChannel(octets),
+                ArbreWriter.TAILLE_ENTETE)) {
+            ecrivain.ecrireArbre(arbre, CodecsValeurs.chaines());
+            ecrivain.ecrireArbre(unicode, CodecsValeurs.chaines());
+        }
+        for (int tailleTampon : new int[]{ArbreWriter.TAILLE_ENTETE, 1024}) {
+            try (ArbreReader lecteur = lecteur(octets, tailleTampon)) {
+                final Arbre<String> lu = lecteur.lireArbre(CodecsValeurs.chaines());
+                assertEquals(TestingArbreFactory.parcoursPrefixe(),
+                        parcourir(lu.iterateurParcoursPrefixe()));
+                assertEquals(TestingArbreFactory.parcoursLargeur(),
+                        parcourir(lu.iterateurParcoursLargeur()));
+                final Arbre<String> luUnicode = lecteur.lireArbre(CodecsValeurs.chaines());
+                assertEquals("été, €, 🌳, isolé?, ",
+                        parcourir(luUnicode.iterateurParcoursPrefixe()));
+                luUnicode.getForet().add(TestingFactory.creerArbre("ajout"));
+                assertEquals(6, luUnicode.getNbNoeuds(), "L'arbre lu devrait être modifiable");
+                assertThrows(EOFException.class, () -> lecteur.lireArbre(CodecsValeurs.chaines()));
+            }
+        }
+    }
+
+    /**
+     * Test of lireArbreBinaireRecherche method, of class ArbreReader.
+     *
+     * @throws IOException ne devrait pas arriver
+     * @throws InsertionImpossibleException ne devrait pas arriver
+     */
+    @Test
+    public void testLireArbreBinaireRecherche() throws IOException, InsertionImpossibleException {
+        System.out.println("lireArbreBinaireRecherche");
+        final ArbreBinaireRechercheImpl<Integer> abr = new ArbreBinaireRechercheImpl<>(5000);
+        for (int i = 0; i < 10_000; i++) {
+            abr.ajouter(((i * 7919) % 10_000) - 2000);
+        }
+        final ByteArrayOutputStream octets = new ByteArrayOutputStream();
+        try (ArbreWriter ecrivain = new ArbreWriter(Channels.newChannel(octets))) {
+            ecrivain.ecrireArbreBinaireRecherche(abr, CodecsValeurs.entiers());
+            ecrivain.ecrireArbre(abr, CodecsValeurs.entiers());
+        }
+        try (ArbreReader lecteur = lecteur(octets, 64)) {
+            final ArbreBinaireRechercheTableau<Integer> lu = lecteur.lireArbreBinaireRecherche(
+                    CodecsValeurs.entiers());
+            assertEquals(parcourir(abr.iterateurParcoursInfixe()),
+                    parcourir(lu.iterateurParcoursInfixe()));
+            assertEquals(13, lu.getHauteur(), "L'ABR lu devrait être de hauteur minimale");
+            final Arbre<Integer> forme = lecteur.lireArbre(CodecsValeurs.entiers());
+            assertEquals(parcourir(abr.iterateurParcoursPrefixe()),
+                    parcourir(forme.iterateurParcoursPrefixe()));
+            assertEquals(abr.getHauteur(), forme.getHauteur());
+        }
+    }
+
+    /**
+     * Test de la lecture d'un ABR par blocs avec un codec de clés, et de l'écriture d'un ABR
+     * concurrent depuis un seul instantané.
+     *
+     * @throws IOException ne devrait pas arriver
+     * @throws InsertionImpossibleException ne devrait pas arriver
+     * @throws SuppressionImpossibleException ne devrait pas arriver
+     * @throws ValeurNonTrouveeException ne devrait pas arriver
+     */
+    @Test
+    public void testLireArbreBinaireRechercheCodecCle() throws IOException,
+            InsertionImpossibleException, SuppressionImpossibleException,
+            ValeurNonTrouveeException {
+        System.out.println("lireArbreBinaireRechercheCodecCle");
+        final ArbreBinaireRechercheConcurrent<Long> abr = new ArbreBinaireRechercheConcurrent<>(0L);
+        final List<Long> lot = new ArrayList<>();
+        for (long i = 1; i < 1000; i++) {
+            lot.add(i * 3);
+        }
+        abr.ajouterTous(lot);
+        final ByteArrayOutputStream octets = new ByteArrayOutputStream();
+        try (ArbreWriter ecrivain = new ArbreWriter(Channels.newChannel(octets))) {
+            ecrivain.ecrireArbreBinaireRecherche(abr, CodecsValeurs.longs());
+            ecrivain.ecrireArbre(abr, CodecsValeurs.longs());
+        }
+        // Un tampon de 60 octets ne contient jamais un nombre entier de clés : chaque bloc
+        // s'arrête au milieu d'une clé
+        try (ArbreReader lecteur = lecteur(octets, 60)) {
+            final ArbreBinaireRechercheTableau<Long> lu = lecteur.lireArbreBinaireRecherche(
+                    CodecsCles.longs());
+            assertEquals(parcourir(abr.iterateurParcoursInfixe()),
+                    parcourir(lu.iterateurParcoursInfixe()));
+            assertEquals(1000, lu.getNbNoeuds(), "Nombre de noeuds incorrect");
+            assertEquals(9, lu.getHauteur(), "L'ABR lu devrait être de hauteur minimale");
+            lu.ajouter(1L);
+            lu.retirer(3L);
+            assertTrue(lu.contains(1L) && !lu.contains(3L), "L'ABR lu devrait être modifiable");
+            final Arbre<Long> forme = lecteur.lireArbre(CodecsValeurs.longs());
+            assertEquals(parcourir(abr.iterateurParcoursPrefixe()),
+                    parcourir(forme.iterateurParcoursPrefixe()));
+        }
+        assertThrows(IOException.class, () -> lecteur(octets, 64).lireArbreBinaireRecherche(
+                CodecsCles.entiers()), "Un codec de taille différente devrait être refusé");
+    }
+
+    /**
+     * Test des flux invalides.
+     *
+     * @throws IOException ne devrait pas arriver
+     */
+    @Test
+    public void testFluxInvalides() throws IOException {
+        System.out.println("fluxInvalides");
+        final ByteArrayOutputStream octets = new ByteArrayOutputStream();
+        try (ArbreWriter ecrivain = new ArbreWriter(Channels.newChannel(octets))) {
+            ecrivain.ecrireArbre(TestingArbreFactory.generateArbreTest1(),
+                    CodecsValeurs.chaines());
+        }
+        assertThrows(IOException.class, () -> lecteur(octets, 64).lireArbreBinaireRecherche(
+                CodecsValeurs.depuis(CodecsCles.entiers())));
+        assertThrows(IOException.class, () -> lecteur(octets, 64).lireArbre(
+                CodecsValeurs.entiers()));
+        final ByteArrayOutputStream tronque = new ByteArrayOutputStream();
+        tronque.write(octets.toByteArray(), 0, octets.size() - 1);
+        assertThrows(EOFException.class, () -> lecteur(tronque, 64).lireArbre(
+                CodecsValeurs.chaines()));
+
+        final ByteBuffer nonTrie = ByteBuffer.allocate(ArbreWriter.TAILLE_ENTETE + 3 * 4)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        nonTrie.putInt(ArbreWriter.SIGNATURE).put(ArbreWriter.VERSION)
+                .put(ArbreWriter.TYPE_ARBRE_BINAIRE_RECHERCHE).putInt(4).putInt(3)
+                .putInt(1).putInt(3).putInt(2);
+        final ByteArrayOutputStream octetsNonTries = new ByteArrayOutputStream();
+        octetsNonTries.write(nonTrie.array());
+        assertThrows(IOException.class, () -> lecteur(octetsNonTries, 64)
+                .lireArbreBinaireRecherche(CodecsValeurs.entiers()));
+        assertThrows(IOException.class, () -> lecteur(octetsNonTries, 64)
+                .lireArbreBinaireRecherche(CodecsCles.entiers()));
+
+        // Nombre de fils 1 codé sur 5 octets, avec un bit au-delà des 32 bits d'un entier
+        final ByteBuffer debordement = ByteBuffer.allocate(ArbreWriter.TAILLE_ENTETE + 14)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        debordement.putInt(ArbreWriter.SIGNATURE).put(ArbreWriter.VERSION)
+                .put(ArbreWriter.TYPE_ARBRE).putInt(4).putInt(2)
+                .put(new byte[]{(byte) 0x81, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x10})
+                .putInt(1).put((byte) 0).putInt(2);
+        final ByteArrayOutputStream octetsDebordement = new ByteArrayOutputStream();
+        octetsDebordement.write(debordement.array());
+        assertThrows(IOException.class, () -> lecteur(octetsDebordement, 64).lireArbre(
+                CodecsValeurs.entiers()));
+        debordement.put(ArbreWriter.TAILLE_ENTETE + 4, (byte) 0);
+        octetsDebordement.reset();
+        octetsDebordement.write(debordement.array());
+        assertEquals("[1, 2]", lecteur(octetsDebordement, 64).lireArbre(CodecsValeurs.entiers())
+                .stream(OrdreParcours.PREFIXE).collect(Collectors.toList()).toString(),
+                "Un nombre de fils codé sur 5 octets valides devrait être lu");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new ArbreWriter(Channels.newChannel(octets), 1));
+        assertThrows(IllegalArgumentException.class, () -> lecteur(octets, 1));
+    }
+
+    /**
+     * Test d'un arbre très profond, écrit et lu sans récursion.
+     *
+     * @throws IOException ne devrait pas arriver
+     */
+    @Test
+    public void testArbreProfond() throws IOException {
+        System.out.println("arbreProfond");
+        final ArbreCompact.Constructeur<Long> constructeur = new ArbreCompact.Constructeur<>();
+        final int nbNoeuds = 200_000;
+        for (int i = 0; i < nbNoeuds; i++) {
+            constructeur.ajouter((long) i, i < nbNoeuds - 1 ? 1 : 0);
+        }
+        final ByteArrayOutputStream octets = new ByteArrayOutputStream();
+        try (ArbreWriter ecrivain = new ArbreWriter(Channels.newChannel(octets))) {
+            ecrivain.ecrireArbre(constructeur.construire(), CodecsValeurs.longs());
+        }
+        assertEquals(ArbreWriter.TAILLE_ENTETE + nbNoeuds * (1 + Long.BYTES), octets.size());
+        try (ArbreReader lecteur = lecteur(octets, 4096)) {
+            final Arbre<Long> lu = lecteur.lireArbre(CodecsValeurs.longs());
+            assertEquals(nbNoeuds, lu.getNbNoeuds());
+            assertEquals(nbNoeuds - 1, lu.getHauteur());
+        }
+    }
+}
@@ -0,0 +1,351 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import despetitsarbres.exceptions.InsertionImpossibleException;
+import despetitsarbres.exceptions.SuppressionImpossibleException;
+import despetitsarbres.exceptions.ValeurNonTrouveeException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.TreeSet;
+import java.util.stream.StreamSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author Rémi Venant
+ */
+public class ArbreRougeNoirTest {
+
+    public ArbreRougeNoirTest() {
+    }
+
+    @BeforeAll
+    public static void setUpClass() {
+    }
+
+    @AfterAll
+    public static void tearDownClass() {
+    }
+
+    @BeforeEach
+    public void setUp() {
+    }
+
+    @AfterEach
+    public void tearDown() {
+    }
+
+    /**
+     * Vérifie les invariants d'un arbre rouge-noir penchant à gauche et retourne sa hauteur noire.
+     */
+    private static int verifierInvariants(ArbreRougeNoir<Integer> noeud, Integer min, Integer max) {
+        if (noeud == null) {
+            return 0;
+        }
+        if (min != null) {
+            assertTrue(noeud.getRacine() > min, "L'ordre des clés n'est pas respecté");
+        }
+        if (max != null) {
+            assertTrue(noeud.getRacine() < max, "L'ordre des clés n'est pas respecté");
+        }
+        assertFalse(noeud.getSad() != null && noeud.getSad().isRouge(),
+                "Un fils droit ne devrait pas être rouge");
+        assertFalse(noeud.isRouge() && noeud.getSag() != null && noeud.getSag().isRouge(),
+                "Deux noeuds rouges ne devraient pas se suivre");
+        final int hauteurNoireSag = verifierInvariants(noeud.getSag(), min, noeud.getRacine());
+        final int hauteurNoireSad = verifierInvariants(noeud.getSad(), noeud.getRacine(), max);
+        assertEquals(hauteurNoireSag, hauteurNoireSad, "Les hauteurs noires devraient être égales");
+        return hauteurNoireSag + (noeud.isRouge() ? 0 : 1);
+    }
+
+    private static void verifierArbre(ArbreRougeNoir<Integer> arbre, TreeSet<Integer> attendu) {
+        assertFalse(arbre.isRouge(), "La racine devrait être noire");
+        verifierInvariants(arbre, null, null);
+        assertEquals(attendu.size(), arbre.getNbNoeuds(), "Nombre de noeuds incorrect");
+        final double hauteurMax = 2 * Math.log(attendu.size() + 1) / Math.log(2);
+        assertTrue(arbre.getHauteur() <= hauteurMax, "L'arbre devrait être équilibré");
+        final List<Integer> cles = new ArrayList<>();
+        arbre.forEach(cles::add);
+        Collections.sort(cles);
+        assertEquals(new ArrayList<>(attendu), cles, "Clés incorrectes");
+    }
+
+    @Test
+    public void testConstructionRacineNulle() {
+        assertThrows(NullPointerException.class, () -> {
+            ArbreRougeNoir<Integer> a = new ArbreRougeNoir<>(null);
+        }, "Il ne devrait pas être possible de construire un ABR avec une racine nulle");
+    }
+
+    @Test
+    public void testAjoutTrie() throws InsertionImpossibleException {
+        final ArbreRougeNoir<Integer> arbre = new ArbreRougeNoir<>(1);
+        for (int i = 2; i <= 7; i++) {
+            arbre.ajouter(i);
+        }
+        final StringBuilder sb = new StringBuilder();
+        arbre.traiterNoeudsParcoursPrefixe((v) -> sb.append(v).append(", "));
+        assertEquals("4, 2, 1, 3, 6, 5, 7", sb.substring(0, sb.length() - 2), "Parcours invalide");
+        assertEquals(2, arbre.getHauteur(), "L'arbre devrait être parfaitement équilibré");
+    }
+
+    @Test
+    public void testAjoutTrieVolumineux() throws InsertionImpossibleException {
+        final ArbreRougeNoir<Integer> arbre = new ArbreRougeNoir<>(0);
+        final TreeSet<Integer> attendu = new TreeSet<>();
+        attendu.add(0);
+        for (int i = 1; i < 10000; i++) {
+            arbre.ajouter(i);
+            attendu.add(i);
+        }
+        verifierArbre(arbre, attendu);
+        assertEquals(0, arbre.getMin(), "Min incorrect");
+        assertEquals(9999, arbre.getMax(), "Max incorrect");
+        assertTrue(arbre.contains(5000), "5000 devrait être trouvé");
+        assertFalse(arbre.contains(10000), "10000 ne devrait pas être trouvé");
+    }
+
+    @Test
+    public void testAjoutRetraitAleatoires() throws InsertionImpossibleException,
+            SuppressionImpossibleException, ValeurNonTrouveeException {
+        final Random random = new Random(42);
+        final ArbreRougeNoir<Integer> arbre = new ArbreRougeNoir<>(500);
+        final TreeSet<Integer> attendu = new TreeSet<>();
+        attendu.add(500);
+        for (int i = 0; i < 5000; i++) {
+            final int cle = random.nextInt(1000);
+            if (random.nextBoolean() || attendu.size() == 1) {
+                arbre.ajouter(cle);
+                attendu.add(cle);
+            } else if (attendu.contains(cle)) {
+                arbre.retirer(cle);
+                attendu.remove(cle);
+            }
+            if (i % 500 == 0) {
+                verifierArbre(arbre, attendu);
+            }
+        }
+        verifierArbre(arbre, attendu);
+    }
+
+    @Test
+    public void testTenterRetirerAbsentes() throws InsertionImpossibleException {
+        final Random random = new Random(11);
+        final ArbreRougeNoir<Integer> arbre = new ArbreRougeNoir<>(0);
+        final TreeSet<Integer> attendu = new TreeSet<>();
+        attendu.add(0);
+        for (int i = 1; i < 2000; i++) {
+            arbre.ajouter(2 * i);
+            attendu.add(2 * i);
+        }
+        // Les clés impaires sont absentes : la descente ne doit rien retirer ni déséquilibrer
+        for (int i = 0; i < 2000; i++) {
+            final int cle = 2 * random.nextInt(2100) - 1;
+            assertEquals(StatutModification.ABSENTE, arbre.tenterRetirer(cle),
+                    cle + " est absente");
+            if (i % 200 == 0) {
+                verifierArbre(arbre, attendu);
+            }
+        }
+        verifierArbre(arbre, attendu);
+        assertEquals(StatutModification.DEJA_PRESENTE, arbre.tenterAjouter(42), "42 est présente");
+        assertEquals(attendu.size(), arbre.getNbNoeuds(), "Nombre de noeuds incorrect");
+    }
+
+    @Test
+    public void testRetirerRacine() throws InsertionImpossibleException,
+            SuppressionImpossibleException, ValeurNonTrouveeException {
+        final ArbreRougeNoir<Integer> arbre = new ArbreRougeNoir<>(1).ajouter(2);
+        arbre.retirer(1);
+        assertEquals(2, arbre.getRacine(), "La racine devrait être 2");
+        assertTrue(arbre.isFeuille(), "L'arbre devrait être une feuille");
+    }
+
+    @Test
+    public void testTraitementParLots() throws InsertionImpossibleException {
+        final Random random = new Random(7);
+        final ArbreRougeNoir<Integer> arbre = new ArbreRougeNoir<>(0);
+        final TreeSet<Integer> attendu = new TreeSet<>();
+        attendu.add(0);
+        // Des lots de tailles variées passent par la reconstruction ou par la descente commune
+        for (int taille : new int[]{1000, 10, 3000, 1, 50}) {
+            final List<Integer> lot = new ArrayList<>();
+            int nbRejetees = 0;
+            for (int i = 0; i < taille; i++) {
+                final int cle = random.nextInt(5000);
+                if (!attendu.add(cle)) {
+                    nbRejetees++;
+                }
+                lot.add(cle);
+            }
+            assertEquals(nbRejetees, arbre.ajouterTous(lot).size(), "Rejets d'ajout incorrects");
+            verifierArbre(arbre, attendu);
+
+            lot.clear();
+            nbRejetees = 0;
+            for (int i = 0; i < taille / 2; i++) {
+                final int cle = random.nextInt(5000);
+                if (!attendu.remove(cle)) {
+                    nbRejetees++;
+                }
+                lot.add(cle);
+            }
+            assertEquals(nbRejetees, arbre.retirerTous(lot).size(), "Rejets de retrait incorrects");
+            verifierArbre(arbre, attendu);
+        }
+        final List<Integer> toutes = new ArrayList<>(attendu);
+        assertEquals(List.of(attendu.last()), arbre.retirerTous(toutes),
+                "La plus grande clé est conservée");
+        assertEquals(attendu.last(), arbre.getRacine(), "La plus grande clé devrait rester");
+        assertTrue(arbre.isFeuille(), "L'arbre devrait être une feuille");
+        assertThrows(UnsupportedOperationException.class, () -> {
+            arbre.ajouter(1).ajouter(2).getSag().ajouterTous(List.of(3));
+        }, "Modifier un sous-arbre devrait être impossible");
+    }
+
+    @Test
+    public void testLotsDansGrandArbre() {
+        final Random random = new Random(13);
+        final ArbreRougeNoir<Integer> arbre = new ArbreRougeNoir<>(0);
+        final TreeSet<Integer> attendu = new TreeSet<>();
+        attendu.add(0);
+        final Set<Integer> lot = new LinkedHashSet<>();
+        for (int i = 1; i < 20000; i++) {
+            lot.add(2 * i);
+            attendu.add(2 * i);
+        }
+        arbre.ajouterTous(lot);
+        // Des lots petits devant l'arbre, dispersés ou contigus, sont répartis dans l'arbre en une
+        // seule descente
+        for (int essai = 0; essai < 6; essai++) {
+            lot.clear();
+            final TreeSet<Integer> rejetees = new TreeSet<>();
+            final int origine = random.nextInt(40000);
+            for (int i = 0; lot.size() < 2000; i++) {
+                final int cle = essai % 2 == 0 ? random.nextInt(44000) - 2000 : origine + i;
+                if (lot.add(cle) && !attendu.add(cle)) {
+                    rejetees.add(cle);
+                }
+            }
+            assertEquals(new ArrayList<>(rejetees), arbre.ajouterTous(lot),
+                    "Rejets d'ajout incorrects");
+            verifierArbre(arbre, attendu);
+
+            lot.clear();
+            rejetees.clear();
+            for (int i = 0; lot.size() < 2000; i++) {
+                final int cle = essai % 2 == 0 ? random.nextInt(44000) - 2000 : origine - i;
+                if (lot.add(cle) && !attendu.remove(cle)) {
+                    rejetees.add(cle);
+                }
+            }
+            assertEquals(new ArrayList<>(rejetees), arbre.retirerTous(lot),
+                    "Rejets de retrait incorrects");
+            verifierArbre(arbre, attendu);
+        }
+    }
+
+    @Test
+    public void testReconstructionToutesTailles() {
+        // Chaque taille donne une combinaison différente de 2-noeuds et de 3-noeuds
+        for (int nbCles = 1; nbCles <= 300; nbCles++) {
+            final ArbreRougeNoir<Integer> arbre = new ArbreRougeNoir<>(0);
+            final TreeSet<Integer> attendu = new TreeSet<>();
+            attendu.add(0);
+            final List<Integer> lot = new ArrayList<>();
+            for (int cle = 1; cle < nbCles; cle++) {
+                lot.add(cle);
+                attendu.add(cle);
+            }
+            arbre.ajouterTous(lot);
+            verifierArbre(arbre, attendu);
+        }
+    }
+
+    @Test
+    public void testRetirerImpossible() throws InsertionImpossibleException {
+        final ArbreRougeNoir<Integer> arbre = new ArbreRougeNoir<>(2);
+        assertThrows(SuppressionImpossibleException.class, () -> {
+            arbre.retirer(2);
+        }, "Retirer la valeur d'un ABR ne contenant que cette valeur devrait être impossible");
+        assertThrows(SuppressionImpossibleException.class, () -> {
+            arbre.retirer(null);
+        }, "Retirer une clé nulle devrait être impossible");
+        assertThrows(ValeurNonTrouveeException.class, () -> {
+            arbre.ajouter(3).retirer(4);
+        }, "Retirer une clé absente devrait être impossible");
+        assertThrows(InsertionImpossibleException.class, () -> {
+            arbre.ajouter(null);
+        }, "Ajouter une clé nulle devrait être impossible");
+    }
+
+    @Test
+    public void testModificationSousArbre() throws InsertionImpossibleException {
+        final ArbreRougeNoir<Integer> arbre = new ArbreRougeNoir<>(2).ajouter(1).ajouter(3);
+        assertThrows(UnsupportedOperationException.class, () -> {
+            arbre.getSag().ajouter(0);
+        }, "Modifier un sous-arbre d'un arbre rouge-noir devrait être impossible");
+        assertThrows(UnsupportedOperationException.class, () -> {
+            arbre.setRacine(5);
+        }, "Redéfinir la racine d'un ABR devrait être impossible");
+        assertThrows(UnsupportedOperationException.class, () -> {
+            arbre.getForet().add(new ArbreRougeNoir<>(4));
+        }, "Modifier la forêt d'un ABR devrait être impossible");
+    }
+    /**
+     * Test que les séparateurs ne pèsent pas les sous-arbres par leur nombre de noeuds, qui n'est
+     * conservé que par la racine.
+     */
+    @Test
+    public void testSeparateur() throws InsertionImpossibleException {
+        final int nbCles = 10_000;
+        final ArbreRougeNoir<Integer> arbre = new ArbreRougeNoir<>(0);
+        final List<Integer> cles = new ArrayList<>();
+        for (int i = 1; i < nbCles; i++) {
+            cles.add(i);
+        }
+        arbre.ajouterTous(cles);
+        final Spliterator<Integer> separateur = arbre.spliterator();
+        assertFalse(separateur.hasCharacteristics(Spliterator.SUBSIZED),
+                "Les tailles des parties ne devraient pas être exactes");
+        assertEquals(nbCles, separateur.estimateSize(), "Taille initiale incorrecte");
+        final Spliterator<Integer> premieres = separateur.trySplit();
+        assertNotNull(premieres, "Le séparateur devrait être découpé");
+        assertEquals(nbCles, premieres.estimateSize() + separateur.estimateSize(),
+                "Les estimations des parties devraient couvrir l'arbre");
+        final List<Integer> parcourues = new ArrayList<>();
+        premieres.forEachRemaining(parcourues::add);
+        separateur.forEachRemaining(parcourues::add);
+        cles.add(0, 0);
+        assertEquals(cles, parcourues, "Les parties devraient couvrir l'arbre dans l'ordre");
+        assertEquals((long) nbCles * (nbCles - 1) / 2, StreamSupport.stream(arbre.spliterator(),
+                true).mapToLong(Integer::longValue).sum(), "Somme parallèle incorrecte");
+    }
+}
@@ -21,6 +21,7 @@ package despetitsarbres;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -186,4 +187,144 @@ public class ArbreTest {
         final String computedValue = sb.substring(0, sb.length() - 2);
         assertEquals(expectedValue, computedValue, "Parcours invalide");
     }
+
+    /**
+     * Test que les calculs et parcours supportent un arbre dégénéré trop profond pour une
+     * implémentation récursive.
+     */
+    @Test
+    public void testArbreProfond() {
+        final int profondeur = 200_000;
+        Arbre<Integer> arbre = TestingFactory.creerArbre(profondeur);
+        for (int i = profondeur - 1; i >= 0; i--) {
+            final Arbre<Integer> parent = TestingFactory.creerArbre(i);
+            parent.getForet().add(arbre);
+            arbre = parent;
+        }
+        assertEquals(profondeur + 1, arbre.getNbNoeuds(), "Nombre de noeuds incorrect");
+        assertEquals(1, arbre.getNbFeuilles(), "Nombre de feuilles incorrect");
+        assertEquals(profondeur, arbre.getHauteur(), "Hauteur incorrecte");
+        assertEquals(profondeur, arbre.getHauteurMoyenne(), 1e-3, "Hauteur moyenne incorrecte");
+        final int[] attendu = new int[]{0};
+        arbre.traiterNoeudsParcoursPrefixe((v) -> assertEquals(attendu[0]++, v.intValue()));
+        assertEquals(profondeur + 1, attendu[0], "Parcours préfixe incomplet");
+        arbre.traiterNoeudsParcoursSuffixe((v) -> assertEquals(--attendu[0], v.intValue()));
+        assertEquals(0, attendu[0], "Parcours suffixe incomplet");
+    }
+
+    @Test
+    public void testTraiterNiveaux() {
+        Arbre<String> arbre = TestingArbreFactory.generateArbreTest1();
+        final List<String> niveaux = new LinkedList<>();
+        arbre.traiterNiveaux((profondeur, niveau) -> niveaux.add(profondeur + ":" + niveau));
+        assertEquals("[0:[a], 1:[b, f, h], 2:[c, d, g], 3:[e]]", niveaux.toString(),
+                "Niveaux invalides");
+        // Parcours imbriqué dans le traitement d'un niveau
+        final StringBuilder sb = new StringBuilder();
+        arbre.traiterNiveaux((profondeur, niveau) -> {
+            if (profondeur == 1) {
+                arbre.traiterNoeudsParcoursLargeur((valeur) -> sb.append(valeur).append(", "));
+            }
+            assertThrows(UnsupportedOperationException.class, () -> niveau.add("z"));
+        });
+        assertEquals(TestingArbreFactory.parcoursLargeur() + ", ", sb.toString(),
+                "Parcours imbriqué invalide");
+    }
+
+    @Test
+    public void testStream() {
+        Arbre<String> arbre = TestingArbreFactory.generateArbreTest1();
+        assertEquals(TestingArbreFactory.parcoursPrefixe(), String.join(", ",
+                arbre.stream(OrdreParcours.PREFIXE).collect(Collectors.toList())),
+                "Flux préfixe invalide");
+        assertEquals(TestingArbreFactory.parcoursSuffixe(), String.join(", ",
+                arbre.stream(OrdreParcours.SUFFIXE).collect(Collectors.toList())),
+                "Flux suffixe invalide");
+        assertEquals(TestingArbreFactory.parcoursLargeur(), String.join(", ",
+                arbre.stream(OrdreParcours.LARGEUR).collect(Collectors.toList())),
+                "Flux en largeur invalide");
+        final List<String> atteintes = new LinkedList<>();
+        assertEquals("d", arbre.stream(OrdreParcours.PREFIXE).peek(atteintes::add)
+                .filter("d"::equals).findFirst().orElse(null));
+        assertEquals("[a, b, c, d]", atteintes.toString(),
+                "Le flux ne devrait pas atteindre les noeuds suivant d");
+    }
+
+    @Test
+    public void testVisiterParcoursPrefixe() {
+        Arbre<String> arbre = TestingArbreFactory.generateArbreTest1();
+        final List<String> visites = new LinkedList<>();
+        assertTrue(arbre.visiterParcoursPrefixe((valeur, profondeur) -> {
+            visites.add(valeur + profondeur);
+            return "b".equals(valeur) ? ActionVisite.IGNORER_SOUS_ARBRES : ActionVisite.CONTINUER;
+        }), "Le parcours devrait aller à son terme");
+        assertEquals("[a0, b1, f1, g2, h1]", visites.toString(),
+                "Les sous-arbres de b devraient être écartés");
+        visites.clear();
+        assertFalse(arbre.visiterParcoursPrefixe((valeur, profondeur) -> {
+            visites.add(valeur);
+            return "f".equals(valeur) ? ActionVisite.ARRETER : ActionVisite.CONTINUER;
+        }), "Le parcours devrait être arrêté");
+        assertEquals("[a, b, c, d, e, f]", visites.toString(),
+                "Le parcours devrait s'arrêter à f");
+    }
+
+    /**
+     * Test que les parcours en profondeur imbriqués dans le traitement d'un autre parcours, ou
+     * interrompus, n'altèrent pas les piles réutilisées par le fil d'exécution.
+     */
+    @Test
+    public void testParcoursProfondeurImbriques() {
+        Arbre<String> arbre = TestingArbreFactory.generateArbreTest1();
+        final List<String> imbriques = new LinkedList<>();
+        final StringBuilder sb = new StringBuilder();
+        arbre.traiterNoeudsParcoursSuffixe((v) -> {
+            sb.append(v).append(", ");
+            imbriques.add(arbre.getNbNoeuds() + ":" + arbre.getNbFeuilles() + ":"
+                    + arbre.getHauteur());
+            arbre.traiterNoeudsParcoursPrefixe((w) -> {
+            });
+        });
+        assertEquals(TestingArbreFactory.parcoursSuffixe() + ", ", sb.toString(),
+                "Parcours englobant invalide");
+        final String attendu = TestingArbreFactory.getNbNoeudsArbreTest1() + ":"
+                + TestingArbreFactory.getNbFeuillesArbreTest1() + ":"
+                + TestingArbreFactory.getHauteurArbreTest1();
+        assertEquals(TestingArbreFactory.getNbNoeudsArbreTest1(), imbriques.size(),
+                "Nombre de calculs imbriqués invalide");
+        assertTrue(imbriques.stream().allMatch(attendu::equals), "Calculs imbriqués invalides");
+        assertFalse(arbre.visiterParcoursPrefixe((valeur, profondeur) -> {
+            arbre.traiterNoeudsParcoursPrefixe((w) -> {
+            });
+            return "c".equals(valeur) ? ActionVisite.ARRETER : ActionVisite.CONTINUER;
+        }), "Le parcours devrait être arrêté");
+        sb.setLength(0);
+        arbre.traiterNoeudsParcoursPrefixe((v) -> sb.append(v).append(", "));
+        assertEquals(TestingArbreFactory.parcoursPrefixe() + ", ", sb.toString(),
+                "Parcours après interruption invalide");
+    }
+
+    /**
+     * Test les parcours en largeur d'un niveau plus large que les files conservées par le fil
+     * d'exécution, suivis de parcours ordinaires.
+     */
+    @Test
+    public void testParcoursLargeurNiveauTresLarge() {
+        final int largeur = 100_000;
+        final Arbre<Integer> large = TestingFactory.creerArbre(-1);
+        for (int i = 0; i < largeur; i++) {
+            large.getForet().add(TestingFactory.creerArbre(i));
+        }
+        final int[] attendu = new int[]{-1};
+        large.traiterNoeudsParcoursLargeur((v) -> assertEquals(attendu[0]++, v.intValue()));
+        assertEquals(largeur, attendu[0], "Parcours en largeur incomplet");
+        final List<Integer> tailles = new LinkedList<>();
+        large.traiterNiveaux((profondeur, niveau) -> tailles.add(niveau.size()));
+        assertEquals(List.of(1, largeur), tailles, "Niveaux invalides");
+        Arbre<String> arbre = TestingArbreFactory.generateArbreTest1();
+        final StringBuilder sb = new StringBuilder();
+        arbre.traiterNoeudsParcoursLargeur((v) -> sb.append(v).append(", "));
+        assertEquals(TestingArbreFactory.parcoursLargeur() + ", ", sb.toString(),
+                "Parcours en largeur invalide après un niveau très large");
+    }
 }
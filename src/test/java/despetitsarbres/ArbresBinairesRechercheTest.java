@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static despetitsarbres.TestingArbreFactory.parcourir;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author Rémi Venant
+ */
+public class ArbresBinairesRechercheTest {
+
+    public ArbresBinairesRechercheTest() {
+    }
+
+    @BeforeAll
+    public static void setUpClass() {
+    }
+
+    @AfterAll
+    public static void tearDownClass() {
+    }
+
+    @BeforeEach
+    public void setUp() {
+    }
+
+    @AfterEach
+    public void tearDown() {
+    }
+
+    /**
+     * Test of depuisTrie method, of class ArbresBinairesRecherche.
+     */
+    @Test
+    public void testDepuisTrie() {
+        System.out.println("depuisTrie");
+        final ArbreBinaireRechercheTableau<Integer> arbre = ArbresBinairesRecherche.depuisTrie(
+                Arrays.asList(1, 2, 3, 4, 5, 6, 7).iterator());
+        assertEquals("4, 2, 1, 3, 6, 5, 7", parcourir(arbre.iterator()));
+        assertEquals("4, 2, 6, 1, 3, 5, 7", parcourir(arbre.iterateurParcoursLargeur()));
+        assertEquals(7, arbre.getNbNoeuds());
+        assertEquals(2, arbre.getHauteur());
+        assertEquals(Integer.valueOf(1), arbre.getMin());
+        assertEquals(Integer.valueOf(7), arbre.getMax());
+
+        final ArbreBinaireRechercheTableau<Integer> feuille = ArbresBinairesRecherche.depuisTrie(
+                Collections.singletonList(42).iterator());
+        assertTrue(feuille.isFeuille());
+        assertEquals(Integer.valueOf(42), feuille.getRacine());
+    }
+
+    /**
+     * Test que l'arbre construit est de hauteur minimale et reste modifiable.
+     */
+    @Test
+    public void testDepuisTrieHauteurMinimale() throws Exception {
+        System.out.println("depuisTrieHauteurMinimale");
+        for (int n : new int[]{2, 3, 8, 15, 16, 1000, 100000}) {
+            final List<Integer> cles = IntStream.range(0, n).boxed().collect(Collectors.toList());
+            final ArbreBinaireRechercheTableau<Integer> arbre = ArbresBinairesRecherche.depuisTrie(
+                    cles.iterator(), n / 2);
+            assertEquals(n, arbre.getNbNoeuds());
+            assertEquals(31 - Integer.numberOfLeadingZeros(n), arbre.getHauteur());
+            for (int cle = 0; cle < n; cle++) {
+                assertTrue(arbre.contains(cle));
+            }
+            arbre.ajouter(n);
+            arbre.retirer(0);
+            assertEquals(n, arbre.getNbNoeuds());
+            assertEquals(Integer.valueOf(1), arbre.getMin());
+        }
+    }
+
+    /**
+     * Test des entrées invalides de depuisTrie.
+     */
+    @Test
+    public void testDepuisTrieInvalide() {
+        System.out.println("depuisTrieInvalide");
+        assertThrows(NoSuchElementException.class,
+                () -> ArbresBinairesRecherche.depuisTrie(Collections.<Integer>emptyIterator()));
+        assertThrows(IllegalArgumentException.class,
+                () -> ArbresBinairesRecherche.depuisTrie(Arrays.asList(1, 3, 2).iterator()));
+        assertThrows(IllegalArgumentException.class,
+                () -> ArbresBinairesRecherche.depuisTrie(Arrays.asList(1, 2, 2).iterator()));
+        assertThrows(NullPointerException.class,
+                () -> ArbresBinairesRecherche.depuisTrie(Arrays.asList(1, null).iterator()));
+        assertThrows(IllegalArgumentException.class,
+                () -> ArbresBinairesRecherche.depuisTrie(Arrays.asList(1).iterator(), -1));
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author Rémi Venant
+ */
+public class EnsembleArbreTest {
+
+    public EnsembleArbreTest() {
+    }
+
+    @BeforeAll
+    public static void setUpClass() {
+    }
+
+    @AfterAll
+    public static void tearDownClass() {
+    }
+
+    @BeforeEach
+    public void setUp() {
+    }
+
+    @AfterEach
+    public void tearDown() {
+    }
+
+    /**
+     * Compare toutes les navigations d'une vue à celles d'une vue de référence.
+     */
+    private static void comparer(NavigableSet<Integer> attendu, NavigableSet<Integer> ensemble) {
+        assertEquals(new ArrayList<>(attendu), new ArrayList<>(ensemble), "Clés différentes");
+        assertEquals(attendu.size(), ensemble.size(), "Taille différente");
+        assertEquals(attendu.isEmpty(), ensemble.isEmpty());
+        if (!attendu.isEmpty()) {
+            assertEquals(attendu.first(), ensemble.first());
+            assertEquals(attendu.last(), ensemble.last());
+        } else {
+            assertThrows(NoSuchElementException.class, ensemble::first);
+        }
+        for (int cle = -2; cle <= 102; cle++) {
+            assertEquals(attendu.lower(cle), ensemble.lower(cle), "lower(" + cle + ")");
+            assertEquals(attendu.floor(cle), ensemble.floor(cle), "floor(" + cle + ")");
+            assertEquals(attendu.ceiling(cle), ensemble.ceiling(cle), "ceiling(" + cle + ")");
+            assertEquals(attendu.higher(cle), ensemble.higher(cle), "higher(" + cle + ")");
+            assertEquals(attendu.contains(cle), ensemble.contains(cle), "contains(" + cle + ")");
+        }
+    }
+
+    /**
+     * Test des vues de l'ensemble, comparées à celles d'un TreeSet de mêmes clés.
+     */
+    @Test
+    public void testVues() {
+        System.out.println("vues");
+        final Random random = new Random(11);
+        final ArbreBinaireRecherche<Integer> arbre = new ArbreAVL<>(50);
+        final TreeSet<Integer> reference = new TreeSet<>(Arrays.asList(50));
+        for (int i = 0; i < 40; i++) {
+            final int cle = random.nextInt(50) * 2;
+            arbre.tenterAjouter(cle);
+            reference.add(cle);
+        }
+        final NavigableSet<Integer> ensemble = arbre.commeEnsemble();
+        comparer(reference, ensemble);
+        comparer(reference.descendingSet(), ensemble.descendingSet());
+        comparer(reference.subSet(20, true, 60, false), ensemble.subSet(20, true, 60, false));
+        comparer(reference.subSet(21, false, 61, true), ensemble.subSet(21, false, 61, true));
+        comparer(reference.headSet(30, true), ensemble.headSet(30, true));
+        comparer(reference.tailSet(70, false), ensemble.tailSet(70, false));
+        comparer(reference.subSet(41, true, 43, false), ensemble.subSet(41, true, 43, false));
+        comparer(reference.descendingSet().subSet(80, true, 10, true),
+                ensemble.descendingSet().subSet(80, true, 10, true));
+        comparer(reference.descendingSet().headSet(10, false).tailSet(40, true),
+                ensemble.descendingSet().headSet(10, false).tailSet(40, true));
+        comparer(reference.subSet(10, true, 90, false).descendingSet().subSet(60, false, 30, true),
+                ensemble.subSet(10, true, 90, false).descendingSet().subSet(60, false, 30, true));
+
+        assertThrows(IllegalArgumentException.class, () -> ensemble.subSet(60, 20));
+        assertThrows(IllegalArgumentException.class,
+                () -> ensemble.subSet(20, true, 60, false).headSet(70, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> ensemble.subSet(20, true, 60, false).tailSet(60, true));
+        assertThrows(IllegalArgumentException.class, () -> ensemble.subSet(20, 60).add(60));
+        assertThrows(NullPointerException.class, () -> ensemble.floor(null));
+    }
+
+    /**
+     * Test des modifications par l'ensemble et ses vues, répercutées sur l'arbre.
+     */
+    @Test
+    public void testModifications() {
+        System.out.println("modifications");
+        final ArbreBinaireRecherche<Integer> arbre = new ArbreBinaireRechercheImpl<>(5);
+        final NavigableSet<Integer> ensemble = arbre.commeEnsemble();
+        assertTrue(ensemble.addAll(Arrays.asList(3, 8, 1, 4, 7, 9)));
+        assertFalse(ensemble.add(4), "4 est déjà présente");
+        assertEquals(7, arbre.getNbNoeuds(), "L'arbre devrait contenir 7 noeuds");
+
+        final NavigableSet<Integer> haut = ensemble.tailSet(5, false);
+        assertEquals(Integer.valueOf(7), haut.pollFirst());
+        assertEquals(Integer.valueOf(9), haut.descendingSet().pollFirst());
+        assertFalse(haut.remove(3), "3 est hors de la plage");
+        assertTrue(haut.add(6));
+        assertEquals(Arrays.asList(1, 3, 4, 5, 6, 8), new ArrayList<>(ensemble));
+
+        final Iterator<Integer> it = ensemble.iterator();
+        while (it.hasNext()) {
+            if (it.next() % 2 == 0) {
+                it.remove();
+            }
+        }
+        assertEquals(Arrays.asList(1, 3, 5), new ArrayList<>(ensemble));
+        assertFalse(arbre.contains(4), "4 devrait être retirée de l'arbre");
+
+        final List<Integer> decroissantes = new ArrayList<>();
+        ensemble.descendingIterator().forEachRemaining(decroissantes::add);
+        assertEquals(Arrays.asList(5, 3, 1), decroissantes);
+
+        ensemble.retainAll(Arrays.asList(3));
+        assertEquals(Arrays.asList(3), new ArrayList<>(ensemble));
+        assertThrows(IllegalStateException.class, () -> ensemble.remove(3),
+                "La dernière clé ne peut être retirée");
+        assertEquals(Integer.valueOf(3), arbre.getRacine());
+    }
+}
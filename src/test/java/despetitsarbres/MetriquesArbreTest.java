@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author Rémi Venant
+ */
+public class MetriquesArbreTest {
+
+    public MetriquesArbreTest() {
+    }
+
+    @BeforeAll
+    public static void setUpClass() {
+    }
+
+    @AfterAll
+    public static void tearDownClass() {
+    }
+
+    @BeforeEach
+    public void setUp() {
+    }
+
+    @AfterEach
+    public void tearDown() {
+    }
+
+    /**
+     * Construit un arbre aléatoire : chaque noeud est rattaché à un noeud existant tiré au sort.
+     */
+    private static Arbre<Integer> creerArbreAleatoire(int nbNoeuds, long graine) {
+        final Random random = new Random(graine);
+        final List<Arbre<Integer>> noeuds = new ArrayList<>(nbNoeuds);
+        noeuds.add(new ArbreImpl<>(0));
+        for (int i = 1; i < nbNoeuds; i++) {
+            final Arbre<Integer> noeud = new ArbreImpl<>(i);
+            noeuds.get(random.nextInt(noeuds.size())).getForet().add(noeud);
+            noeuds.add(noeud);
+        }
+        return noeuds.get(0);
+    }
+
+    private static void verifier(Arbre<?> arbre, MetriquesArbre metriques) {
+        assertEquals(arbre.getNbNoeuds(), metriques.getNbNoeuds(), "Nombre de noeuds incorrect");
+        assertEquals(arbre.getNbFeuilles(), metriques.getNbFeuilles(),
+                "Nombre de feuilles incorrect");
+        assertEquals(arbre.getHauteur(), metriques.getHauteur(), "Hauteur incorrecte");
+        assertEquals(arbre.getHauteurMoyenne(), metriques.getHauteurMoyenne(), 1e-4,
+                "Hauteur moyenne incorrecte");
+    }
+
+    /**
+     * Test of calculer method, of class MetriquesArbre.
+     */
+    @Test
+    public void testCalculer() {
+        System.out.println("calculer");
+        final Arbre<String> feuille = new ArbreImpl<>("a");
+        final MetriquesArbre metriquesFeuille = MetriquesArbre.calculer(feuille);
+        assertEquals(1, metriquesFeuille.getNbNoeuds());
+        assertEquals(1, metriquesFeuille.getNbFeuilles());
+        assertEquals(0, metriquesFeuille.getHauteur());
+        assertEquals(0f, metriquesFeuille.getHauteurMoyenne());
+
+        final Arbre<Integer> arbre = creerArbreAleatoire(5000, 1);
+        verifier(arbre, MetriquesArbre.calculer(arbre));
+        final ArbreBinaireRechercheImpl<Integer> abr = new ArbreBinaireRechercheImpl<>(50);
+        final Random random = new Random(2);
+        for (int i = 0; i < 1000; i++) {
+            abr.tenterAjouter(random.nextInt(100_000));
+        }
+        verifier(abr, MetriquesArbre.calculer(abr));
+    }
+
+    /**
+     * Test of calculerEnParallele method, of class MetriquesArbre.
+     */
+    @Test
+    public void testCalculerEnParallele() {
+        System.out.println("calculerEnParallele");
+        final Arbre<Integer> arbre = creerArbreAleatoire(20_000, 3);
+        verifier(arbre, MetriquesArbre.calculerEnParallele(arbre));
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int seuil : new int[]{1, 2, 7, 100, 100_000}) {
+                verifier(arbre, MetriquesArbre.calculerEnParallele(arbre, pool, seuil));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Test du calcul parallèle sur un arbre très large puis sur un arbre très profond.
+     */
+    @Test
+    public void testCalculerEnParalleleFormesExtremes() {
+        System.out.println("calculerEnParalleleFormesExtremes");
+        final Arbre<Integer> large = new ArbreImpl<>(0);
+        for (int i = 1; i <= 50_000; i++) {
+            large.getForet().add(new ArbreImpl<>(i));
+        }
+        MetriquesArbre metriques = MetriquesArbre.calculerEnParallele(large,
+                ForkJoinPool.commonPool(), 64);
+        assertEquals(50_001, metriques.getNbNoeuds());
+        assertEquals(50_000, metriques.getNbFeuilles());
+        assertEquals(1, metriques.getHauteur());
+        assertEquals(1f, metriques.getHauteurMoyenne());
+
+        // Trop profond pour les calculs récursifs de l'arbre
+        Arbre<Integer> profond = new ArbreImpl<>(0);
+        for (int i = 1; i < 100_000; i++) {
+            final Arbre<Integer> parent = new ArbreImpl<>(i);
+            parent.getForet().add(profond);
+            parent.getForet().add(new ArbreImpl<>(-i));
+            profond = parent;
+        }
+        metriques = MetriquesArbre.calculerEnParallele(profond, ForkJoinPool.commonPool(), 64);
+        assertEquals(199_999, metriques.getNbNoeuds());
+        assertEquals(100_000, metriques.getNbFeuilles());
+        assertEquals(99_999, metriques.getHauteur());
+    }
+
+    /**
+     * Test des paramètres invalides de calculerEnParallele.
+     */
+    @Test
+    public void testCalculerEnParalleleInvalide() {
+        System.out.println("calculerEnParalleleInvalide");
+        final Arbre<String> arbre = new ArbreImpl<>("a");
+        assertThrows(NullPointerException.class, () -> MetriquesArbre.calculer(null));
+        assertThrows(NullPointerException.class,
+                () -> MetriquesArbre.calculerEnParallele(arbre, null, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> MetriquesArbre.calculerEnParallele(arbre, ForkJoinPool.commonPool(), 0));
+    }
+}
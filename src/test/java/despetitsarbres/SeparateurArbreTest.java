@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static despetitsarbres.TestingArbreFactory.parcourir;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author Rémi Venant
+ */
+public class SeparateurArbreTest {
+
+    public SeparateurArbreTest() {
+    }
+
+    @BeforeAll
+    public static void setUpClass() {
+    }
+
+    @AfterAll
+    public static void tearDownClass() {
+    }
+
+    @BeforeEach
+    public void setUp() {
+    }
+
+    @AfterEach
+    public void tearDown() {
+    }
+
+    /**
+     * Découpe récursivement un séparateur et concatène les parcours des parties, dans l'ordre.
+     */
+    private static <V> void decouper(Spliterator<V> separateur, int profondeur, List<V> valeurs) {
+        final Spliterator<V> premier = profondeur > 0 ? separateur.trySplit() : null;
+        if (premier == null) {
+            separateur.forEachRemaining(valeurs::add);
+        } else {
+            decouper(premier, profondeur - 1, valeurs);
+            decouper(separateur, profondeur - 1, valeurs);
+        }
+    }
+
+    @Test
+    public void testArbre() {
+        final Arbre<String> arbre = TestingArbreFactory.generateArbreTest1();
+        final Spliterator<String> separateur = arbre.spliterator();
+        assertTrue(separateur.hasCharacteristics(Spliterator.ORDERED), "Le séparateur est ordonné");
+        assertFalse(separateur.hasCharacteristics(Spliterator.SORTED), "L'arbre n'est pas trié");
+        assertEquals(TestingArbreFactory.getNbNoeudsArbreTest1(), separateur.getExactSizeIfKnown(),
+                "La taille du séparateur initial est exacte");
+        assertEquals(TestingArbreFactory.parcoursPrefixe(), parcourir(arbre.spliterator()),
+                "Le séparateur suit l'ordre préfixe");
+        for (int profondeur = 1; profondeur < 5; profondeur++) {
+            final List<String> valeurs = new ArrayList<>();
+            decouper(arbre.spliterator(), profondeur, valeurs);
+            assertEquals(TestingArbreFactory.parcoursPrefixe(), String.join(", ", valeurs),
+                    "Les parties devraient couvrir l'arbre dans l'ordre préfixe");
+        }
+    }
+
+    @Test
+    public void testABR() {
+        final ArbreBinaireRecherche<Integer> abr = TestingArbreFactory.generateArbreTestABR();
+        final Spliterator<Integer> separateur = abr.spliterator();
+        assertTrue(separateur.hasCharacteristics(Spliterator.ORDERED | Spliterator.SORTED
+                | Spliterator.DISTINCT | Spliterator.NONNULL), "Caractéristiques d'un ABR");
+        assertNull(separateur.getComparator(), "L'ordre est l'ordre naturel");
+        final String infixe = "18, 19, 20, 21, 22, 23, 27, 30, 33, 35, 40, 43, 44, 45, 46, 47";
+        assertEquals(infixe, parcourir(separateur), "Le séparateur d'un ABR suit l'ordre infixe");
+        for (int profondeur = 1; profondeur < 6; profondeur++) {
+            final List<Integer> valeurs = new ArrayList<>();
+            decouper(abr.spliterator(), profondeur, valeurs);
+            assertEquals(infixe, valeurs.stream().map(String::valueOf)
+                    .collect(Collectors.joining(", ")), "Les parties devraient couvrir l'ABR");
+        }
+    }
+
+    @Test
+    public void testTaillesExactes() throws Exception {
+        final ArbreAVLIndexe<Integer> arbre = new ArbreAVLIndexe<>(0);
+        for (int cle = 1; cle < 1000; cle++) {
+            arbre.ajouter(cle);
+        }
+        final Spliterator<Integer> separateur = arbre.spliterator();
+        assertTrue(separateur.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED),
+                "Les tailles des parties sont connues");
+        final Spliterator<Integer> premier = separateur.trySplit();
+        assertNotNull(premier, "Le séparateur devrait pouvoir être découpé");
+        assertTrue(premier.hasCharacteristics(Spliterator.SIZED), "La taille est connue");
+        assertEquals(1000, premier.getExactSizeIfKnown() + separateur.getExactSizeIfKnown(),
+                "Les parties couvrent l'arbre");
+        assertTrue(Math.abs(premier.getExactSizeIfKnown() - 500) < 50,
+                "Les parties devraient être de tailles comparables");
+        final long[] nb = new long[1];
+        premier.forEachRemaining((cle) -> nb[0]++);
+        assertEquals(nb[0], 1000 - separateur.getExactSizeIfKnown(), "Taille exacte incorrecte");
+    }
+
+    @Test
+    public void testFluxParallele() throws Exception {
+        ArbreBinaireRecherchePersistant<Integer> persistant
+                = new ArbreBinaireRecherchePersistant<>(0);
+        final ArbreBinaireRechercheImpl<Integer> impl = new ArbreBinaireRechercheImpl<>(0);
+        for (int i = 1; i < 100_000; i++) {
+            final int cle = (int) ((i * 7919L) % 100_000);
+            persistant = persistant.ajouter(cle);
+            impl.ajouter(cle);
+        }
+        final List<Integer> attendu = IntStream.range(0, 100_000).boxed()
+                .collect(Collectors.toList());
+        assertEquals(attendu, StreamSupport.stream(persistant.spliterator(), true)
+                .collect(Collectors.toList()), "Le flux parallèle devrait être trié");
+        assertEquals(attendu, StreamSupport.stream(impl.spliterator(), true)
+                .collect(Collectors.toList()), "Le flux parallèle devrait être trié");
+        assertEquals(4_999_950_000L, StreamSupport.stream(impl.spliterator(), true)
+                .mapToLong(Integer::longValue).sum(), "Somme incorrecte");
+        final ArbreImpl<Integer> arbre = new ArbreImpl<>(0);
+        for (int i = 1; i < 1000; i++) {
+            arbre.getForet().add(new ArbreImpl<>(i));
+        }
+        assertEquals(499_500L, StreamSupport.stream(arbre.spliterator(), true)
+                .mapToLong(Integer::longValue).sum(), "Somme incorrecte");
+    }
+}
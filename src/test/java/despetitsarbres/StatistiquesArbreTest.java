@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2022 IUT Laval - Le Mans Université.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package despetitsarbres;
+
+import java.util.Random;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author Rémi Venant
+ */
+public class StatistiquesArbreTest {
+
+    public StatistiquesArbreTest() {
+    }
+
+    @BeforeAll
+    public static void setUpClass() {
+    }
+
+    @AfterAll
+    public static void tearDownClass() {
+    }
+
+    @BeforeEach
+    public void setUp() {
+    }
+
+    @AfterEach
+    public void tearDown() {
+    }
+
+    /**
+     * Test of statistiques method, of class Arbre.
+     */
+    @Test
+    public void testStatistiques() {
+        System.out.println("statistiques");
+        // a(b(e, f(g)), c, d)
+        final Arbre<String> f = new ArbreImpl<>("f");
+        f.getForet().add(new ArbreImpl<>("g"));
+        final Arbre<String> b = new ArbreImpl<>("b");
+        b.getForet().add(new ArbreImpl<>("e"));
+        b.getForet().add(f);
+        final Arbre<String> a = new ArbreImpl<>("a");
+        a.getForet().add(b);
+        a.getForet().add(new ArbreImpl<>("c"));
+        a.getForet().add(new ArbreImpl<>("d"));
+
+        final StatistiquesArbre statistiques = a.statistiques();
+        assertEquals(7, statistiques.getNbNoeuds());
+        assertEquals(4, statistiques.getNbFeuilles());
+        assertEquals(3, statistiques.getHauteur());
+        assertEquals(1.75f, statistiques.getHauteurMoyenne());
+        assertEquals(3, statistiques.getDegreMax());
+        assertArrayEquals(new int[]{4, 1, 1, 1}, statistiques.getDistributionDegres());
+        assertEquals(1, statistiques.getNbNoeudsDeDegre(2));
+        assertEquals(0, statistiques.getNbNoeudsDeDegre(4));
+        assertEquals(0, statistiques.getNbNoeudsDeDegre(-1));
+        assertArrayEquals(new int[]{1, 3, 2, 1}, statistiques.getLargeursNiveaux());
+        assertEquals(3, statistiques.getLargeurMax());
+        assertEquals(2, statistiques.getLargeurNiveau(2));
+        assertEquals(0, statistiques.getLargeurNiveau(4));
+        assertArrayEquals(new int[]{0, 2, 1, 1}, statistiques.getHistogrammeProfondeursFeuilles());
+        final MetriquesArbre metriques = MetriquesArbre.calculer(a);
+        assertEquals(metriques.getNbNoeuds(), statistiques.getMetriques().getNbNoeuds());
+        assertEquals(metriques.getNbFeuilles(), statistiques.getMetriques().getNbFeuilles());
+        assertEquals(metriques.getHauteur(), statistiques.getMetriques().getHauteur());
+        assertEquals(metriques.getHauteurMoyenne(),
+                statistiques.getMetriques().getHauteurMoyenne());
+
+        statistiques.getLargeursNiveaux()[0] = 42;
+        assertEquals(1, statistiques.getLargeurNiveau(0), "Les statistiques devraient être figées");
+
+        final StatistiquesArbre statistiquesFeuille = new ArbreImpl<>("x").statistiques();
+        assertEquals(1, statistiquesFeuille.getNbNoeuds());
+        assertEquals(0, statistiquesFeuille.getHauteur());
+        assertArrayEquals(new int[]{1}, statistiquesFeuille.getDistributionDegres());
+    }
+
+    /**
+     * Test que les statistiques concordent avec les calculs de l'arbre.
+     */
+    @Test
+    public void testStatistiquesABR() {
+        System.out.println("statistiquesABR");
+        final ArbreBinaireRechercheImpl<Integer> arbre = new ArbreBinaireRechercheImpl<>(500);
+        final Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            arbre.tenterAjouter(random.nextInt(1000));
+        }
+        final StatistiquesArbre statistiques = arbre.statistiques();
+        assertEquals(arbre.getNbNoeuds(), statistiques.getNbNoeuds());
+        assertEquals(arbre.getNbFeuilles(), statistiques.getNbFeuilles());
+        assertEquals(arbre.getHauteur(), statistiques.getHauteur());
+        assertEquals(arbre.getHauteurMoyenne(), statistiques.getHauteurMoyenne(), 1e-4);
+        assertTrue(statistiques.getDegreMax() <= 2);
+        int somme = 0;
+        for (int largeur : statistiques.getLargeursNiveaux()) {
+            somme += largeur;
+        }
+        assertEquals(statistiques.getNbNoeuds(), somme);
+    }
+
+    /**
+     * Test des statistiques d'un arbre trop profond pour les calculs récursifs.
+     */
+    @Test
+    public void testStatistiquesArbreProfond() {
+        System.out.println("statistiquesArbreProfond");
+        Arbre<Integer> arbre = new ArbreImpl<>(0);
+        for (int i = 1; i < 200_000; i++) {
+            final Arbre<Integer> parent = new ArbreImpl<>(i);
+            parent.getForet().add(arbre);
+            arbre = parent;
+        }
+        final StatistiquesArbre statistiques = arbre.statistiques();
+        assertEquals(200_000, statistiques.getNbNoeuds());
+        assertEquals(1, statistiques.getNbFeuilles());
+        assertEquals(199_999, statistiques.getHauteur());
+        assertEquals(1, statistiques.getLargeurMax());
+        assertArrayEquals(new int[]{1, 199_999}, statistiques.getDistributionDegres());
+    }
+}
@@ -18,6 +18,11 @@
  */
 package despetitsarbres;
 
+import despetitsarbres.exceptions.InsertionImpossibleException;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.StringJoiner;
+
 /**
  *
  * @author Rémi Venant
@@ -101,6 +106,26 @@ public final class TestingArbreFactory {
         );
     }
 
+    /**
+     * Fournit les clés de l'arbre de test des ABR autres que sa racine (30), dans l'ordre d'un
+     * parcours en largeur. Ajoutées dans cet ordre à un ABR de racine 30, elles lui donnent la
+     * forme de l'arbre de test, y compris s'il est équilibré : aucune rotation n'est nécessaire.
+     */
+    public static int[] getClesArbreTestABR() {
+        return new int[]{20, 40, 18, 22, 35, 45, 19, 21, 23, 33, 44, 46, 27, 43, 47};
+    }
+
+    /**
+     * Ajoute à un ABR de racine 30 les clés de {@link #getClesArbreTestABR()}.
+     */
+    public static <A extends ArbreBinaireRecherche<Integer>> A remplirArbreTestABR(A arbre)
+            throws InsertionImpossibleException {
+        for (int cle : getClesArbreTestABR()) {
+            arbre.ajouter(cle);
+        }
+        return arbre;
+    }
+
     public static int getHauteurArbreTestABR() {
         return 4;
     }
@@ -137,6 +162,24 @@ public final class TestingArbreFactory {
         return 47;
     }
 
+    /**
+     * Fournit les valeurs d'un parcours, séparées par des virgules.
+     */
+    public static String parcourir(Iterator<?> iterateur) {
+        final StringJoiner valeurs = new StringJoiner(", ");
+        iterateur.forEachRemaining((valeur) -> valeurs.add(String.valueOf(valeur)));
+        return valeurs.toString();
+    }
+
+    /**
+     * Fournit les valeurs d'un séparateur, séparées par des virgules.
+     */
+    public static String parcourir(Spliterator<?> separateur) {
+        final StringJoiner valeurs = new StringJoiner(", ");
+        separateur.forEachRemaining((valeur) -> valeurs.add(String.valueOf(valeur)));
+        return valeurs.toString();
+    }
+
     private TestingArbreFactory() {
 
     }
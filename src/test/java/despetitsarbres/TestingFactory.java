@@ -27,20 +27,21 @@ import java.util.List;
 public final class TestingFactory {
 
     public final static <V> Arbre<V> creerArbre(V valeur) {
-        throw new UnsupportedOperationException("Not supported yet."); //TODO: instancier votre arbre avec la valeur de racine "valeur" ici.
+        return new ArbreImpl<>(valeur);
     }
 
     public final static <V> Arbre<V> creerArbre(V valeur, List<Arbre<V>> foret) {
-        throw new UnsupportedOperationException("Not supported yet."); //TODO: instancier votre arbre avec la valeur de racine "valeur" et la foret "foret" ici.
+        return new ArbreImpl<>(valeur, foret);
     }
 
     public final static ArbreBinaireRecherche<Integer> creerABR(Integer valeur) {
-        throw new UnsupportedOperationException("Not supported yet."); //TODO: instancier votre ABR avec la valeur de racine "valeur" et la foret "foret" ici.
+        return new ArbreBinaireRechercheImpl<>(valeur);
     }
 
     public final static ArbreBinaireRecherche<Integer> creerABR(Integer valeur,
             ArbreBinaireRecherche<Integer> sag, ArbreBinaireRecherche<Integer> sad) {
-        throw new UnsupportedOperationException("Not supported yet."); //TODO: instancier votre ABR avec la valeur de racine "valeur" et son SAG et SAD ici.
+        return new ArbreBinaireRechercheImpl<>(valeur, (ArbreBinaireRechercheImpl<Integer>) sag,
+                (ArbreBinaireRechercheImpl<Integer>) sad);
     }
 
     private TestingFactory() {